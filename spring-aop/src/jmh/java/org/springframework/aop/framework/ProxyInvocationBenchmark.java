@@ -0,0 +1,109 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for AOP proxy invocation through {@link JdkDynamicAopProxy} and
+ * {@link CglibAopProxy}, for frozen and non-frozen configurations with a
+ * varying number of interceptors.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ProxyInvocationBenchmark {
+
+	@Benchmark
+	public void invokeWithArguments(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.proxy.add(data.left, data.right));
+	}
+
+	@Benchmark
+	public void invokeWithoutArguments(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.proxy.getName());
+	}
+
+	@Benchmark
+	public void invokeTargetDirectly(BenchmarkData data, Blackhole bh) {
+		bh.consume(data.target.add(data.left, data.right));
+	}
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		@Param({"jdk", "cglib"})
+		public String proxyType;
+
+		@Param({"false", "true"})
+		public boolean frozen;
+
+		@Param({"0", "1", "8"})
+		public int interceptorCount;
+
+		public Calculator target;
+
+		public Calculator proxy;
+
+		public int left = 21;
+
+		public int right = 21;
+
+		@Setup
+		public void setup() {
+			this.target = new DefaultCalculator();
+			ProxyFactory proxyFactory = new ProxyFactory(this.target);
+			proxyFactory.setProxyTargetClass("cglib".equals(this.proxyType));
+			for (int i = 0; i < this.interceptorCount; i++) {
+				proxyFactory.addAdvice((MethodInterceptor) invocation -> invocation.proceed());
+			}
+			proxyFactory.setFrozen(this.frozen);
+			this.proxy = (Calculator) proxyFactory.getProxy();
+		}
+	}
+
+
+	public interface Calculator {
+
+		int add(int left, int right);
+
+		String getName();
+	}
+
+
+	public static class DefaultCalculator implements Calculator {
+
+		@Override
+		public int add(int left, int right) {
+			return left + right;
+		}
+
+		@Override
+		public String getName() {
+			return "calculator";
+		}
+	}
+
+}
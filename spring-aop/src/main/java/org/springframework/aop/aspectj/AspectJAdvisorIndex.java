@@ -0,0 +1,333 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.aspectj;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.aspectj.weaver.internal.tools.PointcutExpressionImpl;
+import org.aspectj.weaver.patterns.AndPointcut;
+import org.aspectj.weaver.patterns.AnnotationPointcut;
+import org.aspectj.weaver.patterns.AnnotationTypePattern;
+import org.aspectj.weaver.patterns.ExactAnnotationTypePattern;
+import org.aspectj.weaver.patterns.ExactTypePattern;
+import org.aspectj.weaver.patterns.KindedPointcut;
+import org.aspectj.weaver.patterns.NamePattern;
+import org.aspectj.weaver.patterns.OrPointcut;
+import org.aspectj.weaver.patterns.Pointcut;
+import org.aspectj.weaver.patterns.SignaturePattern;
+import org.aspectj.weaver.patterns.TypePattern;
+import org.aspectj.weaver.patterns.WildTypePattern;
+import org.aspectj.weaver.patterns.WithinAnnotationPointcut;
+import org.aspectj.weaver.patterns.WithinPointcut;
+import org.aspectj.weaver.tools.PointcutExpression;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Class-level pre-filter index for a list of {@link Advisor Advisors}, bucketing
+ * the advisors with an {@link AspectJExpressionPointcut} by the type patterns and
+ * annotation patterns that their pointcut expression requires.
+ *
+ * <p>For a given target class, {@link #getCandidateAdvisors} returns the advisors
+ * that may apply to it, based on the names of the types in the class hierarchy
+ * as well as the annotations declared on those types and their methods. This is
+ * a conservative pre-filter: the candidate advisors still need to be matched
+ * against the target class, but all other advisors are known to not apply and
+ * therefore never reach the AspectJ weaver for the target class.
+ *
+ * <p>The following pointcut designators are taken into account, combined
+ * through {@code &&} and {@code ||}:
+ * <ul>
+ * <li>{@code execution(..)} with a specific declaring type, package, or method annotation
+ * <li>{@code within(..)} with a specific type or package
+ * <li>{@code @within(..)} and {@code @annotation(..)}
+ * </ul>
+ * Advisors with any other kind of pointcut are candidates for every target class.
+ *
+ * @author agent
+ * @since 6.1
+ * @see org.springframework.aop.aspectj.autoproxy.AspectJAwareAdvisorAutoProxyCreator
+ */
+public class AspectJAdvisorIndex {
+
+	private static final Log logger = LogFactory.getLog(AspectJAdvisorIndex.class);
+
+	private final List<Advisor> advisors;
+
+	/** The indexes of the advisors which may apply to any target class. */
+	private final BitSet unconstrained = new BitSet();
+
+	private final Map<AnchorType, Map<String, BitSet>> buckets = new EnumMap<>(AnchorType.class);
+
+
+	/**
+	 * Create a new index for the given advisors.
+	 * @param advisors the advisors to index, in their original order
+	 */
+	public AspectJAdvisorIndex(List<Advisor> advisors) {
+		this.advisors = List.copyOf(advisors);
+		for (AnchorType anchorType : AnchorType.values()) {
+			this.buckets.put(anchorType, new HashMap<>());
+		}
+		for (int i = 0; i < this.advisors.size(); i++) {
+			Set<Anchor> anchors = (this.advisors.get(i) instanceof PointcutAdvisor pointcutAdvisor &&
+					pointcutAdvisor.getPointcut() instanceof AspectJExpressionPointcut pointcut ?
+					determineAnchors(pointcut) : null);
+			if (anchors != null) {
+				for (Anchor anchor : anchors) {
+					this.buckets.get(anchor.type()).computeIfAbsent(anchor.value(), key -> new BitSet()).set(i);
+				}
+			}
+			else {
+				this.unconstrained.set(i);
+			}
+		}
+	}
+
+
+	/**
+	 * Return the advisors that this index has been built for.
+	 */
+	public List<Advisor> getAdvisors() {
+		return this.advisors;
+	}
+
+	/**
+	 * Return the advisors that may apply to the given target class,
+	 * in their original order.
+	 * @param targetClass the target class to check
+	 * @return the candidate advisors (potentially the full list of advisors)
+	 */
+	public List<Advisor> getCandidateAdvisors(Class<?> targetClass) {
+		if (this.unconstrained.cardinality() == this.advisors.size()) {
+			return this.advisors;
+		}
+		BitSet candidates = (BitSet) this.unconstrained.clone();
+		try {
+			for (Class<?> type : collectTypeHierarchy(targetClass)) {
+				collectCandidates(type, candidates);
+			}
+		}
+		catch (Throwable ex) {
+			// Failed to introspect the target class: consider all advisors then.
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to introspect target class [" + targetClass.getName() +
+						"] for advisor index - considering all advisors", ex);
+			}
+			return this.advisors;
+		}
+		if (candidates.cardinality() == this.advisors.size()) {
+			return this.advisors;
+		}
+		List<Advisor> result = new ArrayList<>(candidates.cardinality());
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+			result.add(this.advisors.get(i));
+		}
+		return result;
+	}
+
+	private void collectCandidates(Class<?> type, BitSet candidates) {
+		String typeName = type.getName();
+		addCandidates(AnchorType.TYPE_NAME, typeName, candidates);
+
+		Map<String, BitSet> packageBuckets = this.buckets.get(AnchorType.TYPE_NAME_PREFIX);
+		if (!packageBuckets.isEmpty()) {
+			// Any sequence of leading name segments, at any position in the type name
+			String[] segments = StringUtils.tokenizeToStringArray(typeName.replace('$', '.'), ".");
+			for (int start = 0; start < segments.length - 1; start++) {
+				StringBuilder prefix = new StringBuilder();
+				for (int end = start; end < segments.length - 1; end++) {
+					prefix.append(segments[end]).append('.');
+					addCandidates(AnchorType.TYPE_NAME_PREFIX, prefix.toString(), candidates);
+				}
+			}
+		}
+
+		if (!this.buckets.get(AnchorType.TYPE_ANNOTATION).isEmpty()) {
+			for (Annotation annotation : type.getDeclaredAnnotations()) {
+				addCandidates(AnchorType.TYPE_ANNOTATION, annotation.annotationType().getName(), candidates);
+			}
+		}
+
+		if (!this.buckets.get(AnchorType.METHOD_ANNOTATION).isEmpty()) {
+			for (Method method : ReflectionUtils.getDeclaredMethods(type)) {
+				for (Annotation annotation : method.getDeclaredAnnotations()) {
+					addCandidates(AnchorType.METHOD_ANNOTATION, annotation.annotationType().getName(), candidates);
+				}
+			}
+		}
+	}
+
+	private void addCandidates(AnchorType anchorType, String value, BitSet candidates) {
+		BitSet bucket = this.buckets.get(anchorType).get(value);
+		if (bucket != null) {
+			candidates.or(bucket);
+		}
+	}
+
+	private static Set<Class<?>> collectTypeHierarchy(Class<?> targetClass) {
+		Set<Class<?>> types = new LinkedHashSet<>();
+		Class<?> current = targetClass;
+		while (current != null) {
+			collectInterfaces(current, types);
+			current = current.getSuperclass();
+		}
+		return types;
+	}
+
+	private static void collectInterfaces(Class<?> type, Set<Class<?>> types) {
+		if (types.add(type)) {
+			for (Class<?> ifc : type.getInterfaces()) {
+				collectInterfaces(ifc, types);
+			}
+		}
+	}
+
+
+	/**
+	 * Determine the anchors for the given pointcut: a set of conditions of which
+	 * at least one needs to hold for a target class for the pointcut to match.
+	 * @return the anchors, or {@code null} if the pointcut may match any class
+	 */
+	@Nullable
+	private static Set<Anchor> determineAnchors(AspectJExpressionPointcut pointcut) {
+		try {
+			PointcutExpression expression = pointcut.getPointcutExpression();
+			if (expression instanceof PointcutExpressionImpl expressionImpl) {
+				return determineAnchors(expressionImpl.getUnderlyingPointcut());
+			}
+		}
+		catch (Throwable ex) {
+			// Invalid pointcut expression: to be reported when actually matching.
+			if (logger.isTraceEnabled()) {
+				logger.trace("Failed to analyze pointcut [" + pointcut + "] for advisor index", ex);
+			}
+		}
+		return null;
+	}
+
+	@Nullable
+	private static Set<Anchor> determineAnchors(Pointcut pointcut) {
+		if (pointcut instanceof AndPointcut andPointcut) {
+			// Either side is sufficient as a pre-filter: choose the more specific one.
+			return narrower(determineAnchors(andPointcut.getLeft()), determineAnchors(andPointcut.getRight()));
+		}
+		if (pointcut instanceof OrPointcut orPointcut) {
+			Set<Anchor> left = determineAnchors(orPointcut.getLeft());
+			Set<Anchor> right = determineAnchors(orPointcut.getRight());
+			if (left == null || right == null) {
+				return null;
+			}
+			Set<Anchor> anchors = new LinkedHashSet<>(left);
+			anchors.addAll(right);
+			return anchors;
+		}
+		if (pointcut instanceof KindedPointcut kindedPointcut) {
+			SignaturePattern signature = kindedPointcut.getSignature();
+			return narrower(determineAnchors(signature.getDeclaringType()),
+					determineAnchors(AnchorType.METHOD_ANNOTATION, signature.getAnnotationPattern()));
+		}
+		if (pointcut instanceof WithinPointcut withinPointcut) {
+			return determineAnchors(withinPointcut.getTypePattern());
+		}
+		if (pointcut instanceof AnnotationPointcut annotationPointcut) {
+			return determineAnchors(AnchorType.METHOD_ANNOTATION, annotationPointcut.getAnnotationTypePattern());
+		}
+		if (pointcut instanceof WithinAnnotationPointcut withinAnnotationPointcut) {
+			return determineAnchors(AnchorType.TYPE_ANNOTATION, withinAnnotationPointcut.getAnnotationTypePattern());
+		}
+		return null;
+	}
+
+	@Nullable
+	private static Set<Anchor> determineAnchors(TypePattern typePattern) {
+		if (typePattern instanceof ExactTypePattern exactTypePattern) {
+			return Set.of(new Anchor(AnchorType.TYPE_NAME, exactTypePattern.getType().getName()));
+		}
+		if (typePattern instanceof WildTypePattern wildTypePattern) {
+			// Leading literal name segments, e.g. "com.example." for "com.example..*Service"
+			NamePattern[] namePatterns = wildTypePattern.getNamePatterns();
+			StringBuilder prefix = new StringBuilder();
+			for (int i = 0; i < namePatterns.length - 1; i++) {
+				String segment = (namePatterns[i] != NamePattern.ELLIPSIS ? namePatterns[i].maybeGetSimpleName() : null);
+				if (segment == null) {
+					break;
+				}
+				prefix.append(segment).append('.');
+			}
+			if (!prefix.isEmpty()) {
+				return Set.of(new Anchor(AnchorType.TYPE_NAME_PREFIX, prefix.toString()));
+			}
+		}
+		return null;
+	}
+
+	@Nullable
+	private static Set<Anchor> determineAnchors(AnchorType anchorType, AnnotationTypePattern annotationTypePattern) {
+		if (annotationTypePattern instanceof ExactAnnotationTypePattern exactAnnotationTypePattern) {
+			return Set.of(new Anchor(anchorType, exactAnnotationTypePattern.getAnnotationType().getName()));
+		}
+		return null;
+	}
+
+	@Nullable
+	private static Set<Anchor> narrower(@Nullable Set<Anchor> left, @Nullable Set<Anchor> right) {
+		if (left == null) {
+			return right;
+		}
+		if (right == null) {
+			return left;
+		}
+		return (right.size() < left.size() ? right : left);
+	}
+
+
+	private enum AnchorType {
+
+		/** The fully qualified name of a type in the hierarchy. */
+		TYPE_NAME,
+
+		/** Leading name segments, at any position in the name of a type in the hierarchy. */
+		TYPE_NAME_PREFIX,
+
+		/** An annotation declared on a type in the hierarchy. */
+		TYPE_ANNOTATION,
+
+		/** An annotation declared on a method of a type in the hierarchy. */
+		METHOD_ANNOTATION
+	}
+
+
+	private record Anchor(AnchorType type, String value) {
+	}
+
+}
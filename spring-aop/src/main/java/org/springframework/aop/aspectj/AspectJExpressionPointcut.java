@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.logging.Log;
@@ -116,6 +117,9 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 
 	private transient Map<Method, ShadowMatch> shadowMatchCache = new ConcurrentHashMap<>(32);
 
+	@Nullable
+	private transient String shadowMatchCacheKey;
+
 
 	/**
 	 * Create a new default AspectJExpressionPointcut.
@@ -265,6 +269,10 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 	@Override
 	public boolean matches(Class<?> targetClass) {
 		PointcutExpression pointcutExpression = obtainPointcutExpression();
+		AspectJShadowMatchCache.NeverMatches neverMatches = getPersistedNeverMatches();
+		if (neverMatches != null && neverMatches.contains(targetClass)) {
+			return false;
+		}
 		try {
 			try {
 				return pointcutExpression.couldMatchJoinPointsInType(targetClass);
@@ -403,6 +411,46 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 		return null;
 	}
 
+	/**
+	 * Return the key of this pointcut in the {@link AspectJShadowMatchCache},
+	 * or {@code null} if this pointcut is not suitable for caching.
+	 */
+	@Nullable
+	String getShadowMatchCacheKey() {
+		String key = this.shadowMatchCacheKey;
+		if (key == null) {
+			String expression = resolveExpression();
+			if (!AspectJShadowMatchCache.isCacheable(expression)) {
+				return null;
+			}
+			key = AspectJShadowMatchCache.getPointcutKey(expression, this.pointcutDeclarationScope,
+					this.pointcutParameterNames, this.pointcutParameterTypes);
+			this.shadowMatchCacheKey = key;
+		}
+		return key;
+	}
+
+	/**
+	 * Return the persisted never-matching shadows for this pointcut, if any.
+	 */
+	@Nullable
+	private AspectJShadowMatchCache.NeverMatches getPersistedNeverMatches() {
+		String key = getShadowMatchCacheKey();
+		return (key != null ? AspectJShadowMatchCache.getNeverMatches(key) : null);
+	}
+
+	/**
+	 * Pass all target methods with a cached shadow match that never matches
+	 * to the given consumer, for building the {@link AspectJShadowMatchCache}.
+	 */
+	void collectNeverMatchingMethods(Consumer<Method> consumer) {
+		this.shadowMatchCache.forEach((method, shadowMatch) -> {
+			if (shadowMatch.neverMatches()) {
+				consumer.accept(method);
+			}
+		});
+	}
+
 	private RuntimeTestWalker getRuntimeTestWalker(ShadowMatch shadowMatch) {
 		if (shadowMatch instanceof DefensiveShadowMatch defensiveShadowMatch) {
 			return new RuntimeTestWalker(defensiveShadowMatch.primary);
@@ -452,6 +500,13 @@ public class AspectJExpressionPointcut extends AbstractExpressionPointcut
 				PointcutExpression fallbackExpression = null;
 				shadowMatch = this.shadowMatchCache.get(targetMethod);
 				if (shadowMatch == null) {
+					AspectJShadowMatchCache.NeverMatches neverMatches = getPersistedNeverMatches();
+					if (neverMatches != null && neverMatches.contains(targetMethod)) {
+						// Known at build time to never match: no need to consult the AspectJ weaver.
+						shadowMatch = new ShadowMatchImpl(org.aspectj.util.FuzzyBoolean.NO, null, null, null);
+						this.shadowMatchCache.put(targetMethod, shadowMatch);
+						return shadowMatch;
+					}
 					Method methodToMatch = targetMethod;
 					try {
 						try {
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.aspectj;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Persistent cache of pointcut shadows that never match, generated at build
+ * time (during AOT processing) and loaded at startup, so that the corresponding
+ * class and method checks in {@link AspectJExpressionPointcut} do not need to
+ * reach the AspectJ weaver at runtime.
+ *
+ * <p>Only negative matches are persisted: these do not depend on any runtime
+ * state, whereas positive matches may carry residual runtime tests. Pointcuts
+ * with a {@code bean()} designator are excluded since their outcome depends
+ * on the bean name.
+ *
+ * <p>The cache resource is a plain text file with a {@code pointcut=} line per
+ * pointcut, followed by its never-matching {@code class=} and {@code method=}
+ * lines.
+ *
+ * @author agent
+ * @since 6.1
+ * @see org.springframework.aop.aspectj.annotation.AspectJBeanFactoryInitializationAotProcessor
+ */
+public final class AspectJShadowMatchCache {
+
+	/**
+	 * The location prefix for cache resources generated at build time.
+	 */
+	public static final String CACHE_LOCATION_PREFIX = "META-INF/spring/aspectj-shadow-matches/";
+
+	private static final String POINTCUT_PREFIX = "pointcut=";
+
+	private static final String CLASS_PREFIX = "class=";
+
+	private static final String METHOD_PREFIX = "method=";
+
+	private static final Log logger = LogFactory.getLog(AspectJShadowMatchCache.class);
+
+	private static final Map<String, NeverMatches> neverMatchesByPointcut = new ConcurrentHashMap<>();
+
+
+	private AspectJShadowMatchCache() {
+	}
+
+
+	/**
+	 * Load the cache resource(s) at the given classpath location,
+	 * adding their entries to the shared cache.
+	 * <p>Typically invoked from AOT-generated initialization code.
+	 * @param classLoader the ClassLoader to load the resources with
+	 * @param location the classpath location of the cache resource
+	 */
+	public static void load(@Nullable ClassLoader classLoader, String location) {
+		ClassLoader classLoaderToUse = (classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader());
+		try {
+			Enumeration<URL> urls = (classLoaderToUse != null ? classLoaderToUse.getResources(location) :
+					ClassLoader.getSystemResources(location));
+			while (urls.hasMoreElements()) {
+				URL url = urls.nextElement();
+				try (BufferedReader reader = new BufferedReader(
+						new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+					parse(reader);
+				}
+			}
+		}
+		catch (IOException ex) {
+			// Non-critical: the pointcuts will be evaluated by the AspectJ weaver then.
+			logger.warn("Failed to load AspectJ shadow match cache from [" + location + "]", ex);
+		}
+	}
+
+	private static void parse(BufferedReader reader) throws IOException {
+		NeverMatches current = null;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.startsWith(POINTCUT_PREFIX)) {
+				current = neverMatchesByPointcut.computeIfAbsent(
+						line.substring(POINTCUT_PREFIX.length()), key -> new NeverMatches());
+			}
+			else if (current != null && line.startsWith(CLASS_PREFIX)) {
+				current.classNames.add(line.substring(CLASS_PREFIX.length()));
+			}
+			else if (current != null && line.startsWith(METHOD_PREFIX)) {
+				current.methodKeys.add(line.substring(METHOD_PREFIX.length()));
+			}
+		}
+	}
+
+	/**
+	 * Return the never-matching shadows for the pointcut with the given key.
+	 * @param pointcutKey the key of the pointcut, as built by {@link #getPointcutKey}
+	 * @return the never-matching shadows, or {@code null} if none are known
+	 */
+	@Nullable
+	static NeverMatches getNeverMatches(String pointcutKey) {
+		return (neverMatchesByPointcut.isEmpty() ? null : neverMatchesByPointcut.get(pointcutKey));
+	}
+
+	/**
+	 * Build a key for the given pointcut definition which is stable across
+	 * JVM runs, with all whitespace in the expression normalized.
+	 */
+	static String getPointcutKey(String expression, @Nullable Class<?> declarationScope,
+			String[] parameterNames, Class<?>[] parameterTypes) {
+
+		StringBuilder sb = new StringBuilder(
+				String.join(" ", StringUtils.tokenizeToStringArray(expression, " \t\n\r\f")));
+		sb.append('|');
+		if (declarationScope != null) {
+			sb.append(declarationScope.getName());
+		}
+		sb.append('|');
+		for (int i = 0; i < parameterTypes.length; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append(parameterTypes[i].getName()).append(' ').append(parameterNames[i]);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Return whether the given pointcut expression is suitable for caching.
+	 */
+	static boolean isCacheable(String expression) {
+		return !expression.contains("bean(");
+	}
+
+	/**
+	 * Build a key for the given method which is stable across JVM runs.
+	 */
+	static String getMethodKey(Method method) {
+		StringBuilder sb = new StringBuilder(method.getDeclaringClass().getName());
+		sb.append('.').append(method.getName()).append('(');
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append(parameterTypes[i].getName());
+		}
+		sb.append(')').append(method.getReturnType().getName());
+		return sb.toString();
+	}
+
+
+	/**
+	 * Evaluate the given pointcuts against all methods of the given target
+	 * classes, and generate the content of a cache resource for all shadows
+	 * that never match.
+	 * <p>Typically invoked during AOT processing.
+	 * @param pointcuts the pointcuts to evaluate
+	 * @param targetClasses the target classes to evaluate the pointcuts against
+	 * @return the cache content, or {@code null} if there are no entries
+	 */
+	@Nullable
+	public static String generate(Collection<AspectJExpressionPointcut> pointcuts, Collection<Class<?>> targetClasses) {
+		StringBuilder content = new StringBuilder();
+		Set<String> processedKeys = new HashSet<>();
+		for (AspectJExpressionPointcut pointcut : pointcuts) {
+			String pointcutKey = pointcut.getShadowMatchCacheKey();
+			if (pointcutKey == null || !processedKeys.add(pointcutKey)) {
+				continue;
+			}
+			Set<String> classNames = new TreeSet<>();
+			for (Class<?> targetClass : targetClasses) {
+				try {
+					if (!pointcut.matches(targetClass)) {
+						classNames.add(targetClass.getName());
+					}
+					else {
+						for (Class<?> type : collectTypes(targetClass)) {
+							for (Method method : ReflectionUtils.getAllDeclaredMethods(type)) {
+								pointcut.matches(method, targetClass);
+							}
+						}
+					}
+				}
+				catch (Throwable ex) {
+					// Invalid pointcut or unresolvable target class: to be evaluated at runtime.
+					if (logger.isDebugEnabled()) {
+						logger.debug("Failed to evaluate pointcut [" + pointcut + "] against target class [" +
+								targetClass.getName() + "]", ex);
+					}
+				}
+			}
+			Set<String> methodKeys = new TreeSet<>();
+			pointcut.collectNeverMatchingMethods(method -> methodKeys.add(getMethodKey(method)));
+			if (!classNames.isEmpty() || !methodKeys.isEmpty()) {
+				content.append(POINTCUT_PREFIX).append(pointcutKey).append('\n');
+				classNames.forEach(className -> content.append(CLASS_PREFIX).append(className).append('\n'));
+				methodKeys.forEach(methodKey -> content.append(METHOD_PREFIX).append(methodKey).append('\n'));
+			}
+		}
+		return (!content.isEmpty() ? content.toString() : null);
+	}
+
+	private static Set<Class<?>> collectTypes(Class<?> targetClass) {
+		Set<Class<?>> types = new LinkedHashSet<>();
+		types.add(ClassUtils.getUserClass(targetClass));
+		types.addAll(ClassUtils.getAllInterfacesForClassAsSet(targetClass));
+		return types;
+	}
+
+
+	/**
+	 * The never-matching classes and methods for a specific pointcut.
+	 */
+	static final class NeverMatches {
+
+		private final Set<String> classNames = ConcurrentHashMap.newKeySet();
+
+		private final Set<String> methodKeys = ConcurrentHashMap.newKeySet();
+
+		boolean contains(Class<?> targetClass) {
+			return this.classNames.contains(targetClass.getName());
+		}
+
+		boolean contains(Method method) {
+			return this.methodKeys.contains(getMethodKey(method));
+		}
+	}
+
+}
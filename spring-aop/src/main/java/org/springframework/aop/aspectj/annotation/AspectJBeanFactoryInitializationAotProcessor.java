@@ -16,10 +16,20 @@
 
 package org.springframework.aop.aspectj.annotation;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+
+import javax.lang.model.element.Modifier;
 
 import org.springframework.aop.Advisor;
+import org.springframework.aop.PointcutAdvisor;
 import org.springframework.aop.aspectj.AbstractAspectJAdvice;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.aspectj.AspectJShadowMatchCache;
+import org.springframework.aot.generate.GeneratedClass;
+import org.springframework.aot.generate.GeneratedMethod;
 import org.springframework.aot.generate.GenerationContext;
 import org.springframework.aot.hint.ExecutableMode;
 import org.springframework.aot.hint.ReflectionHints;
@@ -27,12 +37,15 @@ import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContrib
 import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
 import org.springframework.beans.factory.aot.BeanFactoryInitializationCode;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.javapoet.MethodSpec;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
 
 /**
  * {@link BeanFactoryInitializationAotProcessor} implementation responsible for registering
- * hints for AOP advices.
+ * hints for AOP advices, and for generating an {@link AspectJShadowMatchCache} for the
+ * pointcuts of those advices against all bean classes.
  *
  * @author Sebastien Deleuze
  * @author Stephane Nicoll
@@ -61,7 +74,30 @@ class AspectJBeanFactoryInitializationAotProcessor implements BeanFactoryInitial
 		private static AspectContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
 			BeanFactoryAspectJAdvisorsBuilder builder = new BeanFactoryAspectJAdvisorsBuilder(beanFactory);
 			List<Advisor> advisors = builder.buildAspectJAdvisors();
-			return (advisors.isEmpty() ? null : new AspectContribution(advisors));
+			return (advisors.isEmpty() ? null :
+					new AspectContribution(advisors, generateShadowMatches(beanFactory, advisors)));
+		}
+
+		@Nullable
+		private static String generateShadowMatches(ConfigurableListableBeanFactory beanFactory, List<Advisor> advisors) {
+			List<AspectJExpressionPointcut> pointcuts = new ArrayList<>(advisors.size());
+			for (Advisor advisor : advisors) {
+				if (advisor instanceof PointcutAdvisor pointcutAdvisor &&
+						pointcutAdvisor.getPointcut() instanceof AspectJExpressionPointcut pointcut) {
+					pointcuts.add(pointcut);
+				}
+			}
+			if (pointcuts.isEmpty()) {
+				return null;
+			}
+			Set<Class<?>> beanClasses = new LinkedHashSet<>();
+			for (String beanName : beanFactory.getBeanDefinitionNames()) {
+				Class<?> beanType = beanFactory.getType(beanName, false);
+				if (beanType != null) {
+					beanClasses.add(beanType);
+				}
+			}
+			return AspectJShadowMatchCache.generate(pointcuts, beanClasses);
 		}
 
 	}
@@ -71,8 +107,12 @@ class AspectJBeanFactoryInitializationAotProcessor implements BeanFactoryInitial
 
 		private final List<Advisor> advisors;
 
-		public AspectContribution(List<Advisor> advisors) {
+		@Nullable
+		private final String shadowMatches;
+
+		public AspectContribution(List<Advisor> advisors, @Nullable String shadowMatches) {
 			this.advisors = advisors;
+			this.shadowMatches = shadowMatches;
 		}
 
 		@Override
@@ -83,6 +123,27 @@ class AspectJBeanFactoryInitializationAotProcessor implements BeanFactoryInitial
 					reflectionHints.registerMethod(aspectJAdvice.getAspectJAdviceMethod(), ExecutableMode.INVOKE);
 				}
 			}
+			if (this.shadowMatches != null) {
+				GeneratedClass generatedClass = generationContext.getGeneratedClasses()
+						.addForFeature("AspectJShadowMatches", type -> {
+							type.addJavadoc("Load the AspectJ shadow matches determined at build time.");
+							type.addModifiers(Modifier.PUBLIC);
+						});
+				String location = AspectJShadowMatchCache.CACHE_LOCATION_PREFIX + generatedClass.getName().reflectionName();
+				generationContext.getGeneratedFiles().addResourceFile(location, this.shadowMatches);
+				generationContext.getRuntimeHints().resources().registerPattern(location);
+				GeneratedMethod generatedMethod = generatedClass.getMethods().add("loadShadowMatches",
+						method -> generateLoadShadowMatchesMethod(method, location));
+				beanFactoryInitializationCode.addInitializer(generatedMethod.toMethodReference());
+			}
+		}
+
+		private void generateLoadShadowMatchesMethod(MethodSpec.Builder method, String location) {
+			method.addJavadoc("Load the shadow matches into the AspectJ shadow match cache.");
+			method.addModifiers(Modifier.PUBLIC);
+			method.addParameter(DefaultListableBeanFactory.class, BeanFactoryInitializationCode.BEAN_FACTORY_VARIABLE);
+			method.addStatement("$T.load($L.getBeanClassLoader(), $S)", AspectJShadowMatchCache.class,
+					BeanFactoryInitializationCode.BEAN_FACTORY_VARIABLE, location);
 		}
 
 	}
@@ -26,11 +26,13 @@ import org.aspectj.util.PartialOrder.PartialComparable;
 
 import org.springframework.aop.Advisor;
 import org.springframework.aop.aspectj.AbstractAspectJAdvice;
+import org.springframework.aop.aspectj.AspectJAdvisorIndex;
 import org.springframework.aop.aspectj.AspectJPointcutAdvisor;
 import org.springframework.aop.aspectj.AspectJProxyUtils;
 import org.springframework.aop.framework.autoproxy.AbstractAdvisorAutoProxyCreator;
 import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
 import org.springframework.core.Ordered;
+import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
 
 /**
@@ -48,6 +50,26 @@ public class AspectJAwareAdvisorAutoProxyCreator extends AbstractAdvisorAutoProx
 
 	private static final Comparator<Advisor> DEFAULT_PRECEDENCE_COMPARATOR = new AspectJPrecedenceComparator();
 
+	@Nullable
+	private transient volatile AspectJAdvisorIndex advisorIndex;
+
+
+	/**
+	 * Pre-filter the candidate Advisors through an {@link AspectJAdvisorIndex},
+	 * so that only Advisors which may apply to the given bean class get matched.
+	 * <p>The index is rebuilt whenever the set of candidate Advisors changes.
+	 */
+	@Override
+	protected List<Advisor> findAdvisorsThatCanApply(
+			List<Advisor> candidateAdvisors, Class<?> beanClass, String beanName) {
+
+		AspectJAdvisorIndex advisorIndex = this.advisorIndex;
+		if (advisorIndex == null || !advisorIndex.getAdvisors().equals(candidateAdvisors)) {
+			advisorIndex = new AspectJAdvisorIndex(candidateAdvisors);
+			this.advisorIndex = advisorIndex;
+		}
+		return super.findAdvisorsThatCanApply(advisorIndex.getCandidateAdvisors(beanClass), beanClass, beanName);
+	}
 
 	/**
 	 * Sort the supplied {@link Advisor} instances according to AspectJ precedence.
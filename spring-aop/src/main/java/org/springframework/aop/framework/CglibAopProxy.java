@@ -640,6 +640,7 @@ class CglibAopProxy implements AopProxy, Serializable {
 
 	/**
 	 * Interceptor used specifically for advised methods on a frozen, static proxy.
+	 * Invokes the target method through a generated {@link TargetInvoker}.
 	 */
 	private static class FixedChainStaticTargetInterceptor implements MethodInterceptor, Serializable {
 
@@ -651,6 +652,10 @@ class CglibAopProxy implements AopProxy, Serializable {
 		@Nullable
 		private final Class<?> targetClass;
 
+		/** Lazily resolved on first invocation, re-resolved after deserialization. */
+		@Nullable
+		private transient volatile TargetInvoker targetInvoker;
+
 		public FixedChainStaticTargetInterceptor(
 				List<Object> adviceChain, @Nullable Object target, @Nullable Class<?> targetClass) {
 
@@ -662,8 +667,13 @@ class CglibAopProxy implements AopProxy, Serializable {
 		@Override
 		@Nullable
 		public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
-			MethodInvocation invocation = new CglibMethodInvocation(
-					proxy, this.target, method, args, this.targetClass, this.adviceChain, methodProxy);
+			TargetInvoker targetInvoker = this.targetInvoker;
+			if (targetInvoker == null) {
+				targetInvoker = TargetInvokerGenerator.getTargetInvoker(method);
+				this.targetInvoker = targetInvoker;
+			}
+			MethodInvocation invocation = new CglibMethodInvocation(proxy, this.target, method, args,
+					this.targetClass, this.adviceChain, methodProxy, targetInvoker);
 			// If we get here, we need to create a MethodInvocation.
 			Object retVal = invocation.proceed();
 			retVal = processReturnType(proxy, this.target, method, args, retVal);
@@ -751,11 +761,23 @@ class CglibAopProxy implements AopProxy, Serializable {
 	 */
 	private static class CglibMethodInvocation extends ReflectiveMethodInvocation {
 
+		@Nullable
+		private final TargetInvoker targetInvoker;
+
 		public CglibMethodInvocation(Object proxy, @Nullable Object target, Method method,
 				Object[] arguments, @Nullable Class<?> targetClass,
 				List<Object> interceptorsAndDynamicMethodMatchers, MethodProxy methodProxy) {
 
+			this(proxy, target, method, arguments, targetClass, interceptorsAndDynamicMethodMatchers, methodProxy, null);
+		}
+
+		public CglibMethodInvocation(Object proxy, @Nullable Object target, Method method,
+				Object[] arguments, @Nullable Class<?> targetClass,
+				List<Object> interceptorsAndDynamicMethodMatchers, MethodProxy methodProxy,
+				@Nullable TargetInvoker targetInvoker) {
+
 			super(proxy, target, method, arguments, targetClass, interceptorsAndDynamicMethodMatchers);
+			this.targetInvoker = targetInvoker;
 		}
 
 		@Override
@@ -783,6 +805,15 @@ class CglibAopProxy implements AopProxy, Serializable {
 				}
 			}
 		}
+
+		@Override
+		@Nullable
+		protected Object invokeJoinpoint() throws Throwable {
+			if (this.targetInvoker != null) {
+				return this.targetInvoker.invoke(this.target, this.arguments);
+			}
+			return super.invokeJoinpoint();
+		}
 	}
 
 
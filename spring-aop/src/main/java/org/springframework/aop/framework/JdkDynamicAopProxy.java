@@ -21,6 +21,8 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.logging.Log;
@@ -100,6 +102,13 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 	 */
 	private boolean hashCodeDefined;
 
+	/**
+	 * Interceptor chain and target invoker per method, lazily populated if the
+	 * configuration is frozen and the target source is static; otherwise {@code null}.
+	 */
+	@Nullable
+	private final transient Map<Method, FrozenInvocation> frozenInvocations;
+
 
 	/**
 	 * Construct a new JdkDynamicAopProxy for the given AOP configuration.
@@ -112,6 +121,8 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 		this.advised = config;
 		this.proxiedInterfaces = AopProxyUtils.completeProxiedInterfaces(this.advised, true);
 		findDefinedEqualsAndHashCodeMethods(this.proxiedInterfaces);
+		this.frozenInvocations = (config.isFrozen() && config.getTargetSource().isStatic() ?
+				new ConcurrentHashMap<>() : null);
 	}
 
 
@@ -229,22 +240,29 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 			target = targetSource.getTarget();
 			Class<?> targetClass = (target != null ? target.getClass() : null);
 
-			// Get the interception chain for this method.
-			List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			// Get the interception chain for this method: for a frozen configuration with
+			// a static target, the fixed chain along with a generated TargetInvoker.
+			FrozenInvocation frozenInvocation = (this.frozenInvocations != null ?
+					getFrozenInvocation(method, targetClass) : null);
+			List<Object> chain = (frozenInvocation != null ? frozenInvocation.chain() :
+					this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass));
 
 			// Check whether we have any advice. If we don't, we can fall back on direct
-			// reflective invocation of the target, and avoid creating a MethodInvocation.
+			// invocation of the target, and avoid creating a MethodInvocation.
 			if (chain.isEmpty()) {
 				// We can skip creating a MethodInvocation: just invoke the target directly
 				// Note that the final invoker must be an InvokerInterceptor so we know it does
 				// nothing but a reflective operation on the target, and no hot swapping or fancy proxying.
 				Object[] argsToUse = AopProxyUtils.adaptArgumentsIfNecessary(method, args);
-				retVal = AopUtils.invokeJoinpointUsingReflection(target, method, argsToUse);
+				retVal = (frozenInvocation != null ? frozenInvocation.targetInvoker().invoke(target, argsToUse) :
+						AopUtils.invokeJoinpointUsingReflection(target, method, argsToUse));
 			}
 			else {
 				// We need to create a method invocation...
-				MethodInvocation invocation =
-						new ReflectiveMethodInvocation(proxy, target, method, args, targetClass, chain);
+				MethodInvocation invocation = (frozenInvocation != null ?
+						new FrozenMethodInvocation(proxy, target, method, args, targetClass, chain,
+								frozenInvocation.targetInvoker()) :
+						new ReflectiveMethodInvocation(proxy, target, method, args, targetClass, chain));
 				// Proceed to the joinpoint through the interceptor chain.
 				retVal = invocation.proceed();
 			}
@@ -282,6 +300,26 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 	}
 
 
+	/**
+	 * Return the fixed interceptor chain and target invoker for the given method,
+	 * determining them on first invocation.
+	 */
+	private FrozenInvocation getFrozenInvocation(Method method, @Nullable Class<?> targetClass) {
+		Assert.state(this.frozenInvocations != null, "No frozen configuration");
+		FrozenInvocation frozenInvocation = this.frozenInvocations.get(method);
+		if (frozenInvocation == null) {
+			frozenInvocation = new FrozenInvocation(
+					this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass),
+					TargetInvokerGenerator.getTargetInvoker(method));
+			FrozenInvocation existing = this.frozenInvocations.putIfAbsent(method, frozenInvocation);
+			if (existing != null) {
+				frozenInvocation = existing;
+			}
+		}
+		return frozenInvocation;
+	}
+
+
 	/**
 	 * Equality means interfaces, advisors and TargetSource are equal.
 	 * <p>The compared object may be a JdkDynamicAopProxy instance itself
@@ -324,4 +362,35 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 		return JdkDynamicAopProxy.class.hashCode() * 13 + this.advised.getTargetSource().hashCode();
 	}
 
+
+	/**
+	 * Fixed interceptor chain and target invoker for a method on a frozen proxy.
+	 */
+	private record FrozenInvocation(List<Object> chain, TargetInvoker targetInvoker) {
+	}
+
+
+	/**
+	 * MethodInvocation for a frozen proxy, invoking the joinpoint through
+	 * a generated {@link TargetInvoker} instead of reflection.
+	 */
+	private static class FrozenMethodInvocation extends ReflectiveMethodInvocation {
+
+		private final TargetInvoker targetInvoker;
+
+		public FrozenMethodInvocation(Object proxy, @Nullable Object target, Method method,
+				Object[] arguments, @Nullable Class<?> targetClass,
+				List<Object> interceptorsAndDynamicMethodMatchers, TargetInvoker targetInvoker) {
+
+			super(proxy, target, method, arguments, targetClass, interceptorsAndDynamicMethodMatchers);
+			this.targetInvoker = targetInvoker;
+		}
+
+		@Override
+		@Nullable
+		protected Object invokeJoinpoint() throws Throwable {
+			return this.targetInvoker.invoke(this.target, this.arguments);
+		}
+	}
+
 }
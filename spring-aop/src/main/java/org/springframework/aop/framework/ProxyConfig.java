@@ -132,6 +132,10 @@ public class ProxyConfig implements Serializable {
 	 * <p>When a config is frozen, no advice changes can be made. This is
 	 * useful for optimization, and useful when we don't want callers to
 	 * be able to manipulate configuration after casting to Advised.
+	 * <p>As of 6.1, proxies for a frozen config with a static
+	 * {@link org.springframework.aop.TargetSource} use a fixed interceptor
+	 * chain per method and invoke the target method directly through a
+	 * generated {@link TargetInvoker} rather than through reflection.
 	 */
 	public void setFrozen(boolean frozen) {
 		this.frozen = frozen;
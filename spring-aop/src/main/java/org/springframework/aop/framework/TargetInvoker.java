@@ -0,0 +1,48 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Direct invoker for a specific target method, as used for the joinpoint
+ * of a frozen proxy with a static target instead of reflective invocation.
+ *
+ * <p>Implementations are generated by the AOP framework for each target
+ * method. This interface is internal to Spring's AOP framework and need
+ * not be implemented or used directly by client code.
+ *
+ * @author agent
+ * @since 6.1
+ * @see ProxyConfig#isFrozen()
+ */
+@FunctionalInterface
+public interface TargetInvoker {
+
+	/**
+	 * Invoke the target method on the given target object.
+	 * <p>Any exception thrown by the target method is propagated as-is.
+	 * @param target the target object to invoke the method on
+	 * @param args the arguments for the method invocation
+	 * @return the return value of the method (boxed in case of a primitive
+	 * return type), or {@code null} for a {@code void} method
+	 * @throws Throwable any exception thrown by the target method
+	 */
+	@Nullable
+	Object invoke(@Nullable Object target, Object[] args) throws Throwable;
+
+}
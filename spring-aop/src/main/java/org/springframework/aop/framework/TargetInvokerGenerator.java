@@ -0,0 +1,206 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.core.KotlinDetector;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.HiddenClassUtils;
+
+/**
+ * Generates {@link TargetInvoker} classes for specific target methods,
+ * invoking the method directly instead of through reflection. Used for
+ * the joinpoint of frozen proxies with a static target.
+ *
+ * <p>Each generated class is defined as a hidden nestmate class of the
+ * declaring class of the method, so non-public methods and types in the
+ * package of the declaring class are accessible to it. Methods that cannot
+ * be invoked that way get a {@code TargetInvoker} which delegates to
+ * {@link AopUtils#invokeJoinpointUsingReflection}.
+ *
+ * @author agent
+ * @since 6.1
+ */
+final class TargetInvokerGenerator {
+
+	private static final String TARGET_INVOKER_CLASS_SUFFIX = "$$SpringTargetInvoker";
+
+	private static final String TARGET_INVOKER_NAME = Type.getInternalName(TargetInvoker.class);
+
+	private static final String INVOKE_DESCRIPTOR = "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;";
+
+	private static final Log logger = LogFactory.getLog(TargetInvokerGenerator.class);
+
+	private static final Map<Method, TargetInvoker> targetInvokerCache = new ConcurrentReferenceHashMap<>();
+
+
+	private TargetInvokerGenerator() {
+	}
+
+
+	/**
+	 * Return a {@link TargetInvoker} for the given method, generating it
+	 * on first access.
+	 * @param method the target method to invoke
+	 * @return a generated invoker for the method if possible, or a reflective
+	 * invoker otherwise (never {@code null})
+	 */
+	static TargetInvoker getTargetInvoker(Method method) {
+		TargetInvoker targetInvoker = targetInvokerCache.get(method);
+		if (targetInvoker == null) {
+			targetInvoker = createTargetInvoker(method);
+			TargetInvoker existing = targetInvokerCache.putIfAbsent(method, targetInvoker);
+			if (existing != null) {
+				targetInvoker = existing;
+			}
+		}
+		return targetInvoker;
+	}
+
+	private static TargetInvoker createTargetInvoker(Method method) {
+		if (isEligible(method)) {
+			try {
+				return generate(method);
+			}
+			catch (Throwable ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Failed to generate TargetInvoker for method [" + method +
+							"] - falling back to reflective invocation", ex);
+				}
+			}
+		}
+		return (target, args) -> AopUtils.invokeJoinpointUsingReflection(target, method, args);
+	}
+
+	/**
+	 * Return whether an invoker can be generated for the given method,
+	 * i.e. whether it is accessible from a nestmate class of its declaring
+	 * class, along with its parameter and return types.
+	 * @param method the target method to invoke
+	 */
+	static boolean isEligible(Method method) {
+		Class<?> clazz = method.getDeclaringClass();
+		int modifiers = method.getModifiers();
+		if (Modifier.isStatic(modifiers) || Modifier.isPrivate(modifiers) || clazz.getClassLoader() == null ||
+				!ClassUtils.isVisible(TargetInvoker.class, clazz.getClassLoader()) ||
+				!HiddenClassUtils.canDefineNestmateClass(clazz) || KotlinDetector.isSuspendingFunction(method)) {
+			return false;
+		}
+		for (Class<?> parameterType : method.getParameterTypes()) {
+			if (!HiddenClassUtils.isAccessibleFrom(parameterType, clazz)) {
+				return false;
+			}
+		}
+		return HiddenClassUtils.isAccessibleFrom(method.getReturnType(), clazz);
+	}
+
+	/**
+	 * Generate and instantiate an invoker for the given method.
+	 * @param method the target method to invoke
+	 * @throws Throwable if the invoker class cannot be defined
+	 */
+	static TargetInvoker generate(Method method) throws Throwable {
+		MethodHandles.Lookup invokerLookup = HiddenClassUtils.defineNestmateClass(
+				method.getDeclaringClass(), generateTargetInvoker(method));
+		Class<?> invokerClass = invokerLookup.lookupClass();
+		return (TargetInvoker) invokerLookup.findConstructor(
+				invokerClass, MethodType.methodType(void.class)).invoke();
+	}
+
+	private static byte[] generateTargetInvoker(Method method) {
+		Class<?> clazz = method.getDeclaringClass();
+		String ownerName = Type.getInternalName(clazz);
+		String className = ownerName + TARGET_INVOKER_CLASS_SUFFIX;
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+		cw.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+				className, null, "java/lang/Object", new String[] {TARGET_INVOKER_NAME});
+
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "invoke", INVOKE_DESCRIPTOR, null,
+				new String[] {"java/lang/Throwable"});
+		mv.visitCode();
+
+		// Push target and arguments, converted to the declared parameter types
+		mv.visitVarInsn(Opcodes.ALOAD, 1);
+		mv.visitTypeInsn(Opcodes.CHECKCAST, ownerName);
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			mv.visitVarInsn(Opcodes.ALOAD, 2);
+			mv.visitLdcInsn(i);
+			mv.visitInsn(Opcodes.AALOAD);
+			generateUnboxOrCast(mv, parameterTypes[i]);
+		}
+
+		// Invoke target method, returning its value as an object
+		boolean isInterface = clazz.isInterface();
+		mv.visitMethodInsn(isInterface ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL,
+				ownerName, method.getName(), Type.getMethodDescriptor(method), isInterface);
+		Class<?> returnType = method.getReturnType();
+		if (returnType == void.class) {
+			mv.visitInsn(Opcodes.ACONST_NULL);
+		}
+		else if (returnType.isPrimitive()) {
+			String wrapperName = Type.getInternalName(ClassUtils.resolvePrimitiveIfNecessary(returnType));
+			mv.visitMethodInsn(Opcodes.INVOKESTATIC, wrapperName, "valueOf",
+					"(" + Type.getDescriptor(returnType) + ")L" + wrapperName + ";", false);
+		}
+		mv.visitInsn(Opcodes.ARETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	/**
+	 * Generate code that converts the object on top of the stack to the
+	 * given parameter type, unboxing it in case of a primitive type.
+	 */
+	private static void generateUnboxOrCast(MethodVisitor mv, Class<?> type) {
+		if (type.isPrimitive()) {
+			String wrapperName = Type.getInternalName(ClassUtils.resolvePrimitiveIfNecessary(type));
+			mv.visitTypeInsn(Opcodes.CHECKCAST, wrapperName);
+			mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapperName, type.getName() + "Value",
+					"()" + Type.getDescriptor(type), false);
+		}
+		else if (type != Object.class) {
+			mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(type));
+		}
+	}
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.aspectj;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.testfixture.interceptor.NopInterceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AspectJAdvisorIndex}.
+ *
+ * @author agent
+ * @since 6.1
+ */
+class AspectJAdvisorIndexTests {
+
+	private static final String PACKAGE = "org.springframework.aop.aspectj";
+
+	private final Advisor serviceExecution =
+			advisor("execution(* " + PACKAGE + ".AspectJAdvisorIndexTests.Service.*(..))");
+
+	private final Advisor examplePackage = advisor("within(com.example..*)");
+
+	private final Advisor annotatedMethod =
+			advisor("@annotation(" + PACKAGE + ".AspectJAdvisorIndexTests.MethodMarker)");
+
+	private final Advisor annotatedType =
+			advisor("@within(" + PACKAGE + ".AspectJAdvisorIndexTests.TypeMarker)");
+
+	private final Advisor thisType = advisor("this(java.io.Serializable)");
+
+	private final Advisor otherPackage = advisor("execution(* *(..)) && within(com.other..*)");
+
+	private final Advisor eitherPattern = advisor("execution(* *..*Service.*(..)) || within(com.example..*)");
+
+	private final AspectJAdvisorIndex index = new AspectJAdvisorIndex(List.of(this.serviceExecution,
+			this.examplePackage, this.annotatedMethod, this.annotatedType, this.thisType,
+			this.otherPackage, this.eitherPattern));
+
+
+	@Test
+	void candidatesByTypeName() {
+		assertThat(this.index.getCandidateAdvisors(Service.class))
+				.containsExactly(this.serviceExecution, this.thisType, this.eitherPattern);
+	}
+
+	@Test
+	void candidatesByTypeNameInHierarchy() {
+		assertThat(this.index.getCandidateAdvisors(ExtendedService.class))
+				.containsExactly(this.serviceExecution, this.thisType, this.eitherPattern);
+	}
+
+	@Test
+	void candidatesByTypeNamePrefix() {
+		assertThat(this.index.getCandidateAdvisors(String.class))
+				.containsExactly(this.thisType, this.eitherPattern);
+		assertThat(new AspectJAdvisorIndex(List.of(advisor("within(java.lang..*)"))).getCandidateAdvisors(String.class))
+				.hasSize(1);
+		assertThat(new AspectJAdvisorIndex(List.of(advisor("within(java.util..*)"))).getCandidateAdvisors(String.class))
+				.isEmpty();
+	}
+
+	@Test
+	void candidatesByMethodAnnotation() {
+		assertThat(this.index.getCandidateAdvisors(AnnotatedMethods.class))
+				.containsExactly(this.annotatedMethod, this.thisType, this.eitherPattern);
+	}
+
+	@Test
+	void candidatesByTypeAnnotation() {
+		assertThat(this.index.getCandidateAdvisors(AnnotatedType.class))
+				.containsExactly(this.annotatedType, this.thisType, this.eitherPattern);
+	}
+
+	@Test
+	void allAdvisorsForUnconstrainedPointcuts() {
+		List<Advisor> advisors = List.of(advisor("execution(* *(..))"), advisor("!within(com.example..*)"),
+				new DefaultPointcutAdvisor(new NopInterceptor()));
+		assertThat(new AspectJAdvisorIndex(advisors).getCandidateAdvisors(Service.class)).isEqualTo(advisors);
+	}
+
+	@Test
+	void allAdvisorsForInvalidPointcut() {
+		Advisor invalid = advisor("execution(");
+		assertThat(new AspectJAdvisorIndex(List.of(invalid)).getCandidateAdvisors(Service.class))
+				.containsExactly(invalid);
+	}
+
+
+	private static Advisor advisor(String expression) {
+		AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+		pointcut.setExpression(expression);
+		return new DefaultPointcutAdvisor(pointcut, new NopInterceptor());
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface MethodMarker {
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface TypeMarker {
+	}
+
+
+	interface ServiceApi {
+
+		void handle();
+	}
+
+
+	static class Service implements ServiceApi {
+
+		@Override
+		public void handle() {
+		}
+	}
+
+
+	static class ExtendedService extends Service {
+	}
+
+
+	static class AnnotatedMethods {
+
+		@MethodMarker
+		public void handle() {
+		}
+	}
+
+
+	@TypeMarker
+	static class AnnotatedType {
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.aspectj;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.util.ReflectionUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AspectJShadowMatchCache}.
+ *
+ * @author agent
+ * @since 6.1
+ */
+class AspectJShadowMatchCacheTests {
+
+	private static final String LOCATION = AspectJShadowMatchCache.CACHE_LOCATION_PREFIX + "test";
+
+
+	@Test
+	void generateNeverMatchingClassesAndMethods() {
+		AspectJExpressionPointcut pointcut = pointcut(
+				"execution(* handle(..)) && within(org.springframework.aop.aspectj..*)");
+		String content = AspectJShadowMatchCache.generate(List.of(pointcut), List.of(Handler.class, StringBuilder.class));
+
+		assertThat(content).startsWith("pointcut=execution(* handle(..)) && within(org.springframework.aop.aspectj..*)||\n");
+		assertThat(content).contains("class=java.lang.StringBuilder\n");
+		assertThat(content).contains("method=" + Handler.class.getName() + ".other()void\n");
+		assertThat(content).doesNotContain("method=" + Handler.class.getName() + ".handle()void\n");
+	}
+
+	@Test
+	void generateWithoutBeanPointcuts() {
+		AspectJExpressionPointcut pointcut = pointcut("execution(* handle(..)) && bean(handler)");
+		assertThat(AspectJShadowMatchCache.generate(List.of(pointcut), List.of(Handler.class))).isNull();
+	}
+
+	@Test
+	void pointcutKeyNormalizesWhitespace() {
+		assertThat(AspectJShadowMatchCache.getPointcutKey("execution(* handle(..))\n\t&&  args(name)",
+				Handler.class, new String[] {"name"}, new Class<?>[] {String.class}))
+				.isEqualTo("execution(* handle(..)) && args(name)|" + Handler.class.getName() + "|java.lang.String name");
+	}
+
+	@Test
+	void loadedNeverMatchesBypassWeaver(@TempDir Path tempDir) throws Exception {
+		// An expression specific to this test, since loaded entries are shared
+		String expression = "execution(* handle()) && within(" + Handler.class.getName().replace('$', '.') + ")";
+		Method handle = ReflectionUtils.findMethod(Handler.class, "handle");
+		assertThat(pointcut(expression).matches(handle, Handler.class)).isTrue();
+
+		Path resource = tempDir.resolve(LOCATION);
+		Files.createDirectories(resource.getParent());
+		Files.writeString(resource, "pointcut=" + expression + "||\n" +
+				"class=" + StringBuilder.class.getName() + "\n" +
+				"method=" + AspectJShadowMatchCache.getMethodKey(handle) + "\n");
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] {tempDir.toUri().toURL()}, null)) {
+			AspectJShadowMatchCache.load(classLoader, LOCATION);
+		}
+
+		// Deliberately contradicting entry: proves that the weaver is not consulted
+		AspectJExpressionPointcut pointcut = pointcut(expression);
+		assertThat(pointcut.matches(handle, Handler.class)).isFalse();
+		assertThat(pointcut.matches(Handler.class)).isTrue();
+		assertThat(pointcut.matches(StringBuilder.class)).isFalse();
+	}
+
+
+	private static AspectJExpressionPointcut pointcut(String expression) {
+		AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+		pointcut.setExpression(expression);
+		return pointcut;
+	}
+
+
+	static class Handler {
+
+		public void handle() {
+		}
+
+		public void other() {
+		}
+	}
+
+}
@@ -16,18 +16,23 @@
 
 package org.springframework.aop.aspectj.annotation;
 
+import java.io.IOException;
+import java.util.Map;
+
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.junit.jupiter.api.Test;
 
-import org.springframework.aot.generate.GenerationContext;
+import org.springframework.aop.aspectj.AspectJShadowMatchCache;
+import org.springframework.aot.generate.GeneratedFiles.Kind;
 import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
 import org.springframework.aot.test.generate.TestGenerationContext;
 import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.lang.Nullable;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -40,7 +45,7 @@ import static org.mockito.Mockito.mock;
  */
 class AspectJBeanFactoryInitializationAotProcessorTests {
 
-	private final GenerationContext generationContext = new TestGenerationContext();
+	private final TestGenerationContext generationContext = new TestGenerationContext();
 
 	@Test
 	void shouldSkipEmptyClass() {
@@ -54,6 +59,19 @@ class AspectJBeanFactoryInitializationAotProcessorTests {
 				.accepts(this.generationContext.getRuntimeHints());
 	}
 
+	@Test
+	void shouldGenerateShadowMatches() throws IOException {
+		process(TestAspect.class);
+		Map<String, InputStreamSource> resources = this.generationContext.getGeneratedFiles().getGeneratedFiles(Kind.RESOURCE);
+		assertThat(resources).hasSize(1);
+		String location = resources.keySet().iterator().next();
+		assertThat(location).startsWith(AspectJShadowMatchCache.CACHE_LOCATION_PREFIX);
+		assertThat(this.generationContext.getGeneratedFiles().getGeneratedFileContent(Kind.RESOURCE, location))
+				.contains("class=" + TestAspect.class.getName());
+		assertThat(RuntimeHintsPredicates.resource().forResource(location))
+				.accepts(this.generationContext.getRuntimeHints());
+	}
+
 	private void process(Class<?> beanClass) {
 		BeanFactoryInitializationAotContribution contribution = createContribution(beanClass);
 		if (contribution != null) {
@@ -424,6 +424,45 @@ public class ProxyFactoryTests {
 		assertThat(pf.getProxyClass(cl)).isSameAs(proxy.getClass());
 	}
 
+	@Test
+	public void testFrozenJdkProxyWithStaticTarget() {
+		TestBean target = new TestBean("tb", 30);
+		ProxyFactory pf = new ProxyFactory(target);
+		NopInterceptor nop = new NopInterceptor();
+		pf.addAdvice(nop);
+		pf.setFrozen(true);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+		assertThat(AopUtils.isJdkDynamicProxy(proxy)).isTrue();
+
+		assertThat(proxy.getName()).isEqualTo("tb");
+		proxy.setAge(31);
+		assertThat(proxy.getAge()).isEqualTo(31);
+		assertThat(target.getAge()).isEqualTo(31);
+		assertThat(proxy.getSpouse()).isNull();
+		assertThat(nop.getCount()).isEqualTo(4);
+		assertThatRuntimeException().isThrownBy(() -> proxy.exceptional(new IllegalStateException()))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	public void testFrozenCglibProxyWithStaticTarget() {
+		TestBean target = new TestBean("tb", 30);
+		ProxyFactory pf = new ProxyFactory(target);
+		pf.setProxyTargetClass(true);
+		NopInterceptor nop = new NopInterceptor();
+		pf.addAdvice(nop);
+		pf.setFrozen(true);
+		TestBean proxy = (TestBean) pf.getProxy();
+		assertThat(AopUtils.isCglibProxy(proxy)).isTrue();
+
+		assertThat(proxy.getName()).isEqualTo("tb");
+		proxy.setAge(31);
+		assertThat(proxy.getAge()).isEqualTo(31);
+		assertThat(target.getAge()).isEqualTo(31);
+		assertThat(nop.getCount()).isEqualTo(3);
+		assertThat(proxy.returnsThis()).isSameAs(proxy);
+	}
+
 
 	@Order(2)
 	public static class A implements Runnable {
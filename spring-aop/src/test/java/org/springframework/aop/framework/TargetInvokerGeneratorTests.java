@@ -0,0 +1,124 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.util.ReflectionUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+/**
+ * Tests for {@link TargetInvokerGenerator}.
+ *
+ * @author agent
+ * @since 6.1
+ */
+class TargetInvokerGeneratorTests {
+
+	@Test
+	void invokesInterfaceMethod() throws Throwable {
+		Method method = ReflectionUtils.findMethod(Greeter.class, "greet", String.class, int.class);
+		TargetInvoker invoker = TargetInvokerGenerator.getTargetInvoker(method);
+
+		assertThat(invoker.getClass().getName()).contains("$$SpringTargetInvoker");
+		assertThat(invoker.invoke(new DefaultGreeter(), new Object[] {"Juergen", 2})).isEqualTo("Hello Juergen!!");
+	}
+
+	@Test
+	void invokesNonPublicClassMethod() throws Throwable {
+		Method method = ReflectionUtils.findMethod(DefaultGreeter.class, "count", long.class);
+		assertThat(TargetInvokerGenerator.isEligible(method)).isTrue();
+		TargetInvoker invoker = TargetInvokerGenerator.getTargetInvoker(method);
+
+		DefaultGreeter target = new DefaultGreeter();
+		assertThat(invoker.invoke(target, new Object[] {5L})).isEqualTo(5L);
+		assertThat(invoker.invoke(target, new Object[] {3L})).isEqualTo(8L);
+	}
+
+	@Test
+	void invokesVoidMethod() throws Throwable {
+		Method method = ReflectionUtils.findMethod(DefaultGreeter.class, "reset");
+		TargetInvoker invoker = TargetInvokerGenerator.getTargetInvoker(method);
+
+		DefaultGreeter target = new DefaultGreeter();
+		target.count(5);
+		assertThat(invoker.invoke(target, new Object[0])).isNull();
+		assertThat(target.total).isZero();
+	}
+
+	@Test
+	void propagatesCheckedException() {
+		Method method = ReflectionUtils.findMethod(DefaultGreeter.class, "fail");
+		TargetInvoker invoker = TargetInvokerGenerator.getTargetInvoker(method);
+
+		assertThatIOException().isThrownBy(() -> invoker.invoke(new DefaultGreeter(), new Object[0]))
+				.withMessage("failure");
+	}
+
+	@Test
+	void reusesInvokerForSameMethod() {
+		Method method = ReflectionUtils.findMethod(DefaultGreeter.class, "reset");
+		assertThat(TargetInvokerGenerator.getTargetInvoker(method))
+				.isSameAs(TargetInvokerGenerator.getTargetInvoker(method));
+	}
+
+	@Test
+	void fallsBackToReflectionForJdkMethod() throws Throwable {
+		Method method = ReflectionUtils.findMethod(CharSequence.class, "length");
+		assertThat(TargetInvokerGenerator.isEligible(method)).isFalse();
+		TargetInvoker invoker = TargetInvokerGenerator.getTargetInvoker(method);
+
+		assertThat(invoker.getClass().getName()).doesNotContain("$$SpringTargetInvoker");
+		assertThat(invoker.invoke("abc", new Object[0])).isEqualTo(3);
+	}
+
+
+	public interface Greeter {
+
+		String greet(String name, int excitement);
+	}
+
+
+	static class DefaultGreeter implements Greeter {
+
+		long total;
+
+		@Override
+		public String greet(String name, int excitement) {
+			return "Hello " + name + "!".repeat(excitement);
+		}
+
+		long count(long increment) {
+			this.total += increment;
+			return this.total;
+		}
+
+		void reset() {
+			this.total = 0;
+		}
+
+		void fail() throws IOException {
+			throw new IOException("failure");
+		}
+	}
+
+}
@@ -22,11 +22,13 @@ import java.util.Date;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.infra.Blackhole;
 
+import org.springframework.beans.factory.support.BytecodeInstantiationStrategy;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
 import org.springframework.beans.propertyeditors.CustomDateEditor;
@@ -34,7 +36,7 @@ import org.springframework.beans.propertyeditors.CustomDateEditor;
 import static org.springframework.core.testfixture.io.ResourceTestUtils.qualifiedResource;
 
 /**
- * Benchmark for creating prototype beans in a concurrent fashion.
+ * Benchmark for creating prototype beans and obtaining singleton beans in a concurrent fashion.
  * This benchmark requires to customize the number of worker threads {@code -t <int>} on the
  * CLI when running this particular benchmark to leverage concurrency.
  *
@@ -46,11 +48,21 @@ public class ConcurrentBeanFactoryBenchmark {
 	@State(Scope.Benchmark)
 	public static class BenchmarkState {
 
+		@Param({"reflective", "bytecode"})
+		public String instantiation;
+
+		@Param({"false", "true"})
+		public boolean concurrentSingletonCreation;
+
 		public DefaultListableBeanFactory factory;
 
 		@Setup
 		public void setup() {
 			this.factory = new DefaultListableBeanFactory();
+			this.factory.setAllowConcurrentSingletonCreation(this.concurrentSingletonCreation);
+			if (this.instantiation.equals("bytecode")) {
+				this.factory.setInstantiationStrategy(new BytecodeInstantiationStrategy());
+			}
 			new XmlBeanDefinitionReader(this.factory).loadBeanDefinitions(
 					qualifiedResource(ConcurrentBeanFactoryBenchmark.class, "context.xml"));
 
@@ -67,6 +79,11 @@ public class ConcurrentBeanFactoryBenchmark {
 		bh.consume(state.factory.getBean("bean2"));
 	}
 
+	@Benchmark
+	public void concurrentFactoryBeanObjectLookup(BenchmarkState state, Blackhole bh) {
+		bh.consume(state.factory.getBean("list"));
+	}
+
 
 	public static class ConcurrentBean {
 
@@ -26,6 +26,7 @@ import org.openjdk.jmh.annotations.State;
 
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.BytecodeInstantiationStrategy;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.beans.testfixture.beans.LifecycleBean;
@@ -49,9 +50,15 @@ public class DefaultListableBeanFactoryBenchmark {
 		@Param({"simple", "dependencyCheck", "constructor", "constructorArgument", "properties", "resolvedProperties"})
 		public String mode;
 
+		@Param({"reflective", "bytecode"})
+		public String instantiation;
+
 		@Setup
 		public void setup() {
 			this.beanFactory = new DefaultListableBeanFactory();
+			if (this.instantiation.equals("bytecode")) {
+				this.beanFactory.setInstantiationStrategy(new BytecodeInstantiationStrategy());
+			}
 			RootBeanDefinition rbd = new RootBeanDefinition(TestBean.class);
 
 			switch (this.mode) {
@@ -973,7 +973,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 */
 	@Nullable
 	private FactoryBean<?> getSingletonFactoryBeanForTypeCheck(String beanName, RootBeanDefinition mbd) {
-		synchronized (getSingletonMutex()) {
+		return tryWithSingletonLock(beanName, () -> {
 			BeanWrapper bw = this.factoryBeanInstanceCache.get(beanName);
 			if (bw != null) {
 				return (FactoryBean<?>) bw.getWrappedInstance();
@@ -1025,7 +1025,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 				this.factoryBeanInstanceCache.put(beanName, bw);
 			}
 			return fb;
-		}
+		});
 	}
 
 	/**
@@ -1901,7 +1901,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 */
 	@Override
 	protected void removeSingleton(String beanName) {
-		synchronized (getSingletonMutex()) {
+		synchronized (getSingletonRegistryLock()) {
 			super.removeSingleton(beanName);
 			this.factoryBeanInstanceCache.remove(beanName);
 		}
@@ -1912,7 +1912,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 */
 	@Override
 	protected void clearSingletonCache() {
-		synchronized (getSingletonMutex()) {
+		synchronized (getSingletonRegistryLock()) {
 			super.clearSingletonCache();
 			this.factoryBeanInstanceCache.clear();
 		}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.KotlinDetector;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.HiddenClassUtils;
+
+/**
+ * Instantiation strategy that replaces reflective constructor invocations
+ * with generated bytecode for frequently instantiated beans, e.g. prototype
+ * or request-scoped beans, in applications that are not AOT-processed.
+ *
+ * <p>Each constructor is first invoked reflectively, like in
+ * {@link SimpleInstantiationStrategy}. Once it has been invoked a
+ * {@linkplain #BytecodeInstantiationStrategy(int) threshold} number of times,
+ * an instantiator class that invokes the constructor directly is generated
+ * through ASM and defined as a hidden nestmate class of the bean class.
+ * Constructors that are not eligible, e.g. on Kotlin classes, or classes that
+ * cannot be defined, e.g. for bean classes in a different module or class
+ * loader than Spring, remain reflective.
+ *
+ * <p>Method Injection is supported through CGLIB as in the superclass.
+ *
+ * @author agent
+ * @since 6.1
+ * @see AbstractAutowireCapableBeanFactory#setInstantiationStrategy
+ */
+public class BytecodeInstantiationStrategy extends CglibSubclassingInstantiationStrategy {
+
+	/**
+	 * The default number of reflective invocations of a constructor before an
+	 * instantiator is generated for it.
+	 */
+	public static final int DEFAULT_THRESHOLD = 100;
+
+	private static final String INSTANTIATOR_CLASS_SUFFIX = "$$SpringInstantiator";
+
+	private static final Log logger = LogFactory.getLog(BytecodeInstantiationStrategy.class);
+
+
+	private final int threshold;
+
+	private final Map<Constructor<?>, Instantiator> instantiators = new ConcurrentReferenceHashMap<>(64);
+
+
+	/**
+	 * Create a new {@code BytecodeInstantiationStrategy} with the
+	 * {@link #DEFAULT_THRESHOLD default threshold}.
+	 */
+	public BytecodeInstantiationStrategy() {
+		this(DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Create a new {@code BytecodeInstantiationStrategy} with the given threshold.
+	 * @param threshold the number of reflective invocations of a constructor
+	 * before an instantiator is generated for it, or 0 to generate on first use
+	 */
+	public BytecodeInstantiationStrategy(int threshold) {
+		Assert.isTrue(threshold >= 0, "Threshold must not be negative");
+		this.threshold = threshold;
+	}
+
+
+	@Override
+	protected Object instantiateClass(Constructor<?> ctor, Object... args) {
+		Instantiator instantiator = this.instantiators.get(ctor);
+		if (instantiator == null) {
+			instantiator = new Instantiator(ctor);
+			Instantiator existing = this.instantiators.putIfAbsent(ctor, instantiator);
+			if (existing != null) {
+				instantiator = existing;
+			}
+		}
+		return instantiator.instantiate(args);
+	}
+
+
+	/**
+	 * Return whether the given constructor can be invoked from a generated
+	 * instantiator class, with {@link BeanUtils#instantiateClass} semantics.
+	 */
+	private static boolean isEligible(Constructor<?> ctor) {
+		Class<?> clazz = ctor.getDeclaringClass();
+		if (Modifier.isAbstract(clazz.getModifiers()) || clazz.isHidden() ||
+				(KotlinDetector.isKotlinReflectPresent() && KotlinDetector.isKotlinType(clazz))) {
+			return false;
+		}
+		for (Class<?> parameterType : ctor.getParameterTypes()) {
+			if (!HiddenClassUtils.isAccessibleFrom(parameterType, clazz)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Function<Object, Object> defineInstantiator(Constructor<?> ctor) throws Throwable {
+		Class<?> clazz = ctor.getDeclaringClass();
+		MethodHandles.Lookup instantiatorLookup =
+				HiddenClassUtils.defineNestmateClass(clazz, generateInstantiator(ctor));
+		Class<?> instantiatorClass = instantiatorLookup.lookupClass();
+		return (Function<Object, Object>) instantiatorLookup
+				.findConstructor(instantiatorClass, MethodType.methodType(void.class)).invoke();
+	}
+
+	/**
+	 * Generate a {@code Function<Object[], Object>} implementation that invokes
+	 * the given constructor with the elements of the argument array, unboxing
+	 * them for primitive parameters.
+	 */
+	private static byte[] generateInstantiator(Constructor<?> ctor) {
+		String ownerName = Type.getInternalName(ctor.getDeclaringClass());
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+				ownerName + INSTANTIATOR_CLASS_SUFFIX, null, "java/lang/Object",
+				new String[] {"java/util/function/Function"});
+
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "apply", "(Ljava/lang/Object;)Ljava/lang/Object;", null, null);
+		mv.visitCode();
+		Class<?>[] parameterTypes = ctor.getParameterTypes();
+		if (parameterTypes.length > 0) {
+			mv.visitVarInsn(Opcodes.ALOAD, 1);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, "[Ljava/lang/Object;");
+			mv.visitVarInsn(Opcodes.ASTORE, 2);
+		}
+		mv.visitTypeInsn(Opcodes.NEW, ownerName);
+		mv.visitInsn(Opcodes.DUP);
+		for (int i = 0; i < parameterTypes.length; i++) {
+			mv.visitVarInsn(Opcodes.ALOAD, 2);
+			mv.visitLdcInsn(i);
+			mv.visitInsn(Opcodes.AALOAD);
+			Class<?> parameterType = parameterTypes[i];
+			if (parameterType.isPrimitive()) {
+				String wrapperName = Type.getInternalName(ClassUtils.resolvePrimitiveIfNecessary(parameterType));
+				mv.visitTypeInsn(Opcodes.CHECKCAST, wrapperName);
+				mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapperName, parameterType.getName() + "Value",
+						"()" + Type.getDescriptor(parameterType), false);
+			}
+			else if (parameterType != Object.class) {
+				mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(parameterType));
+			}
+		}
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, ownerName, "<init>", Type.getConstructorDescriptor(ctor), false);
+		mv.visitInsn(Opcodes.ARETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+
+	/**
+	 * Invokes a constructor reflectively until the threshold is reached, and
+	 * through a generated instantiator from then on.
+	 */
+	private final class Instantiator {
+
+		private final Constructor<?> ctor;
+
+		private final Class<?>[] parameterTypes;
+
+		private final boolean hasPrimitiveParameters;
+
+		private final AtomicInteger invocationCount = new AtomicInteger();
+
+		private volatile boolean eligible;
+
+		@Nullable
+		private volatile Function<Object, Object> generated;
+
+		Instantiator(Constructor<?> ctor) {
+			this.ctor = ctor;
+			this.parameterTypes = ctor.getParameterTypes();
+			boolean hasPrimitiveParameters = false;
+			for (Class<?> parameterType : this.parameterTypes) {
+				hasPrimitiveParameters |= parameterType.isPrimitive();
+			}
+			this.hasPrimitiveParameters = hasPrimitiveParameters;
+			this.eligible = isEligible(ctor);
+		}
+
+		Object instantiate(Object[] args) {
+			Function<Object, Object> generated = this.generated;
+			if (generated == null) {
+				if (this.eligible && this.invocationCount.getAndIncrement() == threshold) {
+					generated = generate();
+				}
+				if (generated == null) {
+					return BeanUtils.instantiateClass(this.ctor, args);
+				}
+			}
+			if (!canApply(args)) {
+				return BeanUtils.instantiateClass(this.ctor, args);
+			}
+			try {
+				return generated.apply(args);
+			}
+			catch (Throwable ex) {
+				throw new BeanInstantiationException(this.ctor, "Constructor threw exception", ex);
+			}
+		}
+
+		/**
+		 * Return whether the generated instantiator can be applied to the given
+		 * arguments, or whether BeanUtils should fill in default values for
+		 * missing or {@code null} primitive arguments.
+		 */
+		private boolean canApply(Object[] args) {
+			if (args.length != this.parameterTypes.length) {
+				return false;
+			}
+			if (this.hasPrimitiveParameters) {
+				for (int i = 0; i < args.length; i++) {
+					if (args[i] == null && this.parameterTypes[i].isPrimitive()) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+
+		@Nullable
+		private Function<Object, Object> generate() {
+			try {
+				Function<Object, Object> generated = defineInstantiator(this.ctor);
+				this.generated = generated;
+				return generated;
+			}
+			catch (Throwable ex) {
+				this.eligible = false;
+				if (logger.isDebugEnabled()) {
+					logger.debug("Cannot generate instantiator for " + this.ctor + ": " + ex);
+				}
+				return null;
+			}
+		}
+	}
+
+}
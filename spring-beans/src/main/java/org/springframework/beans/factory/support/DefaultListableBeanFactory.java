@@ -38,6 +38,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -156,6 +157,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Resolver to use for checking if a bean definition is an autowire candidate. */
 	private AutowireCandidateResolver autowireCandidateResolver = SimpleAutowireCandidateResolver.INSTANCE;
 
+	/** Optional Executor for pre-instantiating singletons in parallel. */
+	@Nullable
+	private Executor bootstrapExecutor;
+
 	/** Map from dependency type to corresponding autowired value. */
 	private final Map<Class<?>, Object> resolvableDependencies = new ConcurrentHashMap<>(16);
 
@@ -307,6 +312,39 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.autowireCandidateResolver;
 	}
 
+	/**
+	 * Set an {@link Executor} for pre-instantiating singletons in parallel,
+	 * e.g. a {@link org.springframework.core.task.SimpleAsyncTaskExecutor}
+	 * with a concurrency limit and virtual threads.
+	 * <p>Default is none, pre-instantiating singletons one after the other in
+	 * registration order. If an executor is specified, each non-lazy singleton
+	 * gets submitted to it once the singletons that its bean definition depends
+	 * on, through depends-on declarations, factory beans and bean references,
+	 * have been instantiated. {@link SmartInitializingSingleton} callbacks are
+	 * invoked in the calling thread after all singletons have been instantiated.
+	 * <p>Singleton creation happens within per-bean locks then, with circular
+	 * references between threads resolved through early singleton references:
+	 * see {@link #setAllowConcurrentSingletonCreation}, which gets switched on
+	 * for the duration of {@link #preInstantiateSingletons()} and restored to
+	 * its previous value afterwards. The critical path through the dependency graph gets
+	 * recorded as tags of a {@code "spring.beans.pre-instantiate"} step with
+	 * the {@linkplain #getApplicationStartup() ApplicationStartup} in use.
+	 * @since 6.1
+	 * @see #preInstantiateSingletons()
+	 */
+	public void setBootstrapExecutor(@Nullable Executor bootstrapExecutor) {
+		this.bootstrapExecutor = bootstrapExecutor;
+	}
+
+	/**
+	 * Return the {@link Executor} for pre-instantiating singletons in parallel, if any.
+	 * @since 6.1
+	 */
+	@Nullable
+	public Executor getBootstrapExecutor() {
+		return this.bootstrapExecutor;
+	}
+
 
 	@Override
 	public void copyConfigurationFrom(ConfigurableBeanFactory otherFactory) {
@@ -315,6 +353,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
+			this.bootstrapExecutor = otherListableFactory.bootstrapExecutor;
 			// A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware
 			setAutowireCandidateResolver(otherListableFactory.getAutowireCandidateResolver().cloneIfNecessary());
 			// Make resolvable dependencies (e.g. ResourceLoader) available here as well
@@ -960,17 +999,22 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
 
 		// Trigger initialization of all non-lazy singleton beans...
-		for (String beanName : beanNames) {
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-				if (isFactoryBean(beanName)) {
-					Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
-					if (bean instanceof SmartFactoryBean<?> smartFactoryBean && smartFactoryBean.isEagerInit()) {
-						getBean(beanName);
-					}
-				}
-				else {
-					getBean(beanName);
+		Executor bootstrapExecutor = this.bootstrapExecutor;
+		if (bootstrapExecutor != null) {
+			boolean allowConcurrentSingletonCreation = isAllowConcurrentSingletonCreation();
+			setAllowConcurrentSingletonCreation(true);
+			try {
+				new SingletonPreInstantiator(this, bootstrapExecutor).preInstantiate(beanNames);
+			}
+			finally {
+				setAllowConcurrentSingletonCreation(allowConcurrentSingletonCreation);
+			}
+		}
+		else {
+			for (String beanName : beanNames) {
+				RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+				if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+					preInstantiateSingleton(beanName);
 				}
 			}
 		}
@@ -987,6 +1031,23 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+	/**
+	 * Instantiate the given non-lazy singleton, as well as the object of an
+	 * eager-init {@link SmartFactoryBean}.
+	 * @param beanName the name of the bean
+	 */
+	void preInstantiateSingleton(String beanName) {
+		if (isFactoryBean(beanName)) {
+			Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+			if (bean instanceof SmartFactoryBean<?> smartFactoryBean && smartFactoryBean.isEagerInit()) {
+				getBean(beanName);
+			}
+		}
+		else {
+			getBean(beanName);
+		}
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of BeanDefinitionRegistry interface
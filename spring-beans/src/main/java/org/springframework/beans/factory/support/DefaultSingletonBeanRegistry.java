@@ -25,6 +25,8 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCreationNotAllowedException;
@@ -32,7 +34,10 @@ import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.SimpleAliasRegistry;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -77,6 +82,12 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	/** Cache of singleton objects: bean name to bean instance. */
 	private final Map<String, Object> singletonObjects = new ConcurrentHashMap<>(256);
 
+	/**
+	 * Internal lock guarding the singleton caches, never held while calling out.
+	 * In contrast to the singleton mutex, it is not exposed to external code.
+	 */
+	private final Object singletonRegistryLock = new Object();
+
 	/** Cache of singleton factories: bean name to ObjectFactory. */
 	private final Map<String, ObjectFactory<?>> singletonFactories = new HashMap<>(16);
 
@@ -95,11 +106,20 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			Collections.newSetFromMap(new ConcurrentHashMap<>(16));
 
 	/** Collection of suppressed Exceptions, available for associating related causes. */
-	@Nullable
-	private Set<Exception> suppressedExceptions;
+	private final ThreadLocal<Set<Exception>> suppressedExceptions =
+			new NamedThreadLocal<>("Suppressed exceptions of singleton creation");
 
 	/** Flag that indicates whether we're currently within destroySingletons. */
-	private boolean singletonsCurrentlyInDestruction = false;
+	private volatile boolean singletonsCurrentlyInDestruction = false;
+
+	/** Whether to create singletons within per-bean locks rather than the singleton mutex. */
+	private volatile boolean allowConcurrentSingletonCreation = false;
+
+	/** Per-bean creation locks: bean name to lock, if concurrent singleton creation is allowed. */
+	private final Map<String, SingletonLock> singletonLocks = new ConcurrentHashMap<>(16);
+
+	/** Threads waiting for a per-bean creation lock: thread to bean name. */
+	private final Map<Thread, String> singletonLockWaiters = new HashMap<>(16);
 
 	/** Disposable bean instances: bean name to disposable instance. */
 	private final Map<String, DisposableBean> disposableBeans = new LinkedHashMap<>();
@@ -114,11 +134,44 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	private final Map<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<>(64);
 
 
+	/**
+	 * Set whether to allow different singletons to be created concurrently.
+	 * <p>Default is "false": singleton creation happens within the
+	 * {@linkplain #getSingletonMutex() singleton mutex}, so that a thread
+	 * obtaining a lazy-init singleton waits for any other singleton that is
+	 * being created by another thread at the same time.
+	 * <p>Switch this flag to "true" to create each singleton within its own
+	 * lock instead, so that threads only wait for each other when they need the
+	 * same singleton. Circular references within a thread are resolved through
+	 * early singleton references as usual, and so are circular references
+	 * between singletons created by different threads that would otherwise
+	 * wait for each other. Each wait for a creation lock held by another
+	 * thread is recorded as a {@code "spring.beans.singleton-lock"}
+	 * {@link StartupStep}, tagged with the bean name and the holding thread.
+	 * <p>Note that code which synchronizes on the singleton mutex does not
+	 * exclude singleton creation in that mode. Singleton creation does not
+	 * wait for the mutex then either, so such code may still obtain beans
+	 * from within the mutex.
+	 * @since 6.1
+	 */
+	public void setAllowConcurrentSingletonCreation(boolean allowConcurrentSingletonCreation) {
+		this.allowConcurrentSingletonCreation = allowConcurrentSingletonCreation;
+	}
+
+	/**
+	 * Return whether to allow different singletons to be created concurrently.
+	 * @since 6.1
+	 * @see #setAllowConcurrentSingletonCreation
+	 */
+	public boolean isAllowConcurrentSingletonCreation() {
+		return this.allowConcurrentSingletonCreation;
+	}
+
 	@Override
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
 		Assert.notNull(beanName, "Bean name must not be null");
 		Assert.notNull(singletonObject, "Singleton object must not be null");
-		synchronized (this.singletonObjects) {
+		synchronized (this.singletonRegistryLock) {
 			Object oldObject = this.singletonObjects.get(beanName);
 			if (oldObject != null) {
 				throw new IllegalStateException("Could not register object [" + singletonObject +
@@ -135,7 +188,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @param singletonObject the singleton object
 	 */
 	protected void addSingleton(String beanName, Object singletonObject) {
-		synchronized (this.singletonObjects) {
+		synchronized (this.singletonRegistryLock) {
 			this.singletonObjects.put(beanName, singletonObject);
 			this.singletonFactories.remove(beanName);
 			this.earlySingletonObjects.remove(beanName);
@@ -153,7 +206,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	protected void addSingletonFactory(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(singletonFactory, "Singleton factory must not be null");
-		synchronized (this.singletonObjects) {
+		synchronized (this.singletonRegistryLock) {
 			if (!this.singletonObjects.containsKey(beanName)) {
 				this.singletonFactories.put(beanName, singletonFactory);
 				this.earlySingletonObjects.remove(beanName);
@@ -181,6 +234,19 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		// Quick check for existing instance without full singleton lock
 		Object singletonObject = this.singletonObjects.get(beanName);
 		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
+			if (this.allowConcurrentSingletonCreation) {
+				// Only expose early references to the thread that creates the singleton:
+				// other threads wait for the fully initialized singleton in its lock.
+				SingletonLock lock = this.singletonLocks.get(beanName);
+				if (lock == null || !lock.isHeldByCurrentThread()) {
+					return null;
+				}
+				singletonObject = this.earlySingletonObjects.get(beanName);
+				if (singletonObject == null && allowEarlyReference) {
+					singletonObject = createEarlySingletonReference(beanName);
+				}
+				return singletonObject;
+			}
 			singletonObject = this.earlySingletonObjects.get(beanName);
 			if (singletonObject == null && allowEarlyReference) {
 				synchronized (this.singletonObjects) {
@@ -189,11 +255,16 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 					if (singletonObject == null) {
 						singletonObject = this.earlySingletonObjects.get(beanName);
 						if (singletonObject == null) {
-							ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+							ObjectFactory<?> singletonFactory;
+							synchronized (this.singletonRegistryLock) {
+								singletonFactory = this.singletonFactories.get(beanName);
+							}
 							if (singletonFactory != null) {
 								singletonObject = singletonFactory.getObject();
-								this.earlySingletonObjects.put(beanName, singletonObject);
-								this.singletonFactories.remove(beanName);
+								synchronized (this.singletonRegistryLock) {
+									this.earlySingletonObjects.put(beanName, singletonObject);
+									this.singletonFactories.remove(beanName);
+								}
 							}
 						}
 					}
@@ -213,55 +284,263 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
+		// Quick check for existing instance without singleton lock
+		Object singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject != null) {
+			return singletonObject;
+		}
+		if (this.allowConcurrentSingletonCreation) {
+			SingletonLock lock = this.singletonLocks.computeIfAbsent(beanName, name -> new SingletonLock());
+			Object earlySingletonReference = lockSingleton(beanName, lock, true);
+			if (earlySingletonReference != null) {
+				return earlySingletonReference;
+			}
+			try {
+				return createSingleton(beanName, singletonFactory);
+			}
+			finally {
+				unlockSingleton(lock);
+			}
+		}
 		synchronized (this.singletonObjects) {
-			Object singletonObject = this.singletonObjects.get(beanName);
-			if (singletonObject == null) {
-				if (this.singletonsCurrentlyInDestruction) {
-					throw new BeanCreationNotAllowedException(beanName,
-							"Singleton bean creation not allowed while singletons of this factory are in destruction " +
-							"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
-				}
-				if (logger.isDebugEnabled()) {
-					logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+			return createSingleton(beanName, singletonFactory);
+		}
+	}
+
+	/**
+	 * Create the given singleton unless it has been registered in the meantime,
+	 * within the singleton mutex or the bean's creation lock.
+	 */
+	private Object createSingleton(String beanName, ObjectFactory<?> singletonFactory) {
+		Object singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject == null) {
+			if (this.singletonsCurrentlyInDestruction) {
+				throw new BeanCreationNotAllowedException(beanName,
+						"Singleton bean creation not allowed while singletons of this factory are in destruction " +
+						"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+			}
+			beforeSingletonCreation(beanName);
+			boolean newSingleton = false;
+			Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+			boolean recordSuppressedExceptions = (suppressedExceptions == null);
+			if (recordSuppressedExceptions) {
+				suppressedExceptions = new LinkedHashSet<>();
+				this.suppressedExceptions.set(suppressedExceptions);
+			}
+			try {
+				singletonObject = singletonFactory.getObject();
+				newSingleton = true;
+			}
+			catch (IllegalStateException ex) {
+				// Has the singleton object implicitly appeared in the meantime ->
+				// if yes, proceed with it since the exception indicates that state.
+				singletonObject = this.singletonObjects.get(beanName);
+				if (singletonObject == null) {
+					throw ex;
 				}
-				beforeSingletonCreation(beanName);
-				boolean newSingleton = false;
-				boolean recordSuppressedExceptions = (this.suppressedExceptions == null);
+			}
+			catch (BeanCreationException ex) {
 				if (recordSuppressedExceptions) {
-					this.suppressedExceptions = new LinkedHashSet<>();
-				}
-				try {
-					singletonObject = singletonFactory.getObject();
-					newSingleton = true;
-				}
-				catch (IllegalStateException ex) {
-					// Has the singleton object implicitly appeared in the meantime ->
-					// if yes, proceed with it since the exception indicates that state.
-					singletonObject = this.singletonObjects.get(beanName);
-					if (singletonObject == null) {
-						throw ex;
+					for (Exception suppressedException : suppressedExceptions) {
+						ex.addRelatedCause(suppressedException);
 					}
 				}
-				catch (BeanCreationException ex) {
-					if (recordSuppressedExceptions) {
-						for (Exception suppressedException : this.suppressedExceptions) {
-							ex.addRelatedCause(suppressedException);
-						}
-					}
-					throw ex;
-				}
-				finally {
-					if (recordSuppressedExceptions) {
-						this.suppressedExceptions = null;
-					}
-					afterSingletonCreation(beanName);
+				throw ex;
+			}
+			finally {
+				if (recordSuppressedExceptions) {
+					this.suppressedExceptions.remove();
 				}
-				if (newSingleton) {
-					addSingleton(beanName, singletonObject);
+				afterSingletonCreation(beanName);
+			}
+			if (newSingleton) {
+				addSingleton(beanName, singletonObject);
+			}
+		}
+		return singletonObject;
+	}
+
+	/**
+	 * Perform the given extended singleton creation step for the specified bean,
+	 * within the singleton mutex or, if concurrent singleton creation is allowed,
+	 * within the creation lock of the bean.
+	 * @param beanName the name of the bean
+	 * @param action the creation step to perform
+	 * @return the result of the creation step
+	 * @since 6.1
+	 * @see #setAllowConcurrentSingletonCreation
+	 */
+	<T> T doWithSingletonLock(String beanName, Supplier<T> action) {
+		if (!this.allowConcurrentSingletonCreation) {
+			synchronized (this.singletonObjects) {
+				return action.get();
+			}
+		}
+		SingletonLock lock = this.singletonLocks.computeIfAbsent(beanName, name -> new SingletonLock());
+		lockSingleton(beanName, lock, false);
+		try {
+			return action.get();
+		}
+		finally {
+			unlockSingleton(lock);
+		}
+	}
+
+	/**
+	 * Perform the given optional singleton creation step for the specified bean,
+	 * like {@link #doWithSingletonLock}, unless the creation lock of the bean is
+	 * currently held by another thread.
+	 * @param beanName the name of the bean
+	 * @param action the creation step to perform
+	 * @return the result of the creation step, or {@code null} if it has been skipped
+	 * @since 6.1
+	 */
+	@Nullable
+	<T> T tryWithSingletonLock(String beanName, Supplier<T> action) {
+		if (!this.allowConcurrentSingletonCreation) {
+			synchronized (this.singletonObjects) {
+				return action.get();
+			}
+		}
+		SingletonLock lock = this.singletonLocks.computeIfAbsent(beanName, name -> new SingletonLock());
+		if (!lock.tryLock()) {
+			return null;
+		}
+		lock.acquired();
+		try {
+			return action.get();
+		}
+		finally {
+			unlockSingleton(lock);
+		}
+	}
+
+	/**
+	 * Acquire the given creation lock of the specified bean, waiting for the
+	 * thread that currently holds it unless that thread in turn waits for the
+	 * current thread: In that case, the circular reference gets resolved
+	 * through the early singleton reference of the bean, if allowed and
+	 * available, since the other thread is blocked until the current thread
+	 * completes its own singleton creation.
+	 * @param beanName the name of the bean
+	 * @param lock the creation lock of the bean
+	 * @param allowEarlyReference whether to resolve a circular reference
+	 * between threads through an early singleton reference
+	 * @return the early singleton reference to use instead of a fully
+	 * initialized singleton, or {@code null} if the lock has been acquired
+	 * @throws BeanCurrentlyInCreationException in case of a circular reference
+	 * between threads that cannot be resolved
+	 */
+	@Nullable
+	private Object lockSingleton(String beanName, SingletonLock lock, boolean allowEarlyReference) {
+		if (lock.tryLock()) {
+			lock.acquired();
+			return null;
+		}
+		Thread currentThread = Thread.currentThread();
+		Thread owner = lock.owner;
+		StartupStep step = getSingletonLockStartup().start("spring.beans.singleton-lock")
+				.tag("beanName", beanName)
+				.tag("owner", () -> (owner != null ? owner.getName() : "none"));
+		try {
+			boolean circularReference;
+			synchronized (this.singletonLockWaiters) {
+				this.singletonLockWaiters.put(currentThread, beanName);
+				circularReference = isWaitingForCurrentThread(lock, currentThread);
+			}
+			if (circularReference) {
+				step.tag("circularReference", "true");
+				Object earlySingletonReference = (allowEarlyReference ? createEarlySingletonReference(beanName) : null);
+				if (earlySingletonReference == null) {
+					throw new BeanCurrentlyInCreationException(beanName,
+							"Requested bean is currently in creation by another thread which in turn " +
+							"waits for a bean that is currently in creation by this thread");
 				}
+				return earlySingletonReference;
 			}
-			return singletonObject;
+			lock.lock();
+			lock.acquired();
+			return null;
+		}
+		finally {
+			synchronized (this.singletonLockWaiters) {
+				this.singletonLockWaiters.remove(currentThread);
+			}
+			step.end();
+		}
+	}
+
+	/**
+	 * Determine whether the thread that holds the given lock waits for the
+	 * current thread, directly or through further threads in between.
+	 * To be called within the {@code singletonLockWaiters} monitor.
+	 */
+	private boolean isWaitingForCurrentThread(SingletonLock lock, Thread currentThread) {
+		SingletonLock currentLock = lock;
+		for (int i = 0; i < this.singletonLockWaiters.size(); i++) {
+			Thread owner = currentLock.owner;
+			if (owner == null) {
+				return false;
+			}
+			if (owner == currentThread) {
+				return true;
+			}
+			String awaitedBeanName = this.singletonLockWaiters.get(owner);
+			if (awaitedBeanName == null) {
+				return false;
+			}
+			currentLock = this.singletonLocks.get(awaitedBeanName);
+			if (currentLock == null) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	private void unlockSingleton(SingletonLock lock) {
+		if (lock.getHoldCount() == 1) {
+			lock.owner = null;
+		}
+		lock.unlock();
+	}
+
+	/**
+	 * Obtain the early singleton reference for the specified bean, to be called
+	 * by the thread that creates the bean or while that thread is blocked.
+	 * In contrast to the default singleton lookup, the singleton factory is
+	 * invoked outside the singleton mutex.
+	 */
+	@Nullable
+	private Object createEarlySingletonReference(String beanName) {
+		ObjectFactory<?> singletonFactory;
+		synchronized (this.singletonRegistryLock) {
+			Object singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null) {
+				singletonObject = this.earlySingletonObjects.get(beanName);
+			}
+			if (singletonObject != null) {
+				return singletonObject;
+			}
+			singletonFactory = this.singletonFactories.remove(beanName);
 		}
+		if (singletonFactory == null) {
+			return null;
+		}
+		Object singletonObject = singletonFactory.getObject();
+		this.earlySingletonObjects.put(beanName, singletonObject);
+		return singletonObject;
+	}
+
+	/**
+	 * Return the {@link ApplicationStartup} to record contended singleton
+	 * creation locks with.
+	 * @since 6.1
+	 */
+	ApplicationStartup getSingletonLockStartup() {
+		return ApplicationStartup.DEFAULT;
 	}
 
 	/**
@@ -274,10 +553,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @see BeanCreationException#getRelatedCauses()
 	 */
 	protected void onSuppressedException(Exception ex) {
-		synchronized (this.singletonObjects) {
-			if (this.suppressedExceptions != null && this.suppressedExceptions.size() < SUPPRESSED_EXCEPTIONS_LIMIT) {
-				this.suppressedExceptions.add(ex);
-			}
+		Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+		if (suppressedExceptions != null && suppressedExceptions.size() < SUPPRESSED_EXCEPTIONS_LIMIT) {
+			suppressedExceptions.add(ex);
 		}
 	}
 
@@ -288,7 +566,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @see #getSingletonMutex()
 	 */
 	protected void removeSingleton(String beanName) {
-		synchronized (this.singletonObjects) {
+		synchronized (this.singletonRegistryLock) {
 			this.singletonObjects.remove(beanName);
 			this.singletonFactories.remove(beanName);
 			this.earlySingletonObjects.remove(beanName);
@@ -303,14 +581,14 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 
 	@Override
 	public String[] getSingletonNames() {
-		synchronized (this.singletonObjects) {
+		synchronized (this.singletonRegistryLock) {
 			return StringUtils.toStringArray(this.registeredSingletons);
 		}
 	}
 
 	@Override
 	public int getSingletonCount() {
-		synchronized (this.singletonObjects) {
+		synchronized (this.singletonRegistryLock) {
 			return this.registeredSingletons.size();
 		}
 	}
@@ -508,7 +786,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		if (logger.isTraceEnabled()) {
 			logger.trace("Destroying singletons in " + this);
 		}
-		synchronized (this.singletonObjects) {
+		synchronized (this.singletonRegistryLock) {
 			this.singletonsCurrentlyInDestruction = true;
 		}
 
@@ -532,11 +810,12 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @since 4.3.15
 	 */
 	protected void clearSingletonCache() {
-		synchronized (this.singletonObjects) {
+		synchronized (this.singletonRegistryLock) {
 			this.singletonObjects.clear();
 			this.singletonFactories.clear();
 			this.earlySingletonObjects.clear();
 			this.registeredSingletons.clear();
+			this.singletonLocks.clear();
 			this.singletonsCurrentlyInDestruction = false;
 		}
 	}
@@ -627,10 +906,43 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * any sort of extended singleton creation phase. In particular, subclasses
 	 * should <i>not</i> have their own mutexes involved in singleton creation,
 	 * to avoid the potential for deadlocks in lazy-init situations.
+	 * <p>If {@linkplain #setAllowConcurrentSingletonCreation concurrent singleton
+	 * creation} is allowed, the mutex is not involved in singleton creation at
+	 * all: singletons are created within their own creation locks then.
+	 * The singleton caches of this registry are guarded by an internal lock
+	 * in either mode.
 	 */
 	@Override
 	public final Object getSingletonMutex() {
 		return this.singletonObjects;
 	}
 
+	/**
+	 * Return the internal lock that guards the singleton caches of this registry,
+	 * for subclasses that need to update their own caches along with them.
+	 * <p>Must not be held while obtaining or creating beans.
+	 * @since 6.1
+	 */
+	final Object getSingletonRegistryLock() {
+		return this.singletonRegistryLock;
+	}
+
+
+	/**
+	 * Creation lock for a specific singleton, exposing the thread that holds it
+	 * for the detection of circular references between threads.
+	 */
+	@SuppressWarnings("serial")
+	private static final class SingletonLock extends ReentrantLock {
+
+		@Nullable
+		volatile Thread owner;
+
+		void acquired() {
+			if (getHoldCount() == 1) {
+				this.owner = Thread.currentThread();
+			}
+		}
+	}
+
 }
@@ -118,7 +118,12 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 	 */
 	protected Object getObjectFromFactoryBean(FactoryBean<?> factory, String beanName, boolean shouldPostProcess) {
 		if (factory.isSingleton() && containsSingleton(beanName)) {
-			synchronized (getSingletonMutex()) {
+			// Quick check for existing object without singleton lock
+			Object cachedObject = this.factoryBeanObjectCache.get(beanName);
+			if (cachedObject != null) {
+				return cachedObject;
+			}
+			return doWithSingletonLock(beanName, () -> {
 				Object object = this.factoryBeanObjectCache.get(beanName);
 				if (object == null) {
 					object = doGetObjectFromFactoryBean(factory, beanName);
@@ -152,7 +157,7 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 					}
 				}
 				return object;
-			}
+			});
 		}
 		else {
 			Object object = doGetObjectFromFactoryBean(factory, beanName);
@@ -234,7 +239,7 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 	 */
 	@Override
 	protected void removeSingleton(String beanName) {
-		synchronized (getSingletonMutex()) {
+		synchronized (getSingletonRegistryLock()) {
 			super.removeSingleton(beanName);
 			this.factoryBeanObjectCache.remove(beanName);
 		}
@@ -245,7 +250,7 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 	 */
 	@Override
 	protected void clearSingletonCache() {
-		synchronized (getSingletonMutex()) {
+		synchronized (getSingletonRegistryLock()) {
 			super.clearSingletonCache();
 			this.factoryBeanObjectCache.clear();
 		}
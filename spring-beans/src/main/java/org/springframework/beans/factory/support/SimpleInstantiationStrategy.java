@@ -84,7 +84,7 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
 					}
 				}
 			}
-			return BeanUtils.instantiateClass(constructorToUse);
+			return instantiateClass(constructorToUse);
 		}
 		else {
 			// Must generate CGLIB subclass.
@@ -107,13 +107,27 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
 			final Constructor<?> ctor, Object... args) {
 
 		if (!bd.hasMethodOverrides()) {
-			return BeanUtils.instantiateClass(ctor, args);
+			return instantiateClass(ctor, args);
 		}
 		else {
 			return instantiateWithMethodInjection(bd, beanName, owner, ctor, args);
 		}
 	}
 
+	/**
+	 * Instantiate the bean class through the given constructor, for bean
+	 * definitions without Method Injection.
+	 * <p>The default implementation delegates to
+	 * {@link BeanUtils#instantiateClass(Constructor, Object...)}.
+	 * @param ctor the constructor to use
+	 * @param args the constructor arguments to apply
+	 * @return the new instance
+	 * @since 6.1
+	 */
+	protected Object instantiateClass(Constructor<?> ctor, Object... args) {
+		return BeanUtils.instantiateClass(ctor, args);
+	}
+
 	/**
 	 * Subclasses can override this method, which is implemented to throw
 	 * UnsupportedOperationException, if they can instantiate an object with
@@ -0,0 +1,349 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.FatalBeanException;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.lang.Nullable;
+
+/**
+ * Helper for pre-instantiating the non-lazy singletons of a
+ * {@link DefaultListableBeanFactory} on a bootstrap {@link Executor}.
+ *
+ * <p>The dependency graph between the singletons is derived from their bean
+ * definitions: depends-on declarations, factory beans, and bean references in
+ * constructor arguments and property values, including inner bean definitions.
+ * A singleton gets submitted to the executor once all singletons that it
+ * depends on have been instantiated, with independent singletons being
+ * submitted in registration order. Autowired dependencies are not known
+ * upfront: they get resolved within the creation locks of the respective
+ * singletons, just like with concurrent {@code getBean} calls.
+ *
+ * <p>The critical path through the graph, i.e. the chain of dependencies
+ * that finished last, is reported as tags of a
+ * {@code "spring.beans.pre-instantiate"} {@link StartupStep}.
+ *
+ * @author agent
+ * @since 6.1
+ * @see DefaultListableBeanFactory#setBootstrapExecutor
+ */
+final class SingletonPreInstantiator {
+
+	private static final Log logger = LogFactory.getLog(SingletonPreInstantiator.class);
+
+
+	private final DefaultListableBeanFactory beanFactory;
+
+	private final Executor executor;
+
+	private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+	private final BlockingQueue<Node> completedNodes = new LinkedBlockingQueue<>();
+
+
+	SingletonPreInstantiator(DefaultListableBeanFactory beanFactory, Executor executor) {
+		this.beanFactory = beanFactory;
+		this.executor = executor;
+	}
+
+
+	/**
+	 * Pre-instantiate the non-lazy singletons among the given beans,
+	 * returning once all of them have been instantiated.
+	 * @param beanNames the names of the beans, in registration order
+	 * @throws org.springframework.beans.BeansException the first exception
+	 * thrown by a singleton creation, with any further ones as suppressed exceptions
+	 */
+	void preInstantiate(List<String> beanNames) {
+		StartupStep preInstantiate = this.beanFactory.getApplicationStartup().start("spring.beans.pre-instantiate");
+		try {
+			buildGraph(beanNames);
+			preInstantiate.tag("beanCount", String.valueOf(this.nodes.size()));
+			instantiateNodes();
+			tagCriticalPath(preInstantiate);
+		}
+		finally {
+			preInstantiate.end();
+		}
+	}
+
+	private void buildGraph(List<String> beanNames) {
+		for (String beanName : beanNames) {
+			RootBeanDefinition bd = this.beanFactory.getMergedLocalBeanDefinition(beanName);
+			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+				this.nodes.put(beanName, new Node(beanName, this.nodes.size()));
+			}
+		}
+		for (Node node : this.nodes.values()) {
+			Set<String> dependencies = new LinkedHashSet<>();
+			collectDependencies(this.beanFactory.getMergedLocalBeanDefinition(node.beanName), dependencies);
+			for (String dependency : dependencies) {
+				Node dependencyNode = this.nodes.get(dependency);
+				if (dependencyNode != null && dependencyNode != node) {
+					node.dependencies.add(dependencyNode);
+					dependencyNode.dependents.add(node);
+				}
+			}
+			node.pendingDependencies = node.dependencies.size();
+		}
+	}
+
+	private void collectDependencies(BeanDefinition bd, Set<String> dependencies) {
+		String[] dependsOn = bd.getDependsOn();
+		if (dependsOn != null) {
+			for (String dependsOnBean : dependsOn) {
+				dependencies.add(this.beanFactory.transformedBeanName(dependsOnBean));
+			}
+		}
+		String factoryBeanName = bd.getFactoryBeanName();
+		if (factoryBeanName != null) {
+			dependencies.add(this.beanFactory.transformedBeanName(factoryBeanName));
+		}
+		ConstructorArgumentValues argumentValues = bd.getConstructorArgumentValues();
+		for (ConstructorArgumentValues.ValueHolder valueHolder : argumentValues.getIndexedArgumentValues().values()) {
+			collectDependencies(valueHolder.getValue(), dependencies);
+		}
+		for (ConstructorArgumentValues.ValueHolder valueHolder : argumentValues.getGenericArgumentValues()) {
+			collectDependencies(valueHolder.getValue(), dependencies);
+		}
+		for (PropertyValue pv : bd.getPropertyValues().getPropertyValues()) {
+			collectDependencies(pv.getValue(), dependencies);
+		}
+	}
+
+	private void collectDependencies(@Nullable Object value, Set<String> dependencies) {
+		if (value instanceof RuntimeBeanReference ref) {
+			if (!ref.isToParent()) {
+				dependencies.add(this.beanFactory.transformedBeanName(ref.getBeanName()));
+			}
+		}
+		else if (value instanceof BeanDefinitionHolder holder) {
+			collectDependencies(holder.getBeanDefinition(), dependencies);
+		}
+		else if (value instanceof BeanDefinition bd) {
+			collectDependencies(bd, dependencies);
+		}
+		else if (value instanceof Collection<?> collection) {
+			for (Object element : collection) {
+				collectDependencies(element, dependencies);
+			}
+		}
+		else if (value instanceof Map<?, ?> map) {
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				collectDependencies(entry.getKey(), dependencies);
+				collectDependencies(entry.getValue(), dependencies);
+			}
+		}
+	}
+
+	private void instantiateNodes() {
+		PriorityQueue<Node> readyNodes = new PriorityQueue<>(Comparator.comparingInt(node -> node.index));
+		for (Node node : this.nodes.values()) {
+			if (node.pendingDependencies == 0) {
+				readyNodes.add(node);
+			}
+		}
+		int remaining = this.nodes.size();
+		int inFlight = 0;
+		Throwable failure = null;
+		while (remaining > 0) {
+			if (failure == null) {
+				while (!readyNodes.isEmpty()) {
+					submit(readyNodes.poll());
+					inFlight++;
+				}
+				if (inFlight == 0) {
+					// Circular dependencies between bean definitions: start with the first
+					// outstanding singleton, resolving the cycle through early references.
+					submit(firstOutstandingNode());
+					inFlight++;
+				}
+			}
+			else if (inFlight == 0) {
+				break;
+			}
+			Node node = takeCompletedNode();
+			inFlight--;
+			remaining--;
+			if (node.failure != null) {
+				if (failure == null) {
+					failure = node.failure;
+				}
+				else {
+					failure.addSuppressed(node.failure);
+				}
+			}
+			for (Node dependent : node.dependents) {
+				dependent.pendingDependencies--;
+				if (dependent.pendingDependencies == 0 && !dependent.submitted) {
+					readyNodes.add(dependent);
+				}
+			}
+		}
+		if (failure instanceof RuntimeException ex) {
+			throw ex;
+		}
+		if (failure instanceof Error err) {
+			throw err;
+		}
+		if (failure != null) {
+			throw new FatalBeanException("Singleton pre-instantiation failed", failure);
+		}
+	}
+
+	private Node firstOutstandingNode() {
+		for (Node node : this.nodes.values()) {
+			if (!node.submitted) {
+				return node;
+			}
+		}
+		throw new IllegalStateException("No outstanding singleton to pre-instantiate");
+	}
+
+	private void submit(Node node) {
+		node.submitted = true;
+		try {
+			this.executor.execute(() -> instantiate(node));
+		}
+		catch (RejectedExecutionException ex) {
+			// Executor saturated or shut down: proceed in the calling thread.
+			instantiate(node);
+		}
+	}
+
+	private void instantiate(Node node) {
+		node.startTime = System.nanoTime();
+		try {
+			this.beanFactory.preInstantiateSingleton(node.beanName);
+		}
+		catch (Throwable ex) {
+			node.failure = ex;
+		}
+		finally {
+			node.endTime = System.nanoTime();
+			this.completedNodes.add(node);
+		}
+	}
+
+	private Node takeCompletedNode() {
+		try {
+			return this.completedNodes.take();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new FatalBeanException("Interrupted while waiting for singleton pre-instantiation", ex);
+		}
+	}
+
+	private void tagCriticalPath(StartupStep preInstantiate) {
+		Node last = null;
+		for (Node node : this.nodes.values()) {
+			if (last == null || node.endTime > last.endTime) {
+				last = node;
+			}
+		}
+		if (last == null) {
+			return;
+		}
+		LinkedList<String> criticalPath = new LinkedList<>();
+		long criticalPathTime = 0;
+		for (Node node = last; node != null; node = node.getCriticalDependency()) {
+			criticalPath.addFirst(node.beanName);
+			criticalPathTime += node.endTime - node.startTime;
+		}
+		String criticalPathString = String.join(" > ", criticalPath);
+		long criticalPathMillis = TimeUnit.NANOSECONDS.toMillis(criticalPathTime);
+		preInstantiate.tag("criticalPath", criticalPathString);
+		preInstantiate.tag("criticalPathMillis", String.valueOf(criticalPathMillis));
+		if (logger.isDebugEnabled()) {
+			logger.debug("Pre-instantiated " + this.nodes.size() + " singletons with critical path [" +
+					criticalPathString + "] taking " + criticalPathMillis + " ms");
+		}
+	}
+
+
+	/**
+	 * A singleton in the dependency graph.
+	 */
+	private static final class Node {
+
+		final String beanName;
+
+		final int index;
+
+		final List<Node> dependencies = new ArrayList<>();
+
+		final List<Node> dependents = new ArrayList<>();
+
+		int pendingDependencies;
+
+		boolean submitted;
+
+		long startTime;
+
+		long endTime;
+
+		@Nullable
+		Throwable failure;
+
+		Node(String beanName, int index) {
+			this.beanName = beanName;
+			this.index = index;
+		}
+
+		/**
+		 * Return the dependency that finished last before this singleton
+		 * started, if any.
+		 */
+		@Nullable
+		Node getCriticalDependency() {
+			Node critical = null;
+			for (Node dependency : this.dependencies) {
+				if (dependency.endTime <= this.startTime &&
+						(critical == null || dependency.endTime > critical.endTime)) {
+					critical = dependency;
+				}
+			}
+			return critical;
+		}
+	}
+
+}
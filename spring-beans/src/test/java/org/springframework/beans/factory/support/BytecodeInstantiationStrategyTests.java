@@ -0,0 +1,165 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.config.BeanDefinition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link BytecodeInstantiationStrategy}.
+ *
+ * @author agent
+ */
+class BytecodeInstantiationStrategyTests {
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+
+	BytecodeInstantiationStrategyTests() {
+		this.beanFactory.setInstantiationStrategy(new BytecodeInstantiationStrategy(2));
+	}
+
+
+	@Test
+	void defaultConstructorIsGeneratedAfterThreshold() {
+		registerPrototype("bean", new RootBeanDefinition(DefaultConstructorBean.class));
+
+		assertThat(this.beanFactory.getBean("bean", DefaultConstructorBean.class).generated).isFalse();
+		assertThat(this.beanFactory.getBean("bean", DefaultConstructorBean.class).generated).isFalse();
+		assertThat(this.beanFactory.getBean("bean", DefaultConstructorBean.class).generated).isTrue();
+		assertThat(this.beanFactory.getBean("bean", DefaultConstructorBean.class).generated).isTrue();
+	}
+
+	@Test
+	void constructorWithArguments() {
+		RootBeanDefinition bd = new RootBeanDefinition(ArgumentsBean.class);
+		bd.getConstructorArgumentValues().addGenericArgumentValue("juergen");
+		bd.getConstructorArgumentValues().addGenericArgumentValue("99");
+		registerPrototype("bean", bd);
+
+		for (int i = 0; i < 4; i++) {
+			ArgumentsBean bean = this.beanFactory.getBean("bean", ArgumentsBean.class);
+			assertThat(bean.name).isEqualTo("juergen");
+			assertThat(bean.age).isEqualTo(99);
+			assertThat(bean.generated).isEqualTo(i >= 2);
+		}
+	}
+
+	@Test
+	void privateConstructor() {
+		registerPrototype("bean", new RootBeanDefinition(PrivateConstructorBean.class));
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(this.beanFactory.getBean("bean", PrivateConstructorBean.class).generated).isEqualTo(i >= 2);
+		}
+	}
+
+	@Test
+	void constructorExceptionIsWrapped() {
+		registerPrototype("bean", new RootBeanDefinition(FailingBean.class));
+
+		for (int i = 0; i < 4; i++) {
+			assertThatExceptionOfType(BeanCreationException.class)
+					.isThrownBy(() -> this.beanFactory.getBean("bean"))
+					.havingRootCause().isInstanceOf(IllegalStateException.class).withMessage("failed");
+		}
+	}
+
+	@Test
+	void directInstantiationWithNullPrimitiveArgument() throws Exception {
+		BytecodeInstantiationStrategy strategy = new BytecodeInstantiationStrategy(0);
+		ArgumentsBean bean = (ArgumentsBean) strategy.instantiateClass(
+				ArgumentsBean.class.getConstructor(String.class, int.class), "juergen", null);
+		assertThat(bean.age).isZero();
+
+		bean = (ArgumentsBean) strategy.instantiateClass(
+				ArgumentsBean.class.getConstructor(String.class, int.class), "juergen", 42);
+		assertThat(bean.age).isEqualTo(42);
+		assertThat(bean.generated).isTrue();
+	}
+
+	@Test
+	void directInstantiationOfAbstractClass() throws Exception {
+		BytecodeInstantiationStrategy strategy = new BytecodeInstantiationStrategy(0);
+		assertThatExceptionOfType(BeanInstantiationException.class).isThrownBy(() ->
+				strategy.instantiateClass(AbstractBean.class.getDeclaredConstructor()));
+	}
+
+	private void registerPrototype(String beanName, RootBeanDefinition bd) {
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		this.beanFactory.registerBeanDefinition(beanName, bd);
+	}
+
+	/**
+	 * Whether the caller of the current constructor is a generated instantiator.
+	 */
+	private static boolean isGeneratedCaller() {
+		return StackWalker.getInstance(StackWalker.Option.SHOW_HIDDEN_FRAMES)
+				.walk(frames -> frames.skip(2).findFirst())
+				.map(frame -> frame.getClassName().contains("$$SpringInstantiator"))
+				.orElse(false);
+	}
+
+
+	public static class DefaultConstructorBean {
+
+		final boolean generated = isGeneratedCaller();
+	}
+
+
+	public static class ArgumentsBean {
+
+		final String name;
+
+		final int age;
+
+		final boolean generated = isGeneratedCaller();
+
+		public ArgumentsBean(String name, int age) {
+			this.name = name;
+			this.age = age;
+		}
+	}
+
+
+	static class PrivateConstructorBean {
+
+		final boolean generated = isGeneratedCaller();
+
+		private PrivateConstructorBean() {
+		}
+	}
+
+
+	public static class FailingBean {
+
+		public FailingBean() {
+			throw new IllegalStateException("failed");
+		}
+	}
+
+
+	abstract static class AbstractBean {
+	}
+
+}
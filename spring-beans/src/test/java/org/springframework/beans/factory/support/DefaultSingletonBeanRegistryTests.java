@@ -16,6 +16,11 @@
 
 package org.springframework.beans.factory.support;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.testfixture.beans.DerivedTestBean;
@@ -86,4 +91,113 @@ class DefaultSingletonBeanRegistryTests {
 		assertThat(beanRegistry.isDependent("c", "c")).isTrue();
 	}
 
+	@Test
+	void concurrentCreationOfDifferentSingletons() throws Exception {
+		beanRegistry.setAllowConcurrentSingletonCreation(true);
+		CountDownLatch inCreation = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		CompletableFuture<Object> tb = CompletableFuture.supplyAsync(() ->
+				beanRegistry.getSingleton("tb", () -> {
+					inCreation.countDown();
+					await(proceed);
+					return new TestBean();
+				}));
+		await(inCreation);
+
+		TestBean tb2 = (TestBean) beanRegistry.getSingleton("tb2", TestBean::new);
+		assertThat(beanRegistry.getSingleton("tb2")).isSameAs(tb2);
+		assertThat(beanRegistry.getSingleton("tb")).isNull();
+
+		proceed.countDown();
+		assertThat(tb.get(10, TimeUnit.SECONDS)).isSameAs(beanRegistry.getSingleton("tb"));
+	}
+
+	@Test
+	void concurrentCreationOfSameSingleton() throws Exception {
+		beanRegistry.setAllowConcurrentSingletonCreation(true);
+		AtomicInteger creationCount = new AtomicInteger();
+		CountDownLatch inCreation = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		CompletableFuture<Object> tb = CompletableFuture.supplyAsync(() ->
+				beanRegistry.getSingleton("tb", () -> {
+					creationCount.incrementAndGet();
+					inCreation.countDown();
+					await(proceed);
+					return new TestBean();
+				}));
+		await(inCreation);
+
+		CompletableFuture<Object> tb2 = CompletableFuture.supplyAsync(() ->
+				beanRegistry.getSingleton("tb", () -> {
+					creationCount.incrementAndGet();
+					return new TestBean();
+				}));
+		proceed.countDown();
+		assertThat(tb.get(10, TimeUnit.SECONDS)).isSameAs(tb2.get(10, TimeUnit.SECONDS));
+		assertThat(creationCount).hasValue(1);
+	}
+
+	@Test
+	void concurrentCreationWhileSingletonMutexHeld() throws Exception {
+		beanRegistry.setAllowConcurrentSingletonCreation(true);
+		CountDownLatch inCreation = new CountDownLatch(1);
+		CountDownLatch mutexHeld = new CountDownLatch(1);
+		CompletableFuture<Object> tb = CompletableFuture.supplyAsync(() ->
+				beanRegistry.getSingleton("tb", () -> {
+					inCreation.countDown();
+					await(mutexHeld);
+					return new TestBean();
+				}));
+		await(inCreation);
+
+		CompletableFuture<Object> tb2 = CompletableFuture.supplyAsync(() -> {
+			synchronized (beanRegistry.getSingletonMutex()) {
+				mutexHeld.countDown();
+				return beanRegistry.getSingleton("tb", TestBean::new);
+			}
+		});
+		assertThat(tb.get(10, TimeUnit.SECONDS)).isSameAs(tb2.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void circularReferenceBetweenThreadsResolvedThroughEarlyReference() throws Exception {
+		beanRegistry.setAllowConcurrentSingletonCreation(true);
+		TestBean a = new TestBean("a");
+		TestBean b = new TestBean("b");
+		CountDownLatch aInCreation = new CountDownLatch(1);
+		CountDownLatch bInCreation = new CountDownLatch(1);
+		CompletableFuture<Object> futureA = CompletableFuture.supplyAsync(() ->
+				beanRegistry.getSingleton("a", () -> {
+					beanRegistry.addSingletonFactory("a", () -> a);
+					aInCreation.countDown();
+					await(bInCreation);
+					a.setSpouse((TestBean) beanRegistry.getSingleton("b", () -> b));
+					return a;
+				}));
+		CompletableFuture<Object> futureB = CompletableFuture.supplyAsync(() ->
+				beanRegistry.getSingleton("b", () -> {
+					beanRegistry.addSingletonFactory("b", () -> b);
+					bInCreation.countDown();
+					await(aInCreation);
+					b.setSpouse((TestBean) beanRegistry.getSingleton("a", () -> a));
+					return b;
+				}));
+
+		assertThat(futureA.get(10, TimeUnit.SECONDS)).isSameAs(a);
+		assertThat(futureB.get(10, TimeUnit.SECONDS)).isSameAs(b);
+		assertThat(a.getSpouse()).isSameAs(b);
+		assertThat(b.getSpouse()).isSameAs(a);
+		assertThat(beanRegistry.getSingleton("a")).isSameAs(a);
+		assertThat(beanRegistry.getSingleton("b")).isSameAs(b);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		}
+		catch (InterruptedException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
 }
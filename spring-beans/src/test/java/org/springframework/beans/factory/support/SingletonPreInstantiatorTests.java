@@ -0,0 +1,166 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.testfixture.beans.TestBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for parallel singleton pre-instantiation through
+ * {@link DefaultListableBeanFactory#setBootstrapExecutor}.
+ *
+ * @author agent
+ */
+class SingletonPreInstantiatorTests {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+	private final List<String> events = new CopyOnWriteArrayList<>();
+
+
+	SingletonPreInstantiatorTests() {
+		this.beanFactory.setBootstrapExecutor(this.executor);
+	}
+
+	@AfterEach
+	void shutdownExecutor() {
+		this.executor.shutdownNow();
+	}
+
+
+	@Test
+	void concurrentSingletonCreationIsOnlyEnabledDuringPreInstantiation() {
+		assertThat(this.beanFactory.isAllowConcurrentSingletonCreation()).isFalse();
+		this.beanFactory.registerBeanDefinition("a", new RootBeanDefinition(TestBean.class,
+				() -> record(String.valueOf(this.beanFactory.isAllowConcurrentSingletonCreation()))));
+
+		this.beanFactory.preInstantiateSingletons();
+		assertThat(this.events).containsExactly("true");
+		assertThat(this.beanFactory.isAllowConcurrentSingletonCreation()).isFalse();
+	}
+
+	@Test
+	void independentSingletonsAreInstantiatedConcurrently() {
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		this.beanFactory.registerBeanDefinition("a", new RootBeanDefinition(TestBean.class, () -> awaitBarrier(barrier)));
+		this.beanFactory.registerBeanDefinition("b", new RootBeanDefinition(TestBean.class, () -> awaitBarrier(barrier)));
+
+		this.beanFactory.preInstantiateSingletons();
+		assertThat(this.beanFactory.containsSingleton("a")).isTrue();
+		assertThat(this.beanFactory.containsSingleton("b")).isTrue();
+	}
+
+	@Test
+	void declaredDependenciesAreInstantiatedFirst() {
+		RootBeanDefinition a = new RootBeanDefinition(TestBean.class, () -> record("a"));
+		a.setDependsOn("b");
+		this.beanFactory.registerBeanDefinition("a", a);
+		RootBeanDefinition b = new RootBeanDefinition(TestBean.class, () -> record("b"));
+		b.getPropertyValues().add("spouse", new RuntimeBeanReference("c"));
+		this.beanFactory.registerBeanDefinition("b", b);
+		this.beanFactory.registerBeanDefinition("c", new RootBeanDefinition(TestBean.class, () -> record("c")));
+
+		this.beanFactory.preInstantiateSingletons();
+		assertThat(this.events).containsExactly("c", "b", "a");
+		assertThat(this.beanFactory.getBean("b", TestBean.class).getSpouse()).isSameAs(this.beanFactory.getBean("c"));
+	}
+
+	@Test
+	void circularReferencesAreResolved() {
+		RootBeanDefinition a = new RootBeanDefinition(TestBean.class);
+		a.getPropertyValues().add("spouse", new RuntimeBeanReference("b"));
+		this.beanFactory.registerBeanDefinition("a", a);
+		RootBeanDefinition b = new RootBeanDefinition(TestBean.class);
+		b.getPropertyValues().add("spouse", new RuntimeBeanReference("a"));
+		this.beanFactory.registerBeanDefinition("b", b);
+
+		this.beanFactory.preInstantiateSingletons();
+		TestBean beanA = this.beanFactory.getBean("a", TestBean.class);
+		TestBean beanB = this.beanFactory.getBean("b", TestBean.class);
+		assertThat(beanA.getSpouse()).isSameAs(beanB);
+		assertThat(beanB.getSpouse()).isSameAs(beanA);
+	}
+
+	@Test
+	void lazyInitSingletonsAreSkipped() {
+		RootBeanDefinition lazy = new RootBeanDefinition(TestBean.class, () -> record("lazy"));
+		lazy.setLazyInit(true);
+		this.beanFactory.registerBeanDefinition("lazy", lazy);
+		this.beanFactory.registerBeanDefinition("eager", new RootBeanDefinition(TestBean.class, () -> record("eager")));
+
+		this.beanFactory.preInstantiateSingletons();
+		assertThat(this.events).containsExactly("eager");
+	}
+
+	@Test
+	void smartInitializingSingletonIsInvokedInCallingThread() {
+		Thread callingThread = Thread.currentThread();
+		this.beanFactory.registerBeanDefinition("a", new RootBeanDefinition(TestBean.class, () -> record("a")));
+		this.beanFactory.registerBeanDefinition("smart", new RootBeanDefinition(SmartInitializingSingleton.class,
+				() -> () -> this.events.add("afterSingletonsInstantiated:" + (Thread.currentThread() == callingThread))));
+
+		this.beanFactory.preInstantiateSingletons();
+		assertThat(this.events).containsExactly("a", "afterSingletonsInstantiated:true");
+	}
+
+	@Test
+	void creationFailureIsPropagated() {
+		this.beanFactory.registerBeanDefinition("a", new RootBeanDefinition(TestBean.class, () -> {
+			throw new IllegalStateException("failed");
+		}));
+		this.beanFactory.registerBeanDefinition("b", new RootBeanDefinition(TestBean.class, () -> record("b")));
+
+		assertThatExceptionOfType(BeanCreationException.class)
+				.isThrownBy(this.beanFactory::preInstantiateSingletons)
+				.satisfies(ex -> assertThat(ex.getBeanName()).isEqualTo("a"))
+				.havingRootCause().isInstanceOf(IllegalStateException.class).withMessage("failed");
+	}
+
+
+	private TestBean record(String name) {
+		this.events.add(name);
+		return new TestBean(name);
+	}
+
+	private static TestBean awaitBarrier(CyclicBarrier barrier) {
+		try {
+			barrier.await(10, TimeUnit.SECONDS);
+			return new TestBean();
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.cache.Cache;
+import org.springframework.util.Assert;
+
+/**
+ * Benchmarks for {@link BoundedConcurrentMapCache}, compared to an unbounded
+ * {@link ConcurrentMapCache}, with the same access pattern as
+ * {@code org.springframework.util.ConcurrentLruCacheBenchmark}.
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class BoundedConcurrentMapCacheBenchmark {
+
+	@Benchmark
+	public void getWithValueLoader(BenchmarkData data, Blackhole bh) {
+		for (String element : data.elements) {
+			String value = data.cache.get(element, () -> element + "value");
+			bh.consume(value);
+		}
+	}
+
+	@Benchmark
+	public void getOrPut(BenchmarkData data, Blackhole bh) {
+		for (String element : data.elements) {
+			Cache.ValueWrapper wrapper = data.cache.get(element);
+			if (wrapper == null) {
+				data.cache.put(element, element + "value");
+			}
+			bh.consume(wrapper);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		Cache cache;
+
+		@Param({"unbounded", "maximumSize", "expireAfterAccess"})
+		public String mode;
+
+		@Param({"100"})
+		public int capacity;
+
+		@Param({"0.1"})
+		public float cacheMissRate;
+
+		public List<String> elements;
+
+		@Setup(Level.Iteration)
+		public void setup() {
+			this.cache = switch (this.mode) {
+				case "unbounded" -> new ConcurrentMapCache("benchmark");
+				case "maximumSize" -> new BoundedConcurrentMapCache("benchmark", this.capacity);
+				case "expireAfterAccess" -> new BoundedConcurrentMapCache("benchmark", true, this.capacity,
+						null, null, Duration.ofMinutes(1));
+				default -> throw new IllegalStateException("Unknown mode: " + this.mode);
+			};
+			Assert.isTrue(this.cacheMissRate < 1, "cache miss rate should be < 1");
+			Random random = new Random();
+			int elementsCount = Math.round(this.capacity * (1 + this.cacheMissRate));
+			this.elements = new ArrayList<>(elementsCount);
+			random.ints(elementsCount).forEach(value -> this.elements.add(String.valueOf(value)));
+			this.elements.sort(String::compareTo);
+		}
+	}
+
+}
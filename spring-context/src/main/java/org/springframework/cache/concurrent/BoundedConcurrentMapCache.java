@@ -0,0 +1,823 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.CacheStatistics;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link org.springframework.cache.Cache} implementation with a bounded size
+ * and optional expiration of entries, based on the core JDK
+ * {@code java.util.concurrent} package.
+ *
+ * <p>Follows the design of {@link org.springframework.util.ConcurrentLruCache}:
+ * entries are held in a {@link ConcurrentHashMap}, with read and write operations
+ * recorded in dedicated buffers and replayed against an LRU (least recently used)
+ * eviction queue at chosen times, avoiding contention on the lookup path.
+ *
+ * <p>The size of the cache is bounded by a maximum number of entries or, if a
+ * {@link Weigher} is specified, by a maximum total weight of entries. Entries
+ * may also expire after a fixed duration since their creation or replacement,
+ * and/or since their last access. Expired entries are not visible to any lookup
+ * operations anymore; they are removed on access as well as in periodic sweeps
+ * of the eviction queue.
+ *
+ * <p>Hit, miss and eviction counts are recorded for each cache and exposed
+ * through {@link #getStatistics()}.
+ *
+ * <p>{@link #retrieve(Object, Supplier)} loads values in a non-blocking fashion,
+ * sharing a single in-flight value loader per key, just like a
+ * {@link ConcurrentMapCache} in {@link ConcurrentMapCache#isAsyncCacheMode()
+ * async cache mode}.
+ *
+ * @author agent
+ * @since 6.1
+ * @see ConcurrentMapCacheManager#setMaximumSize
+ * @see org.springframework.util.ConcurrentLruCache
+ */
+public class BoundedConcurrentMapCache extends AbstractValueAdaptingCache {
+
+	private final String name;
+
+	private final long maximumSize;
+
+	@Nullable
+	private final Weigher weigher;
+
+	private final long expireAfterWriteNanos;
+
+	private final long expireAfterAccessNanos;
+
+	private final LongSupplier ticker;
+
+	private final ConcurrentMap<Object, Node> data = new ConcurrentHashMap<>(256);
+
+	private final ConcurrentMap<Object, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>(16);
+
+	private final ReadBuffer readBuffer = new ReadBuffer();
+
+	private final Queue<Runnable> writeBuffer = new ConcurrentLinkedQueue<>();
+
+	private volatile boolean drainRequired;
+
+	private final Lock evictionLock = new ReentrantLock();
+
+	/*
+	 * Queue that contains all cache entries, ordered with least recently used entries first.
+	 * Guarded by the eviction lock, just like the total weight and the next sweep time.
+	 */
+	private final EvictionQueue evictionQueue = new EvictionQueue();
+
+	private long totalWeight;
+
+	private long nextSweep;
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name
+	 * and the given maximum number of entries.
+	 * @param name the name of the cache
+	 * @param maximumSize the maximum number of entries in the cache
+	 */
+	public BoundedConcurrentMapCache(String name, long maximumSize) {
+		this(name, true, maximumSize, null, null, null);
+	}
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name
+	 * and the given eviction settings.
+	 * @param name the name of the cache
+	 * @param allowNullValues whether to allow {@code null} values
+	 * (adapting them to an internal null holder value)
+	 * @param maximumSize the maximum number of entries in the cache or, if a
+	 * weigher is specified, the maximum total weight of the entries in the cache
+	 * (-1 for no size limit)
+	 * @param weigher the weigher to determine the weight of each entry,
+	 * or {@code null} for a weight of 1 per entry
+	 * @param expireAfterWrite the duration after which an entry expires once it
+	 * has been created or replaced, or {@code null} for no such expiration
+	 * @param expireAfterAccess the duration after which an entry expires once it
+	 * has last been accessed, or {@code null} for no such expiration
+	 */
+	public BoundedConcurrentMapCache(String name, boolean allowNullValues, long maximumSize,
+			@Nullable Weigher weigher, @Nullable Duration expireAfterWrite, @Nullable Duration expireAfterAccess) {
+
+		this(name, allowNullValues, maximumSize, weigher, expireAfterWrite, expireAfterAccess, System::nanoTime);
+	}
+
+	BoundedConcurrentMapCache(String name, boolean allowNullValues, long maximumSize,
+			@Nullable Weigher weigher, @Nullable Duration expireAfterWrite, @Nullable Duration expireAfterAccess,
+			LongSupplier ticker) {
+
+		super(allowNullValues);
+		Assert.notNull(name, "Name must not be null");
+		Assert.isTrue(maximumSize >= -1, "Maximum size must be -1 or >= 0");
+		Assert.isTrue(expireAfterWrite == null || (!expireAfterWrite.isNegative() && !expireAfterWrite.isZero()),
+				"Expiration duration must be positive");
+		Assert.isTrue(expireAfterAccess == null || (!expireAfterAccess.isNegative() && !expireAfterAccess.isZero()),
+				"Expiration duration must be positive");
+		this.name = name;
+		this.maximumSize = maximumSize;
+		this.weigher = weigher;
+		this.expireAfterWriteNanos = (expireAfterWrite != null ? expireAfterWrite.toNanos() : 0);
+		this.expireAfterAccessNanos = (expireAfterAccess != null ? expireAfterAccess.toNanos() : 0);
+		this.ticker = ticker;
+		this.nextSweep = ticker.getAsLong();
+	}
+
+
+	@Override
+	public final String getName() {
+		return this.name;
+	}
+
+	@Override
+	public final Object getNativeCache() {
+		return this;
+	}
+
+	/**
+	 * Return the current number of entries in the cache,
+	 * potentially including expired entries that have not been removed yet.
+	 */
+	public int size() {
+		return this.data.size();
+	}
+
+	/**
+	 * Return a snapshot of the hit, miss and eviction counts of this cache.
+	 */
+	public CacheStatistics getStatistics() {
+		return new CacheStatistics(this.hitCount.sum(), this.missCount.sum(), this.evictionCount.sum());
+	}
+
+	@Override
+	@Nullable
+	protected Object lookup(Object key) {
+		Node node = getNode(key, true);
+		return (node != null ? node.value : null);
+	}
+
+	@Nullable
+	private Node getNode(Object key, boolean recordStatistics) {
+		Node node = this.data.get(key);
+		if (node != null) {
+			long now = this.ticker.getAsLong();
+			if (isExpired(node, now)) {
+				expire(node);
+				node = null;
+			}
+			else {
+				if (this.expireAfterAccessNanos > 0) {
+					node.accessTime = now;
+				}
+				afterRead(node);
+			}
+		}
+		if (recordStatistics) {
+			(node != null ? this.hitCount : this.missCount).increment();
+		}
+		return node;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		Node node = getNode(key, true);
+		if (node != null) {
+			return (T) fromStoreValue(node.value);
+		}
+		Node[] replaced = new Node[1];
+		Node[] created = new Node[1];
+		node = this.data.compute(key, (k, existing) -> {
+			if (existing != null && !isExpired(existing, this.ticker.getAsLong())) {
+				return existing;
+			}
+			replaced[0] = existing;
+			try {
+				created[0] = createNode(key, toStoreValue(valueLoader.call()));
+				return created[0];
+			}
+			catch (Throwable ex) {
+				throw new ValueRetrievalException(key, valueLoader, ex);
+			}
+		});
+		if (node == created[0]) {
+			if (replaced[0] != null) {
+				replaced[0].retire();
+				this.evictionCount.increment();
+			}
+			afterWrite(replaced[0], node);
+		}
+		return (T) fromStoreValue(node.value);
+	}
+
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		Node node = getNode(key, true);
+		if (node != null) {
+			return CompletableFuture.completedFuture(fromStoreValue(node.value));
+		}
+		// Expose a value that is currently being loaded as a pending cache entry
+		CompletableFuture<Object> inFlightLoad = this.inFlightLoads.get(key);
+		return (inFlightLoad != null ? inFlightLoad.copy() : null);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		Node node = getNode(key, true);
+		if (node != null) {
+			return CompletableFuture.completedFuture((T) fromStoreValue(node.value));
+		}
+
+		CompletableFuture<Object> load = new CompletableFuture<>();
+		CompletableFuture<Object> inFlightLoad = this.inFlightLoads.putIfAbsent(key, load);
+		if (inFlightLoad != null) {
+			return (CompletableFuture<T>) inFlightLoad.copy();
+		}
+
+		// Check again: a previous load might have completed in the meantime
+		node = getNode(key, false);
+		if (node != null) {
+			this.inFlightLoads.remove(key, load);
+			load.complete(fromStoreValue(node.value));
+			return (CompletableFuture<T>) load.copy();
+		}
+
+		CompletableFuture<T> loaderFuture;
+		try {
+			loaderFuture = valueLoader.get();
+		}
+		catch (Throwable ex) {
+			this.inFlightLoads.remove(key, load);
+			load.completeExceptionally(ex);
+			return (CompletableFuture<T>) load.copy();
+		}
+		loaderFuture.whenComplete((result, ex) -> {
+			Throwable failure = ex;
+			if (failure == null) {
+				try {
+					storeLoadedValue(key, result, load);
+				}
+				catch (Throwable putEx) {
+					failure = putEx;
+				}
+			}
+			this.inFlightLoads.remove(key, load);
+			if (failure != null) {
+				load.completeExceptionally(failure);
+			}
+			else {
+				load.complete(result);
+			}
+		});
+		return (CompletableFuture<T>) load.copy();
+	}
+
+	/**
+	 * Store the value of a completed load, unless the load has been
+	 * invalidated through {@link #evict} or {@link #clear} in the meantime.
+	 */
+	private void storeLoadedValue(Object key, @Nullable Object value, CompletableFuture<Object> load) {
+		if (this.inFlightLoads.get(key) == load) {
+			Node node = doPut(key, value);
+			if (this.inFlightLoads.get(key) != load && this.data.remove(key, node)) {
+				// Invalidated concurrently: do not let the stale value survive the eviction.
+				node.retire();
+				afterWrite(node, null);
+			}
+		}
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		doPut(key, value);
+	}
+
+	private Node doPut(Object key, @Nullable Object value) {
+		Node node = createNode(key, toStoreValue(value));
+		Node prior = this.data.put(key, node);
+		if (prior != null) {
+			prior.retire();
+		}
+		afterWrite(prior, node);
+		return node;
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		Node node = createNode(key, toStoreValue(value));
+		for (;;) {
+			Node prior = this.data.putIfAbsent(key, node);
+			if (prior == null) {
+				afterWrite(null, node);
+				return null;
+			}
+			if (!isExpired(prior, this.ticker.getAsLong())) {
+				afterRead(prior);
+				return toValueWrapper(prior.value);
+			}
+			if (this.data.replace(key, prior, node)) {
+				prior.retire();
+				this.evictionCount.increment();
+				afterWrite(prior, node);
+				return null;
+			}
+		}
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.inFlightLoads.remove(key);
+		Node node = this.data.remove(key);
+		if (node != null) {
+			node.retire();
+			afterWrite(node, null);
+		}
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		this.inFlightLoads.remove(key);
+		Node node = this.data.remove(key);
+		if (node != null) {
+			node.retire();
+			afterWrite(node, null);
+			return !isExpired(node, this.ticker.getAsLong());
+		}
+		return false;
+	}
+
+	@Override
+	public void clear() {
+		this.inFlightLoads.clear();
+		this.evictionLock.lock();
+		try {
+			drainWriteBuffer();
+			Node node;
+			while ((node = this.evictionQueue.poll()) != null) {
+				this.data.remove(node.key, node);
+				discard(node);
+			}
+			this.readBuffer.clear();
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	@Override
+	public boolean invalidate() {
+		boolean notEmpty = !this.data.isEmpty();
+		clear();
+		return notEmpty;
+	}
+
+
+	private Node createNode(Object key, Object storeValue) {
+		int weight = 1;
+		if (this.weigher != null) {
+			weight = this.weigher.weigh(key, fromStoreValue(storeValue));
+			Assert.state(weight >= 0, "Weigher must not return a negative weight");
+		}
+		return new Node(key, storeValue, weight, this.ticker.getAsLong());
+	}
+
+	private boolean isExpired(Node node, long now) {
+		return ((this.expireAfterWriteNanos > 0 && now - node.writeTime >= this.expireAfterWriteNanos) ||
+				(this.expireAfterAccessNanos > 0 && now - node.accessTime >= this.expireAfterAccessNanos));
+	}
+
+	private void expire(Node node) {
+		if (this.data.remove(node.key, node)) {
+			node.retire();
+			this.evictionCount.increment();
+			afterWrite(node, null);
+		}
+	}
+
+	private void afterRead(Node node) {
+		if (this.readBuffer.record(node) || this.drainRequired) {
+			drainBuffers();
+		}
+	}
+
+	/**
+	 * Record the replacement of a node in the cache. Whoever removes a node
+	 * from the map is responsible for retiring it and for its removal from the
+	 * eviction queue, either through a recorded write operation or directly
+	 * within a drain.
+	 * <p>Write operations from different threads may be drained in a different
+	 * order than they were applied to the map: the addition of a node may only
+	 * be drained after its removal, in which case the retired node is ignored.
+	 */
+	private void afterWrite(@Nullable Node removed, @Nullable Node added) {
+		if (added != null) {
+			this.writeBuffer.add(new AddTask(added));
+		}
+		if (removed != null) {
+			this.writeBuffer.add(new RemovalTask(removed));
+		}
+		this.drainRequired = true;
+		drainBuffers();
+	}
+
+	private void drainBuffers() {
+		if (this.evictionLock.tryLock()) {
+			try {
+				this.drainRequired = false;
+				this.readBuffer.drainTo(this.evictionQueue);
+				drainWriteBuffer();
+				evictEntries();
+				sweepExpiredEntries();
+			}
+			finally {
+				this.evictionLock.unlock();
+			}
+		}
+	}
+
+	private void drainWriteBuffer() {
+		Runnable task;
+		while ((task = this.writeBuffer.poll()) != null) {
+			task.run();
+		}
+	}
+
+	private void evictEntries() {
+		if (this.maximumSize < 0) {
+			return;
+		}
+		while (this.totalWeight > this.maximumSize) {
+			Node node = this.evictionQueue.poll();
+			if (node == null) {
+				return;
+			}
+			if (this.data.remove(node.key, node)) {
+				this.evictionCount.increment();
+			}
+			discard(node);
+		}
+	}
+
+	private void sweepExpiredEntries() {
+		long interval = Math.max(this.expireAfterWriteNanos, this.expireAfterAccessNanos);
+		if (interval == 0) {
+			return;
+		}
+		long now = this.ticker.getAsLong();
+		if (now - this.nextSweep < 0) {
+			return;
+		}
+		this.nextSweep = now + interval;
+		Node node = this.evictionQueue.first;
+		while (node != null) {
+			Node next = node.next;
+			if (!node.isAlive()) {
+				discard(node);
+			}
+			else if (isExpired(node, now)) {
+				if (this.data.remove(node.key, node)) {
+					this.evictionCount.increment();
+				}
+				discard(node);
+			}
+			node = next;
+		}
+	}
+
+	/**
+	 * Remove the given node from the eviction queue and from the total weight,
+	 * marking it as dead so that a pending addition of it will be ignored.
+	 * <p>Must only be called for nodes that have been removed from the map,
+	 * with the eviction lock held.
+	 */
+	private void discard(Node node) {
+		if (node.added) {
+			this.evictionQueue.remove(node);
+			this.totalWeight -= node.weight;
+			node.added = false;
+		}
+		node.state = Node.DEAD;
+	}
+
+
+	/**
+	 * Strategy for determining the weight of a cache entry,
+	 * counting against the maximum size of the cache.
+	 */
+	@FunctionalInterface
+	public interface Weigher {
+
+		/**
+		 * Return the weight of the given cache entry.
+		 * @param key the key of the entry
+		 * @param value the value of the entry (potentially {@code null}
+		 * if the cache allows {@code null} values)
+		 * @return the weight of the entry, which must not be negative
+		 */
+		int weigh(Object key, @Nullable Object value);
+	}
+
+
+	/**
+	 * Write operation recorded when a new entry is added to the cache.
+	 */
+	private final class AddTask implements Runnable {
+
+		private final Node node;
+
+		AddTask(Node node) {
+			this.node = node;
+		}
+
+		@Override
+		public void run() {
+			if (this.node.isAlive() && !this.node.added) {
+				this.node.added = true;
+				totalWeight += this.node.weight;
+				evictionQueue.add(this.node);
+			}
+		}
+	}
+
+
+	/**
+	 * Write operation recorded when an entry is removed from the cache.
+	 */
+	private final class RemovalTask implements Runnable {
+
+		private final Node node;
+
+		RemovalTask(Node node) {
+			this.node = node;
+		}
+
+		@Override
+		public void run() {
+			discard(this.node);
+		}
+	}
+
+
+	/**
+	 * Cache entry, linked into the eviction queue.
+	 * <p>A node is alive while it is held in the map, retired once it has been
+	 * removed from the map, and dead once it has been discarded from the
+	 * eviction queue as well.
+	 */
+	private static final class Node {
+
+		static final int ALIVE = 0;
+
+		static final int RETIRED = 1;
+
+		static final int DEAD = 2;
+
+		final Object key;
+
+		final Object value;
+
+		final int weight;
+
+		final long writeTime;
+
+		volatile long accessTime;
+
+		volatile int state = ALIVE;
+
+		// Whether the node has been added to the eviction queue and the total weight
+		boolean added;
+
+		@Nullable
+		Node prev;
+
+		@Nullable
+		Node next;
+
+		Node(Object key, Object value, int weight, long writeTime) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+			this.writeTime = writeTime;
+			this.accessTime = writeTime;
+		}
+
+		boolean isAlive() {
+			return (this.state == ALIVE);
+		}
+
+		void retire() {
+			if (this.state == ALIVE) {
+				this.state = RETIRED;
+			}
+		}
+	}
+
+
+	/**
+	 * Lossy buffers for recorded reads, striped by thread.
+	 * @see org.springframework.util.ConcurrentLruCache
+	 */
+	private static final class ReadBuffer {
+
+		private static final int BUFFER_COUNT = detectNumberOfBuffers();
+
+		private static int detectNumberOfBuffers() {
+			int availableProcessors = Runtime.getRuntime().availableProcessors();
+			int nextPowerOfTwo = 1 << (Integer.SIZE - Integer.numberOfLeadingZeros(availableProcessors - 1));
+			return Math.min(4, nextPowerOfTwo);
+		}
+
+		private static final int BUFFERS_MASK = BUFFER_COUNT - 1;
+
+		private static final int MAX_PENDING_OPERATIONS = 32;
+
+		private static final int BUFFER_SIZE = 4 * MAX_PENDING_OPERATIONS;
+
+		private static final int BUFFER_INDEX_MASK = BUFFER_SIZE - 1;
+
+		private final AtomicLongArray recordedCount = new AtomicLongArray(BUFFER_COUNT);
+
+		private final long[] readCount = new long[BUFFER_COUNT];
+
+		private final AtomicLongArray processedCount = new AtomicLongArray(BUFFER_COUNT);
+
+		private final AtomicReferenceArray<Node>[] buffers;
+
+		@SuppressWarnings({"rawtypes", "unchecked"})
+		ReadBuffer() {
+			this.buffers = new AtomicReferenceArray[BUFFER_COUNT];
+			for (int i = 0; i < BUFFER_COUNT; i++) {
+				this.buffers[i] = new AtomicReferenceArray<>(BUFFER_SIZE);
+			}
+		}
+
+		@SuppressWarnings("deprecation")  // for Thread.getId() on JDK 19
+		private static int getBufferIndex() {
+			return ((int) Thread.currentThread().getId()) & BUFFERS_MASK;
+		}
+
+		/**
+		 * Record a read of the given node.
+		 * @return {@code true} if the buffers should be drained now
+		 */
+		boolean record(Node node) {
+			int bufferIndex = getBufferIndex();
+			long writeCount = this.recordedCount.get(bufferIndex);
+			this.recordedCount.lazySet(bufferIndex, writeCount + 1);
+			this.buffers[bufferIndex].lazySet((int) (writeCount & BUFFER_INDEX_MASK), node);
+			return (writeCount - this.processedCount.get(bufferIndex) >= MAX_PENDING_OPERATIONS);
+		}
+
+		void drainTo(EvictionQueue evictionQueue) {
+			for (int bufferIndex = 0; bufferIndex < BUFFER_COUNT; bufferIndex++) {
+				long writeCount = this.recordedCount.get(bufferIndex);
+				AtomicReferenceArray<Node> buffer = this.buffers[bufferIndex];
+				for (int i = 0; i < BUFFER_SIZE; i++) {
+					int index = (int) (this.readCount[bufferIndex] & BUFFER_INDEX_MASK);
+					Node node = buffer.get(index);
+					if (node == null) {
+						break;
+					}
+					buffer.lazySet(index, null);
+					evictionQueue.moveToBack(node);
+					this.readCount[bufferIndex]++;
+				}
+				this.processedCount.lazySet(bufferIndex, writeCount);
+			}
+		}
+
+		void clear() {
+			for (AtomicReferenceArray<Node> buffer : this.buffers) {
+				for (int i = 0; i < BUFFER_SIZE; i++) {
+					buffer.lazySet(i, null);
+				}
+			}
+		}
+	}
+
+
+	private static final class EvictionQueue {
+
+		@Nullable
+		Node first;
+
+		@Nullable
+		Node last;
+
+		@Nullable
+		Node poll() {
+			Node f = this.first;
+			if (f == null) {
+				return null;
+			}
+			Node next = f.next;
+			f.next = null;
+			this.first = next;
+			if (next == null) {
+				this.last = null;
+			}
+			else {
+				next.prev = null;
+			}
+			return f;
+		}
+
+		void add(Node node) {
+			if (!contains(node)) {
+				linkLast(node);
+			}
+		}
+
+		void moveToBack(Node node) {
+			if (contains(node) && node != this.last) {
+				unlink(node);
+				linkLast(node);
+			}
+		}
+
+		void remove(Node node) {
+			if (contains(node)) {
+				unlink(node);
+			}
+		}
+
+		private boolean contains(Node node) {
+			return (node.prev != null || node.next != null || node == this.first);
+		}
+
+		private void linkLast(Node node) {
+			Node l = this.last;
+			this.last = node;
+			if (l == null) {
+				this.first = node;
+			}
+			else {
+				l.next = node;
+				node.prev = l;
+			}
+		}
+
+		private void unlink(Node node) {
+			Node prev = node.prev;
+			Node next = node.next;
+			if (prev == null) {
+				this.first = next;
+			}
+			else {
+				prev.next = next;
+				node.prev = null;
+			}
+			if (next == null) {
+				this.last = prev;
+			}
+			else {
+				next.prev = prev;
+				node.next = null;
+			}
+		}
+	}
+
+}
@@ -16,11 +16,14 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import org.springframework.cache.support.AbstractValueAdaptingCache;
@@ -39,6 +42,15 @@ import org.springframework.util.Assert;
  * <p>Supports the  {@link #retrieve(Object)} and {@link #retrieve(Object, Supplier)}
  * operations in a best-effort fashion, relying on default {@link CompletableFuture}
  * execution (typically within the JVM's {@link ForkJoinPool#commonPool()}).
+ * In {@link #isAsyncCacheMode() async cache mode}, these operations are
+ * non-blocking instead: concurrent {@link #retrieve(Object, Supplier)} calls for
+ * the same key share a single in-flight value loader, and the loaded value is
+ * stored on completion of that loader's {@code CompletableFuture}.
+ *
+ * <p>Entries may expire after a fixed duration since their creation or their
+ * last replacement. Expired entries are not visible to any lookup operations
+ * anymore; they are removed from the internal store on access as well as in
+ * the background, in a periodic sweep executed via {@link CompletableFuture}.
  *
  * <p><b>Note:</b> As {@link ConcurrentHashMap} (the default implementation used)
  * does not allow for {@code null} values to be stored, this class will replace
@@ -60,6 +72,17 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	@Nullable
 	private final SerializationDelegate serialization;
 
+	private final boolean asyncCacheMode;
+
+	private final long expireAfterWriteNanos;
+
+	@Nullable
+	private final ConcurrentMap<Object, Long> expirationDeadlines;
+
+	private final AtomicLong nextExpirationSweep = new AtomicLong(System.nanoTime());
+
+	private final ConcurrentMap<Object, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>(16);
+
 
 	/**
 	 * Create a new ConcurrentMapCache with the specified name.
@@ -107,12 +130,41 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	protected ConcurrentMapCache(String name, ConcurrentMap<Object, Object> store,
 			boolean allowNullValues, @Nullable SerializationDelegate serialization) {
 
+		this(name, store, allowNullValues, serialization, false, null);
+	}
+
+	/**
+	 * Create a new ConcurrentMapCache with the specified name and the
+	 * given internal {@link ConcurrentMap} to use, in the given cache mode
+	 * and with the given expiration of entries.
+	 * @param name the name of the cache
+	 * @param store the ConcurrentMap to use as an internal store
+	 * @param allowNullValues whether to allow {@code null} values
+	 * (adapting them to an internal null holder value)
+	 * @param serialization the {@link SerializationDelegate} to use
+	 * to serialize cache entry or {@code null} to store the reference
+	 * @param asyncCacheMode whether to load values for
+	 * {@link #retrieve(Object, Supplier)} in a non-blocking fashion,
+	 * sharing a single in-flight value loader per key
+	 * @param expireAfterWrite the duration after which an entry expires
+	 * once it has been created or replaced, or {@code null} for no expiration
+	 * @since 6.1
+	 */
+	protected ConcurrentMapCache(String name, ConcurrentMap<Object, Object> store,
+			boolean allowNullValues, @Nullable SerializationDelegate serialization,
+			boolean asyncCacheMode, @Nullable Duration expireAfterWrite) {
+
 		super(allowNullValues);
 		Assert.notNull(name, "Name must not be null");
 		Assert.notNull(store, "Store must not be null");
+		Assert.isTrue(expireAfterWrite == null || (!expireAfterWrite.isNegative() && !expireAfterWrite.isZero()),
+				"Expiration duration must be positive");
 		this.name = name;
 		this.store = store;
 		this.serialization = serialization;
+		this.asyncCacheMode = asyncCacheMode;
+		this.expireAfterWriteNanos = (expireAfterWrite != null ? expireAfterWrite.toNanos() : 0);
+		this.expirationDeadlines = (expireAfterWrite != null ? new ConcurrentHashMap<>(256) : null);
 	}
 
 
@@ -126,6 +178,25 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 		return (this.serialization != null);
 	}
 
+	/**
+	 * Return whether this cache loads values for {@link #retrieve(Object, Supplier)}
+	 * in a non-blocking fashion, sharing a single in-flight value loader per key.
+	 * @since 6.1
+	 */
+	public final boolean isAsyncCacheMode() {
+		return this.asyncCacheMode;
+	}
+
+	/**
+	 * Return the duration after which an entry expires once it has been
+	 * created or replaced, or {@code null} if entries do not expire.
+	 * @since 6.1
+	 */
+	@Nullable
+	public final Duration getExpireAfterWrite() {
+		return (this.expirationDeadlines != null ? Duration.ofNanos(this.expireAfterWriteNanos) : null);
+	}
+
 	@Override
 	public final String getName() {
 		return this.name;
@@ -139,71 +210,277 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	@Override
 	@Nullable
 	protected Object lookup(Object key) {
-		return this.store.get(key);
+		Object storeValue = this.store.get(key);
+		if (storeValue != null && this.expirationDeadlines != null) {
+			storeValue = expireIfNecessary(key, storeValue);
+		}
+		return storeValue;
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	@Nullable
 	public <T> T get(Object key, Callable<T> valueLoader) {
-		return (T) fromStoreValue(this.store.computeIfAbsent(key, k -> {
+		if (this.expirationDeadlines != null) {
+			// Remove an expired entry, if any, before computing a new value
+			lookup(key);
+		}
+		Object storeValue = this.store.computeIfAbsent(key, k -> {
 			try {
-				return toStoreValue(valueLoader.call());
+				Object value = toStoreValue(valueLoader.call());
+				recordWrite(k);
+				return value;
 			}
 			catch (Throwable ex) {
 				throw new ValueRetrievalException(key, valueLoader, ex);
 			}
-		}));
+		});
+		return (T) fromStoreValue(storeValue);
 	}
 
 	@Override
 	@Nullable
 	public CompletableFuture<?> retrieve(Object key) {
 		Object value = lookup(key);
-		return (value != null ? CompletableFuture.completedFuture(fromStoreValue(value)) : null);
+		if (value != null) {
+			return CompletableFuture.completedFuture(fromStoreValue(value));
+		}
+		if (this.asyncCacheMode) {
+			// Expose a value that is currently being loaded as a pending cache entry
+			CompletableFuture<Object> inFlightLoad = this.inFlightLoads.get(key);
+			if (inFlightLoad != null) {
+				return inFlightLoad.copy();
+			}
+		}
+		return null;
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
-		return CompletableFuture.supplyAsync(() ->
-				(T) fromStoreValue(this.store.computeIfAbsent(key, k -> toStoreValue(valueLoader.get().join()))));
+		if (this.asyncCacheMode) {
+			return (CompletableFuture<T>) retrieveAsync(key, valueLoader);
+		}
+		return CompletableFuture.supplyAsync(() -> {
+			if (this.expirationDeadlines != null) {
+				// Remove an expired entry, if any, before computing a new value
+				lookup(key);
+			}
+			Object storeValue = this.store.computeIfAbsent(key, k -> {
+				Object value = toStoreValue(valueLoader.get().join());
+				recordWrite(k);
+				return value;
+			});
+			return (T) fromStoreValue(storeValue);
+		});
+	}
+
+	private CompletableFuture<Object> retrieveAsync(Object key, Supplier<? extends CompletableFuture<?>> valueLoader) {
+		Object value = lookup(key);
+		if (value != null) {
+			return CompletableFuture.completedFuture(fromStoreValue(value));
+		}
+
+		CompletableFuture<Object> load = new CompletableFuture<>();
+		CompletableFuture<Object> inFlightLoad = this.inFlightLoads.putIfAbsent(key, load);
+		if (inFlightLoad != null) {
+			return inFlightLoad.copy();
+		}
+
+		// Check again: a previous load might have completed in the meantime
+		value = lookup(key);
+		if (value != null) {
+			this.inFlightLoads.remove(key, load);
+			load.complete(fromStoreValue(value));
+			return load.copy();
+		}
+
+		CompletableFuture<?> loaderFuture;
+		try {
+			loaderFuture = valueLoader.get();
+		}
+		catch (Throwable ex) {
+			this.inFlightLoads.remove(key, load);
+			load.completeExceptionally(ex);
+			return load.copy();
+		}
+		loaderFuture.whenComplete((result, ex) -> {
+			Throwable failure = ex;
+			if (failure == null) {
+				try {
+					storeLoadedValue(key, result, load);
+				}
+				catch (Throwable putEx) {
+					failure = putEx;
+				}
+			}
+			this.inFlightLoads.remove(key, load);
+			if (failure != null) {
+				load.completeExceptionally(failure);
+			}
+			else {
+				load.complete(result);
+			}
+		});
+		return load.copy();
+	}
+
+	/**
+	 * Store the value of a completed load, unless the load has been
+	 * invalidated through {@link #evict} or {@link #clear} in the meantime.
+	 */
+	private void storeLoadedValue(Object key, @Nullable Object value, CompletableFuture<Object> load) {
+		Object storeValue = toStoreValue(value);
+		if (this.inFlightLoads.get(key) == load) {
+			write(key, storeValue);
+			if (this.inFlightLoads.get(key) != load) {
+				// Invalidated concurrently: do not let the stale value survive the eviction.
+				this.store.remove(key, storeValue);
+			}
+		}
 	}
 
 	@Override
 	public void put(Object key, @Nullable Object value) {
-		this.store.put(key, toStoreValue(value));
+		write(key, toStoreValue(value));
 	}
 
 	@Override
 	@Nullable
 	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
-		Object existing = this.store.putIfAbsent(key, toStoreValue(value));
+		Object storeValue = toStoreValue(value);
+		if (this.expirationDeadlines == null) {
+			return toValueWrapper(this.store.putIfAbsent(key, storeValue));
+		}
+		Object existing = lookup(key);
+		if (existing == null) {
+			boolean[] written = new boolean[1];
+			existing = this.store.computeIfAbsent(key, k -> {
+				written[0] = true;
+				recordWrite(k);
+				return storeValue;
+			});
+			if (written[0]) {
+				return null;
+			}
+		}
 		return toValueWrapper(existing);
 	}
 
 	@Override
 	public void evict(Object key) {
+		this.inFlightLoads.remove(key);
+		if (this.expirationDeadlines != null) {
+			this.expirationDeadlines.remove(key);
+		}
 		this.store.remove(key);
 	}
 
 	@Override
 	public boolean evictIfPresent(Object key) {
+		this.inFlightLoads.remove(key);
+		if (this.expirationDeadlines != null) {
+			Long deadline = this.expirationDeadlines.remove(key);
+			Object storeValue = this.store.remove(key);
+			return (storeValue != null && (deadline == null || System.nanoTime() - deadline < 0));
+		}
 		return (this.store.remove(key) != null);
 	}
 
 	@Override
 	public void clear() {
+		this.inFlightLoads.clear();
+		if (this.expirationDeadlines != null) {
+			this.expirationDeadlines.clear();
+		}
 		this.store.clear();
 	}
 
 	@Override
 	public boolean invalidate() {
 		boolean notEmpty = !this.store.isEmpty();
-		this.store.clear();
+		clear();
 		return notEmpty;
 	}
 
+	/**
+	 * Write the given entry, recording its expiration deadline atomically
+	 * with the value if expiration is configured.
+	 */
+	private void write(Object key, Object storeValue) {
+		if (this.expirationDeadlines != null) {
+			this.store.compute(key, (k, oldValue) -> {
+				recordWrite(k);
+				return storeValue;
+			});
+		}
+		else {
+			this.store.put(key, storeValue);
+		}
+	}
+
+	/**
+	 * Record the expiration deadline for an entry that is being written,
+	 * triggering a background sweep of expired entries if one is due.
+	 * <p>To be called before the value becomes visible in the store, that is,
+	 * from within a compute operation on the store for the given key:
+	 * a concurrent lookup must never see a new value with an old deadline.
+	 * Conversely, deadlines get removed before their values, so a value
+	 * is never left in the store without a deadline.
+	 */
+	private void recordWrite(Object key) {
+		if (this.expirationDeadlines != null) {
+			long now = System.nanoTime();
+			this.expirationDeadlines.put(key, now + this.expireAfterWriteNanos);
+			long nextSweep = this.nextExpirationSweep.get();
+			if (now - nextSweep >= 0 &&
+					this.nextExpirationSweep.compareAndSet(nextSweep, now + this.expireAfterWriteNanos)) {
+				CompletableFuture.runAsync(this::removeExpiredEntries);
+			}
+		}
+	}
+
+	/**
+	 * Remove the given entry if it has expired. The deadline is checked again
+	 * within a compute operation on the store before removing the entry,
+	 * so that a value that has been written concurrently is retained.
+	 * @return the current value, or {@code null} if the entry has expired
+	 */
+	@Nullable
+	private Object expireIfNecessary(Object key, Object storeValue) {
+		ConcurrentMap<Object, Long> deadlines = this.expirationDeadlines;
+		Assert.state(deadlines != null, "No expiration configured");
+		Long deadline = deadlines.get(key);
+		if (deadline == null || System.nanoTime() - deadline < 0) {
+			return storeValue;
+		}
+		return this.store.computeIfPresent(key, (k, currentValue) -> {
+			Long currentDeadline = deadlines.get(k);
+			if (currentDeadline != null && System.nanoTime() - currentDeadline >= 0) {
+				deadlines.remove(k, currentDeadline);
+				return null;
+			}
+			return currentValue;
+		});
+	}
+
+	private void removeExpiredEntries() {
+		Assert.state(this.expirationDeadlines != null, "No expiration configured");
+		long now = System.nanoTime();
+		for (Map.Entry<Object, Long> entry : this.expirationDeadlines.entrySet()) {
+			if (now - entry.getValue() >= 0) {
+				Object key = entry.getKey();
+				Object storeValue = this.store.get(key);
+				if (storeValue != null) {
+					expireIfNecessary(key, storeValue);
+				}
+				else {
+					this.expirationDeadlines.remove(key, entry.getValue());
+				}
+			}
+		}
+	}
+
 	@Override
 	protected Object toStoreValue(@Nullable Object userValue) {
 		Object storeValue = super.toStoreValue(userValue);
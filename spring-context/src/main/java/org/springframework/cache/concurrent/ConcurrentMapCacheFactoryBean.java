@@ -16,6 +16,8 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import org.springframework.beans.factory.BeanNameAware;
@@ -47,6 +49,11 @@ public class ConcurrentMapCacheFactoryBean
 
 	private boolean allowNullValues = true;
 
+	private boolean asyncCacheMode = false;
+
+	@Nullable
+	private Duration expireAfterWrite;
+
 	@Nullable
 	private ConcurrentMapCache cache;
 
@@ -77,6 +84,27 @@ public class ConcurrentMapCacheFactoryBean
 		this.allowNullValues = allowNullValues;
 	}
 
+	/**
+	 * Set whether to load values for
+	 * {@link ConcurrentMapCache#retrieve(Object, java.util.function.Supplier)}
+	 * in a non-blocking fashion, sharing a single in-flight value loader per key.
+	 * <p>Default is "false".
+	 * @since 6.1
+	 */
+	public void setAsyncCacheMode(boolean asyncCacheMode) {
+		this.asyncCacheMode = asyncCacheMode;
+	}
+
+	/**
+	 * Specify the duration after which cache entries expire once they have
+	 * been created or replaced.
+	 * <p>Default is none, keeping entries until they are explicitly evicted.
+	 * @since 6.1
+	 */
+	public void setExpireAfterWrite(@Nullable Duration expireAfterWrite) {
+		this.expireAfterWrite = expireAfterWrite;
+	}
+
 	@Override
 	public void setBeanName(String beanName) {
 		if (!StringUtils.hasLength(this.name)) {
@@ -86,8 +114,9 @@ public class ConcurrentMapCacheFactoryBean
 
 	@Override
 	public void afterPropertiesSet() {
-		this.cache = (this.store != null ? new ConcurrentMapCache(this.name, this.store, this.allowNullValues) :
-				new ConcurrentMapCache(this.name, this.allowNullValues));
+		ConcurrentMap<Object, Object> store = (this.store != null ? this.store : new ConcurrentHashMap<>(256));
+		this.cache = new ConcurrentMapCache(this.name, store, this.allowNullValues, null,
+				this.asyncCacheMode, this.expireAfterWrite);
 	}
 
 
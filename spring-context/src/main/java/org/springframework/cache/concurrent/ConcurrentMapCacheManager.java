@@ -16,6 +16,7 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -28,6 +29,7 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.core.serializer.support.SerializationDelegate;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ObjectUtils;
 
 /**
  * {@link CacheManager} implementation that lazily builds {@link ConcurrentMapCache}
@@ -35,9 +37,17 @@ import org.springframework.lang.Nullable;
  * the set of cache names is pre-defined through {@link #setCacheNames}, with no
  * dynamic creation of further cache regions at runtime.
  *
- * <p>Note: This is by no means a sophisticated CacheManager; it comes with no
- * cache configuration options. However, it may be useful for testing or simple
- * caching scenarios. For advanced local caching needs, consider
+ * <p>By default, caches are unbounded {@link ConcurrentMapCache} instances.
+ * As of 6.1, a {@link #setMaximumSize maximum size}, a {@link #setWeigher weigher}
+ * and/or an {@link #setExpireAfterAccess expire-after-access} duration may be
+ * specified, switching to {@link BoundedConcurrentMapCache} instances which evict
+ * least recently used and expired entries and record cache statistics. Bounded
+ * caches always load values in a non-blocking fashion, independent of the
+ * {@link #setAsyncCacheMode async cache mode}.
+ *
+ * <p>Note: This is by no means a sophisticated CacheManager. However, it may be
+ * useful for testing or simple caching scenarios. For advanced local caching
+ * needs, consider
  * {@link org.springframework.cache.jcache.JCacheCacheManager} or
  * {@link org.springframework.cache.caffeine.CaffeineCacheManager}.
  *
@@ -55,6 +65,19 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 
 	private boolean storeByValue = false;
 
+	private boolean asyncCacheMode = false;
+
+	@Nullable
+	private Duration expireAfterWrite;
+
+	@Nullable
+	private Duration expireAfterAccess;
+
+	private long maximumSize = -1;
+
+	@Nullable
+	private BoundedConcurrentMapCache.Weigher weigher;
+
 	@Nullable
 	private SerializationDelegate serialization;
 
@@ -145,6 +168,150 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 		return this.storeByValue;
 	}
 
+	/**
+	 * Set the common cache type that this cache manager builds to async.
+	 * This applies to {@link #setCacheNames} as well as on-demand caches.
+	 * <p>In async cache mode, {@link Cache#retrieve(Object, java.util.function.Supplier)}
+	 * loads values in a non-blocking fashion, with concurrent calls for the same
+	 * key sharing a single in-flight value loader.
+	 * <p>Default is "false", executing value loaders via default
+	 * {@link java.util.concurrent.CompletableFuture} execution.
+	 * <p>This setting only applies to unbounded caches: if a
+	 * {@link #setMaximumSize maximum size}, a {@link #setWeigher weigher} or an
+	 * {@link #setExpireAfterAccess expire-after-access} duration is specified,
+	 * {@link BoundedConcurrentMapCache} instances load values in a non-blocking
+	 * fashion in any case.
+	 * <p>Note: A change of the async cache mode will reset all existing caches,
+	 * if any, to reconfigure them with the new cache mode.
+	 * @since 6.1
+	 * @see ConcurrentMapCache#isAsyncCacheMode()
+	 */
+	public void setAsyncCacheMode(boolean asyncCacheMode) {
+		if (asyncCacheMode != this.asyncCacheMode) {
+			this.asyncCacheMode = asyncCacheMode;
+			// Need to recreate all Cache instances with the new cache mode...
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return whether this cache manager builds its caches in async cache mode.
+	 * @since 6.1
+	 */
+	public boolean isAsyncCacheMode() {
+		return this.asyncCacheMode;
+	}
+
+	/**
+	 * Specify the duration after which cache entries expire once they have been
+	 * created or replaced, for all caches in this cache manager.
+	 * <p>Default is none, keeping entries until they are explicitly evicted.
+	 * <p>Note: A change of the expiration setting will reset all existing caches,
+	 * if any, to reconfigure them with the new expiration.
+	 * @since 6.1
+	 * @see ConcurrentMapCache#getExpireAfterWrite()
+	 */
+	public void setExpireAfterWrite(@Nullable Duration expireAfterWrite) {
+		if (!ObjectUtils.nullSafeEquals(expireAfterWrite, this.expireAfterWrite)) {
+			this.expireAfterWrite = expireAfterWrite;
+			// Need to recreate all Cache instances with the new expiration...
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the duration after which cache entries expire, if any.
+	 * @since 6.1
+	 */
+	@Nullable
+	public Duration getExpireAfterWrite() {
+		return this.expireAfterWrite;
+	}
+
+	/**
+	 * Specify the duration after which cache entries expire once they have last
+	 * been accessed, for all caches in this cache manager.
+	 * <p>Default is none. Setting a duration switches to
+	 * {@link BoundedConcurrentMapCache} instances, which ignore the
+	 * {@link #setAsyncCacheMode async cache mode}.
+	 * <p>Note: A change of the expiration setting will reset all existing caches,
+	 * if any, to reconfigure them with the new expiration.
+	 * @since 6.1
+	 */
+	public void setExpireAfterAccess(@Nullable Duration expireAfterAccess) {
+		if (!ObjectUtils.nullSafeEquals(expireAfterAccess, this.expireAfterAccess)) {
+			this.expireAfterAccess = expireAfterAccess;
+			// Need to recreate all Cache instances with the new expiration...
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the duration after which cache entries expire once they have
+	 * last been accessed, if any.
+	 * @since 6.1
+	 */
+	@Nullable
+	public Duration getExpireAfterAccess() {
+		return this.expireAfterAccess;
+	}
+
+	/**
+	 * Specify the maximum number of entries per cache or, if a
+	 * {@link #setWeigher weigher} is specified, the maximum total weight of
+	 * the entries per cache. Least recently used entries are evicted once the
+	 * maximum size has been exceeded.
+	 * <p>Default is -1, for caches without a size limit. Setting a maximum
+	 * size switches to {@link BoundedConcurrentMapCache} instances, which
+	 * ignore the {@link #setAsyncCacheMode async cache mode}.
+	 * <p>Note: A change of the maximum size will reset all existing caches,
+	 * if any, to reconfigure them with the new maximum size.
+	 * @since 6.1
+	 */
+	public void setMaximumSize(long maximumSize) {
+		if (maximumSize != this.maximumSize) {
+			this.maximumSize = maximumSize;
+			// Need to recreate all Cache instances with the new maximum size...
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the maximum number of entries, or the maximum total weight of the
+	 * entries, per cache (-1 if the caches are not bounded in size).
+	 * @since 6.1
+	 */
+	public long getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	/**
+	 * Specify the weigher for determining the weight of each cache entry,
+	 * counting against the {@link #setMaximumSize maximum size} of its cache.
+	 * <p>Default is none, counting each entry with a weight of 1. Setting a
+	 * weigher switches to {@link BoundedConcurrentMapCache} instances, which
+	 * ignore the {@link #setAsyncCacheMode async cache mode}.
+	 * <p>Note: A change of the weigher will reset all existing caches,
+	 * if any, to reconfigure them with the new weigher.
+	 * @since 6.1
+	 */
+	public void setWeigher(@Nullable BoundedConcurrentMapCache.Weigher weigher) {
+		if (weigher != this.weigher) {
+			this.weigher = weigher;
+			// Need to recreate all Cache instances with the new weigher...
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the weigher for determining the weight of each cache entry, if any.
+	 * @since 6.1
+	 */
+	@Nullable
+	public BoundedConcurrentMapCache.Weigher getWeigher() {
+		return this.weigher;
+	}
+
 	@Override
 	public void setBeanClassLoader(ClassLoader classLoader) {
 		this.serialization = new SerializationDelegate(classLoader);
@@ -170,6 +337,10 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 		return cache;
 	}
 
+	private boolean isBounded() {
+		return (this.maximumSize >= 0 || this.weigher != null || this.expireAfterAccess != null);
+	}
+
 	private void recreateCaches() {
 		for (Map.Entry<String, Cache> entry : this.cacheMap.entrySet()) {
 			entry.setValue(createConcurrentMapCache(entry.getKey()));
@@ -182,8 +353,17 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 	 * @return the ConcurrentMapCache (or a decorator thereof)
 	 */
 	protected Cache createConcurrentMapCache(String name) {
+		if (isBounded()) {
+			if (isStoreByValue()) {
+				throw new IllegalStateException(
+						"Store-by-value is not supported in combination with bounded caches: " + name);
+			}
+			return new BoundedConcurrentMapCache(name, isAllowNullValues(), getMaximumSize(), this.weigher,
+					getExpireAfterWrite(), getExpireAfterAccess());
+		}
 		SerializationDelegate actualSerialization = (isStoreByValue() ? this.serialization : null);
-		return new ConcurrentMapCache(name, new ConcurrentHashMap<>(256), isAllowNullValues(), actualSerialization);
+		return new ConcurrentMapCache(name, new ConcurrentHashMap<>(256), isAllowNullValues(), actualSerialization,
+				isAsyncCacheMode(), getExpireAfterWrite());
 	}
 
 }
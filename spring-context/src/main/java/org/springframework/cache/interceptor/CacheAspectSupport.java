@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
@@ -110,6 +111,11 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	@Nullable
 	private SingletonSupplier<CacheResolver> cacheResolver;
 
+	private boolean requestCoalescing = false;
+
+	private final ConcurrentMap<CoalescingKey, CompletableFuture<Object>> inFlightInvocations =
+			new ConcurrentHashMap<>(64);
+
 	@Nullable
 	private BeanFactory beanFactory;
 
@@ -212,6 +218,36 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		this.cacheResolver = SingletonSupplier.of(new SimpleCacheResolver(cacheManager));
 	}
 
+	/**
+	 * Set whether concurrent cache misses for the same key should share a single
+	 * in-flight invocation of an asynchronous method: that is, a method returning
+	 * a {@link CompletableFuture} or a reactive type such as {@code Mono} or
+	 * {@code Flux}. Callers arriving while the first invocation for the key is
+	 * still in progress receive its result (or its failure) instead of invoking
+	 * the method themselves.
+	 * <p>The default is "false". Coalescing applies to {@code @Cacheable}
+	 * operations that are not combined with {@code @CachePut} or
+	 * {@code @CacheEvict} operations on the same method; synchronized
+	 * operations ({@code sync=true}) rely on the cache provider's
+	 * {@link Cache#retrieve(Object, Supplier)} implementation instead.
+	 * <p>Note that a coalesced reactive return value replays the outcome of the
+	 * shared invocation to each of its subscribers rather than re-invoking the
+	 * method on every subscription.
+	 * @since 6.1
+	 */
+	public void setRequestCoalescing(boolean requestCoalescing) {
+		this.requestCoalescing = requestCoalescing;
+	}
+
+	/**
+	 * Return whether concurrent cache misses for the same key share a single
+	 * in-flight invocation of an asynchronous method.
+	 * @since 6.1
+	 */
+	public boolean isRequestCoalescing() {
+		return this.requestCoalescing;
+	}
+
 	/**
 	 * Set the containing {@link BeanFactory} for {@link CacheManager} and other
 	 * service lookups.
@@ -402,6 +438,21 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		// Check if we have a cached value matching the conditions
 		Object cacheHit = findCachedValue(contexts.get(CacheableOperation.class));
 
+		if (cacheHit == null && this.requestCoalescing) {
+			// Share an in-flight invocation for the same cache key, if possible
+			CoalescingKey coalescingKey = determineCoalescingKey(method, contexts);
+			if (coalescingKey != null) {
+				return executeCoalesced(invoker, method, contexts, coalescingKey);
+			}
+		}
+
+		return execute(invoker, method, contexts, cacheHit);
+	}
+
+	@Nullable
+	private Object execute(CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts,
+			@Nullable Object cacheHit) {
+
 		Object cacheValue;
 		Object returnValue;
 
@@ -443,6 +494,75 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return returnValue;
 	}
 
+	@Nullable
+	private CoalescingKey determineCoalescingKey(Method method, CacheOperationContexts contexts) {
+		Class<?> returnType = method.getReturnType();
+		if (!contexts.get(CachePutOperation.class).isEmpty() || !contexts.get(CacheEvictOperation.class).isEmpty() ||
+				!(CompletableFuture.class.isAssignableFrom(returnType) ||
+						(this.reactiveCachingHandler != null && this.reactiveCachingHandler.isReactive(returnType)))) {
+			return null;
+		}
+		for (CacheOperationContext context : contexts.get(CacheableOperation.class)) {
+			if (isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
+				Object key = generateKey(context, CacheOperationExpressionEvaluator.NO_RESULT);
+				return new CoalescingKey(context.getCaches().iterator().next(), key, returnType);
+			}
+		}
+		return null;
+	}
+
+	@Nullable
+	private Object executeCoalesced(CacheOperationInvoker invoker, Method method,
+			CacheOperationContexts contexts, CoalescingKey coalescingKey) {
+
+		CompletableFuture<Object> invocation = new CompletableFuture<>();
+		CompletableFuture<Object> inFlight = this.inFlightInvocations.putIfAbsent(coalescingKey, invocation);
+		if (inFlight != null) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Joining in-flight invocation for cache key '" + coalescingKey.key() +
+						"' in cache " + coalescingKey.cache().getName());
+			}
+			return joinInvocation(method, inFlight);
+		}
+
+		Object returnValue;
+		try {
+			returnValue = execute(invoker, method, contexts, null);
+		}
+		catch (RuntimeException | Error ex) {
+			this.inFlightInvocations.remove(coalescingKey, invocation);
+			invocation.completeExceptionally(
+					ex instanceof CacheOperationInvoker.ThrowableWrapper wrapper ? wrapper.getOriginal() : ex);
+			throw ex;
+		}
+
+		Runnable completion = () -> this.inFlightInvocations.remove(coalescingKey, invocation);
+		if (returnValue instanceof CompletableFuture<?> future) {
+			invocation.complete(future);
+			future.whenComplete((value, ex) -> completion.run());
+		}
+		else if (returnValue != null && this.reactiveCachingHandler != null) {
+			returnValue = this.reactiveCachingHandler.shareInvocation(method, returnValue, completion);
+			invocation.complete(returnValue);
+		}
+		else {
+			completion.run();
+			invocation.complete(returnValue);
+		}
+		return returnValue;
+	}
+
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private Object joinInvocation(Method method, CompletableFuture<Object> invocation) {
+		if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+			return invocation.thenCompose(returnValue -> (returnValue != null ?
+					(CompletableFuture<Object>) returnValue : CompletableFuture.completedFuture(null)));
+		}
+		Assert.state(this.reactiveCachingHandler != null, "No reactive caching handler");
+		return this.reactiveCachingHandler.joinInvocation(method, invocation);
+	}
+
 	@Nullable
 	private Object executeSynchronized(CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
 		CacheOperationContext context = contexts.get(CacheableOperation.class).iterator().next();
@@ -910,6 +1030,13 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	}
 
 
+	/**
+	 * Key for an in-flight invocation that concurrent cache misses may share.
+	 */
+	private record CoalescingKey(Cache cache, Object key, Class<?> returnType) {
+	}
+
+
 	private class CachePutRequest {
 
 		private final CacheOperationContext context;
@@ -1027,6 +1154,40 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			return NOT_HANDLED;
 		}
 
+		public boolean isReactive(Class<?> returnType) {
+			return (this.registry.getAdapter(returnType) != null);
+		}
+
+		public Object shareInvocation(Method method, Object returnValue, Runnable completion) {
+			ReactiveAdapter adapter = this.registry.getAdapter(method.getReturnType());
+			if (adapter == null) {
+				completion.run();
+				return returnValue;
+			}
+			if (adapter.isMultiValue()) {
+				return adapter.fromPublisher(Flux.from(adapter.toPublisher(returnValue))
+						.doFinally(signal -> completion.run()).cache());
+			}
+			else {
+				return adapter.fromPublisher(Mono.from(adapter.toPublisher(returnValue))
+						.doFinally(signal -> completion.run()).cache());
+			}
+		}
+
+		@Nullable
+		public Object joinInvocation(Method method, CompletableFuture<Object> invocation) {
+			ReactiveAdapter adapter = this.registry.getAdapter(method.getReturnType());
+			Assert.state(adapter != null, "No reactive adapter for return type");
+			if (adapter.isMultiValue()) {
+				return adapter.fromPublisher(Mono.fromFuture(invocation)
+						.flatMapMany(returnValue -> Flux.from(adapter.toPublisher(returnValue))));
+			}
+			else {
+				return adapter.fromPublisher(Mono.fromFuture(invocation)
+						.flatMap(returnValue -> Mono.from(adapter.toPublisher(returnValue))));
+			}
+		}
+
 		@Nullable
 		public Object processCacheEvicts(List<CacheOperationContext> contexts, @Nullable Object result) {
 			ReactiveAdapter adapter = (result != null ? this.registry.getAdapter(result.getClass()) : null);
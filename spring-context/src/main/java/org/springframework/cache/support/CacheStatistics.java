@@ -0,0 +1,49 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+/**
+ * Immutable snapshot of the statistics of a {@link org.springframework.cache.Cache},
+ * for exposure to monitoring systems.
+ *
+ * @author agent
+ * @since 6.1
+ * @param hitCount the number of lookups that returned a cached value
+ * @param missCount the number of lookups that did not find a cached value
+ * @param evictionCount the number of entries that have been evicted due to the
+ * size limit or expiration of the cache (not counting explicit evictions)
+ * @see org.springframework.cache.concurrent.BoundedConcurrentMapCache#getStatistics()
+ */
+public record CacheStatistics(long hitCount, long missCount, long evictionCount) {
+
+	/**
+	 * Return the total number of lookups, that is, the sum of hits and misses.
+	 */
+	public long requestCount() {
+		return this.hitCount + this.missCount;
+	}
+
+	/**
+	 * Return the ratio of lookups that returned a cached value,
+	 * or {@code 1.0} if there have not been any lookups yet.
+	 */
+	public double hitRate() {
+		long requestCount = requestCount();
+		return (requestCount == 0 ? 1.0 : (double) this.hitCount / requestCount);
+	}
+
+}
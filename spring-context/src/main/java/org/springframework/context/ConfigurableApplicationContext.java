@@ -94,6 +94,15 @@ public interface ConfigurableApplicationContext extends ApplicationContext, Life
 	 */
 	String APPLICATION_STARTUP_BEAN_NAME = "applicationStartup";
 
+	/**
+	 * Name of the bootstrap {@link java.util.concurrent.Executor} bean in the factory.
+	 * If such a bean is supplied, non-lazy singletons get pre-instantiated in
+	 * parallel on it, as far as their bean definitions allow for.
+	 * @since 6.1
+	 * @see org.springframework.beans.factory.support.DefaultListableBeanFactory#setBootstrapExecutor
+	 */
+	String BOOTSTRAP_EXECUTOR_BEAN_NAME = "bootstrapExecutor";
+
 	/**
 	 * {@link Thread#getName() Name} of the {@linkplain #registerShutdownHook()
 	 * shutdown hook} thread: {@value}.
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.support.CacheStatistics;
+import org.springframework.context.testfixture.cache.AbstractValueAdaptingCacheTests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BoundedConcurrentMapCache}.
+ *
+ * @author agent
+ * @since 6.1
+ */
+class BoundedConcurrentMapCacheTests extends AbstractValueAdaptingCacheTests<BoundedConcurrentMapCache> {
+
+	private final AtomicLong ticker = new AtomicLong();
+
+	private BoundedConcurrentMapCache cache;
+
+	private BoundedConcurrentMapCache cacheNoNull;
+
+
+	@BeforeEach
+	void setup() {
+		this.cache = new BoundedConcurrentMapCache(CACHE_NAME, 1000);
+		this.cacheNoNull = new BoundedConcurrentMapCache(CACHE_NAME_NO_NULL, false, 1000, null, null, null);
+	}
+
+	@Override
+	protected BoundedConcurrentMapCache getCache() {
+		return getCache(true);
+	}
+
+	@Override
+	protected BoundedConcurrentMapCache getCache(boolean allowNull) {
+		return (allowNull ? this.cache : this.cacheNoNull);
+	}
+
+	@Override
+	protected Object getNativeCache() {
+		return this.cache;
+	}
+
+
+	@Test
+	void evictsLeastRecentlyUsedEntries() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, 2);
+		cache.put("k1", "v1");
+		cache.put("k2", "v2");
+		assertThat(cache.get("k1").get()).isEqualTo("v1");
+		cache.put("k3", "v3");
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.get("k2")).isNull();
+		assertThat(cache.get("k1").get()).isEqualTo("v1");
+		assertThat(cache.get("k3").get()).isEqualTo("v3");
+		assertThat(cache.getStatistics().evictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void evictsByWeight() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, true, 10,
+				(key, value) -> ((String) value).length(), null, null);
+		cache.put("k1", "12345");
+		cache.put("k2", "1234");
+		assertThat(cache.size()).isEqualTo(2);
+		cache.put("k3", "12");
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.get("k1")).isNull();
+		assertThat(cache.get("k3").get()).isEqualTo("12");
+
+		cache.put("k2", "1234567890");
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cache.get("k2").get()).isEqualTo("1234567890");
+	}
+
+	@Test
+	void expiresAfterWrite() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, true, -1, null,
+				Duration.ofNanos(100), null, this.ticker::get);
+		cache.put("k1", "v1");
+		this.ticker.addAndGet(50);
+		assertThat(cache.get("k1").get()).isEqualTo("v1");
+		this.ticker.addAndGet(50);
+		assertThat(cache.get("k1")).isNull();
+		assertThat(cache.size()).isZero();
+		assertThat(cache.putIfAbsent("k1", "v2")).isNull();
+		assertThat(cache.get("k1").get()).isEqualTo("v2");
+	}
+
+	@Test
+	void expiresAfterAccess() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, true, -1, null,
+				null, Duration.ofNanos(100), this.ticker::get);
+		cache.put("k1", "v1");
+		cache.put("k2", "v2");
+		for (int i = 0; i < 3; i++) {
+			this.ticker.addAndGet(60);
+			assertThat(cache.get("k1").get()).isEqualTo("v1");
+		}
+		assertThat(cache.get("k2")).isNull();
+		assertThat(cache.get("k1", () -> "other")).isEqualTo("v1");
+	}
+
+	@Test
+	void sweepsExpiredEntries() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, true, -1, null,
+				Duration.ofNanos(100), null, this.ticker::get);
+		cache.put("k1", "v1");
+		cache.put("k2", "v2");
+		this.ticker.addAndGet(150);
+		cache.put("k3", "v3");
+
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cache.getStatistics().evictionCount()).isEqualTo(2);
+	}
+
+	@Test
+	void concurrentReplacementsDoNotLeakWeight() throws Exception {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, 50);
+		CompletableFuture<?>[] writers = new CompletableFuture<?>[4];
+		for (int i = 0; i < writers.length; i++) {
+			writers[i] = CompletableFuture.runAsync(() -> {
+				for (int j = 0; j < 10_000; j++) {
+					cache.put("k" + (j % 5), "v" + j);
+				}
+			});
+		}
+		CompletableFuture.allOf(writers).join();
+		cache.clear();
+
+		for (int i = 0; i < 50; i++) {
+			cache.put("other" + i, "v" + i);
+		}
+		assertThat(cache.size()).isEqualTo(50);
+		assertThat(cache.getStatistics().evictionCount()).isZero();
+	}
+
+	@Test
+	void recordsStatistics() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(CACHE_NAME, 10);
+		cache.put("k1", "v1");
+		cache.get("k1");
+		cache.get("k1");
+		cache.get("k2");
+
+		CacheStatistics statistics = cache.getStatistics();
+		assertThat(statistics.hitCount()).isEqualTo(2);
+		assertThat(statistics.missCount()).isEqualTo(1);
+		assertThat(statistics.evictionCount()).isZero();
+		assertThat(statistics.requestCount()).isEqualTo(3);
+		assertThat(statistics.hitRate()).isEqualTo(2.0 / 3);
+	}
+
+	@Test
+	void retrieveSharesInFlightLoad() {
+		AtomicInteger counter = new AtomicInteger();
+		CompletableFuture<String> loader = new CompletableFuture<>();
+		CompletableFuture<String> first = this.cache.retrieve("k1", () -> {
+			counter.incrementAndGet();
+			return loader;
+		});
+		CompletableFuture<String> second = this.cache.retrieve("k1", () -> {
+			counter.incrementAndGet();
+			return CompletableFuture.completedFuture("other");
+		});
+		assertThat(this.cache.retrieve("k1")).isNotNull().isNotDone();
+
+		loader.complete("v1");
+		assertThat(first.join()).isEqualTo("v1");
+		assertThat(second.join()).isEqualTo("v1");
+		assertThat(counter.get()).isEqualTo(1);
+		assertThat(this.cache.get("k1").get()).isEqualTo("v1");
+	}
+
+	@Test
+	void evictInvalidatesInFlightLoad() {
+		CompletableFuture<String> loader = new CompletableFuture<>();
+		CompletableFuture<String> first = this.cache.retrieve("k1", () -> loader);
+		this.cache.evict("k1");
+		assertThat(this.cache.retrieve("k1")).isNull();
+
+		loader.complete("stale");
+		assertThat(first.join()).isEqualTo("stale");
+		assertThat(this.cache.get("k1")).isNull();
+		assertThat(this.cache.size()).isZero();
+	}
+
+}
@@ -16,6 +16,8 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.cache.Cache;
@@ -131,4 +133,48 @@ public class ConcurrentMapCacheManagerTests {
 		assertThat(cache1x.get("key")).isNull();
 	}
 
+	@Test
+	public void testChangeAsyncCacheModeAndExpiration() {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager("c1");
+		ConcurrentMapCache cache1 = (ConcurrentMapCache) cm.getCache("c1");
+		assertThat(cache1.isAsyncCacheMode()).isFalse();
+		assertThat(cache1.getExpireAfterWrite()).isNull();
+
+		cm.setAsyncCacheMode(true);
+		cm.setExpireAfterWrite(Duration.ofMinutes(5));
+		ConcurrentMapCache cache1x = (ConcurrentMapCache) cm.getCache("c1");
+		assertThat(cache1x).isNotSameAs(cache1);
+		assertThat(cache1x.isAsyncCacheMode()).isTrue();
+		assertThat(cache1x.getExpireAfterWrite()).isEqualTo(Duration.ofMinutes(5));
+
+		cm.setExpireAfterWrite(Duration.ofMinutes(5));
+		assertThat(cm.getCache("c1")).isSameAs(cache1x);
+	}
+
+	@Test
+	public void testBoundedMode() {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager("c1");
+		assertThat(cm.getCache("c1")).isInstanceOf(ConcurrentMapCache.class);
+
+		cm.setMaximumSize(2);
+		Cache cache1 = cm.getCache("c1");
+		assertThat(cache1).isInstanceOf(BoundedConcurrentMapCache.class);
+		cache1.put("key1", "value1");
+		cache1.put("key2", "value2");
+		cache1.put("key3", "value3");
+		assertThat(((BoundedConcurrentMapCache) cache1).size()).isEqualTo(2);
+		assertThat(((BoundedConcurrentMapCache) cache1).getStatistics().evictionCount()).isEqualTo(1);
+
+		cm.setMaximumSize(-1);
+		assertThat(cm.getCache("c1")).isInstanceOf(ConcurrentMapCache.class);
+		cm.setExpireAfterAccess(Duration.ofMinutes(5));
+		assertThat(cm.getCache("c1")).isInstanceOf(BoundedConcurrentMapCache.class);
+
+		cm.setExpireAfterAccess(null);
+		BoundedConcurrentMapCache.Weigher weigher = (key, value) -> 1;
+		cm.setWeigher(weigher);
+		assertThat(cm.getWeigher()).isSameAs(weigher);
+		assertThat(cm.getCache("c1")).isInstanceOf(BoundedConcurrentMapCache.class);
+	}
+
 }
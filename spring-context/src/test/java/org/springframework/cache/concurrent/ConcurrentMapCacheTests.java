@@ -16,11 +16,16 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +34,7 @@ import org.springframework.context.testfixture.cache.AbstractValueAdaptingCacheT
 import org.springframework.core.serializer.support.SerializationDelegate;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 /**
@@ -115,6 +121,136 @@ public class ConcurrentMapCacheTests extends AbstractValueAdaptingCacheTests<Con
 			.withMessageContaining("Some garbage");
 	}
 
+	@Test
+	public void testAsyncCacheModeSharesInFlightLoad() {
+		ConcurrentMapCache asyncCache = new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true, null, true, null);
+		assertThat(asyncCache.isAsyncCacheMode()).isTrue();
+
+		Object key = createRandomKey();
+		AtomicInteger counter = new AtomicInteger();
+		CompletableFuture<String> loader = new CompletableFuture<>();
+		CompletableFuture<String> first = asyncCache.retrieve(key, () -> {
+			counter.incrementAndGet();
+			return loader;
+		});
+		CompletableFuture<String> second = asyncCache.retrieve(key, () -> {
+			counter.incrementAndGet();
+			return CompletableFuture.completedFuture("other");
+		});
+		CompletableFuture<?> pending = asyncCache.retrieve(key);
+		assertThat(first).isNotDone();
+		assertThat(second).isNotDone();
+		assertThat(pending).isNotNull().isNotDone();
+		assertThat(asyncCache.get(key)).isNull();
+
+		loader.complete("value");
+		assertThat(first.join()).isEqualTo("value");
+		assertThat(second.join()).isEqualTo("value");
+		assertThat(pending.join()).isEqualTo("value");
+		assertThat(counter.get()).isEqualTo(1);
+		assertThat(asyncCache.get(key).get()).isEqualTo("value");
+	}
+
+	@Test
+	public void testAsyncCacheModeDoesNotStoreFailedLoad() {
+		ConcurrentMapCache asyncCache = new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true, null, true, null);
+
+		Object key = createRandomKey();
+		CompletableFuture<String> failed = asyncCache.retrieve(key,
+				() -> CompletableFuture.failedFuture(new IllegalStateException("failure")));
+		assertThatExceptionOfType(Exception.class).isThrownBy(failed::join)
+				.withRootCauseInstanceOf(IllegalStateException.class);
+		assertThat(asyncCache.get(key)).isNull();
+
+		assertThat(asyncCache.retrieve(key, () -> CompletableFuture.completedFuture("value")).join())
+				.isEqualTo("value");
+	}
+
+	@Test
+	public void testAsyncCacheModeEvictInvalidatesInFlightLoad() {
+		ConcurrentMapCache asyncCache = new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true, null, true, null);
+
+		Object key = createRandomKey();
+		CompletableFuture<String> loader = new CompletableFuture<>();
+		CompletableFuture<String> first = asyncCache.retrieve(key, () -> loader);
+		asyncCache.evict(key);
+		assertThat(asyncCache.retrieve(key)).isNull();
+
+		loader.complete("stale");
+		assertThat(first.join()).isEqualTo("stale");
+		assertThat(asyncCache.get(key)).isNull();
+		assertThat(asyncCache.retrieve(key, () -> CompletableFuture.completedFuture("value")).join())
+				.isEqualTo("value");
+	}
+
+	@Test
+	public void testAsyncCacheModeClearInvalidatesInFlightLoad() {
+		ConcurrentMapCache asyncCache = new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true, null, true, null);
+
+		Object key = createRandomKey();
+		CompletableFuture<String> loader = new CompletableFuture<>();
+		asyncCache.retrieve(key, () -> loader);
+		asyncCache.clear();
+		assertThat(asyncCache.retrieve(key)).isNull();
+
+		loader.complete("stale");
+		assertThat(asyncCache.get(key)).isNull();
+	}
+
+	@Test
+	public void testExpireAfterWrite() throws InterruptedException {
+		ConcurrentMapCache expiringCache = new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true, null,
+				false, Duration.ofMillis(50));
+		assertThat(expiringCache.getExpireAfterWrite()).isEqualTo(Duration.ofMillis(50));
+
+		Object key = createRandomKey();
+		expiringCache.put(key, "value");
+		assertThat(expiringCache.get(key).get()).isEqualTo("value");
+		assertThat(expiringCache.retrieve(key)).isNotNull();
+
+		Thread.sleep(100);
+		assertThat(expiringCache.get(key)).isNull();
+		assertThat(expiringCache.retrieve(key)).isNull();
+		assertThat(this.nativeCache).doesNotContainKey(key);
+
+		assertThat(expiringCache.putIfAbsent(key, "other")).isNull();
+		assertThat(expiringCache.get(key, () -> "ignored")).isEqualTo("other");
+	}
+
+	@Test
+	public void testExpireAfterWriteRetainsConcurrentlyOverwrittenEntry() throws Exception {
+		ConcurrentMapCache expiringCache = new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true, null,
+				false, Duration.ofMillis(500));
+		List<Object> keys = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			Object key = createRandomKey();
+			expiringCache.put(key, "expired");
+			keys.add(key);
+		}
+		Thread.sleep(600);
+
+		AtomicBoolean writing = new AtomicBoolean(true);
+		List<CompletableFuture<Void>> readers = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			readers.add(CompletableFuture.runAsync(() -> {
+				while (writing.get()) {
+					keys.forEach(expiringCache::get);
+				}
+			}));
+		}
+		try {
+			for (Object key : keys) {
+				expiringCache.put(key, "expired");
+				assertThat(expiringCache.get(key)).isNotNull();
+			}
+		}
+		finally {
+			writing.set(false);
+		}
+		CompletableFuture.allOf(readers.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+		assertThat(this.nativeCache).containsKeys(keys.toArray());
+	}
+
 
 	private ConcurrentMapCache createCacheWithStoreByValue() {
 		return new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true,
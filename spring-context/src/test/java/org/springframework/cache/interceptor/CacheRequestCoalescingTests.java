@@ -0,0 +1,162 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link CacheAspectSupport#setRequestCoalescing request coalescing}
+ * of asynchronous cacheable methods.
+ *
+ * @author agent
+ * @since 6.1
+ */
+class CacheRequestCoalescingTests {
+
+	private final CacheInterceptor interceptor = new CacheInterceptor();
+
+	private final AsyncService target = new AsyncService();
+
+	private AsyncService service;
+
+
+	@BeforeEach
+	void setup() {
+		this.interceptor.setCacheOperationSource(new AnnotationCacheOperationSource());
+		this.interceptor.setCacheManager(new ConcurrentMapCacheManager());
+		this.interceptor.setRequestCoalescing(true);
+		this.interceptor.afterPropertiesSet();
+		this.interceptor.afterSingletonsInstantiated();
+		ProxyFactory proxyFactory = new ProxyFactory(this.target);
+		proxyFactory.setProxyTargetClass(true);
+		proxyFactory.addAdvice(this.interceptor);
+		this.service = (AsyncService) proxyFactory.getProxy();
+	}
+
+
+	@Test
+	void concurrentMissesShareCompletableFuture() {
+		CompletableFuture<String> first = this.service.find("key");
+		CompletableFuture<String> second = this.service.find("key");
+		assertThat(this.target.counter.get()).isEqualTo(1);
+		assertThat(second).isNotDone();
+
+		this.target.pending.complete("value");
+		assertThat(first.join()).isEqualTo("value");
+		assertThat(second.join()).isEqualTo("value");
+		assertThat(this.service.find("key").join()).isEqualTo("value");
+		assertThat(this.target.counter.get()).isEqualTo(1);
+	}
+
+	@Test
+	void concurrentMissesShareFailure() {
+		CompletableFuture<String> first = this.service.find("key");
+		CompletableFuture<String> second = this.service.find("key");
+		this.target.pending.completeExceptionally(new IllegalStateException("failure"));
+		assertThatExceptionOfType(Exception.class).isThrownBy(first::join)
+				.withRootCauseInstanceOf(IllegalStateException.class);
+		assertThatExceptionOfType(Exception.class).isThrownBy(second::join)
+				.withRootCauseInstanceOf(IllegalStateException.class);
+		assertThat(this.target.counter.get()).isEqualTo(1);
+
+		this.target.pending = CompletableFuture.completedFuture("value");
+		assertThat(this.service.find("key").join()).isEqualTo("value");
+		assertThat(this.target.counter.get()).isEqualTo(2);
+	}
+
+	@Test
+	void differentKeysAreNotCoalesced() {
+		this.service.find("key1");
+		this.service.find("key2");
+		assertThat(this.target.counter.get()).isEqualTo(2);
+	}
+
+	@Test
+	void concurrentMissesShareMono() {
+		CompletableFuture<String> first = this.service.findMono("key").toFuture();
+		CompletableFuture<String> second = this.service.findMono("key").toFuture();
+		assertThat(this.target.counter.get()).isEqualTo(1);
+
+		this.target.pending.complete("value");
+		assertThat(first.join()).isEqualTo("value");
+		assertThat(second.join()).isEqualTo("value");
+		assertThat(this.service.findMono("key").block()).isEqualTo("value");
+		assertThat(this.target.counter.get()).isEqualTo(1);
+	}
+
+	@Test
+	void concurrentMissesShareFlux() {
+		CompletableFuture<List<String>> first = this.service.findFlux("key").collectList().toFuture();
+		CompletableFuture<List<String>> second = this.service.findFlux("key").collectList().toFuture();
+		assertThat(this.target.counter.get()).isEqualTo(1);
+
+		this.target.pending.complete("value");
+		assertThat(first.join()).containsExactly("value", "value");
+		assertThat(second.join()).containsExactly("value", "value");
+		assertThat(this.target.counter.get()).isEqualTo(1);
+	}
+
+	@Test
+	void noCoalescingByDefault() {
+		this.interceptor.setRequestCoalescing(false);
+		this.service.find("key");
+		this.service.find("key");
+		assertThat(this.target.counter.get()).isEqualTo(2);
+	}
+
+
+	public static class AsyncService {
+
+		final AtomicInteger counter = new AtomicInteger();
+
+		CompletableFuture<String> pending = new CompletableFuture<>();
+
+		@Cacheable("testCache")
+		public CompletableFuture<String> find(String key) {
+			this.counter.incrementAndGet();
+			return this.pending;
+		}
+
+		@Cacheable("testMonoCache")
+		public Mono<String> findMono(String key) {
+			this.counter.incrementAndGet();
+			return Mono.fromFuture(this.pending);
+		}
+
+		@Cacheable("testFluxCache")
+		public Flux<String> findFlux(String key) {
+			this.counter.incrementAndGet();
+			return Mono.fromFuture(this.pending).flatMapMany(value -> Flux.just(value, value));
+		}
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks comparing {@link PooledDataBufferFactory} with
+ * {@link DefaultDataBufferFactory} for the allocate, write, and release cycle
+ * of request and response bodies. Run with {@code -prof gc} to compare the
+ * allocation rates.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+@Threads(4)
+public class DataBufferFactoryBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		@Param({"default", "pooled"})
+		public String factory;
+
+		@Param({"false", "true"})
+		public boolean preferDirect;
+
+		@Param({"512", "8192"})
+		public int chunkSize;
+
+		public DataBufferFactory bufferFactory;
+
+		public byte[] chunk;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.bufferFactory = (this.factory.equals("pooled") ?
+					new PooledDataBufferFactory(this.preferDirect) : new DefaultDataBufferFactory(this.preferDirect));
+			this.chunk = new byte[this.chunkSize];
+		}
+	}
+
+
+	@Benchmark
+	public void allocateWriteRelease(BenchmarkData data, Blackhole bh) {
+		DataBuffer buffer = data.bufferFactory.allocateBuffer(data.chunkSize);
+		buffer.write(data.chunk);
+		bh.consume(buffer.read());
+		DataBufferUtils.release(buffer);
+	}
+
+	@Benchmark
+	public void writeWithGrowth(BenchmarkData data, Blackhole bh) {
+		DataBuffer buffer = data.bufferFactory.allocateBuffer(256);
+		for (int i = 0; i < 4; i++) {
+			buffer.write(data.chunk);
+		}
+		bh.consume(buffer.readableByteCount());
+		DataBufferUtils.release(buffer);
+	}
+
+	@Benchmark
+	public void joinChunks(BenchmarkData data, Blackhole bh) {
+		List<DataBuffer> buffers = new ArrayList<>(8);
+		for (int i = 0; i < 8; i++) {
+			DataBuffer buffer = data.bufferFactory.allocateBuffer(data.chunkSize);
+			buffer.write(data.chunk);
+			buffers.add(buffer);
+		}
+		DataBuffer joined = data.bufferFactory.join(buffers);
+		bh.consume(joined.readableByteCount());
+		DataBufferUtils.release(joined);
+	}
+
+}
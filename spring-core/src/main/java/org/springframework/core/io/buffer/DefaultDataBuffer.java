@@ -58,7 +58,7 @@ public class DefaultDataBuffer implements DataBuffer {
 	private int writePosition;
 
 
-	private DefaultDataBuffer(DefaultDataBufferFactory dataBufferFactory, ByteBuffer byteBuffer) {
+	DefaultDataBuffer(DefaultDataBufferFactory dataBufferFactory, ByteBuffer byteBuffer) {
 		Assert.notNull(dataBufferFactory, "DefaultDataBufferFactory must not be null");
 		Assert.notNull(byteBuffer, "ByteBuffer must not be null");
 		this.dataBufferFactory = dataBufferFactory;
@@ -183,7 +183,7 @@ public class DefaultDataBuffer implements DataBuffer {
 		return this;
 	}
 
-	private void setCapacity(int newCapacity) {
+	void setCapacity(int newCapacity) {
 		if (newCapacity < 0) {
 			throw new IllegalArgumentException(String.format("'newCapacity' %d must be 0 or higher", newCapacity));
 		}
@@ -193,7 +193,7 @@ public class DefaultDataBuffer implements DataBuffer {
 
 		if (newCapacity > oldCapacity) {
 			ByteBuffer oldBuffer = this.byteBuffer;
-			ByteBuffer newBuffer = allocate(newCapacity, oldBuffer.isDirect());
+			ByteBuffer newBuffer = allocateNativeBuffer(newCapacity, oldBuffer.isDirect());
 			oldBuffer.position(0).limit(oldBuffer.capacity());
 			newBuffer.position(0).limit(oldBuffer.capacity());
 			newBuffer.put(oldBuffer);
@@ -202,7 +202,7 @@ public class DefaultDataBuffer implements DataBuffer {
 		}
 		else if (newCapacity < oldCapacity) {
 			ByteBuffer oldBuffer = this.byteBuffer;
-			ByteBuffer newBuffer = allocate(newCapacity, oldBuffer.isDirect());
+			ByteBuffer newBuffer = allocateNativeBuffer(newCapacity, oldBuffer.isDirect());
 			if (readPosition < newCapacity) {
 				if (writePosition > newCapacity) {
 					writePosition = newCapacity;
@@ -230,6 +230,16 @@ public class DefaultDataBuffer implements DataBuffer {
 		return this;
 	}
 
+	/**
+	 * Allocate the native buffer to switch to when the capacity changes.
+	 * <p>The default implementation allocates a new {@code ByteBuffer};
+	 * subclasses may obtain it from a pool instead.
+	 * @since 6.1
+	 */
+	ByteBuffer allocateNativeBuffer(int capacity, boolean direct) {
+		return allocate(capacity, direct);
+	}
+
 	private static ByteBuffer allocate(int capacity, boolean direct) {
 		return (direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
 	}
@@ -361,7 +371,7 @@ public class DefaultDataBuffer implements DataBuffer {
 			.limit(index)
 			.slice();
 
-		DefaultDataBuffer result = new DefaultDataBuffer(this.dataBufferFactory, split);
+		DefaultDataBuffer result = createSplitBuffer(split);
 		result.writePosition = Math.min(this.writePosition, index);
 		result.readPosition = Math.min(this.readPosition, index);
 
@@ -376,6 +386,15 @@ public class DefaultDataBuffer implements DataBuffer {
 		return result;
 	}
 
+	/**
+	 * Create the buffer for the part split off by {@link #split(int)},
+	 * sharing the given native buffer with this buffer.
+	 * @since 6.1
+	 */
+	DefaultDataBuffer createSplitBuffer(ByteBuffer byteBuffer) {
+		return new DefaultDataBuffer(this.dataBufferFactory, byteBuffer);
+	}
+
 	@Override
 	@Deprecated
 	public ByteBuffer asByteBuffer() {
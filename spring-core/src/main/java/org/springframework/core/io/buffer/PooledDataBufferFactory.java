@@ -0,0 +1,468 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Variant of {@link DefaultDataBufferFactory} that recycles the memory of
+ * released buffers, for runtimes without Netty (i.e. Servlet) where request
+ * and response bodies would otherwise allocate a new {@link ByteBuffer} for
+ * every chunk.
+ *
+ * <p>Buffers created by this factory implement {@link PooledDataBuffer} and
+ * must be released via {@link DataBufferUtils#release(DataBuffer)}, as is
+ * already required by codecs and server adapters. Requested capacities are
+ * rounded up to a power-of-two size class, starting at 256 bytes and up to
+ * the configured maximum pooled capacity; larger buffers are allocated on
+ * demand and not recycled. Released memory is first kept in a small cache
+ * local to the releasing thread, for size classes of up to 8 KiB, and then
+ * in a bounded pool shared by all threads.
+ *
+ * <p>Pooled memory is not cleared when it is reused. A buffer that is never
+ * released does not leak memory as such: it is garbage collected like any
+ * other buffer, but its memory is not recycled. A {@link LeakHandler} can be
+ * {@linkplain #setLeakHandler registered} to be notified of such buffers.
+ *
+ * <p>This factory can be passed to
+ * {@code ServletHttpHandlerAdapter#setDataBufferFactory} and
+ * {@code UndertowHttpHandlerAdapter#setDataBufferFactory}, from where it is
+ * used for request bodies as well as by codecs encoding response bodies.
+ *
+ * @author agent
+ * @since 6.1
+ */
+public class PooledDataBufferFactory extends DefaultDataBufferFactory {
+
+	/**
+	 * The default maximum capacity of a pooled buffer.
+	 * @see #PooledDataBufferFactory(boolean, int, int, int)
+	 */
+	public static final int DEFAULT_MAX_POOLED_CAPACITY = 64 * 1024;
+
+	/**
+	 * The default maximum number of buffers per size class in the shared pool.
+	 * @see #PooledDataBufferFactory(boolean, int, int, int)
+	 */
+	public static final int DEFAULT_POOL_SIZE = 64;
+
+	/**
+	 * The default number of 256 byte buffers held in each thread-local cache.
+	 * @see #PooledDataBufferFactory(boolean, int, int, int)
+	 */
+	public static final int DEFAULT_THREAD_CACHE_SIZE = 16;
+
+	private static final int MIN_POOLED_CAPACITY = 256;
+
+	private static final int MIN_SIZE_CLASS_SHIFT = Integer.numberOfTrailingZeros(MIN_POOLED_CAPACITY);
+
+	private static final int MAX_THREAD_CACHED_CAPACITY = 8 * 1024;
+
+
+	private final int maxPooledCapacity;
+
+	private final ArrayBlockingQueue<ByteBuffer>[] pools;
+
+	@Nullable
+	private final ThreadLocal<ThreadCache> threadCache;
+
+	@Nullable
+	private volatile LeakHandler leakHandler;
+
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory} with default settings.
+	 */
+	public PooledDataBufferFactory() {
+		this(false);
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory}, indicating whether direct
+	 * buffers should be pooled.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 */
+	public PooledDataBufferFactory(boolean preferDirect) {
+		this(preferDirect, DEFAULT_MAX_POOLED_CAPACITY, DEFAULT_POOL_SIZE, DEFAULT_THREAD_CACHE_SIZE);
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory} with the given pool settings.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 * @param maxPooledCapacity the capacity of the largest size class, a power
+	 * of two of at least 256; buffers of larger capacity are not pooled
+	 * @param poolSize the maximum number of buffers per size class held in the
+	 * pool shared by all threads, or 0 for none
+	 * @param threadCacheSize the maximum number of 256 byte buffers held per
+	 * thread, halved for each larger size class, or 0 to disable thread-local
+	 * caching
+	 */
+	@SuppressWarnings("unchecked")
+	public PooledDataBufferFactory(boolean preferDirect, int maxPooledCapacity, int poolSize, int threadCacheSize) {
+		super(preferDirect);
+		Assert.isTrue(maxPooledCapacity >= MIN_POOLED_CAPACITY && Integer.bitCount(maxPooledCapacity) == 1,
+				"'maxPooledCapacity' should be a power of two of at least " + MIN_POOLED_CAPACITY);
+		Assert.isTrue(poolSize >= 0, "'poolSize' should not be negative");
+		Assert.isTrue(threadCacheSize >= 0, "'threadCacheSize' should not be negative");
+		this.maxPooledCapacity = maxPooledCapacity;
+		this.pools = new ArrayBlockingQueue[sizeClass(maxPooledCapacity) + 1];
+		if (poolSize > 0) {
+			for (int i = 0; i < this.pools.length; i++) {
+				this.pools[i] = new ArrayBlockingQueue<>(poolSize);
+			}
+		}
+		this.threadCache = (threadCacheSize > 0 ?
+				ThreadLocal.withInitial(() -> new ThreadCache(this.pools.length, threadCacheSize)) : null);
+	}
+
+
+	/**
+	 * Register a handler to be notified of buffers that are garbage collected
+	 * without having been released.
+	 * <p>Buffers are only tracked while a handler is registered, and tracking
+	 * adds overhead to every allocation. It is therefore meant for tests and
+	 * for troubleshooting.
+	 * @param leakHandler the handler, or {@code null} to stop tracking
+	 */
+	public void setLeakHandler(@Nullable LeakHandler leakHandler) {
+		this.leakHandler = leakHandler;
+	}
+
+	/**
+	 * Return the configured {@link #setLeakHandler LeakHandler}, if any.
+	 */
+	@Nullable
+	public LeakHandler getLeakHandler() {
+		return this.leakHandler;
+	}
+
+	/**
+	 * Return the capacity of the largest size class.
+	 */
+	public int getMaxPooledCapacity() {
+		return this.maxPooledCapacity;
+	}
+
+
+	@Override
+	public DefaultDataBuffer allocateBuffer(int initialCapacity) {
+		Assert.isTrue(initialCapacity >= 0, "'initialCapacity' should not be negative");
+		Chunk chunk = acquireChunk(initialCapacity, isDirect());
+		PooledBuffer buffer = new PooledBuffer(this, chunk, chunk.memory());
+		LeakHandler leakHandler = this.leakHandler;
+		if (leakHandler != null) {
+			buffer.track(leakHandler);
+		}
+		return buffer;
+	}
+
+	private Chunk acquireChunk(int capacity, boolean direct) {
+		if (capacity > this.maxPooledCapacity || direct != isDirect()) {
+			return new Chunk(allocate(capacity, direct), -1);
+		}
+		int sizeClass = sizeClass(capacity);
+		ByteBuffer memory = null;
+		if (this.threadCache != null) {
+			memory = this.threadCache.get().poll(sizeClass);
+		}
+		if (memory == null && this.pools[sizeClass] != null) {
+			memory = this.pools[sizeClass].poll();
+		}
+		if (memory == null) {
+			memory = allocate(MIN_POOLED_CAPACITY << sizeClass, direct);
+		}
+		return new Chunk(memory, sizeClass);
+	}
+
+	private void recycle(ByteBuffer memory, int sizeClass) {
+		memory.clear();
+		if (this.threadCache != null && this.threadCache.get().offer(memory, sizeClass)) {
+			return;
+		}
+		if (this.pools[sizeClass] != null) {
+			this.pools[sizeClass].offer(memory);
+		}
+	}
+
+	private static int sizeClass(int capacity) {
+		if (capacity <= MIN_POOLED_CAPACITY) {
+			return 0;
+		}
+		return (Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1)) - MIN_SIZE_CLASS_SHIFT;
+	}
+
+	private static ByteBuffer allocate(int capacity, boolean direct) {
+		return (direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
+	}
+
+	@Override
+	public String toString() {
+		return "PooledDataBufferFactory (preferDirect=" + isDirect() +
+				", maxPooledCapacity=" + this.maxPooledCapacity + ")";
+	}
+
+
+	/**
+	 * Callback for buffers that were garbage collected without having been
+	 * released.
+	 * @see #setLeakHandler(LeakHandler)
+	 */
+	@FunctionalInterface
+	public interface LeakHandler {
+
+		/**
+		 * Handle a buffer that was not released.
+		 * @param capacity the capacity of the buffer when it was allocated
+		 * @param hint the last hint passed to {@link PooledDataBuffer#touch(Object)},
+		 * or {@code null} if none
+		 */
+		void leakDetected(int capacity, @Nullable Object hint);
+	}
+
+
+	/**
+	 * Memory held by one or more buffers: a buffer and the parts split off
+	 * from it, until they are released or grow beyond the memory.
+	 */
+	private final class Chunk {
+
+		private final ByteBuffer memory;
+
+		/** The size class, or -1 if not pooled. */
+		private final int sizeClass;
+
+		private final AtomicInteger refCount = new AtomicInteger(1);
+
+		Chunk(ByteBuffer memory, int sizeClass) {
+			this.memory = memory;
+			this.sizeClass = sizeClass;
+		}
+
+		ByteBuffer memory() {
+			return this.memory.duplicate();
+		}
+
+		void retain() {
+			this.refCount.incrementAndGet();
+		}
+
+		void release() {
+			if (this.refCount.decrementAndGet() == 0 && this.sizeClass != -1) {
+				recycle(this.memory, this.sizeClass);
+			}
+		}
+	}
+
+
+	/**
+	 * {@link DefaultDataBuffer} based on the memory of a {@link Chunk},
+	 * switching to a different chunk when the capacity changes.
+	 */
+	private static final class PooledBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+		private final PooledDataBufferFactory factory;
+
+		private final AtomicInteger refCount = new AtomicInteger(1);
+
+		private Chunk chunk;
+
+		@Nullable
+		private LeakTracker leakTracker;
+
+		PooledBuffer(PooledDataBufferFactory factory, Chunk chunk, ByteBuffer byteBuffer) {
+			super(factory, byteBuffer);
+			this.factory = factory;
+			this.chunk = chunk;
+		}
+
+		void track(LeakHandler leakHandler) {
+			LeakTracker tracker = new LeakTracker(leakHandler, capacity());
+			tracker.cleanable = LeakTracker.cleaner.register(this, tracker);
+			this.leakTracker = tracker;
+		}
+
+		@Override
+		public boolean isAllocated() {
+			return (this.refCount.get() > 0);
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			int count;
+			do {
+				count = this.refCount.get();
+				Assert.state(count > 0, "Buffer has already been released");
+			}
+			while (!this.refCount.compareAndSet(count, count + 1));
+			return this;
+		}
+
+		@Override
+		public PooledDataBuffer touch(Object hint) {
+			LeakTracker tracker = this.leakTracker;
+			if (tracker != null) {
+				tracker.hint = hint;
+			}
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			int count;
+			do {
+				count = this.refCount.get();
+				Assert.state(count > 0, "Buffer has already been released");
+			}
+			while (!this.refCount.compareAndSet(count, count - 1));
+			if (count > 1) {
+				return false;
+			}
+			LeakTracker tracker = this.leakTracker;
+			if (tracker != null) {
+				tracker.released = true;
+				if (tracker.cleanable != null) {
+					tracker.cleanable.clean();
+				}
+			}
+			this.chunk.release();
+			return true;
+		}
+
+		@Override
+		void setCapacity(int newCapacity) {
+			Chunk oldChunk = this.chunk;
+			super.setCapacity(newCapacity);
+			if (this.chunk != oldChunk) {
+				oldChunk.release();
+			}
+		}
+
+		@Override
+		ByteBuffer allocateNativeBuffer(int capacity, boolean direct) {
+			this.chunk = this.factory.acquireChunk(capacity, direct);
+			return this.chunk.memory();
+		}
+
+		@Override
+		DefaultDataBuffer createSplitBuffer(ByteBuffer byteBuffer) {
+			this.chunk.retain();
+			PooledBuffer result = new PooledBuffer(this.factory, this.chunk, byteBuffer);
+			LeakHandler leakHandler = this.factory.leakHandler;
+			if (leakHandler != null) {
+				result.track(leakHandler);
+			}
+			return result;
+		}
+
+		@Override
+		@Deprecated
+		public DataBuffer retainedSlice(int index, int length) {
+			ByteBuffer slice = asByteBuffer(index, length);
+			DefaultDataBuffer result = createSplitBuffer(slice);
+			result.writePosition(length);
+			return result;
+		}
+	}
+
+
+	/**
+	 * Cleaner action that reports a buffer which became unreachable without
+	 * having been released.
+	 */
+	private static final class LeakTracker implements Runnable {
+
+		static final Cleaner cleaner = Cleaner.create();
+
+		private final LeakHandler leakHandler;
+
+		private final int capacity;
+
+		@Nullable
+		volatile Object hint;
+
+		volatile boolean released;
+
+		@Nullable
+		Cleaner.Cleanable cleanable;
+
+		LeakTracker(LeakHandler leakHandler, int capacity) {
+			this.leakHandler = leakHandler;
+			this.capacity = capacity;
+		}
+
+		@Override
+		public void run() {
+			if (!this.released) {
+				this.leakHandler.leakDetected(this.capacity, this.hint);
+			}
+		}
+	}
+
+
+	/**
+	 * Per-thread cache of released memory, with a capacity per size class
+	 * that is halved for each larger size class.
+	 */
+	private static final class ThreadCache {
+
+		private final ByteBuffer[][] buffers;
+
+		private final int[] counts;
+
+		ThreadCache(int sizeClasses, int threadCacheSize) {
+			this.buffers = new ByteBuffer[sizeClasses][];
+			this.counts = new int[sizeClasses];
+			for (int i = 0; i < sizeClasses; i++) {
+				boolean cached = (MIN_POOLED_CAPACITY << i) <= MAX_THREAD_CACHED_CAPACITY;
+				this.buffers[i] = new ByteBuffer[cached ? Math.max(1, threadCacheSize >> i) : 0];
+			}
+		}
+
+		@Nullable
+		ByteBuffer poll(int sizeClass) {
+			int count = this.counts[sizeClass];
+			if (count == 0) {
+				return null;
+			}
+			ByteBuffer[] cache = this.buffers[sizeClass];
+			ByteBuffer memory = cache[--count];
+			cache[count] = null;
+			this.counts[sizeClass] = count;
+			return memory;
+		}
+
+		boolean offer(ByteBuffer memory, int sizeClass) {
+			int count = this.counts[sizeClass];
+			ByteBuffer[] cache = this.buffers[sizeClass];
+			if (count == cache.length) {
+				return false;
+			}
+			cache[count] = memory;
+			this.counts[sizeClass] = count + 1;
+			return true;
+		}
+	}
+
+}
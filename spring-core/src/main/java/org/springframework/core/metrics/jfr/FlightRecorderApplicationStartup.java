@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,6 +32,10 @@ import org.springframework.core.metrics.StartupStep;
  * <p>Once this is configured on the application context, you can record data by
  * launching the application with recording enabled:
  * {@code java -XX:StartFlightRecording:filename=recording.jfr,duration=10s -jar app.jar}.
+ * <p>Steps are tracked per thread: the parent of a step is the most recent
+ * step that is still active in the same thread, which keeps the recorded
+ * hierarchy consistent when steps are started concurrently, e.g. when
+ * singletons get pre-instantiated in parallel.
  *
  * @author Brian Clozel
  * @since 5.3
@@ -40,21 +44,26 @@ public class FlightRecorderApplicationStartup implements ApplicationStartup {
 
 	private final AtomicLong currentSequenceId = new AtomicLong();
 
-	private final Deque<Long> currentSteps;
-
-
-	public FlightRecorderApplicationStartup() {
-		this.currentSteps = new ConcurrentLinkedDeque<>();
-		this.currentSteps.offerFirst(this.currentSequenceId.get());
-	}
+	private final ThreadLocal<Deque<Long>> currentSteps = ThreadLocal.withInitial(ConcurrentLinkedDeque::new);
 
 
 	@Override
 	public StartupStep start(String name) {
+		Deque<Long> currentSteps = this.currentSteps.get();
+		Long parentId = currentSteps.peekFirst();
 		long sequenceId = this.currentSequenceId.incrementAndGet();
-		this.currentSteps.offerFirst(sequenceId);
-		return new FlightRecorderStartupStep(sequenceId, name,
-				this.currentSteps.getFirst(), committedStep -> this.currentSteps.removeFirstOccurrence(sequenceId));
+		currentSteps.offerFirst(sequenceId);
+		Thread thread = Thread.currentThread();
+		return new FlightRecorderStartupStep(sequenceId, name, (parentId != null ? parentId : 0L),
+				committedStep -> endStep(currentSteps, sequenceId, thread));
+	}
+
+	private void endStep(Deque<Long> currentSteps, long sequenceId, Thread thread) {
+		currentSteps.removeFirstOccurrence(sequenceId);
+		if (currentSteps.isEmpty() && Thread.currentThread() == thread) {
+			// Do not keep the deque bound to the thread once all of its steps have ended
+			this.currentSteps.remove();
+		}
 	}
 
 }
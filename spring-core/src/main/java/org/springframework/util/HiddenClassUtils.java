@@ -0,0 +1,104 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Member;
+import java.lang.reflect.Modifier;
+
+/**
+ * Utility methods for defining generated classes as hidden nestmates of
+ * a host class, and for checking what such classes can access.
+ *
+ * <p>Mainly for internal use within the framework, e.g. for bytecode-generated
+ * instantiators, row mappers and method invokers.
+ *
+ * @author agent
+ * @since 6.1
+ * @see MethodHandles.Lookup#defineHiddenClass
+ */
+public abstract class HiddenClassUtils {
+
+	/**
+	 * Determine whether hidden nestmate classes can be defined for the given
+	 * host class through {@link #defineNestmateClass}, i.e. whether the package
+	 * of the host class is open for deep reflection by this class.
+	 * @param hostClass the host class to check
+	 */
+	public static boolean canDefineNestmateClass(Class<?> hostClass) {
+		return (!hostClass.isHidden() && !hostClass.isPrimitive() && !hostClass.isArray() &&
+				hostClass.getModule().isOpen(hostClass.getPackageName(), HiddenClassUtils.class.getModule()));
+	}
+
+	/**
+	 * Determine whether the given type can be referenced from a hidden
+	 * nestmate class of the given host class.
+	 * @param type the type to check (may be an array or primitive type)
+	 * @param hostClass the host class of the nestmate
+	 */
+	public static boolean isAccessibleFrom(Class<?> type, Class<?> hostClass) {
+		while (type.isArray()) {
+			type = type.getComponentType();
+		}
+		if (type.isPrimitive()) {
+			return true;
+		}
+		if (Modifier.isPublic(type.getModifiers())) {
+			return type.getModule().isExported(type.getPackageName(), hostClass.getModule());
+		}
+		return (type.getClassLoader() == hostClass.getClassLoader() &&
+				type.getPackageName().equals(hostClass.getPackageName()));
+	}
+
+	/**
+	 * Determine whether the given member can be accessed from a hidden
+	 * nestmate class of the given host class.
+	 * <p>Does not check the types in the signature of the member: use
+	 * {@link #isAccessibleFrom(Class, Class)} for those.
+	 * @param member the field, method or constructor to check
+	 * @param hostClass the host class of the nestmate
+	 */
+	public static boolean isAccessibleFrom(Member member, Class<?> hostClass) {
+		int modifiers = member.getModifiers();
+		Class<?> declaringClass = member.getDeclaringClass();
+		if (Modifier.isPublic(modifiers) || declaringClass == hostClass) {
+			return true;
+		}
+		return (!Modifier.isPrivate(modifiers) && declaringClass.getClassLoader() == hostClass.getClassLoader() &&
+				declaringClass.getPackageName().equals(hostClass.getPackageName()));
+	}
+
+	/**
+	 * Define the given bytecode as a hidden nestmate class of the given host
+	 * class, initializing it right away.
+	 * @param hostClass the host class, providing the package and nest
+	 * for the new class
+	 * @param bytecode the bytecode of the class to define, with a class name
+	 * in the package of the host class
+	 * @return a full-privilege lookup on the new class
+	 * @throws IllegalAccessException if the package of the host class is not
+	 * open for deep reflection by this class
+	 * @see #canDefineNestmateClass
+	 */
+	public static MethodHandles.Lookup defineNestmateClass(Class<?> hostClass, byte[] bytecode)
+			throws IllegalAccessException {
+
+		MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(hostClass, MethodHandles.lookup());
+		return lookup.defineHiddenClass(bytecode, true, MethodHandles.Lookup.ClassOption.NESTMATE);
+	}
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link PooledDataBufferFactory}.
+ *
+ * @author agent
+ */
+class PooledDataBufferFactoryTests {
+
+	private final PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory();
+
+
+	@Test
+	void allocateRoundsUpToSizeClass() {
+		assertCapacity(0, 256);
+		assertCapacity(1, 256);
+		assertCapacity(256, 256);
+		assertCapacity(257, 512);
+		assertCapacity(5000, 8192);
+		int max = PooledDataBufferFactory.DEFAULT_MAX_POOLED_CAPACITY;
+		assertCapacity(max, max);
+		assertCapacity(max + 1, max + 1);
+	}
+
+	private void assertCapacity(int requested, int expected) {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(requested);
+		assertThat(buffer).isInstanceOf(PooledDataBuffer.class);
+		assertThat(buffer.capacity()).isEqualTo(expected);
+		assertThat(buffer.readableByteCount()).isZero();
+		DataBufferUtils.release(buffer);
+	}
+
+	@Test
+	void releasedMemoryIsReused() {
+		DefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		buffer.write("foo", StandardCharsets.UTF_8);
+		ByteBuffer memory = buffer.getNativeBuffer();
+		assertThat(DataBufferUtils.release(buffer)).isTrue();
+		assertThat(((PooledDataBuffer) buffer).isAllocated()).isFalse();
+
+		DefaultDataBuffer other = this.bufferFactory.allocateBuffer(200);
+		assertThat(other.readableByteCount()).isZero();
+		other.write("bar", StandardCharsets.UTF_8);
+		assertThat(memory.get(0)).isEqualTo((byte) 'b');
+		DataBufferUtils.release(other);
+	}
+
+	@Test
+	void memoryOfLargeBuffersIsNotReused() {
+		int capacity = PooledDataBufferFactory.DEFAULT_MAX_POOLED_CAPACITY + 1;
+		DefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(capacity);
+		buffer.write((byte) 'a');
+		ByteBuffer memory = buffer.getNativeBuffer();
+		DataBufferUtils.release(buffer);
+
+		DefaultDataBuffer other = this.bufferFactory.allocateBuffer(capacity);
+		other.write((byte) 'b');
+		assertThat(memory.get(0)).isEqualTo((byte) 'a');
+		DataBufferUtils.release(other);
+	}
+
+	@Test
+	void ensureWritableSwitchesToLargerSizeClass() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(10);
+		byte[] bytes = new byte[300];
+		bytes[299] = 'z';
+		buffer.write("a", StandardCharsets.UTF_8);
+		buffer.write(bytes);
+
+		assertThat(buffer.capacity()).isGreaterThanOrEqualTo(301);
+		assertThat(buffer.readableByteCount()).isEqualTo(301);
+		assertThat(buffer.getByte(0)).isEqualTo((byte) 'a');
+		assertThat(buffer.getByte(300)).isEqualTo((byte) 'z');
+		assertThat(DataBufferUtils.release(buffer)).isTrue();
+	}
+
+	@Test
+	void splitSharesMemoryUntilBothPartsAreReleased() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(16);
+		buffer.write("foobar", StandardCharsets.UTF_8);
+
+		DataBuffer prefix = buffer.split(3);
+		assertThat(prefix).isInstanceOf(PooledDataBuffer.class);
+		assertThat(DataBufferUtils.release(buffer)).isTrue();
+
+		// The memory is still held by the prefix, and not handed out again
+		DataBuffer other = this.bufferFactory.allocateBuffer(16);
+		other.write("xyz", StandardCharsets.UTF_8);
+		assertThat(prefix.toString(StandardCharsets.UTF_8)).isEqualTo("foo");
+
+		assertThat(DataBufferUtils.release(prefix)).isTrue();
+		DataBufferUtils.release(other);
+	}
+
+	@Test
+	void join() {
+		DataBuffer buffer1 = this.bufferFactory.allocateBuffer(4);
+		buffer1.write("foo", StandardCharsets.UTF_8);
+		DataBuffer buffer2 = this.bufferFactory.allocateBuffer(4);
+		buffer2.write("bar", StandardCharsets.UTF_8);
+
+		DataBuffer result = this.bufferFactory.join(List.of(buffer1, buffer2));
+		assertThat(result.toString(StandardCharsets.UTF_8)).isEqualTo("foobar");
+		assertThat(((PooledDataBuffer) buffer1).isAllocated()).isFalse();
+		assertThat(((PooledDataBuffer) buffer2).isAllocated()).isFalse();
+		assertThat(DataBufferUtils.release(result)).isTrue();
+	}
+
+	@Test
+	void withoutThreadCacheAndPool() {
+		PooledDataBufferFactory factory = new PooledDataBufferFactory(true, 1024, 0, 0);
+		DataBuffer buffer = factory.allocateBuffer(1000);
+		assertThat(buffer.capacity()).isEqualTo(1024);
+		assertThat(factory.isDirect()).isTrue();
+		assertThat(DataBufferUtils.release(buffer)).isTrue();
+	}
+
+	@Test
+	void invalidMaxPooledCapacity() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new PooledDataBufferFactory(false, 128, 1, 1));
+		assertThatIllegalArgumentException().isThrownBy(() -> new PooledDataBufferFactory(false, 1000, 1, 1));
+	}
+
+	@Test
+	void leakHandlerNotInvokedForReleasedBuffer() {
+		this.bufferFactory.setLeakHandler((capacity, hint) -> {
+			throw new AssertionError("Unexpected leak");
+		});
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(10);
+		DataBufferUtils.touch(buffer, "test");
+		assertThat(DataBufferUtils.release(buffer)).isTrue();
+	}
+
+}
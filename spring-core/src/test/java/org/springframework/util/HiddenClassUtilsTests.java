@@ -0,0 +1,109 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link HiddenClassUtils}.
+ *
+ * @author agent
+ */
+class HiddenClassUtilsTests {
+
+	@Test
+	void isAccessibleFromForTypes() {
+		assertThat(HiddenClassUtils.isAccessibleFrom(int.class, Host.class)).isTrue();
+		assertThat(HiddenClassUtils.isAccessibleFrom(String[][].class, Host.class)).isTrue();
+		assertThat(HiddenClassUtils.isAccessibleFrom(PackagePrivate.class, Host.class)).isTrue();
+		assertThat(HiddenClassUtils.isAccessibleFrom(PackagePrivate.class, String.class)).isFalse();
+	}
+
+	@Test
+	void isAccessibleFromForMembers() throws Exception {
+		assertThat(HiddenClassUtils.isAccessibleFrom(Host.class.getDeclaredMethod("secret"), Host.class)).isTrue();
+		assertThat(HiddenClassUtils.isAccessibleFrom(Host.class.getDeclaredMethod("secret"), Other.class)).isFalse();
+		assertThat(HiddenClassUtils.isAccessibleFrom(Host.class.getDeclaredMethod("internal"), Other.class)).isTrue();
+		assertThat(HiddenClassUtils.isAccessibleFrom(Object.class.getMethod("hashCode"), Other.class)).isTrue();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void defineNestmateClassWithPrivateAccess() throws Throwable {
+		assertThat(HiddenClassUtils.canDefineNestmateClass(Host.class)).isTrue();
+		MethodHandles.Lookup lookup = HiddenClassUtils.defineNestmateClass(Host.class, generateSupplier());
+		assertThat(lookup.lookupClass().isHidden()).isTrue();
+		assertThat(lookup.lookupClass().getNestHost()).isEqualTo(Host.class.getNestHost());
+		Supplier<Object> supplier = (Supplier<Object>) lookup.findConstructor(
+				lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+		assertThat(supplier.get()).isEqualTo("secret");
+	}
+
+	private static byte[] generateSupplier() {
+		String ownerName = Type.getInternalName(Host.class);
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+				ownerName + "$$Supplier", null, "java/lang/Object", new String[] {"java/util/function/Supplier"});
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+		mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "get", "()Ljava/lang/Object;", null, null);
+		mv.visitCode();
+		mv.visitMethodInsn(Opcodes.INVOKESTATIC, ownerName, "secret", "()Ljava/lang/String;", false);
+		mv.visitInsn(Opcodes.ARETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+
+	public static class Host {
+
+		private static String secret() {
+			return "secret";
+		}
+
+		static String internal() {
+			return "internal";
+		}
+	}
+
+
+	public static class Other {
+	}
+
+
+	static class PackagePrivate {
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,13 +16,17 @@
 
 package org.springframework.expression.spel;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
 import org.springframework.expression.EvaluationContext;
@@ -103,4 +107,66 @@ public class SpelBenchmark {
 		return data.expression.getValue(data.context);
 	}
 
+	@State(Scope.Benchmark)
+	public static class CollectionBenchmarkData {
+
+		@Param({"OFF", "IMMEDIATE"})
+		public SpelCompilerMode compilerMode;
+
+		public EvaluationContext context;
+
+		public Expression selectionExpression;
+
+		public Expression projectionExpression;
+
+		public Expression elvisExpression;
+
+		public Expression indexerExpression;
+
+		@Setup
+		public void setup() {
+			List<Integer> numbers = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				numbers.add(i);
+			}
+			Map<String, Object> root = new HashMap<>();
+			root.put("numbers", numbers);
+			StandardEvaluationContext context = new StandardEvaluationContext(root);
+			context.setVariable("index", 42);
+			this.context = context;
+
+			ExpressionParser parser = new SpelExpressionParser(
+					new SpelParserConfiguration(this.compilerMode, getClass().getClassLoader()));
+			this.selectionExpression = parser.parseExpression("#root['numbers'].?[#this % 2 == 0]");
+			this.projectionExpression = parser.parseExpression("#root['numbers'].![#this * 2]");
+			this.elvisExpression = parser.parseExpression("#root['numbers'][#index] ?: 0");
+			this.indexerExpression = parser.parseExpression("#root['numbers'][#index]");
+			// Evaluate once so that the expressions get compiled, if enabled
+			this.selectionExpression.getValue(context);
+			this.projectionExpression.getValue(context);
+			this.elvisExpression.getValue(context);
+			this.indexerExpression.getValue(context);
+		}
+	}
+
+	@Benchmark
+	public Object collectionSelection(CollectionBenchmarkData data) {
+		return data.selectionExpression.getValue(data.context);
+	}
+
+	@Benchmark
+	public Object collectionProjection(CollectionBenchmarkData data) {
+		return data.projectionExpression.getValue(data.context);
+	}
+
+	@Benchmark
+	public Object elvisWithNonLiteralOperand(CollectionBenchmarkData data) {
+		return data.elvisExpression.getValue(data.context);
+	}
+
+	@Benchmark
+	public Object indexerWithVariableIndex(CollectionBenchmarkData data) {
+		return data.indexerExpression.getValue(data.context);
+	}
+
 }
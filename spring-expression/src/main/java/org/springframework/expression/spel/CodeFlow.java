@@ -85,9 +85,17 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * When code generation requires an intermediate variable within a method,
-	 * this method records the next available variable (variable 0 is 'this').
+	 * this method records the next available variable (variable 0 is 'this',
+	 * variables 1 and 2 are the target and the EvaluationContext passed to
+	 * the compiled expression method).
+	 */
+	private int nextFreeVariableId = 3;
+
+	/**
+	 * The local variables holding the active context objects of nested
+	 * expressions, e.g. the current element for the criteria of a selection.
 	 */
-	private int nextFreeVariableId = 1;
+	private final Deque<Integer> activeContextObjectVariables = new ArrayDeque<>();
 
 
 	/**
@@ -105,11 +113,14 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * Push the byte code to load the target (i.e. what was passed as the first argument
-	 * to CompiledExpression.getValue(target, context))
+	 * to CompiledExpression.getValue(target, context)), or the active context object
+	 * of the current nested expression if any.
 	 * @param mv the method visitor into which the load instruction should be inserted
+	 * @see #enterActiveContextObject(int)
 	 */
 	public void loadTarget(MethodVisitor mv) {
-		mv.visitVarInsn(ALOAD, 1);
+		Integer variableId = this.activeContextObjectVariables.peek();
+		mv.visitVarInsn(ALOAD, (variableId != null ? variableId : 1));
 	}
 
 	/**
@@ -122,6 +133,27 @@ public class CodeFlow implements Opcodes {
 		mv.visitVarInsn(ALOAD, 2);
 	}
 
+	/**
+	 * Enter a nested expression that is evaluated against the object held in the
+	 * given local variable, e.g. the current element for the criteria of a selection:
+	 * {@link #loadTarget} loads that object until the corresponding
+	 * {@link #exitActiveContextObject()} call.
+	 * @param variableId the local variable holding the active context object
+	 * @since 6.1
+	 * @see #nextFreeVariableId()
+	 */
+	public void enterActiveContextObject(int variableId) {
+		this.activeContextObjectVariables.push(variableId);
+	}
+
+	/**
+	 * Exit a nested expression entered through {@link #enterActiveContextObject(int)}.
+	 * @since 6.1
+	 */
+	public void exitActiveContextObject() {
+		this.activeContextObjectVariables.pop();
+	}
+
 	/**
 	 * Record the descriptor for the most recently evaluated expression element.
 	 * @param descriptor type descriptor for most recently evaluated element
@@ -100,11 +100,10 @@ public class Elvis extends SpelNodeImpl {
 		mv.visitInsn(POP);
 		cf.enterCompilationScope();
 		this.children[1].generateCode(mv, cf);
-		if (!CodeFlow.isPrimitive(this.exitTypeDescriptor)) {
-			lastDesc = cf.lastDescriptor();
-			Assert.state(lastDesc != null, "No last descriptor");
-			CodeFlow.insertBoxIfNecessary(mv, lastDesc.charAt(0));
-		}
+		// The condition value is boxed on the other branch, so box this one as well
+		lastDesc = cf.lastDescriptor();
+		Assert.state(lastDesc != null, "No last descriptor");
+		CodeFlow.insertBoxIfNecessary(mv, lastDesc.charAt(0));
 		cf.exitCompilationScope();
 		mv.visitLabel(endOfIf);
 		cf.pushDescriptor(this.exitTypeDescriptor);
@@ -113,8 +112,8 @@ public class Elvis extends SpelNodeImpl {
 	private void computeExitTypeDescriptor() {
 		if (this.exitTypeDescriptor == null && this.children[0].exitTypeDescriptor != null &&
 				this.children[1].exitTypeDescriptor != null) {
-			String conditionDescriptor = this.children[0].exitTypeDescriptor;
-			String ifNullValueDescriptor = this.children[1].exitTypeDescriptor;
+			String conditionDescriptor = toBoxedDescriptorIfNecessary(this.children[0].exitTypeDescriptor);
+			String ifNullValueDescriptor = toBoxedDescriptorIfNecessary(this.children[1].exitTypeDescriptor);
 			if (ObjectUtils.nullSafeEquals(conditionDescriptor, ifNullValueDescriptor)) {
 				this.exitTypeDescriptor = conditionDescriptor;
 			}
@@ -125,4 +124,8 @@ public class Elvis extends SpelNodeImpl {
 		}
 	}
 
+	private static String toBoxedDescriptorIfNecessary(String descriptor) {
+		return (CodeFlow.isPrimitive(descriptor) ? CodeFlow.toBoxedDescriptor(descriptor) : descriptor);
+	}
+
 }
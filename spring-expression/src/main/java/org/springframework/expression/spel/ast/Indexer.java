@@ -200,7 +200,7 @@ public class Indexer extends SpelNodeImpl {
 	@Override
 	public boolean isCompilable() {
 		if (this.indexedType == IndexedType.ARRAY) {
-			return (this.exitTypeDescriptor != null);
+			return (this.exitTypeDescriptor != null && this.children[0].isCompilable());
 		}
 		else if (this.indexedType == IndexedType.LIST) {
 			return this.children[0].isCompilable();
@@ -261,18 +261,14 @@ public class Indexer extends SpelNodeImpl {
 						//depthPlusOne(exitTypeDescriptor)+"Ljava/lang/Object;");
 				insn = AALOAD;
 			}
-			SpelNodeImpl index = this.children[0];
-			cf.enterCompilationScope();
-			index.generateCode(mv, cf);
-			cf.exitCompilationScope();
+			// The index may be computed as a boxed Integer, e.g. from a variable
+			generateCodeForArgument(mv, cf, this.children[0], "I");
 			mv.visitInsn(insn);
 		}
 
 		else if (this.indexedType == IndexedType.LIST) {
 			mv.visitTypeInsn(CHECKCAST, "java/util/List");
-			cf.enterCompilationScope();
-			this.children[0].generateCode(mv, cf);
-			cf.exitCompilationScope();
+			generateCodeForArgument(mv, cf, this.children[0], "I");
 			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "get", "(I)Ljava/lang/Object;", true);
 		}
 
@@ -287,6 +283,8 @@ public class Indexer extends SpelNodeImpl {
 			else {
 				cf.enterCompilationScope();
 				this.children[0].generateCode(mv, cf);
+				// A computed key of primitive type needs boxing for Map.get
+				CodeFlow.insertBoxIfNecessary(mv, cf.lastDescriptor());
 				cf.exitCompilationScope();
 			}
 			mv.visitMethodInsn(
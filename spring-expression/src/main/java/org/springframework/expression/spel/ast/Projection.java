@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,8 +22,11 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -45,6 +48,8 @@ public class Projection extends SpelNodeImpl {
 
 	private final boolean nullSafe;
 
+	private volatile boolean mapOperand;
+
 
 	public Projection(boolean nullSafe, int startPos, int endPos, SpelNodeImpl expression) {
 		super(startPos, endPos, expression);
@@ -71,6 +76,8 @@ public class Projection extends SpelNodeImpl {
 		// and value, and they can be referenced in the operation
 		// eg. {'a':'y','b':'n'}.![value=='y'?key:null]" == ['a', null]
 		if (operand instanceof Map<?, ?> mapData) {
+			this.mapOperand = true;
+			this.exitTypeDescriptor = "Ljava/util/List";
 			List<Object> result = new ArrayList<>();
 			for (Map.Entry<?, ?> entry : mapData.entrySet()) {
 				try {
@@ -87,8 +94,15 @@ public class Projection extends SpelNodeImpl {
 		}
 
 		if (operand instanceof Iterable || operandIsArray) {
-			Iterable<?> data = (operand instanceof Iterable<?> iterable ?
-					iterable : Arrays.asList(ObjectUtils.toObjectArray(operand)));
+			Iterable<?> data;
+			if (operand instanceof Iterable<?> iterable) {
+				data = iterable;
+				this.mapOperand = false;
+				this.exitTypeDescriptor = "Ljava/util/List";
+			}
+			else {
+				data = Arrays.asList(ObjectUtils.toObjectArray(operand));
+			}
 
 			List<Object> result = new ArrayList<>();
 			Class<?> arrayElementType = null;
@@ -131,6 +145,52 @@ public class Projection extends SpelNodeImpl {
 				operand.getClass().getName());
 	}
 
+	@Override
+	public boolean isCompilable() {
+		SpelNodeImpl expression = this.children[0];
+		return (this.exitTypeDescriptor != null && expression.isCompilable() &&
+				!containsVariableReference(expression, "index"));
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		if (cf.lastDescriptor() == null) {
+			cf.loadTarget(mv);
+		}
+		Label endOfProjection = new Label();
+		if (this.nullSafe) {
+			Label operandNotNull = new Label();
+			mv.visitInsn(DUP);
+			mv.visitJumpInsn(IFNONNULL, operandNotNull);
+			mv.visitInsn(POP);
+			mv.visitInsn(ACONST_NULL);
+			mv.visitJumpInsn(GOTO, endOfProjection);
+			mv.visitLabel(operandNotNull);
+		}
+
+		int resultVariable = cf.nextFreeVariableId();
+		int elementVariable = cf.nextFreeVariableId();
+		mv.visitTypeInsn(NEW, "java/util/ArrayList");
+		mv.visitInsn(DUP);
+		mv.visitMethodInsn(INVOKESPECIAL, "java/util/ArrayList", "<init>", "()V", false);
+		mv.visitVarInsn(ASTORE, resultVariable);
+
+		Label endOfLoop = new Label();
+		Label nextIteration = generateCodeForLoop(mv, cf, this.mapOperand, elementVariable, endOfLoop);
+		mv.visitVarInsn(ALOAD, resultVariable);
+		mv.visitTypeInsn(CHECKCAST, "java/util/List");
+		String valueDescriptor = generateCodeForElement(mv, cf, this.children[0], elementVariable);
+		CodeFlow.insertBoxIfNecessary(mv, valueDescriptor);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "add", "(Ljava/lang/Object;)Z", true);
+		mv.visitInsn(POP);
+		mv.visitJumpInsn(GOTO, nextIteration);
+		mv.visitLabel(endOfLoop);
+
+		mv.visitVarInsn(ALOAD, resultVariable);
+		mv.visitLabel(endOfProjection);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
 	@Override
 	public String toStringAST() {
 		return "![" + getChild(0).toStringAST() + "]";
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,9 +23,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
@@ -68,6 +71,8 @@ public class Selection extends SpelNodeImpl {
 
 	private final boolean nullSafe;
 
+	private volatile boolean mapOperand;
+
 
 	public Selection(boolean nullSafe, int variant, int startPos, int endPos, SpelNodeImpl expression) {
 		super(startPos, endPos, expression);
@@ -88,6 +93,8 @@ public class Selection extends SpelNodeImpl {
 		SpelNodeImpl selectionCriteria = this.children[0];
 
 		if (operand instanceof Map<?, ?> mapdata) {
+			this.mapOperand = true;
+			this.exitTypeDescriptor = "Ljava/util/Map";
 			// TODO don't lose generic info for the new map
 			Map<Object, Object> result = new HashMap<>();
 			Object lastKey = null;
@@ -134,8 +141,15 @@ public class Selection extends SpelNodeImpl {
 		}
 
 		if (operand instanceof Iterable || ObjectUtils.isArray(operand)) {
-			Iterable<?> data = (operand instanceof Iterable<?> iterable ?
-					iterable : Arrays.asList(ObjectUtils.toObjectArray(operand)));
+			Iterable<?> data;
+			if (operand instanceof Iterable<?> iterable) {
+				data = iterable;
+				this.mapOperand = false;
+				this.exitTypeDescriptor = (this.variant == ALL ? "Ljava/util/List" : "Ljava/lang/Object");
+			}
+			else {
+				data = Arrays.asList(ObjectUtils.toObjectArray(operand));
+			}
 
 			List<Object> result = new ArrayList<>();
 			int index = 0;
@@ -202,11 +216,116 @@ public class Selection extends SpelNodeImpl {
 				operand.getClass().getName());
 	}
 
+	@Override
+	public boolean isCompilable() {
+		SpelNodeImpl selectionCriteria = this.children[0];
+		String criteriaDescriptor = selectionCriteria.exitTypeDescriptor;
+		return (this.exitTypeDescriptor != null && selectionCriteria.isCompilable() &&
+				("Z".equals(criteriaDescriptor) || "Ljava/lang/Boolean".equals(criteriaDescriptor)) &&
+				!containsVariableReference(selectionCriteria, "index"));
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		if (cf.lastDescriptor() == null) {
+			cf.loadTarget(mv);
+		}
+		Label endOfSelection = new Label();
+		if (this.nullSafe) {
+			Label operandNotNull = new Label();
+			mv.visitInsn(DUP);
+			mv.visitJumpInsn(IFNONNULL, operandNotNull);
+			mv.visitInsn(POP);
+			mv.visitInsn(ACONST_NULL);
+			mv.visitJumpInsn(GOTO, endOfSelection);
+			mv.visitLabel(operandNotNull);
+		}
+
+		// For ALL, the variable holds the result map or list; for FIRST and LAST,
+		// it holds the matching element or map entry (if any).
+		int resultVariable = cf.nextFreeVariableId();
+		int elementVariable = cf.nextFreeVariableId();
+		if (this.variant == ALL) {
+			String resultType = (this.mapOperand ? "java/util/HashMap" : "java/util/ArrayList");
+			mv.visitTypeInsn(NEW, resultType);
+			mv.visitInsn(DUP);
+			mv.visitMethodInsn(INVOKESPECIAL, resultType, "<init>", "()V", false);
+		}
+		else {
+			mv.visitInsn(ACONST_NULL);
+		}
+		mv.visitVarInsn(ASTORE, resultVariable);
+
+		Label endOfLoop = new Label();
+		Label nextIteration = generateCodeForLoop(mv, cf, this.mapOperand, elementVariable, endOfLoop);
+		String criteriaDescriptor = generateCodeForElement(mv, cf, this.children[0], elementVariable);
+		if ("Ljava/lang/Boolean".equals(criteriaDescriptor)) {
+			mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Boolean", "booleanValue", "()Z", false);
+		}
+		mv.visitJumpInsn(IFEQ, nextIteration);
+		if (this.variant == ALL) {
+			mv.visitVarInsn(ALOAD, resultVariable);
+			if (this.mapOperand) {
+				generateCodeForPut(mv, elementVariable);
+			}
+			else {
+				mv.visitTypeInsn(CHECKCAST, "java/util/List");
+				mv.visitVarInsn(ALOAD, elementVariable);
+				mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "add", "(Ljava/lang/Object;)Z", true);
+				mv.visitInsn(POP);
+			}
+			mv.visitJumpInsn(GOTO, nextIteration);
+		}
+		else {
+			mv.visitVarInsn(ALOAD, elementVariable);
+			mv.visitVarInsn(ASTORE, resultVariable);
+			mv.visitJumpInsn(GOTO, (this.variant == FIRST ? endOfLoop : nextIteration));
+		}
+		mv.visitLabel(endOfLoop);
+
+		if (this.variant != ALL && this.mapOperand) {
+			// Turn the matching entry, if any, into a single-entry map
+			Label noMatch = new Label();
+			mv.visitVarInsn(ALOAD, resultVariable);
+			mv.visitJumpInsn(IFNULL, noMatch);
+			mv.visitTypeInsn(NEW, "java/util/HashMap");
+			mv.visitInsn(DUP);
+			mv.visitMethodInsn(INVOKESPECIAL, "java/util/HashMap", "<init>", "()V", false);
+			mv.visitInsn(DUP);
+			generateCodeForPut(mv, resultVariable);
+			mv.visitJumpInsn(GOTO, endOfSelection);
+			mv.visitLabel(noMatch);
+			mv.visitInsn(ACONST_NULL);
+		}
+		else {
+			mv.visitVarInsn(ALOAD, resultVariable);
+		}
+		mv.visitLabel(endOfSelection);
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
 	@Override
 	public String toStringAST() {
 		return prefix() + getChild(0).toStringAST() + "]";
 	}
 
+	/**
+	 * Put the key and value of the map entry held in the given local variable
+	 * into the map on top of the stack, consuming it.
+	 */
+	private static void generateCodeForPut(MethodVisitor mv, int entryVariable) {
+		mv.visitTypeInsn(CHECKCAST, "java/util/Map");
+		mv.visitVarInsn(ALOAD, entryVariable);
+		mv.visitTypeInsn(CHECKCAST, "java/util/Map$Entry");
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map$Entry", "getKey", "()Ljava/lang/Object;", true);
+		mv.visitVarInsn(ALOAD, entryVariable);
+		mv.visitTypeInsn(CHECKCAST, "java/util/Map$Entry");
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map$Entry", "getValue", "()Ljava/lang/Object;", true);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put",
+				"(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+		mv.visitInsn(POP);
+	}
+
 	private String prefix() {
 		return switch (this.variant) {
 			case ALL -> "?[";
@@ -21,6 +21,7 @@ import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.util.function.Supplier;
 
+import org.springframework.asm.Label;
 import org.springframework.asm.MethodVisitor;
 import org.springframework.asm.Opcodes;
 import org.springframework.expression.EvaluationException;
@@ -305,4 +306,92 @@ public abstract class SpelNodeImpl implements SpelNode, Opcodes {
 		cf.exitCompilationScope();
 	}
 
+	/**
+	 * Generate the head of a loop over the elements of the {@link Iterable} or the
+	 * entries of the {@link java.util.Map} on top of the stack, consuming it.
+	 * Each iteration stores the current element in the given local variable and
+	 * continues with the code generated by the caller, which is expected to jump
+	 * back to the returned label for the next iteration. Once all elements have
+	 * been processed, the loop jumps to the given exit label.
+	 * @param mv the method visitor where code should be generated
+	 * @param cf the current codeflow
+	 * @param mapEntries whether to iterate over the entries of a {@code Map}
+	 * rather than the elements of an {@code Iterable}
+	 * @param elementVariable the local variable for the current element
+	 * @param loopExit the label to jump to once all elements have been processed
+	 * @return the label to jump to for the next iteration
+	 * @since 6.1
+	 */
+	protected static Label generateCodeForLoop(MethodVisitor mv, CodeFlow cf, boolean mapEntries,
+			int elementVariable, Label loopExit) {
+
+		if (mapEntries) {
+			mv.visitTypeInsn(CHECKCAST, "java/util/Map");
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "entrySet", "()Ljava/util/Set;", true);
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Set", "iterator", "()Ljava/util/Iterator;", true);
+		}
+		else {
+			mv.visitTypeInsn(CHECKCAST, "java/lang/Iterable");
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/lang/Iterable", "iterator", "()Ljava/util/Iterator;", true);
+		}
+		int iteratorVariable = cf.nextFreeVariableId();
+		mv.visitVarInsn(ASTORE, iteratorVariable);
+		Label nextIteration = new Label();
+		mv.visitLabel(nextIteration);
+		mv.visitVarInsn(ALOAD, iteratorVariable);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "hasNext", "()Z", true);
+		mv.visitJumpInsn(IFEQ, loopExit);
+		mv.visitVarInsn(ALOAD, iteratorVariable);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "next", "()Ljava/lang/Object;", true);
+		mv.visitVarInsn(ASTORE, elementVariable);
+		return nextIteration;
+	}
+
+	/**
+	 * Ask an expression evaluated against each element of a selection or projection
+	 * to generate its bytecode, with the element held in the given local variable
+	 * serving as the active context object.
+	 * @param mv the method visitor where code should be generated
+	 * @param cf the current codeflow
+	 * @param expression the expression to generate code for
+	 * @param elementVariable the local variable for the current element
+	 * @return the descriptor of the value left on the stack by the expression
+	 * @since 6.1
+	 */
+	protected static String generateCodeForElement(MethodVisitor mv, CodeFlow cf, SpelNodeImpl expression,
+			int elementVariable) {
+
+		cf.enterActiveContextObject(elementVariable);
+		cf.enterCompilationScope();
+		try {
+			expression.generateCode(mv, cf);
+			String lastDesc = cf.lastDescriptor();
+			Assert.state(lastDesc != null, "No last descriptor");
+			return lastDesc;
+		}
+		finally {
+			cf.exitCompilationScope();
+			cf.exitActiveContextObject();
+		}
+	}
+
+	/**
+	 * Determine whether the given node or any of its descendants refers to the
+	 * variable of the given name, e.g. to the {@code #index} variable which is
+	 * only available to interpreted selections and projections.
+	 * @since 6.1
+	 */
+	static boolean containsVariableReference(SpelNodeImpl node, String variableName) {
+		if (node instanceof VariableReference variableReference &&
+				variableReference.getName().equals(variableName)) {
+			return true;
+		}
+		for (SpelNodeImpl child : node.children) {
+			if (containsVariableReference(child, variableName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 }
@@ -53,6 +53,14 @@ public class VariableReference extends SpelNodeImpl {
 	}
 
 
+	/**
+	 * Return the name of the referenced variable.
+	 * @since 6.1
+	 */
+	public String getName() {
+		return this.name;
+	}
+
 	@Override
 	public ValueRef getValueRef(ExpressionState state) throws SpelEvaluationException {
 		if (this.name.equals(THIS)) {
@@ -69,27 +77,32 @@ public class VariableReference extends SpelNodeImpl {
 	@Override
 	public TypedValue getValueInternal(ExpressionState state) throws SpelEvaluationException {
 		if (this.name.equals(THIS)) {
-			return state.getActiveContextObject();
+			TypedValue result = state.getActiveContextObject();
+			this.exitTypeDescriptor = determineExitTypeDescriptor(result.getValue());
+			return result;
 		}
 		if (this.name.equals(ROOT)) {
 			TypedValue result = state.getRootContextObject();
-			this.exitTypeDescriptor = CodeFlow.toDescriptorFromObject(result.getValue());
+			this.exitTypeDescriptor = determineExitTypeDescriptor(result.getValue());
 			return result;
 		}
 		TypedValue result = state.lookupVariable(this.name);
-		Object value = result.getValue();
+		this.exitTypeDescriptor = determineExitTypeDescriptor(result.getValue());
+		// a null value will mean either the value was null or the variable was not found
+		return result;
+	}
+
+	private static String determineExitTypeDescriptor(@Nullable Object value) {
 		if (value == null || !Modifier.isPublic(value.getClass().getModifiers())) {
 			// If the type is not public then when generateCode produces a checkcast to it
 			// then an IllegalAccessError will occur.
 			// If resorting to Object isn't sufficient, the hierarchy could be traversed for
 			// the first public type.
-			this.exitTypeDescriptor = "Ljava/lang/Object";
+			return "Ljava/lang/Object";
 		}
 		else {
-			this.exitTypeDescriptor = CodeFlow.toDescriptorFromObject(value);
+			return CodeFlow.toDescriptorFromObject(value);
 		}
-		// a null value will mean either the value was null or the variable was not found
-		return result;
 	}
 
 	@Override
@@ -116,7 +129,13 @@ public class VariableReference extends SpelNodeImpl {
 
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
-		if (this.name.equals(ROOT)) {
+		if (this.name.equals(THIS)) {
+			// Within a compound expression, the active context object is already on the stack
+			if (cf.lastDescriptor() == null) {
+				cf.loadTarget(mv);
+			}
+		}
+		else if (this.name.equals(ROOT)) {
 			mv.visitVarInsn(ALOAD,1);
 		}
 		else {
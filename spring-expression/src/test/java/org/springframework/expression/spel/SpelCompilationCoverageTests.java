@@ -912,6 +912,127 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertThat(i).isEqualTo(42);
 	}
 
+	@Test
+	void variableReference_this() {
+		expression = parser.parseExpression("#this");
+		assertThat(expression.getValue("hello")).isEqualTo("hello");
+		assertCanCompile(expression);
+		assertThat(expression.getValue("hello")).isEqualTo("hello");
+
+		expression = parser.parseExpression("#this.length()");
+		assertThat(expression.getValue("hello")).isEqualTo(5);
+		assertCanCompile(expression);
+		assertThat(expression.getValue("hello")).isEqualTo(5);
+	}
+
+	@Test
+	void elvisWithPrimitiveOperands() {
+		expression = parser.parseExpression("length() ?: 5");
+		assertThat(expression.getValue("abc")).isEqualTo(3);
+		assertCanCompile(expression);
+		assertThat(expression.getValue("abc")).isEqualTo(3);
+		assertThat(getAst().getExitDescriptor()).isEqualTo("Ljava/lang/Integer");
+	}
+
+	@Test
+	void selection() {
+		List<Integer> numbers = List.of(1, 2, 3, 4, 5);
+
+		expression = parser.parseExpression("?[#this > 2]");
+		assertThat(expression.getValue(numbers)).isEqualTo(List.of(3, 4, 5));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(numbers)).isEqualTo(List.of(3, 4, 5));
+		assertThat(expression.getValue(List.of(1, 7))).isEqualTo(List.of(7));
+
+		expression = parser.parseExpression("^[#this > 2]");
+		assertThat(expression.getValue(numbers)).isEqualTo(3);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(numbers)).isEqualTo(3);
+		assertThat(expression.getValue(List.of(1, 2))).isNull();
+
+		expression = parser.parseExpression("$[#this > 2]");
+		assertThat(expression.getValue(numbers)).isEqualTo(5);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(numbers)).isEqualTo(5);
+		assertThat(expression.getValue(List.of(1, 2))).isNull();
+
+		expression = parser.parseExpression("?[#this > 2].size()");
+		assertThat(expression.getValue(numbers)).isEqualTo(3);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(numbers)).isEqualTo(3);
+
+		expression = parser.parseExpression("?[startsWith('b')]");
+		assertThat(expression.getValue(List.of("a", "b", "bb"))).isEqualTo(List.of("b", "bb"));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(List.of("a", "b", "bb"))).isEqualTo(List.of("b", "bb"));
+
+		// The #index variable is only available to the interpreter
+		expression = parser.parseExpression("?[#index > 0]");
+		expression.getValue(numbers);
+		assertCantCompile(expression);
+	}
+
+	@Test
+	void selectionOverMap() {
+		Map<String, Integer> scores = new HashMap<>();
+		scores.put("a", 1);
+		scores.put("b", 5);
+
+		expression = parser.parseExpression("?[value > 2]");
+		assertThat(expression.getValue(scores)).isEqualTo(Map.of("b", 5));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(scores)).isEqualTo(Map.of("b", 5));
+
+		expression = parser.parseExpression("^[value > 0]");
+		assertThat(expression.getValue(scores)).isEqualTo(Map.of("a", 1));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(scores)).isEqualTo(Map.of("a", 1));
+
+		expression = parser.parseExpression("$[value > 0]");
+		assertThat(expression.getValue(scores)).isEqualTo(Map.of("b", 5));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(scores)).isEqualTo(Map.of("b", 5));
+		assertThat(expression.getValue(Map.of("c", 0))).isNull();
+	}
+
+	@Test
+	void projection() {
+		List<String> names = List.of("al", "bo", "cy");
+
+		expression = parser.parseExpression("![toUpperCase()]");
+		assertThat(expression.getValue(names)).isEqualTo(List.of("AL", "BO", "CY"));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(names)).isEqualTo(List.of("AL", "BO", "CY"));
+
+		expression = parser.parseExpression("![length()]");
+		assertThat(expression.getValue(names)).isEqualTo(List.of(2, 2, 2));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(names)).isEqualTo(List.of(2, 2, 2));
+
+		expression = parser.parseExpression("{1,2,3}.![#this * 2]");
+		assertThat(expression.getValue()).isEqualTo(List.of(2, 4, 6));
+		assertCanCompile(expression);
+		assertThat(expression.getValue()).isEqualTo(List.of(2, 4, 6));
+
+		expression = parser.parseExpression("{{1,2},{3}}.![#this.![#this + 1]]");
+		assertThat(expression.getValue()).isEqualTo(List.of(List.of(2, 3), List.of(4)));
+		assertCanCompile(expression);
+		assertThat(expression.getValue()).isEqualTo(List.of(List.of(2, 3), List.of(4)));
+
+		expression = parser.parseExpression("?[length() > 1].![#this + '!']");
+		assertThat(expression.getValue(List.of("a", "bb"))).isEqualTo(List.of("bb!"));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(List.of("a", "bb"))).isEqualTo(List.of("bb!"));
+
+		Map<String, Integer> scores = new HashMap<>();
+		scores.put("a", 1);
+		scores.put("b", 5);
+		expression = parser.parseExpression("![key]");
+		assertThat(expression.getValue(scores)).isEqualTo(List.of("a", "b"));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(scores)).isEqualTo(List.of("a", "b"));
+	}
+
 	public static String concat(String a, String b) {
 		return a+b;
 	}
@@ -1030,7 +1151,7 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 
 		expression = parser.parseExpression("#negate(#ints.?[#this<2][0])");
 		assertThat(expression.getValue(context, Integer.class).toString()).isEqualTo("-1");
-		// Selection isn't compilable.
+		// Selection over an array isn't compilable.
 		assertThat(((SpelNodeImpl)((SpelExpression) expression).getAST()).isCompilable()).isFalse();
 	}
 
@@ -4763,6 +4884,30 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertThat(expression.getValue(new GenericMessageTestHelper2<>(6), Boolean.TYPE)).isTrue();
 	}
 
+	@Test
+	void indexerWithComputedIndex() {
+		StandardEvaluationContext context = new StandardEvaluationContext(new ArrayList<>(List.of("a", "b", "c")));
+		context.setVariable("i", 1);
+		expression = parser.parseExpression("[#i]");
+		assertThat(expression.getValue(context)).isEqualTo("b");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo("b");
+
+		context = new StandardEvaluationContext(new String[] {"a", "b", "c"});
+		context.setVariable("i", 2);
+		expression = parser.parseExpression("[#i]");
+		assertThat(expression.getValue(context)).isEqualTo("c");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(context)).isEqualTo("c");
+
+		Map<Integer, String> map = new HashMap<>();
+		map.put(1, "one");
+		expression = parser.parseExpression("[#root.size()]");
+		assertThat(expression.getValue(map)).isEqualTo("one");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(map)).isEqualTo("one");
+	}
+
 	@Test
 	void indexerMapAccessor_12045() throws Exception {
 		SpelParserConfiguration spc = new SpelParserConfiguration(
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.ColumnarResultSetExtractor.ColumnType;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+/**
+ * Column-oriented representation of a query result, holding the values of
+ * each column in an array of the column's {@link ColumnType}: primitive arrays
+ * for numeric and boolean columns, {@code String} and {@code Object} arrays
+ * for all other columns.
+ *
+ * <p>The arrays are exposed as-is, without defensive copies, and have a length
+ * equal to the {@linkplain #getRowCount() row count}. Since {@code null} cannot
+ * be represented in a primitive array, SQL {@code NULL} values in primitive
+ * columns are represented as {@code 0} or {@code false}, to be distinguished
+ * through {@link #isNull(String, int)}.
+ *
+ * @author agent
+ * @since 6.1
+ * @see ColumnarResultSetExtractor
+ */
+public final class ColumnarResult {
+
+	private final int rowCount;
+
+	private final String[] columnNames;
+
+	private final ColumnType[] columnTypes;
+
+	private final Object[] columnValues;
+
+	private final BitSet[] columnNulls;
+
+	private final Map<String, Integer> columnIndexes;
+
+
+	ColumnarResult(int rowCount, String[] columnNames, ColumnType[] columnTypes,
+			Object[] columnValues, BitSet[] columnNulls) {
+
+		this.rowCount = rowCount;
+		this.columnNames = columnNames;
+		this.columnTypes = columnTypes;
+		this.columnValues = columnValues;
+		this.columnNulls = columnNulls;
+		this.columnIndexes = new LinkedCaseInsensitiveMap<>(columnNames.length);
+		for (int i = 0; i < columnNames.length; i++) {
+			this.columnIndexes.putIfAbsent(columnNames[i], i);
+		}
+	}
+
+
+	/**
+	 * Return the number of rows in this result.
+	 */
+	public int getRowCount() {
+		return this.rowCount;
+	}
+
+	/**
+	 * Return the names of the columns in this result, in projection order.
+	 */
+	public List<String> getColumnNames() {
+		return Arrays.asList(this.columnNames);
+	}
+
+	/**
+	 * Return the type of the given column.
+	 * @param columnName the name of the column (case-insensitive)
+	 * @throws IllegalArgumentException if there is no such column
+	 */
+	public ColumnType getColumnType(String columnName) {
+		return this.columnTypes[getColumnIndex(columnName)];
+	}
+
+	/**
+	 * Return the values of the given {@link ColumnType#INT} column.
+	 * @param columnName the name of the column (case-insensitive)
+	 */
+	public int[] getInts(String columnName) {
+		return (int[]) getColumnValues(columnName, ColumnType.INT);
+	}
+
+	/**
+	 * Return the values of the given {@link ColumnType#LONG} column.
+	 * @param columnName the name of the column (case-insensitive)
+	 */
+	public long[] getLongs(String columnName) {
+		return (long[]) getColumnValues(columnName, ColumnType.LONG);
+	}
+
+	/**
+	 * Return the values of the given {@link ColumnType#DOUBLE} column.
+	 * @param columnName the name of the column (case-insensitive)
+	 */
+	public double[] getDoubles(String columnName) {
+		return (double[]) getColumnValues(columnName, ColumnType.DOUBLE);
+	}
+
+	/**
+	 * Return the values of the given {@link ColumnType#BOOLEAN} column.
+	 * @param columnName the name of the column (case-insensitive)
+	 */
+	public boolean[] getBooleans(String columnName) {
+		return (boolean[]) getColumnValues(columnName, ColumnType.BOOLEAN);
+	}
+
+	/**
+	 * Return the values of the given {@link ColumnType#STRING} column.
+	 * @param columnName the name of the column (case-insensitive)
+	 */
+	public String[] getStrings(String columnName) {
+		return (String[]) getColumnValues(columnName, ColumnType.STRING);
+	}
+
+	/**
+	 * Return the values of the given {@link ColumnType#OBJECT} column.
+	 * @param columnName the name of the column (case-insensitive)
+	 */
+	public Object[] getObjects(String columnName) {
+		return (Object[]) getColumnValues(columnName, ColumnType.OBJECT);
+	}
+
+	/**
+	 * Determine whether the value of the given column in the given row is
+	 * SQL {@code NULL}, in particular for primitive columns.
+	 * @param columnName the name of the column (case-insensitive)
+	 * @param rowIndex the index of the row (starting at 0)
+	 */
+	public boolean isNull(String columnName, int rowIndex) {
+		int columnIndex = getColumnIndex(columnName);
+		if (rowIndex < 0 || rowIndex >= this.rowCount) {
+			throw new IndexOutOfBoundsException("Row index " + rowIndex + " out of bounds for " +
+					this.rowCount + " rows");
+		}
+		BitSet nulls = this.columnNulls[columnIndex];
+		return (nulls != null ? nulls.get(rowIndex) :
+				((Object[]) this.columnValues[columnIndex])[rowIndex] == null);
+	}
+
+
+	private int getColumnIndex(String columnName) {
+		Integer index = this.columnIndexes.get(columnName);
+		if (index == null) {
+			throw new IllegalArgumentException("No column '" + columnName + "' in result - available columns: " +
+					getColumnNames());
+		}
+		return index;
+	}
+
+	private Object getColumnValues(String columnName, ColumnType expectedType) {
+		int index = getColumnIndex(columnName);
+		ColumnType actualType = this.columnTypes[index];
+		if (actualType != expectedType) {
+			throw new IllegalStateException("Column '" + columnName + "' is of type " + actualType +
+					", not " + expectedType);
+		}
+		return this.columnValues[index];
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("ColumnarResult: ").append(this.rowCount).append(" rows [");
+		for (int i = 0; i < this.columnNames.length; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(this.columnNames[i]).append(' ').append(this.columnTypes[i]);
+		}
+		return sb.append(']').toString();
+	}
+
+}
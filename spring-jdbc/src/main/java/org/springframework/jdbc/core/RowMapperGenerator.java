@@ -0,0 +1,334 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.core.KotlinDetector;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.HiddenClassUtils;
+
+/**
+ * Generates {@link RowMapper} classes for a specific target class and column
+ * layout, reading columns by index and invoking the constructor, setter methods
+ * and fields of the target class directly. Used by {@link SimplePropertyRowMapper}.
+ *
+ * <p>Each generated class is defined as a hidden nestmate class of the target
+ * class, so private constructors, methods and fields of the target class
+ * itself are accessible to it.
+ *
+ * @author agent
+ * @since 6.1
+ */
+final class RowMapperGenerator {
+
+	private static final String ROW_MAPPER_CLASS_SUFFIX = "$$SpringRowMapper";
+
+	private static final String RESULT_SET_NAME = Type.getInternalName(ResultSet.class);
+
+	private static final String ROW_MAPPER_NAME = Type.getInternalName(RowMapper.class);
+
+	private static final String READERS_DESCRIPTOR = "[" + Type.getDescriptor(RowMapper.class);
+
+	private static final String FUNCTION_NAME = Type.getInternalName(Function.class);
+
+	private static final String MAP_ROW_DESCRIPTOR = "(" + Type.getDescriptor(ResultSet.class) + "I)Ljava/lang/Object;";
+
+	/**
+	 * {@code ResultSet} getters for the value types that
+	 * {@link org.springframework.jdbc.support.JdbcUtils#getResultSetValue(ResultSet, int, Class)}
+	 * reads through a specific getter, keyed by value type.
+	 */
+	private static final Map<Class<?>, Getter> getters = new HashMap<>(32);
+
+	static {
+		registerGetter("getBoolean", boolean.class, Boolean.class);
+		registerGetter("getByte", byte.class, Byte.class);
+		registerGetter("getShort", short.class, Short.class);
+		registerGetter("getInt", int.class, Integer.class);
+		registerGetter("getLong", long.class, Long.class);
+		registerGetter("getFloat", float.class, Float.class);
+		registerGetter("getDouble", double.class, Double.class);
+		registerGetter("getString", String.class);
+		registerGetter("getBigDecimal", BigDecimal.class);
+		registerGetter("getBytes", byte[].class);
+	}
+
+	private static void registerGetter(String name, Class<?> returnType, Class<?>... valueTypes) {
+		Getter getter = new Getter(name, returnType);
+		getters.put(returnType, getter);
+		for (Class<?> valueType : valueTypes) {
+			getters.put(valueType, getter);
+		}
+	}
+
+
+	private RowMapperGenerator() {
+	}
+
+
+	/**
+	 * Return whether a row mapper can be generated for the given constructor
+	 * and properties, i.e. whether they are accessible from a nestmate class
+	 * of the target class.
+	 * @param ctor the constructor to invoke
+	 * @param properties the setter {@link Method methods} and {@link Field fields}
+	 * to populate after instantiation
+	 */
+	static boolean isEligible(Constructor<?> ctor, Member[] properties) {
+		Class<?> clazz = ctor.getDeclaringClass();
+		if (Modifier.isAbstract(clazz.getModifiers()) || clazz.isHidden() ||
+				(KotlinDetector.isKotlinReflectPresent() && KotlinDetector.isKotlinType(clazz))) {
+			return false;
+		}
+		for (Class<?> parameterType : ctor.getParameterTypes()) {
+			if (!HiddenClassUtils.isAccessibleFrom(parameterType, clazz)) {
+				return false;
+			}
+		}
+		for (Member property : properties) {
+			if (Modifier.isStatic(property.getModifiers()) ||
+					!HiddenClassUtils.isAccessibleFrom(property, clazz)) {
+				return false;
+			}
+			if (property instanceof Method method) {
+				if (!HiddenClassUtils.isAccessibleFrom(method.getParameterTypes()[0], clazz)) {
+					return false;
+				}
+			}
+			else if (property instanceof Field field) {
+				if (Modifier.isFinal(field.getModifiers()) ||
+						!HiddenClassUtils.isAccessibleFrom(field.getType(), clazz)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Generate and instantiate a row mapper for the given target class members.
+	 * <p>Values of common types are read through the corresponding typed
+	 * {@code ResultSet} getter if {@code directGetters} is set. All other values,
+	 * as well as {@code null} values for primitive targets, are obtained from the
+	 * reader at the same position in {@code readers}: first one per constructor
+	 * parameter, then one per property.
+	 * @param ctor the constructor to invoke
+	 * @param constructorColumns the column index per constructor parameter
+	 * @param properties the setter methods and fields to populate
+	 * @param propertyColumns the column index per property
+	 * @param readers the readers for converted column values
+	 * @param directGetters whether to read values of common types directly
+	 * @param exceptionTranslator translates exceptions thrown by the constructor
+	 * @throws Throwable if the row mapper class cannot be defined
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> RowMapper<T> generate(Constructor<T> ctor, int[] constructorColumns,
+			Member[] properties, int[] propertyColumns, RowMapper<?>[] readers, boolean directGetters,
+			Function<Throwable, RuntimeException> exceptionTranslator) throws Throwable {
+
+		MethodHandles.Lookup rowMapperLookup = HiddenClassUtils.defineNestmateClass(ctor.getDeclaringClass(),
+				generateRowMapper(ctor, constructorColumns, properties, propertyColumns, directGetters));
+		Class<?> rowMapperClass = rowMapperLookup.lookupClass();
+		return (RowMapper<T>) rowMapperLookup.findConstructor(rowMapperClass,
+				MethodType.methodType(void.class, RowMapper[].class, Function.class))
+				.invoke(readers, exceptionTranslator);
+	}
+
+	private static byte[] generateRowMapper(Constructor<?> ctor, int[] constructorColumns,
+			Member[] properties, int[] propertyColumns, boolean directGetters) {
+
+		String ownerName = Type.getInternalName(ctor.getDeclaringClass());
+		String className = ownerName + ROW_MAPPER_CLASS_SUFFIX;
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+		cw.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+				className, null, "java/lang/Object", new String[] {ROW_MAPPER_NAME});
+		cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "readers", READERS_DESCRIPTOR, null, null).visitEnd();
+		cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "exceptionTranslator",
+				"L" + FUNCTION_NAME + ";", null, null).visitEnd();
+
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>",
+				"(" + READERS_DESCRIPTOR + "L" + FUNCTION_NAME + ";)V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitVarInsn(Opcodes.ALOAD, 1);
+		mv.visitFieldInsn(Opcodes.PUTFIELD, className, "readers", READERS_DESCRIPTOR);
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitVarInsn(Opcodes.ALOAD, 2);
+		mv.visitFieldInsn(Opcodes.PUTFIELD, className, "exceptionTranslator", "L" + FUNCTION_NAME + ";");
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "mapRow", MAP_ROW_DESCRIPTOR, null,
+				new String[] {"java/sql/SQLException"});
+		mv.visitCode();
+
+		// Read constructor arguments into local variables 3 and following
+		Class<?>[] parameterTypes = ctor.getParameterTypes();
+		int[] argumentSlots = new int[parameterTypes.length];
+		int nextSlot = 3;
+		for (int i = 0; i < parameterTypes.length; i++) {
+			Type argumentType = Type.getType(parameterTypes[i]);
+			generateValue(mv, className, parameterTypes[i], constructorColumns[i], i, directGetters);
+			argumentSlots[i] = nextSlot;
+			mv.visitVarInsn(argumentType.getOpcode(Opcodes.ISTORE), nextSlot);
+			nextSlot += argumentType.getSize();
+		}
+
+		// Invoke constructor, translating any exception that it throws
+		Label tryStart = new Label();
+		Label tryEnd = new Label();
+		Label handler = new Label();
+		mv.visitTryCatchBlock(tryStart, tryEnd, handler, "java/lang/Throwable");
+		mv.visitTypeInsn(Opcodes.NEW, ownerName);
+		mv.visitInsn(Opcodes.DUP);
+		for (int i = 0; i < parameterTypes.length; i++) {
+			mv.visitVarInsn(Type.getType(parameterTypes[i]).getOpcode(Opcodes.ILOAD), argumentSlots[i]);
+		}
+		mv.visitLabel(tryStart);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, ownerName, "<init>", Type.getConstructorDescriptor(ctor), false);
+		mv.visitLabel(tryEnd);
+		int instanceSlot = nextSlot;
+		mv.visitVarInsn(Opcodes.ASTORE, instanceSlot);
+
+		// Populate properties
+		for (int i = 0; i < properties.length; i++) {
+			mv.visitVarInsn(Opcodes.ALOAD, instanceSlot);
+			int readerIndex = parameterTypes.length + i;
+			if (properties[i] instanceof Method method) {
+				generateValue(mv, className, method.getParameterTypes()[0], propertyColumns[i], readerIndex, directGetters);
+				mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, ownerName, method.getName(),
+						Type.getMethodDescriptor(method), false);
+				Class<?> returnType = method.getReturnType();
+				if (returnType != void.class) {
+					mv.visitInsn(returnType == long.class || returnType == double.class ? Opcodes.POP2 : Opcodes.POP);
+				}
+			}
+			else {
+				Field field = (Field) properties[i];
+				generateValue(mv, className, field.getType(), propertyColumns[i], readerIndex, directGetters);
+				mv.visitFieldInsn(Opcodes.PUTFIELD, ownerName, field.getName(), Type.getDescriptor(field.getType()));
+			}
+		}
+		mv.visitVarInsn(Opcodes.ALOAD, instanceSlot);
+		mv.visitInsn(Opcodes.ARETURN);
+
+		mv.visitLabel(handler);
+		mv.visitVarInsn(Opcodes.ASTORE, instanceSlot);
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitFieldInsn(Opcodes.GETFIELD, className, "exceptionTranslator", "L" + FUNCTION_NAME + ";");
+		mv.visitVarInsn(Opcodes.ALOAD, instanceSlot);
+		mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, FUNCTION_NAME, "apply",
+				"(Ljava/lang/Object;)Ljava/lang/Object;", true);
+		mv.visitTypeInsn(Opcodes.CHECKCAST, "java/lang/Throwable");
+		mv.visitInsn(Opcodes.ATHROW);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	/**
+	 * Generate code that pushes the value of the given column onto the stack,
+	 * as an instance of the given type.
+	 */
+	private static void generateValue(MethodVisitor mv, String className,
+			Class<?> type, int column, int readerIndex, boolean directGetters) {
+
+		Getter getter = (directGetters ? getters.get(type) : null);
+		if (getter == null) {
+			generateReaderValue(mv, className, type, readerIndex);
+			return;
+		}
+		mv.visitVarInsn(Opcodes.ALOAD, 1);
+		mv.visitLdcInsn(column);
+		mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, RESULT_SET_NAME, getter.name(),
+				"(I)" + Type.getDescriptor(getter.returnType()), true);
+		if (getter.returnType().isPrimitive()) {
+			Label done = new Label();
+			if (type.isPrimitive()) {
+				// A null value is not assignable: let the reader fail like the reflective conversion
+				mv.visitVarInsn(Opcodes.ALOAD, 1);
+				mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, RESULT_SET_NAME, "wasNull", "()Z", true);
+				mv.visitJumpInsn(Opcodes.IFEQ, done);
+				mv.visitInsn(Type.getType(type).getSize() == 2 ? Opcodes.POP2 : Opcodes.POP);
+				generateReaderValue(mv, className, type, readerIndex);
+			}
+			else {
+				mv.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(type), "valueOf",
+						"(" + Type.getDescriptor(getter.returnType()) + ")" + Type.getDescriptor(type), false);
+				mv.visitVarInsn(Opcodes.ALOAD, 1);
+				mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, RESULT_SET_NAME, "wasNull", "()Z", true);
+				mv.visitJumpInsn(Opcodes.IFEQ, done);
+				mv.visitInsn(Opcodes.POP);
+				mv.visitInsn(Opcodes.ACONST_NULL);
+			}
+			mv.visitLabel(done);
+		}
+	}
+
+	/**
+	 * Generate code that pushes the value returned by the reader at the given
+	 * index onto the stack, as an instance of the given type.
+	 */
+	private static void generateReaderValue(MethodVisitor mv, String className, Class<?> type, int readerIndex) {
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitFieldInsn(Opcodes.GETFIELD, className, "readers", READERS_DESCRIPTOR);
+		mv.visitLdcInsn(readerIndex);
+		mv.visitInsn(Opcodes.AALOAD);
+		mv.visitVarInsn(Opcodes.ALOAD, 1);
+		mv.visitVarInsn(Opcodes.ILOAD, 2);
+		mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, ROW_MAPPER_NAME, "mapRow", MAP_ROW_DESCRIPTOR, true);
+		if (type.isPrimitive()) {
+			String wrapperName = Type.getInternalName(ClassUtils.resolvePrimitiveIfNecessary(type));
+			mv.visitTypeInsn(Opcodes.CHECKCAST, wrapperName);
+			mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapperName, type.getName() + "Value",
+					"()" + Type.getDescriptor(type), false);
+		}
+		else if (type != Object.class) {
+			mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(type));
+		}
+	}
+
+
+	/**
+	 * A typed {@code ResultSet} getter.
+	 */
+	private record Getter(String name, Class<?> returnType) {
+	}
+
+}
@@ -17,23 +17,33 @@
 package org.springframework.jdbc.core;
 
 import java.beans.PropertyDescriptor;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeanInstantiationException;
 import org.springframework.beans.BeanUtils;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
 
@@ -64,6 +74,15 @@ import org.springframework.util.ReflectionUtils;
  * {@link org.springframework.jdbc.core.namedparam.SimplePropertySqlParameterSource}
  * and is similarly used for {@link org.springframework.jdbc.core.simple.JdbcClient}.
  *
+ * <p>The mapping of columns to constructor arguments and properties is resolved
+ * once per column layout of the result set. Once a column layout has been mapped
+ * for a {@linkplain #setGenerationThreshold threshold} number of rows, a row
+ * mapper specific to the layout is generated for it: it reads values of common
+ * types through the typed {@code ResultSet} getters and invokes the constructor,
+ * setter methods and fields of the mapped class directly. Values of other types
+ * are still read and converted like on the reflective path, and mapped classes
+ * with members that are not accessible to a generated class remain reflective.
+ *
  * @author Juergen Hoeller
  * @since 6.1
  * @param <T> the result type
@@ -74,8 +93,17 @@ import org.springframework.util.ReflectionUtils;
  */
 public class SimplePropertyRowMapper<T> implements RowMapper<T> {
 
+	/**
+	 * The default number of rows of a given column layout to map reflectively
+	 * before generating a row mapper for it.
+	 */
+	public static final int DEFAULT_GENERATION_THRESHOLD = 100;
+
 	private static final Object NO_DESCRIPTOR = new Object();
 
+	private static final Log logger = LogFactory.getLog(SimplePropertyRowMapper.class);
+
+
 	private final Class<T> mappedClass;
 
 	private final ConversionService conversionService;
@@ -88,6 +116,13 @@ public class SimplePropertyRowMapper<T> implements RowMapper<T> {
 
 	private final Map<String, Object> propertyDescriptors = new ConcurrentHashMap<>();
 
+	private final Map<List<String>, ColumnMapping> columnMappings = new ConcurrentHashMap<>();
+
+	@Nullable
+	private volatile ResultSetMapping lastResultSetMapping;
+
+	private int generationThreshold = DEFAULT_GENERATION_THRESHOLD;
+
 
 	/**
 	 * Create a new {@code SimplePropertyRowMapper}.
@@ -120,52 +155,58 @@ public class SimplePropertyRowMapper<T> implements RowMapper<T> {
 	}
 
 
+	/**
+	 * Set the number of rows of a given column layout to map reflectively
+	 * before generating a row mapper for it.
+	 * <p>Default is {@link #DEFAULT_GENERATION_THRESHOLD}. Set this to 0 for
+	 * generating a row mapper right away, or to -1 for always mapping rows
+	 * reflectively.
+	 * @param generationThreshold the number of rows to map reflectively
+	 */
+	public void setGenerationThreshold(int generationThreshold) {
+		Assert.isTrue(generationThreshold >= -1, "Generation threshold must be -1 or higher");
+		this.generationThreshold = generationThreshold;
+	}
+
+	/**
+	 * Return the number of rows of a given column layout to map reflectively
+	 * before generating a row mapper for it.
+	 */
+	public int getGenerationThreshold() {
+		return this.generationThreshold;
+	}
+
+
 	@Override
 	public T mapRow(ResultSet rs, int rowNumber) throws SQLException {
-		Object[] args = new Object[this.constructorParameterNames.length];
-		Set<Integer> usedIndex = new HashSet<>();
-		for (int i = 0; i < args.length; i++) {
-			String name = this.constructorParameterNames[i];
-			int index;
-			try {
-				// Try direct name match first
-				index = rs.findColumn(name);
-			}
-			catch (SQLException ex) {
-				// Try underscored name match instead
-				index = rs.findColumn(JdbcUtils.convertPropertyNameToUnderscoreName(name));
-			}
-			TypeDescriptor td = this.constructorParameterTypes[i];
-			Object value = JdbcUtils.getResultSetValue(rs, index, td.getType());
-			usedIndex.add(index);
-			args[i] = this.conversionService.convert(value, td);
-		}
-		T mappedObject = BeanUtils.instantiateClass(this.mappedConstructor, args);
+		return getColumnMapping(rs).mapRow(rs, rowNumber);
+	}
 
+	/**
+	 * Obtain the column mapping for the column layout of the given result set,
+	 * reusing the mapping of the previous row for the same result set.
+	 */
+	private ColumnMapping getColumnMapping(ResultSet rs) throws SQLException {
+		ResultSetMapping last = this.lastResultSetMapping;
+		if (last != null && last.resultSet.get() == rs) {
+			return last.columnMapping;
+		}
 		ResultSetMetaData rsmd = rs.getMetaData();
 		int columnCount = rsmd.getColumnCount();
+		List<String> columnNames = new ArrayList<>(columnCount);
 		for (int index = 1; index <= columnCount; index++) {
-			if (!usedIndex.contains(index)) {
-				Object desc = getDescriptor(JdbcUtils.lookupColumnName(rsmd, index));
-				if (desc instanceof MethodParameter mp) {
-					Method method = mp.getMethod();
-					if (method != null) {
-						Object value = JdbcUtils.getResultSetValue(rs, index, mp.getParameterType());
-						value = this.conversionService.convert(value, new TypeDescriptor(mp));
-						ReflectionUtils.makeAccessible(method);
-						ReflectionUtils.invokeMethod(method, mappedObject, value);
-					}
-				}
-				else if (desc instanceof Field field) {
-					Object value = JdbcUtils.getResultSetValue(rs, index, field.getType());
-					value = this.conversionService.convert(value, new TypeDescriptor(field));
-					ReflectionUtils.makeAccessible(field);
-					ReflectionUtils.setField(field, mappedObject, value);
-				}
+			columnNames.add(JdbcUtils.lookupColumnName(rsmd, index));
+		}
+		ColumnMapping columnMapping = this.columnMappings.get(columnNames);
+		if (columnMapping == null) {
+			columnMapping = new ColumnMapping(rs, columnNames);
+			ColumnMapping existing = this.columnMappings.putIfAbsent(columnNames, columnMapping);
+			if (existing != null) {
+				columnMapping = existing;
 			}
 		}
-
-		return mappedObject;
+		this.lastResultSetMapping = new ResultSetMapping(rs, columnMapping);
+		return columnMapping;
 	}
 
 	private Object getDescriptor(String column) {
@@ -210,4 +251,167 @@ public class SimplePropertyRowMapper<T> implements RowMapper<T> {
 		});
 	}
 
+
+	/**
+	 * The column mapping last used, for the result set that it was used for.
+	 */
+	private class ResultSetMapping {
+
+		private final WeakReference<ResultSet> resultSet;
+
+		private final ColumnMapping columnMapping;
+
+		ResultSetMapping(ResultSet resultSet, ColumnMapping columnMapping) {
+			this.resultSet = new WeakReference<>(resultSet);
+			this.columnMapping = columnMapping;
+		}
+	}
+
+
+	/**
+	 * Reads the value of a column and converts it to the target type.
+	 */
+	private class ColumnReader implements RowMapper<Object> {
+
+		private final int index;
+
+		private final TypeDescriptor targetType;
+
+		ColumnReader(int index, TypeDescriptor targetType) {
+			this.index = index;
+			this.targetType = targetType;
+		}
+
+		@Override
+		@Nullable
+		public Object mapRow(ResultSet rs, int rowNumber) throws SQLException {
+			Object value = JdbcUtils.getResultSetValue(rs, this.index, this.targetType.getType());
+			return conversionService.convert(value, this.targetType);
+		}
+	}
+
+
+	/**
+	 * The mapping of the columns of a specific column layout to constructor
+	 * arguments and properties, with a generated row mapper once the
+	 * generation threshold has been reached.
+	 */
+	private class ColumnMapping {
+
+		private final int[] constructorColumns;
+
+		private final Member[] properties;
+
+		private final int[] propertyColumns;
+
+		private final RowMapper<?>[] readers;
+
+		private final AtomicInteger rowCount = new AtomicInteger();
+
+		private volatile boolean eligible;
+
+		@Nullable
+		private volatile RowMapper<T> generated;
+
+		ColumnMapping(ResultSet rs, List<String> columnNames) throws SQLException {
+			int paramCount = constructorParameterNames.length;
+			this.constructorColumns = new int[paramCount];
+			List<RowMapper<?>> readers = new ArrayList<>();
+			Set<Integer> usedIndex = new HashSet<>();
+			for (int i = 0; i < paramCount; i++) {
+				String name = constructorParameterNames[i];
+				int index;
+				try {
+					// Try direct name match first
+					index = rs.findColumn(name);
+				}
+				catch (SQLException ex) {
+					// Try underscored name match instead
+					index = rs.findColumn(JdbcUtils.convertPropertyNameToUnderscoreName(name));
+				}
+				this.constructorColumns[i] = index;
+				readers.add(new ColumnReader(index, constructorParameterTypes[i]));
+				usedIndex.add(index);
+			}
+
+			List<Member> properties = new ArrayList<>();
+			List<Integer> propertyColumns = new ArrayList<>();
+			for (int index = 1; index <= columnNames.size(); index++) {
+				if (!usedIndex.contains(index)) {
+					Object desc = getDescriptor(columnNames.get(index - 1));
+					if (desc instanceof MethodParameter mp) {
+						Method method = mp.getMethod();
+						if (method != null) {
+							properties.add(method);
+							propertyColumns.add(index);
+							readers.add(new ColumnReader(index, new TypeDescriptor(mp)));
+						}
+					}
+					else if (desc instanceof Field field) {
+						properties.add(field);
+						propertyColumns.add(index);
+						readers.add(new ColumnReader(index, new TypeDescriptor(field)));
+					}
+				}
+			}
+			this.properties = properties.toArray(new Member[0]);
+			this.propertyColumns = propertyColumns.stream().mapToInt(Integer::intValue).toArray();
+			this.readers = readers.toArray(new RowMapper<?>[0]);
+			this.eligible = (generationThreshold >= 0 &&
+					RowMapperGenerator.isEligible(mappedConstructor, this.properties));
+		}
+
+		T mapRow(ResultSet rs, int rowNumber) throws SQLException {
+			RowMapper<T> generated = this.generated;
+			if (generated == null && this.eligible && this.rowCount.getAndIncrement() == generationThreshold) {
+				generated = generate();
+			}
+			if (generated != null) {
+				return generated.mapRow(rs, rowNumber);
+			}
+
+			int paramCount = this.constructorColumns.length;
+			Object[] args = new Object[paramCount];
+			for (int i = 0; i < paramCount; i++) {
+				args[i] = this.readers[i].mapRow(rs, rowNumber);
+			}
+			T mappedObject = BeanUtils.instantiateClass(mappedConstructor, args);
+
+			for (int i = 0; i < this.properties.length; i++) {
+				Object value = this.readers[paramCount + i].mapRow(rs, rowNumber);
+				if (this.properties[i] instanceof Method method) {
+					ReflectionUtils.makeAccessible(method);
+					ReflectionUtils.invokeMethod(method, mappedObject, value);
+				}
+				else {
+					Field field = (Field) this.properties[i];
+					ReflectionUtils.makeAccessible(field);
+					ReflectionUtils.setField(field, mappedObject, value);
+				}
+			}
+
+			return mappedObject;
+		}
+
+		@Nullable
+		private RowMapper<T> generate() {
+			try {
+				// Typed getters only return what the shared conversion service would pass through
+				boolean directGetters = (conversionService == DefaultConversionService.getSharedInstance());
+				RowMapper<T> generated = RowMapperGenerator.generate(mappedConstructor, this.constructorColumns,
+						this.properties, this.propertyColumns, this.readers, directGetters,
+						ex -> new BeanInstantiationException(mappedConstructor, "Constructor threw exception", ex));
+				this.generated = generated;
+				return generated;
+			}
+			catch (Throwable ex) {
+				this.eligible = false;
+				if (logger.isDebugEnabled()) {
+					logger.debug("Cannot generate row mapper for " + mappedClass.getName() + ": " + ex);
+				}
+				return null;
+			}
+		}
+	}
+
 }
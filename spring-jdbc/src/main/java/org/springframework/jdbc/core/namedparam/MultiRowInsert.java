@@ -0,0 +1,215 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.namedparam;
+
+import java.sql.Statement;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Representation of an {@code INSERT ... VALUES (...)} statement with a single
+ * row of values, to be rewritten into statements with multiple rows of values:
+ * {@code INSERT ... VALUES (...), (...), (...)}.
+ *
+ * <p>Only statements consisting of an {@code INSERT} clause followed by a
+ * single {@code VALUES} row with named parameters are supported; statements
+ * with further clauses after the {@code VALUES} row (e.g. {@code RETURNING} or
+ * {@code ON CONFLICT}) or with unnamed parameters are not considered compatible.
+ *
+ * @author agent
+ * @since 6.1
+ * @see NamedParameterJdbcTemplate#setInsertRowsPerStatement
+ */
+final class MultiRowInsert {
+
+	private final String insertClause;
+
+	private final String valuesRow;
+
+
+	private MultiRowInsert(String insertClause, String valuesRow) {
+		this.insertClause = insertClause;
+		this.valuesRow = valuesRow;
+	}
+
+
+	/**
+	 * Return the {@code VALUES} row of the original statement,
+	 * e.g. {@code (:id, :name)}, to be parsed for named parameters.
+	 */
+	public String getValuesRow() {
+		return this.valuesRow;
+	}
+
+	/**
+	 * Build an {@code INSERT} statement for the given number of rows.
+	 * @param valuesRowToUse the {@code VALUES} row with JDBC placeholders,
+	 * e.g. {@code (?, ?)}
+	 * @param rowCount the number of rows to insert with the statement
+	 */
+	public String getSql(String valuesRowToUse, int rowCount) {
+		StringBuilder sql = new StringBuilder(
+				this.insertClause.length() + (valuesRowToUse.length() + 2) * rowCount);
+		sql.append(this.insertClause).append(valuesRowToUse);
+		for (int i = 1; i < rowCount; i++) {
+			sql.append(", ").append(valuesRowToUse);
+		}
+		return sql.toString();
+	}
+
+	/**
+	 * Expand the update count for a multi-row statement to the given
+	 * per-row update counts, in the format of a JDBC batch result.
+	 * @param updateCount the update count of the multi-row statement
+	 * @param rowsAffected the per-row update counts to populate
+	 * @param offset the index of the first row of the statement
+	 * @param rowCount the number of rows inserted by the statement
+	 */
+	public static void expandUpdateCount(int updateCount, int[] rowsAffected, int offset, int rowCount) {
+		int countPerRow = (updateCount == rowCount ? 1 : Statement.SUCCESS_NO_INFO);
+		for (int i = offset; i < offset + rowCount; i++) {
+			rowsAffected[i] = countPerRow;
+		}
+	}
+
+
+	/**
+	 * Determine whether the given statement can be rewritten into a multi-row
+	 * {@code INSERT} statement, returning its representation if possible.
+	 * @param parsedSql the parsed representation of the original statement
+	 * @return the corresponding {@code MultiRowInsert}, or {@code null}
+	 * if the statement is not a compatible {@code INSERT} statement
+	 */
+	@Nullable
+	public static MultiRowInsert parse(ParsedSql parsedSql) {
+		if (parsedSql.getUnnamedParameterCount() > 0 || parsedSql.getNamedParameterCount() == 0) {
+			return null;
+		}
+		String sql = parsedSql.getOriginalSql();
+		int start = skipWhitespace(sql, 0);
+		if (!sql.regionMatches(true, start, "INSERT", 0, 6)) {
+			return null;
+		}
+		int valuesIndex = findValuesKeyword(sql, start + 6);
+		if (valuesIndex == -1) {
+			return null;
+		}
+		int rowStart = skipWhitespace(sql, valuesIndex + 6);
+		if (rowStart >= sql.length() || sql.charAt(rowStart) != '(') {
+			return null;
+		}
+		int rowEnd = findClosingParenthesis(sql, rowStart);
+		if (rowEnd == -1 || skipWhitespace(sql, rowEnd + 1) != sql.length()) {
+			return null;
+		}
+		for (int i = 0; i < parsedSql.getParameterNames().size(); i++) {
+			if (parsedSql.getParameterIndexes(i)[0] < rowStart) {
+				return null;
+			}
+		}
+		return new MultiRowInsert(sql.substring(0, valuesIndex + 6) + " ", sql.substring(rowStart, rowEnd + 1));
+	}
+
+	/**
+	 * Find the {@code VALUES} keyword outside of quotes and comments.
+	 */
+	private static int findValuesKeyword(String sql, int start) {
+		int i = start;
+		while (i < sql.length()) {
+			char c = sql.charAt(i);
+			if (c == '\'' || c == '"' || c == '`' || isCommentStart(sql, i)) {
+				i = skipQuotesOrComment(sql, i);
+				if (i == -1) {
+					return -1;
+				}
+			}
+			else if (sql.regionMatches(true, i, "VALUES", 0, 6) &&
+					!isIdentifierPart(sql, i - 1) && !isIdentifierPart(sql, i + 6)) {
+				return i;
+			}
+			else {
+				i++;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Find the parenthesis closing the one at the given index,
+	 * taking nested parentheses, quotes and comments into account.
+	 */
+	private static int findClosingParenthesis(String sql, int start) {
+		int depth = 0;
+		int i = start;
+		while (i < sql.length()) {
+			char c = sql.charAt(i);
+			if (c == '\'' || c == '"' || c == '`' || isCommentStart(sql, i)) {
+				i = skipQuotesOrComment(sql, i);
+				if (i == -1) {
+					return -1;
+				}
+				continue;
+			}
+			if (c == '(') {
+				depth++;
+			}
+			else if (c == ')') {
+				depth--;
+				if (depth == 0) {
+					return i;
+				}
+			}
+			i++;
+		}
+		return -1;
+	}
+
+	private static boolean isCommentStart(String sql, int index) {
+		return (sql.startsWith("--", index) || sql.startsWith("/*", index));
+	}
+
+	/**
+	 * Skip the quoted literal or comment starting at the given index.
+	 * @return the index after the literal or comment, or -1 if not terminated
+	 */
+	private static int skipQuotesOrComment(String sql, int index) {
+		if (sql.startsWith("--", index)) {
+			int end = sql.indexOf('\n', index);
+			return (end != -1 ? end + 1 : sql.length());
+		}
+		if (sql.startsWith("/*", index)) {
+			int end = sql.indexOf("*/", index + 2);
+			return (end != -1 ? end + 2 : -1);
+		}
+		int end = sql.indexOf(sql.charAt(index), index + 1);
+		return (end != -1 ? end + 1 : -1);
+	}
+
+	private static int skipWhitespace(String sql, int index) {
+		int i = index;
+		while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	private static boolean isIdentifierPart(String sql, int index) {
+		return (index >= 0 && index < sql.length() &&
+				(Character.isLetterOrDigit(sql.charAt(index)) || sql.charAt(index) == '_'));
+	}
+
+}
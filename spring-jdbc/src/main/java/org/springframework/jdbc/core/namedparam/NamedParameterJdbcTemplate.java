@@ -18,6 +18,9 @@ package org.springframework.jdbc.core.namedparam;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -43,6 +46,8 @@ import org.springframework.jdbc.core.SqlRowSetResultSetExtractor;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.ConcurrentLruCache;
 
@@ -66,6 +71,12 @@ import org.springframework.util.ConcurrentLruCache;
  * with flexible use of indexed or named parameters. It delegates to a
  * {@code JdbcTemplate}/{@code NamedParameterJdbcTemplate} for actual execution.
  *
+ * <p>As of 6.1, this template can optionally rewrite batches of single-row
+ * {@code INSERT} statements into multi-row statements (see
+ * {@link #setInsertRowsPerStatement}), and coalesce individual {@code update}
+ * calls within a transaction into deferred batches (see
+ * {@link #setDeferredUpdateBatchSize}).
+ *
  * @author Thomas Risberg
  * @author Juergen Hoeller
  * @since 2.0
@@ -89,6 +100,10 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 	private volatile ConcurrentLruCache<String, ParsedSql> parsedSqlCache =
 			new ConcurrentLruCache<>(DEFAULT_CACHE_LIMIT, NamedParameterUtils::parseSqlStatement);
 
+	private int insertRowsPerStatement = 1;
+
+	private int deferredUpdateBatchSize = 0;
+
 
 	/**
 	 * Create a new NamedParameterJdbcTemplate for the given {@link DataSource}.
@@ -117,6 +132,9 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 	 */
 	@Override
 	public JdbcOperations getJdbcOperations() {
+		if (this.deferredUpdateBatchSize > 0) {
+			flushDeferredUpdates();
+		}
 		return this.classicJdbcTemplate;
 	}
 
@@ -128,6 +146,9 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 	 * @since 5.0.3
 	 */
 	public JdbcTemplate getJdbcTemplate() {
+		if (this.deferredUpdateBatchSize > 0) {
+			flushDeferredUpdates();
+		}
 		Assert.state(this.classicJdbcTemplate instanceof JdbcTemplate, "No JdbcTemplate available");
 		return (JdbcTemplate) this.classicJdbcTemplate;
 	}
@@ -147,6 +168,94 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 		return this.parsedSqlCache.capacity();
 	}
 
+	/**
+	 * Specify the maximum number of rows to insert per statement when executing
+	 * a batch of {@code INSERT} statements through {@link #batchUpdate}.
+	 * <p>Default is 1, executing a JDBC batch of single-row statements. A higher
+	 * value rewrites a compatible {@code INSERT ... VALUES (:a, :b)} statement into
+	 * chunked multi-row statements, {@code INSERT ... VALUES (?, ?), (?, ?), ...},
+	 * executed as a JDBC batch of statements with the specified number of rows each,
+	 * followed by a single statement for any remaining rows. Many databases process
+	 * such multi-row statements considerably faster than the equivalent batch of
+	 * single-row statements.
+	 * <p>Only {@code INSERT} statements with a single {@code VALUES} row of named
+	 * parameters and no further clauses are rewritten, and only for batches without
+	 * collection-valued parameters; other statements are executed as a regular
+	 * JDBC batch. Batch variants with generated key retrieval are not rewritten.
+	 * <p>Note that the update counts returned for rewritten statements are 1 for
+	 * every row of a multi-row statement that reports the full number of rows as
+	 * affected, and {@link java.sql.Statement#SUCCESS_NO_INFO} otherwise.
+	 * Also, consider the database's limit for the number of parameters per
+	 * statement when specifying the number of rows.
+	 * @since 6.1
+	 * @see #batchUpdate(String, SqlParameterSource[])
+	 */
+	public void setInsertRowsPerStatement(int insertRowsPerStatement) {
+		Assert.isTrue(insertRowsPerStatement > 0, "Rows per statement must be greater than 0");
+		this.insertRowsPerStatement = insertRowsPerStatement;
+	}
+
+	/**
+	 * Return the maximum number of rows to insert per statement.
+	 * @since 6.1
+	 */
+	public int getInsertRowsPerStatement() {
+		return this.insertRowsPerStatement;
+	}
+
+	/**
+	 * Specify the number of {@code update} calls without generated key retrieval
+	 * to coalesce into a deferred JDBC batch within a transaction.
+	 * <p>Default is 0, executing every {@code update} call immediately. A higher
+	 * value defers {@code update} calls within a transaction with synchronization
+	 * support, collecting consecutive calls for the same SQL statement into a batch
+	 * that is executed through {@link #batchUpdate(String, SqlParameterSource[])}
+	 * once the specified batch size is reached, before a different statement gets
+	 * executed through this template, on {@link #flushDeferredUpdates()}, or before
+	 * transaction commit at the latest. Deferred updates are discarded on rollback.
+	 * <p>Note that deferred {@code update} calls return
+	 * {@link java.sql.Statement#SUCCESS_NO_INFO} instead of an actual update count,
+	 * and that any exception will only be thrown when the batch is executed. The
+	 * given parameter sources must not be modified after the {@code update} call.
+	 * Updates are only flushed for operations performed through this template
+	 * (including its {@link #getJdbcOperations() JdbcOperations}), so this setting
+	 * is designed for a template instance that is exclusively used for the
+	 * data access code within the transaction.
+	 * @since 6.1
+	 * @see #update(String, SqlParameterSource)
+	 * @see #flushDeferredUpdates()
+	 * @see TransactionSynchronizationManager#isSynchronizationActive()
+	 */
+	public void setDeferredUpdateBatchSize(int deferredUpdateBatchSize) {
+		Assert.isTrue(deferredUpdateBatchSize >= 0, "Deferred update batch size must not be negative");
+		this.deferredUpdateBatchSize = deferredUpdateBatchSize;
+	}
+
+	/**
+	 * Return the number of {@code update} calls to coalesce into a deferred batch.
+	 * @since 6.1
+	 */
+	public int getDeferredUpdateBatchSize() {
+		return this.deferredUpdateBatchSize;
+	}
+
+	/**
+	 * Execute any {@code update} calls that have been deferred within the
+	 * current transaction.
+	 * <p>This happens automatically before any other operation performed
+	 * through this template and before transaction commit, so an explicit
+	 * call is only necessary for interaction with other data access code
+	 * within the same transaction.
+	 * @since 6.1
+	 * @see #setDeferredUpdateBatchSize
+	 */
+	public void flushDeferredUpdates() {
+		DeferredUpdates deferredUpdates = (DeferredUpdates) TransactionSynchronizationManager.getResource(this);
+		if (deferredUpdates != null) {
+			deferredUpdates.flush();
+		}
+	}
+
 
 	@Override
 	@Nullable
@@ -334,6 +443,17 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 
 	@Override
 	public int update(String sql, SqlParameterSource paramSource) throws DataAccessException {
+		if (this.deferredUpdateBatchSize > 0 && TransactionSynchronizationManager.isSynchronizationActive() &&
+				TransactionSynchronizationManager.isActualTransactionActive()) {
+			DeferredUpdates deferredUpdates = (DeferredUpdates) TransactionSynchronizationManager.getResource(this);
+			if (deferredUpdates == null) {
+				deferredUpdates = new DeferredUpdates();
+				TransactionSynchronizationManager.bindResource(this, deferredUpdates);
+				TransactionSynchronizationManager.registerSynchronization(deferredUpdates);
+			}
+			deferredUpdates.add(sql, paramSource);
+			return Statement.SUCCESS_NO_INFO;
+		}
 		return getJdbcOperations().update(getPreparedStatementCreator(sql, paramSource));
 	}
 
@@ -377,8 +497,17 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 		}
 
 		ParsedSql parsedSql = getParsedSql(sql);
-		PreparedStatementCreatorFactory pscf = getPreparedStatementCreatorFactory(parsedSql, batchArgs[0]);
+		if (this.insertRowsPerStatement > 1 && batchArgs.length > 1) {
+			MultiRowInsert multiRowInsert = MultiRowInsert.parse(parsedSql);
+			if (multiRowInsert != null) {
+				int[] rowsAffected = batchUpdateWithMultiRowInserts(multiRowInsert, batchArgs);
+				if (rowsAffected != null) {
+					return rowsAffected;
+				}
+			}
+		}
 
+		PreparedStatementCreatorFactory pscf = getPreparedStatementCreatorFactory(parsedSql, batchArgs[0]);
 		return getJdbcOperations().batchUpdate(
 				pscf.getSql(),
 				new BatchPreparedStatementSetter() {
@@ -433,6 +562,68 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 	}
 
 
+	/**
+	 * Execute a batch of inserts through multi-row {@code INSERT} statements.
+	 * @return the per-row update counts, or {@code null} if the batch
+	 * cannot be executed with multi-row statements
+	 */
+	@Nullable
+	private int[] batchUpdateWithMultiRowInserts(MultiRowInsert multiRowInsert, SqlParameterSource[] batchArgs) {
+		ParsedSql parsedRow = NamedParameterUtils.parseSqlStatement(multiRowInsert.getValuesRow());
+		String rowToUse = NamedParameterUtils.substituteNamedParameters(parsedRow, batchArgs[0]);
+		for (int i = 1; i < batchArgs.length; i++) {
+			if (!rowToUse.equals(NamedParameterUtils.substituteNamedParameters(parsedRow, batchArgs[i]))) {
+				// Differently expanded collection parameters: no common row format
+				return null;
+			}
+		}
+
+		int rowCount = batchArgs.length;
+		int rowsPerStatement = Math.min(this.insertRowsPerStatement, rowCount);
+		int statementCount = rowCount / rowsPerStatement;
+		int remainingRows = rowCount % rowsPerStatement;
+		int[] rowsAffected = new int[rowCount];
+
+		String sqlToUse = multiRowInsert.getSql(rowToUse, rowsPerStatement);
+		int[] updateCounts = getJdbcOperations().batchUpdate(sqlToUse,
+				new BatchPreparedStatementSetter() {
+					@Override
+					public void setValues(PreparedStatement ps, int i) throws SQLException {
+						setMultiRowValues(ps, sqlToUse, parsedRow, batchArgs, i * rowsPerStatement, rowsPerStatement);
+					}
+					@Override
+					public int getBatchSize() {
+						return statementCount;
+					}
+				});
+		for (int i = 0; i < updateCounts.length; i++) {
+			MultiRowInsert.expandUpdateCount(updateCounts[i], rowsAffected, i * rowsPerStatement, rowsPerStatement);
+		}
+
+		if (remainingRows > 0) {
+			int offset = statementCount * rowsPerStatement;
+			String remainderSql = multiRowInsert.getSql(rowToUse, remainingRows);
+			int updateCount = getJdbcOperations().update(remainderSql,
+					ps -> setMultiRowValues(ps, remainderSql, parsedRow, batchArgs, offset, remainingRows));
+			MultiRowInsert.expandUpdateCount(updateCount, rowsAffected, offset, remainingRows);
+		}
+		return rowsAffected;
+	}
+
+	private void setMultiRowValues(PreparedStatement ps, String sql, ParsedSql parsedRow,
+			SqlParameterSource[] batchArgs, int offset, int rowCount) throws SQLException {
+
+		List<SqlParameter> declaredParameters = new ArrayList<>();
+		List<Object> values = new ArrayList<>();
+		for (int i = offset; i < offset + rowCount; i++) {
+			declaredParameters.addAll(NamedParameterUtils.buildSqlParameterList(parsedRow, batchArgs[i]));
+			Collections.addAll(values, NamedParameterUtils.buildValueArray(parsedRow, batchArgs[i], null));
+		}
+		new PreparedStatementCreatorFactory(sql, declaredParameters)
+				.newPreparedStatementSetter(values).setValues(ps);
+	}
+
+
 	/**
 	 * Build a {@link PreparedStatementCreator} based on the given SQL and named parameters.
 	 * <p>Note: Directly called from all {@code query} variants. Delegates to the common
@@ -500,4 +691,58 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 		return new PreparedStatementCreatorFactory(sqlToUse, declaredParameters);
 	}
 
+
+	/**
+	 * Transaction-bound holder for deferred {@code update} calls,
+	 * flushing them before commit and discarding them on rollback.
+	 */
+	private class DeferredUpdates implements TransactionSynchronization {
+
+		@Nullable
+		private String sql;
+
+		private final List<SqlParameterSource> batchArgs = new ArrayList<>();
+
+		public void add(String sql, SqlParameterSource paramSource) {
+			if (!sql.equals(this.sql)) {
+				flush();
+				this.sql = sql;
+			}
+			this.batchArgs.add(paramSource);
+			if (this.batchArgs.size() >= deferredUpdateBatchSize) {
+				flush();
+			}
+		}
+
+		public void flush() {
+			if (this.sql != null && !this.batchArgs.isEmpty()) {
+				SqlParameterSource[] batchArgsToUse = this.batchArgs.toArray(new SqlParameterSource[0]);
+				this.batchArgs.clear();
+				batchUpdate(this.sql, batchArgsToUse);
+			}
+		}
+
+		@Override
+		public void suspend() {
+			flush();
+			TransactionSynchronizationManager.unbindResource(NamedParameterJdbcTemplate.this);
+		}
+
+		@Override
+		public void resume() {
+			TransactionSynchronizationManager.bindResource(NamedParameterJdbcTemplate.this, this);
+		}
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			flush();
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			this.batchArgs.clear();
+			TransactionSynchronizationManager.unbindResourceIfPossible(NamedParameterJdbcTemplate.this);
+		}
+	}
+
 }
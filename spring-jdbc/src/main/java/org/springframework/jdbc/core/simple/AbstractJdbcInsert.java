@@ -89,6 +89,9 @@ public abstract class AbstractJdbcInsert {
 	/** The SQL type information for the insert columns. */
 	private int[] insertTypes = new int[0];
 
+	/** The maximum number of rows to insert per statement in a batch. */
+	private int insertRowsPerStatement = 1;
+
 
 	/**
 	 * Constructor to be used when initializing using a {@link DataSource}.
@@ -258,6 +261,34 @@ public abstract class AbstractJdbcInsert {
 		return this.tableMetaDataContext.isQuoteIdentifiers();
 	}
 
+	/**
+	 * Specify the maximum number of rows to insert per statement when
+	 * executing a batch insert.
+	 * <p>Default is 1, executing a JDBC batch of single-row statements.
+	 * A higher value executes a batch insert through multi-row statements,
+	 * {@code INSERT INTO ... VALUES(?, ?), (?, ?), ...}, as a JDBC batch of
+	 * statements with the specified number of rows each, followed by a single
+	 * statement for any remaining rows.
+	 * <p>Note that the update counts returned for multi-row statements are 1 for
+	 * every row of a statement that reports the full number of rows as affected,
+	 * and {@link Statement#SUCCESS_NO_INFO} otherwise.
+	 * @param insertRowsPerStatement the maximum number of rows per statement
+	 * @since 6.1
+	 */
+	public void setInsertRowsPerStatement(int insertRowsPerStatement) {
+		Assert.isTrue(insertRowsPerStatement > 0, "Rows per statement must be greater than 0");
+		this.insertRowsPerStatement = insertRowsPerStatement;
+	}
+
+	/**
+	 * Get the maximum number of rows to insert per statement.
+	 * @since 6.1
+	 * @see #setInsertRowsPerStatement(int)
+	 */
+	public int getInsertRowsPerStatement() {
+		return this.insertRowsPerStatement;
+	}
+
 
 	//-------------------------------------------------------------------------
 	// Methods handling compilation issues
@@ -590,6 +621,12 @@ public abstract class AbstractJdbcInsert {
 	 * Delegate method to execute the batch insert.
 	 */
 	private int[] executeBatchInternal(final List<List<Object>> batchValues) {
+		int rowsPerStatement = Math.min(this.insertRowsPerStatement, batchValues.size());
+		String insertString = getInsertString();
+		int valuesIndex = insertString.lastIndexOf(" VALUES(");
+		if (rowsPerStatement > 1 && valuesIndex != -1 && !insertString.endsWith("()")) {
+			return executeMultiRowBatchInternal(batchValues, rowsPerStatement, insertString.substring(valuesIndex + 7));
+		}
 		if (logger.isDebugEnabled()) {
 			logger.debug("Executing statement " + getInsertString() + " with batch of size: " + batchValues.size());
 		}
@@ -606,6 +643,78 @@ public abstract class AbstractJdbcInsert {
 				});
 	}
 
+	/**
+	 * Delegate method to execute the batch insert through multi-row statements.
+	 * @param batchValues the values for each row
+	 * @param rowsPerStatement the number of rows per statement
+	 * @param valuesRow the placeholders for a single row, e.g. {@code (?, ?)}
+	 */
+	private int[] executeMultiRowBatchInternal(
+			final List<List<Object>> batchValues, int rowsPerStatement, String valuesRow) {
+
+		int rowCount = batchValues.size();
+		int statementCount = rowCount / rowsPerStatement;
+		int remainingRows = rowCount % rowsPerStatement;
+		int[] rowsAffected = new int[rowCount];
+
+		String insertString = getMultiRowInsertString(valuesRow, rowsPerStatement);
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executing statement " + insertString + " with batch of size: " + statementCount);
+		}
+		int[] updateCounts = getJdbcTemplate().batchUpdate(insertString,
+				new BatchPreparedStatementSetter() {
+					@Override
+					public void setValues(PreparedStatement ps, int i) throws SQLException {
+						setMultiRowParameterValues(ps, batchValues, i * rowsPerStatement, rowsPerStatement);
+					}
+					@Override
+					public int getBatchSize() {
+						return statementCount;
+					}
+				});
+		for (int i = 0; i < updateCounts.length; i++) {
+			expandUpdateCount(updateCounts[i], rowsAffected, i * rowsPerStatement, rowsPerStatement);
+		}
+
+		if (remainingRows > 0) {
+			int offset = statementCount * rowsPerStatement;
+			String remainderString = getMultiRowInsertString(valuesRow, remainingRows);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Executing statement " + remainderString);
+			}
+			int updateCount = getJdbcTemplate().update(remainderString,
+					ps -> setMultiRowParameterValues(ps, batchValues, offset, remainingRows));
+			expandUpdateCount(updateCount, rowsAffected, offset, remainingRows);
+		}
+		return rowsAffected;
+	}
+
+	private String getMultiRowInsertString(String valuesRow, int rowCount) {
+		StringBuilder insertString = new StringBuilder(getInsertString());
+		for (int i = 1; i < rowCount; i++) {
+			insertString.append(", ").append(valuesRow);
+		}
+		return insertString.toString();
+	}
+
+	private void setMultiRowParameterValues(PreparedStatement ps, List<List<Object>> batchValues,
+			int offset, int rowCount) throws SQLException {
+
+		int colIndex = 0;
+		for (int i = offset; i < offset + rowCount; i++) {
+			List<Object> values = batchValues.get(i);
+			setParameterValues(ps, colIndex, values, getInsertTypes());
+			colIndex += values.size();
+		}
+	}
+
+	private static void expandUpdateCount(int updateCount, int[] rowsAffected, int offset, int rowCount) {
+		int countPerRow = (updateCount == rowCount ? 1 : Statement.SUCCESS_NO_INFO);
+		for (int i = offset; i < offset + rowCount; i++) {
+			rowsAffected[i] = countPerRow;
+		}
+	}
+
 	/**
 	 * Internal implementation for setting parameter values.
 	 * @param preparedStatement the PreparedStatement
@@ -614,14 +723,28 @@ public abstract class AbstractJdbcInsert {
 	private void setParameterValues(PreparedStatement preparedStatement, List<?> values, @Nullable int... columnTypes)
 			throws SQLException {
 
+		setParameterValues(preparedStatement, 0, values, columnTypes);
+	}
+
+	/**
+	 * Internal implementation for setting parameter values at a given offset.
+	 * @param preparedStatement the PreparedStatement
+	 * @param offset the number of parameters preceding the given values
+	 * @param values the values to be set
+	 */
+	private void setParameterValues(PreparedStatement preparedStatement, int offset, List<?> values,
+			@Nullable int... columnTypes) throws SQLException {
+
 		int colIndex = 0;
 		for (Object value : values) {
 			colIndex++;
 			if (columnTypes == null || colIndex > columnTypes.length) {
-				StatementCreatorUtils.setParameterValue(preparedStatement, colIndex, SqlTypeValue.TYPE_UNKNOWN, value);
+				StatementCreatorUtils.setParameterValue(
+						preparedStatement, offset + colIndex, SqlTypeValue.TYPE_UNKNOWN, value);
 			}
 			else {
-				StatementCreatorUtils.setParameterValue(preparedStatement, colIndex, columnTypes[colIndex - 1], value);
+				StatementCreatorUtils.setParameterValue(
+						preparedStatement, offset + colIndex, columnTypes[colIndex - 1], value);
 			}
 		}
 	}
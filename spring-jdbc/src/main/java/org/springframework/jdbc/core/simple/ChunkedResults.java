@@ -0,0 +1,281 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.simple;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Chunked adaptation of lazily resolved query results, as exposed by
+ * {@link JdbcClient.MappedQuerySpec#chunkedStream} and
+ * {@link JdbcClient.MappedQuerySpec#publisher}.
+ *
+ * @author agent
+ * @since 6.1
+ */
+abstract class ChunkedResults {
+
+	/**
+	 * Adapt the given stream of rows to a stream of chunks of rows,
+	 * closing the given stream when the returned stream gets closed.
+	 * @param rows the lazily resolved stream of rows
+	 * @param chunkSize the maximum number of rows per chunk
+	 */
+	static <T> Stream<List<T>> stream(Stream<T> rows, int chunkSize) {
+		Assert.isTrue(chunkSize > 0, "Chunk size must be greater than 0");
+		return StreamSupport.stream(new ChunkSpliterator<>(rows.iterator(), chunkSize), false).onClose(rows::close);
+	}
+
+	/**
+	 * Create a publisher of chunks of rows, obtaining a new stream of rows for
+	 * every subscriber and reading from it on the given executor on demand.
+	 * @param rows the supplier of the lazily resolved stream of rows
+	 * @param chunkSize the maximum number of rows per chunk
+	 * @param executor the executor to read rows on
+	 */
+	static <T> Flow.Publisher<List<T>> publisher(Supplier<Stream<T>> rows, int chunkSize, Executor executor) {
+		Assert.isTrue(chunkSize > 0, "Chunk size must be greater than 0");
+		Assert.notNull(executor, "Executor must not be null");
+		return subscriber -> {
+			Assert.notNull(subscriber, "Subscriber must not be null");
+			subscriber.onSubscribe(new ChunkSubscription<>(rows, chunkSize, executor, subscriber));
+		};
+	}
+
+
+	/**
+	 * Spliterator for chunks of the elements of a given iterator.
+	 */
+	private static class ChunkSpliterator<T> implements Spliterator<List<T>> {
+
+		private final Iterator<T> rows;
+
+		private final int chunkSize;
+
+		public ChunkSpliterator(Iterator<T> rows, int chunkSize) {
+			this.rows = rows;
+			this.chunkSize = chunkSize;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super List<T>> action) {
+			List<T> chunk = nextChunk(this.rows, this.chunkSize);
+			if (chunk.isEmpty()) {
+				return false;
+			}
+			action.accept(chunk);
+			return true;
+		}
+
+		@Override
+		@Nullable
+		public Spliterator<List<T>> trySplit() {
+			return null;
+		}
+
+		@Override
+		public long estimateSize() {
+			return Long.MAX_VALUE;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.ORDERED | Spliterator.NONNULL;
+		}
+	}
+
+	private static <T> List<T> nextChunk(Iterator<T> rows, int chunkSize) {
+		List<T> chunk = new ArrayList<>(chunkSize);
+		while (chunk.size() < chunkSize && rows.hasNext()) {
+			chunk.add(rows.next());
+		}
+		return chunk;
+	}
+
+
+	/**
+	 * Subscription that emits chunks of rows on demand. All interaction with
+	 * the stream of rows and all signals to the subscriber are serialized
+	 * through a work-in-progress counter, with the drain loop running on the
+	 * executor. The stream is closed on completion, on error, and on
+	 * cancellation, releasing the statement and the connection. If the executor
+	 * rejects the drain loop, the subscription terminates with an error instead.
+	 */
+	private static class ChunkSubscription<T> implements Flow.Subscription, Runnable {
+
+		private final Supplier<Stream<T>> rows;
+
+		private final int chunkSize;
+
+		private final Executor executor;
+
+		private final Flow.Subscriber<? super List<T>> subscriber;
+
+		private final AtomicLong demand = new AtomicLong();
+
+		private final AtomicInteger workInProgress = new AtomicInteger();
+
+		private volatile boolean cancelled;
+
+		private volatile boolean invalidRequest;
+
+		// Only accessed within the drain loop
+
+		@Nullable
+		private Stream<T> stream;
+
+		@Nullable
+		private Iterator<T> iterator;
+
+		private boolean done;
+
+		ChunkSubscription(Supplier<Stream<T>> rows, int chunkSize, Executor executor,
+				Flow.Subscriber<? super List<T>> subscriber) {
+
+			this.rows = rows;
+			this.chunkSize = chunkSize;
+			this.executor = executor;
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				this.invalidRequest = true;
+			}
+			else {
+				this.demand.getAndUpdate(current -> (current + n < 0 ? Long.MAX_VALUE : current + n));
+			}
+			schedule();
+		}
+
+		@Override
+		public void cancel() {
+			this.cancelled = true;
+			schedule();
+		}
+
+		private void schedule() {
+			if (this.workInProgress.getAndIncrement() == 0) {
+				try {
+					this.executor.execute(this);
+				}
+				catch (RejectedExecutionException ex) {
+					reject(ex);
+				}
+			}
+		}
+
+		/**
+		 * Terminate the subscription in the calling thread, which owns the
+		 * drain loop after a failed attempt to schedule it on the executor.
+		 */
+		private void reject(RejectedExecutionException ex) {
+			int missed = 1;
+			do {
+				if (!this.done) {
+					this.done = true;
+					close();
+					if (!this.cancelled) {
+						this.subscriber.onError(ex);
+					}
+				}
+				missed = this.workInProgress.addAndGet(-missed);
+			}
+			while (missed != 0);
+		}
+
+		@Override
+		public void run() {
+			int missed = 1;
+			do {
+				drain();
+				missed = this.workInProgress.addAndGet(-missed);
+			}
+			while (missed != 0);
+		}
+
+		private void drain() {
+			if (this.done) {
+				return;
+			}
+			if (this.cancelled) {
+				this.done = true;
+				close();
+				return;
+			}
+			if (this.invalidRequest) {
+				this.done = true;
+				close();
+				this.subscriber.onError(new IllegalArgumentException(
+						"Number of requested chunks must be greater than 0 (Reactive Streams rule 3.9)"));
+				return;
+			}
+			try {
+				Iterator<T> iterator = this.iterator;
+				if (iterator == null) {
+					Stream<T> stream = this.rows.get();
+					this.stream = stream;
+					iterator = stream.iterator();
+					this.iterator = iterator;
+				}
+				while (this.demand.get() > 0 && !this.cancelled && !this.invalidRequest) {
+					List<T> chunk = nextChunk(iterator, this.chunkSize);
+					if (!chunk.isEmpty()) {
+						this.demand.decrementAndGet();
+						this.subscriber.onNext(chunk);
+					}
+					if (chunk.size() < this.chunkSize || !iterator.hasNext()) {
+						this.done = true;
+						close();
+						this.subscriber.onComplete();
+						return;
+					}
+				}
+			}
+			catch (Throwable ex) {
+				this.done = true;
+				close();
+				this.subscriber.onError(ex);
+			}
+		}
+
+		private void close() {
+			Stream<T> stream = this.stream;
+			if (stream != null) {
+				this.stream = null;
+				this.iterator = null;
+				stream.close();
+			}
+		}
+	}
+
+}
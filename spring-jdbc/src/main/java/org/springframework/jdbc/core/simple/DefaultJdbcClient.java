@@ -16,29 +16,40 @@
 
 package org.springframework.jdbc.core.simple;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
 import org.springframework.beans.BeanUtils;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ColumnarResult;
+import org.springframework.jdbc.core.ColumnarResultSetExtractor;
 import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterDisposer;
 import org.springframework.jdbc.core.PreparedStatementCreator;
 import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
+import org.springframework.jdbc.core.PreparedStatementSetter;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SimplePropertyRowMapper;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.jdbc.core.SqlParameterValue;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
 import org.springframework.jdbc.core.namedparam.SimplePropertySqlParameterSource;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.KeyHolder;
@@ -100,6 +111,8 @@ final class DefaultJdbcClient implements JdbcClient {
 
 		private SqlParameterSource namedParamSource = this.namedParams;
 
+		private int fetchSize = -1;
+
 		public DefaultStatementSpec(String sql) {
 			this.sql = sql;
 		}
@@ -189,6 +202,15 @@ final class DefaultJdbcClient implements JdbcClient {
 			return this;
 		}
 
+		@Override
+		public StatementSpec fetchSize(int fetchSize) {
+			if (fetchSize < 0) {
+				throw new IllegalArgumentException("Invalid fetch size: needs to be 0 or higher");
+			}
+			this.fetchSize = fetchSize;
+			return this;
+		}
+
 		@Override
 		public ResultQuerySpec query() {
 			return (useNamedParams() ?
@@ -267,6 +289,33 @@ final class DefaultJdbcClient implements JdbcClient {
 			return factory.newPreparedStatementCreator(this.indexedParams);
 		}
 
+		private boolean hasFetchSize() {
+			return (this.fetchSize != -1);
+		}
+
+		/**
+		 * Apply the given operation to the SQL statement to execute and a
+		 * PreparedStatementSetter that sets the fetch size along with the
+		 * parameter values, after the statement settings of the JdbcTemplate.
+		 */
+		private <R> R withFetchSize(BiFunction<String, PreparedStatementSetter, R> operation) {
+			String sqlToUse;
+			PreparedStatementSetter pss;
+			if (useNamedParams()) {
+				ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(this.sql);
+				sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, this.namedParamSource);
+				List<SqlParameter> declaredParameters =
+						NamedParameterUtils.buildSqlParameterList(parsedSql, this.namedParamSource);
+				Object[] params = NamedParameterUtils.buildValueArray(parsedSql, this.namedParamSource, null);
+				pss = new PreparedStatementCreatorFactory(sqlToUse, declaredParameters).newPreparedStatementSetter(params);
+			}
+			else {
+				sqlToUse = this.sql;
+				pss = new ArgumentPreparedStatementSetter(this.indexedParams.toArray());
+			}
+			return operation.apply(sqlToUse, new FetchSizePreparedStatementSetter(pss, this.fetchSize));
+		}
+
 
 		private class IndexedParamResultQuerySpec implements ResultQuerySpec {
 
@@ -290,6 +339,15 @@ final class DefaultJdbcClient implements JdbcClient {
 			public <T> List<T> singleColumn() {
 				return (List<T>) classicOps.queryForList(sql, Object.class, indexedParams.toArray());
 			}
+
+			@Override
+			public ColumnarResult columns(ColumnarResultSetExtractor extractor) {
+				ColumnarResult result = (hasFetchSize() ?
+						withFetchSize((sqlToUse, pss) -> classicOps.query(sqlToUse, pss, extractor)) :
+						classicOps.query(sql, extractor, indexedParams.toArray()));
+				Assert.state(result != null, "No result from ColumnarResultSetExtractor");
+				return result;
+			}
 		}
 
 
@@ -315,6 +373,15 @@ final class DefaultJdbcClient implements JdbcClient {
 			public <T> List<T> singleColumn() {
 				return (List<T>) namedParamOps.queryForList(sql, namedParamSource, Object.class);
 			}
+
+			@Override
+			public ColumnarResult columns(ColumnarResultSetExtractor extractor) {
+				ColumnarResult result = (hasFetchSize() ?
+						withFetchSize((sqlToUse, pss) -> classicOps.query(sqlToUse, pss, extractor)) :
+						namedParamOps.query(sql, namedParamSource, extractor));
+				Assert.state(result != null, "No result from ColumnarResultSetExtractor");
+				return result;
+			}
 		}
 
 
@@ -328,11 +395,17 @@ final class DefaultJdbcClient implements JdbcClient {
 
 			@Override
 			public Stream<T> stream() {
+				if (hasFetchSize()) {
+					return withFetchSize((sqlToUse, pss) -> classicOps.queryForStream(sqlToUse, pss, this.rowMapper));
+				}
 				return classicOps.queryForStream(sql, this.rowMapper, indexedParams.toArray());
 			}
 
 			@Override
 			public List<T> list() {
+				if (hasFetchSize()) {
+					return withFetchSize((sqlToUse, pss) -> classicOps.query(sqlToUse, pss, this.rowMapper));
+				}
 				return classicOps.query(sql, this.rowMapper, indexedParams.toArray());
 			}
 		}
@@ -348,14 +421,50 @@ final class DefaultJdbcClient implements JdbcClient {
 
 			@Override
 			public Stream<T> stream() {
+				if (hasFetchSize()) {
+					return withFetchSize((sqlToUse, pss) -> classicOps.queryForStream(sqlToUse, pss, this.rowMapper));
+				}
 				return namedParamOps.queryForStream(sql, namedParamSource, this.rowMapper);
 			}
 
 			@Override
 			public List<T> list() {
+				if (hasFetchSize()) {
+					return withFetchSize((sqlToUse, pss) -> classicOps.query(sqlToUse, pss, this.rowMapper));
+				}
 				return namedParamOps.query(sql, namedParamSource, this.rowMapper);
 			}
 		}
 	}
 
+
+	/**
+	 * PreparedStatementSetter decorator that sets a given fetch size
+	 * before setting the parameter values.
+	 */
+	private static class FetchSizePreparedStatementSetter implements PreparedStatementSetter, ParameterDisposer {
+
+		private final PreparedStatementSetter delegate;
+
+		private final int fetchSize;
+
+		public FetchSizePreparedStatementSetter(PreparedStatementSetter delegate, int fetchSize) {
+			this.delegate = delegate;
+			this.fetchSize = fetchSize;
+		}
+
+		@Override
+		public void setValues(PreparedStatement ps) throws SQLException {
+			ps.setFetchSize(this.fetchSize);
+			this.delegate.setValues(ps);
+		}
+
+		@Override
+		public void cleanupParameters() {
+			if (this.delegate instanceof ParameterDisposer parameterDisposer) {
+				parameterDisposer.cleanupParameters();
+			}
+		}
+	}
+
 }
@@ -22,11 +22,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
 import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.ColumnarResult;
+import org.springframework.jdbc.core.ColumnarResultSetExtractor;
 import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowCallbackHandler;
@@ -226,6 +230,23 @@ public interface JdbcClient {
 		 */
 		StatementSpec paramSource(SqlParameterSource namedParamSource);
 
+		/**
+		 * Set the fetch size for this statement, i.e. the number of rows that
+		 * the JDBC driver fetches from the database per round trip, overriding
+		 * the fetch size of the underlying {@code JdbcTemplate} (if any).
+		 * <p>This applies to mapped queries, as specified through
+		 * {@link #query(Class)} or {@link #query(RowMapper)}, as well as to
+		 * {@linkplain ResultQuerySpec#columns() columnar} queries, and is particularly
+		 * relevant for {@linkplain MappedQuerySpec#stream() streaming} large results
+		 * through a forward-only, read-only cursor. Note that some drivers only use
+		 * a database cursor within a transaction, e.g. the PostgreSQL driver.
+		 * @param fetchSize the fetch size (0 for the driver's default)
+		 * @return this statement specification (for chaining)
+		 * @see java.sql.Statement#setFetchSize
+		 * @see org.springframework.jdbc.core.JdbcTemplate#setFetchSize
+		 */
+		StatementSpec fetchSize(int fetchSize);
+
 		/**
 		 * Proceed towards execution of a query, with several result options
 		 * available in the returned query specification.
@@ -237,6 +258,10 @@ public interface JdbcClient {
 		/**
 		 * Proceed towards execution of a mapped query, with several options
 		 * available in the returned query specification.
+		 * <p>The RowMapper for a given class is shared across queries of this
+		 * client, so a multi-column mapping to the class gets backed by a
+		 * generated row mapper per column layout once that layout has been
+		 * mapped for a number of rows.
 		 * @param mappedClass the target class to apply a RowMapper for
 		 * (either a simple value type for a single column mapping or a
 		 * JavaBean / record class / field holder for a multi-column mapping)
@@ -336,6 +361,42 @@ public interface JdbcClient {
 		default <T> T singleValue() {
 			return DataAccessUtils.requiredSingleResult(singleColumn());
 		}
+
+		/**
+		 * Retrieve the result in a column-oriented representation,
+		 * with all columns read into arrays of their natural type.
+		 * @return the columnar result, with primitive arrays
+		 * for numeric and boolean columns
+		 * @since 6.1
+		 * @see ColumnarResultSetExtractor
+		 */
+		default ColumnarResult columns() {
+			return columns(new ColumnarResultSetExtractor());
+		}
+
+		/**
+		 * Retrieve the given columns of the result in a column-oriented
+		 * representation, with the given columns read into arrays of their
+		 * natural type.
+		 * @param columnNames the names of the columns to retrieve
+		 * @return the columnar result, with primitive arrays
+		 * for numeric and boolean columns
+		 * @since 6.1
+		 * @see ColumnarResultSetExtractor#ColumnarResultSetExtractor(String...)
+		 */
+		default ColumnarResult columns(String... columnNames) {
+			return columns(new ColumnarResultSetExtractor(columnNames));
+		}
+
+		/**
+		 * Retrieve the result in a column-oriented representation,
+		 * according to the projection of the given extractor.
+		 * @param extractor the extractor specifying the columns
+		 * and their types
+		 * @return the columnar result
+		 * @since 6.1
+		 */
+		ColumnarResult columns(ColumnarResultSetExtractor extractor);
 	}
 
 
@@ -354,6 +415,39 @@ public interface JdbcClient {
 		 */
 		Stream<T> stream();
 
+		/**
+		 * Retrieve the result as a lazily resolved stream of chunks of mapped
+		 * objects, retaining the order from the original database result.
+		 * <p>Each chunk is a separate list with up to the given number of
+		 * objects, read from the database as the chunk is requested. Combine this
+		 * with a corresponding {@linkplain StatementSpec#fetchSize fetch size} for
+		 * processing large results with bounded memory consumption.
+		 * @param chunkSize the maximum number of objects per chunk
+		 * @return the result Stream, containing chunks of mapped objects, needing
+		 * to be closed once fully processed (e.g. through a try-with-resources clause)
+		 * @see #stream()
+		 */
+		default Stream<List<T>> chunkedStream(int chunkSize) {
+			return ChunkedResults.stream(stream(), chunkSize);
+		}
+
+		/**
+		 * Retrieve the result as a {@link Flow.Publisher} of chunks of mapped
+		 * objects, retaining the order from the original database result.
+		 * <p>The query is executed for every subscriber, with chunks being read
+		 * on the given executor as requested by the subscriber. The statement and
+		 * its connection are released once the result has been fully emitted,
+		 * on error, and on cancellation of the subscription. Note that the query
+		 * executes outside any transaction bound to the subscribing thread.
+		 * @param chunkSize the maximum number of objects per chunk
+		 * @param executor the executor to execute the query and read chunks on
+		 * @return the result Publisher, emitting chunks of mapped objects
+		 * @see #chunkedStream(int)
+		 */
+		default Flow.Publisher<List<T>> publisher(int chunkSize, Executor executor) {
+			return ChunkedResults.publisher(this::stream, chunkSize, executor);
+		}
+
 		/**
 		 * Retrieve the result as a pre-resolved list of mapped objects,
 		 * retaining the order from the original database result.
@@ -120,6 +120,12 @@ public class SimpleJdbcInsert extends AbstractJdbcInsert implements SimpleJdbcIn
 		return this;
 	}
 
+	@Override
+	public SimpleJdbcInsert usingMultiRowInserts(int rowsPerStatement) {
+		setInsertRowsPerStatement(rowsPerStatement);
+		return this;
+	}
+
 	@Override
 	public int execute(Map<String, ?> args) {
 		return doExecute(args);
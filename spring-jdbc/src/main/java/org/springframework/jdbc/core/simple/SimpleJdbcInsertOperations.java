@@ -93,6 +93,16 @@ public interface SimpleJdbcInsertOperations {
 	 */
 	SimpleJdbcInsertOperations includeSynonymsForTableColumnMetaData();
 
+	/**
+	 * Specify the maximum number of rows to insert per statement for batch inserts,
+	 * rewriting a batch into multi-row {@code INSERT} statements if greater than 1.
+	 * @param rowsPerStatement the maximum number of rows per statement
+	 * @return this {@code SimpleJdbcInsert} (for method chaining)
+	 * @since 6.1
+	 * @see #executeBatch(SqlParameterSource...)
+	 */
+	SimpleJdbcInsertOperations usingMultiRowInserts(int rowsPerStatement);
+
 	/**
 	 * Execute the insert using the values passed in.
 	 * @param args a Map containing column names and corresponding value
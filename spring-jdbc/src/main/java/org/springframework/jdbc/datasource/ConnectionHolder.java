@@ -60,6 +60,9 @@ public class ConnectionHolder extends ResourceHolderSupport {
 
 	private int savepointCounter = 0;
 
+	@Nullable
+	private PreparedStatementCache statementCache;
+
 
 	/**
 	 * Create a new ConnectionHolder for the given ConnectionHandle.
@@ -134,6 +137,10 @@ public class ConnectionHolder extends ResourceHolderSupport {
 	 * argument) and setting a fresh Connection on resume.
 	 */
 	protected void setConnection(@Nullable Connection connection) {
+		if (this.statementCache != null) {
+			this.statementCache.close();
+			this.statementCache = null;
+		}
 		if (this.currentConnection != null) {
 			if (this.connectionHandle != null) {
 				this.connectionHandle.releaseConnection(this.currentConnection);
@@ -161,9 +168,40 @@ public class ConnectionHolder extends ResourceHolderSupport {
 		if (this.currentConnection == null) {
 			this.currentConnection = this.connectionHandle.getConnection();
 		}
+		if (this.statementCache != null) {
+			return this.statementCache.getConnection(this.currentConnection);
+		}
 		return this.currentConnection;
 	}
 
+	/**
+	 * Attach a cache for {@link java.sql.PreparedStatement PreparedStatements}
+	 * to this ConnectionHolder, or detach the current cache (closing its idle
+	 * statements) if given {@code null}.
+	 * <p>With a cache attached, {@link #getConnection()} returns a Connection
+	 * proxy which reuses statements for the same SQL and statement options.
+	 * @param statementCache the statement cache to attach, or {@code null} for none
+	 * @since 6.1
+	 * @see DataSourceTransactionManager#setStatementCacheSize
+	 */
+	public void setStatementCache(@Nullable PreparedStatementCache statementCache) {
+		if (this.statementCache != null && this.statementCache != statementCache) {
+			this.statementCache.close();
+		}
+		this.statementCache = statementCache;
+	}
+
+	/**
+	 * Return the cache for {@link java.sql.PreparedStatement PreparedStatements}
+	 * attached to this ConnectionHolder, if any. Exposes the cache's hit/miss
+	 * statistics for the current transaction.
+	 * @since 6.1
+	 */
+	@Nullable
+	public PreparedStatementCache getStatementCache() {
+		return this.statementCache;
+	}
+
 	/**
 	 * Return whether JDBC Savepoints are supported.
 	 * Caches the flag for the lifetime of this ConnectionHolder.
@@ -212,6 +250,7 @@ public class ConnectionHolder extends ResourceHolderSupport {
 		this.transactionActive = false;
 		this.savepointsSupported = null;
 		this.savepointCounter = 0;
+		setStatementCache(null);
 	}
 
 }
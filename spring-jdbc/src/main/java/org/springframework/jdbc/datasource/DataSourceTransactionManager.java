@@ -126,6 +126,8 @@ public class DataSourceTransactionManager extends AbstractPlatformTransactionMan
 
 	private boolean enforceReadOnly = false;
 
+	private int statementCacheSize = 0;
+
 
 	/**
 	 * Create a new {@code DataSourceTransactionManager} instance.
@@ -229,6 +231,40 @@ public class DataSourceTransactionManager extends AbstractPlatformTransactionMan
 		return this.enforceReadOnly;
 	}
 
+	/**
+	 * Specify the maximum number of idle {@link java.sql.PreparedStatement
+	 * PreparedStatements} to cache per transaction, reusing statements with
+	 * the same SQL and statement options across {@code JdbcTemplate} and
+	 * {@code JdbcClient} calls within the transaction.
+	 * <p>Default is 0, not caching any statements. A positive value attaches a
+	 * {@link PreparedStatementCache} of the specified size to the transactional
+	 * {@link ConnectionHolder}, closing all cached statements at the end of the
+	 * transaction before the connection gets released. This is an alternative
+	 * to statement caching in the connection pool or the JDBC driver, in
+	 * particular for repeated statements in loops within a transaction.
+	 * <p>The hit/miss statistics of the cache for the current transaction
+	 * are available through {@link ConnectionHolder#getStatementCache()}, with
+	 * the {@code ConnectionHolder} obtained from
+	 * {@link org.springframework.transaction.support.TransactionSynchronizationManager#getResource}
+	 * for the {@code DataSource}. They will also be logged at debug level
+	 * at the end of each transaction.
+	 * @since 6.1
+	 * @see PreparedStatementCache
+	 */
+	public void setStatementCacheSize(int statementCacheSize) {
+		Assert.isTrue(statementCacheSize >= 0, "Statement cache size must not be negative");
+		this.statementCacheSize = statementCacheSize;
+	}
+
+	/**
+	 * Return the maximum number of idle statements to cache per transaction.
+	 * @since 6.1
+	 * @see #setStatementCacheSize
+	 */
+	public int getStatementCacheSize() {
+		return this.statementCacheSize;
+	}
+
 	@Override
 	public void afterPropertiesSet() {
 		if (getDataSource() == null) {
@@ -294,6 +330,10 @@ public class DataSourceTransactionManager extends AbstractPlatformTransactionMan
 			prepareTransactionalConnection(con, definition);
 			txObject.getConnectionHolder().setTransactionActive(true);
 
+			if (this.statementCacheSize > 0 && txObject.isNewConnectionHolder()) {
+				txObject.getConnectionHolder().setStatementCache(new PreparedStatementCache(this.statementCacheSize));
+			}
+
 			int timeout = determineTimeout(definition);
 			if (timeout != TransactionDefinition.TIMEOUT_DEFAULT) {
 				txObject.getConnectionHolder().setTimeoutInSeconds(timeout);
@@ -375,6 +415,15 @@ public class DataSourceTransactionManager extends AbstractPlatformTransactionMan
 			TransactionSynchronizationManager.unbindResource(obtainDataSource());
 		}
 
+		// Close cached statements before resetting and releasing the connection.
+		PreparedStatementCache statementCache = txObject.getConnectionHolder().getStatementCache();
+		if (statementCache != null) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Closing " + statementCache + " after transaction");
+			}
+			txObject.getConnectionHolder().setStatementCache(null);
+		}
+
 		// Reset connection.
 		Connection con = txObject.getConnectionHolder().getConnection();
 		try {
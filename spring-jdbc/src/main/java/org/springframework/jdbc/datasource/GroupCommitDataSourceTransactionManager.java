@@ -0,0 +1,527 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.sql.DataSource;
+
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * Variant of {@link DataSourceTransactionManager} which coalesces concurrent
+ * small transactions into a shared physical JDBC transaction, committing the
+ * work of all of them with a single group commit.
+ *
+ * <p>Only transactions that are explicitly marked through the configured
+ * {@link #setGroupCommitLabel label} (e.g. {@code @Transactional(label = "group-commit")})
+ * and that start a new transaction with {@code PROPAGATION_REQUIRED}, default
+ * isolation, default timeout and without read-only flag take part. All other
+ * transactions are processed by the regular {@code DataSourceTransactionManager}
+ * algorithm, with a {@code Connection} of their own.
+ *
+ * <p>Participating transactions operate on the group's {@code Connection} one
+ * after the other, each of them within a JDBC {@link Savepoint}: a transaction
+ * that rolls back is rolled back to its savepoint, leaving the work of other
+ * group members intact. On commit, a transaction releases its savepoint and
+ * either performs the physical commit right away (if no further transactions
+ * are waiting to join the group, or if the {@link #setMaxGroupSize maximum
+ * group size} has been reached) or leaves the group open for the waiting
+ * transactions, blocking until the group has been committed. Its
+ * {@code afterCommit} callbacks are therefore only triggered once the work
+ * has actually been committed.
+ *
+ * <p>The time that a transaction waits for joining a group as well as for the
+ * completion of its group is bounded by the {@link #setMaxWaitTime maximum wait
+ * time}. A transaction that cannot join within that time falls back to a regular
+ * transaction with a {@code Connection} of its own; a group that has not been
+ * committed within that time gets committed by one of its waiting members.
+ *
+ * <p><b>NOTE: A failure of the group commit affects all transactions in the
+ * group.</b> This arrangement is meant for high rates of tiny independent write
+ * transactions (e.g. single-row inserts) where the commit round trip dominates;
+ * it requires a JDBC driver with savepoint support. Since group members run one
+ * after the other on the same {@code Connection}, long-running transactions
+ * should not be marked for group commit.
+ *
+ * @author agent
+ * @since 6.1
+ * @see #setGroupCommitLabel
+ * @see #setMaxGroupSize
+ * @see #setMaxWaitTime
+ * @see org.springframework.transaction.annotation.Transactional#label()
+ */
+@SuppressWarnings("serial")
+public class GroupCommitDataSourceTransactionManager extends DataSourceTransactionManager {
+
+	/**
+	 * The default label marking a transaction as eligible for group commit.
+	 * @see #setGroupCommitLabel
+	 */
+	public static final String GROUP_COMMIT_LABEL = "group-commit";
+
+
+	private String groupCommitLabel = GROUP_COMMIT_LABEL;
+
+	private int maxGroupSize = 64;
+
+	private Duration maxWaitTime = Duration.ofMillis(10);
+
+	private final ReentrantLock groupLock = new ReentrantLock();
+
+	@Nullable
+	private transient CommitGroup currentGroup;
+
+
+	/**
+	 * Create a new {@code GroupCommitDataSourceTransactionManager} instance.
+	 * A {@code DataSource} has to be set to be able to use it.
+	 * @see #setDataSource
+	 */
+	public GroupCommitDataSourceTransactionManager() {
+		super();
+	}
+
+	/**
+	 * Create a new {@code GroupCommitDataSourceTransactionManager} instance.
+	 * @param dataSource the JDBC DataSource to manage transactions for
+	 */
+	public GroupCommitDataSourceTransactionManager(DataSource dataSource) {
+		super(dataSource);
+	}
+
+
+	/**
+	 * Specify the transaction label which marks a transaction as eligible
+	 * for group commit.
+	 * <p>Default is {@value #GROUP_COMMIT_LABEL}.
+	 * @see TransactionAttribute#getLabels()
+	 */
+	public void setGroupCommitLabel(String groupCommitLabel) {
+		Assert.hasText(groupCommitLabel, "Group commit label must not be empty");
+		this.groupCommitLabel = groupCommitLabel;
+	}
+
+	/**
+	 * Return the transaction label which marks a transaction as eligible
+	 * for group commit.
+	 */
+	public String getGroupCommitLabel() {
+		return this.groupCommitLabel;
+	}
+
+	/**
+	 * Specify the maximum number of transactions to commit in one group.
+	 * <p>Default is 64.
+	 */
+	public void setMaxGroupSize(int maxGroupSize) {
+		Assert.isTrue(maxGroupSize > 0, "Max group size must be positive");
+		this.maxGroupSize = maxGroupSize;
+	}
+
+	/**
+	 * Return the maximum number of transactions to commit in one group.
+	 */
+	public int getMaxGroupSize() {
+		return this.maxGroupSize;
+	}
+
+	/**
+	 * Specify the maximum time that a transaction waits for joining a group,
+	 * and the maximum time that a group stays open after its first transaction
+	 * began, before it gets committed.
+	 * <p>Default is 10 milliseconds.
+	 */
+	public void setMaxWaitTime(Duration maxWaitTime) {
+		Assert.isTrue(!maxWaitTime.isNegative(), "Max wait time must not be negative");
+		this.maxWaitTime = maxWaitTime;
+	}
+
+	/**
+	 * Return the maximum time that a transaction waits for its group.
+	 */
+	public Duration getMaxWaitTime() {
+		return this.maxWaitTime;
+	}
+
+
+	@Override
+	protected void doBegin(Object transaction, TransactionDefinition definition) {
+		JdbcTransactionObjectSupport txObject = (JdbcTransactionObjectSupport) transaction;
+		if (txObject.hasConnectionHolder() || !isGroupCommitCandidate(definition) ||
+				this.groupLock.isHeldByCurrentThread() || !tryJoinGroup()) {
+			super.doBegin(transaction, definition);
+			return;
+		}
+
+		try {
+			CommitGroup group = this.currentGroup;
+			if (group != null && (group.rollbackOnly || group.isExpired())) {
+				completeGroup(group);
+				group = null;
+			}
+			if (group == null) {
+				group = openGroup();
+				this.currentGroup = group;
+			}
+			GroupMemberConnectionHolder conHolder =
+					new GroupMemberConnectionHolder(group, group.connection.setSavepoint());
+			conHolder.setSynchronizedWithTransaction(true);
+			conHolder.setTransactionActive(true);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Joined group commit on JDBC Connection [" + group.connection + "]");
+			}
+			txObject.setConnectionHolder(conHolder);
+			TransactionSynchronizationManager.bindResource(obtainDataSource(), conHolder);
+		}
+		catch (Throwable ex) {
+			txObject.setConnectionHolder(null);
+			this.groupLock.unlock();
+			throw new CannotCreateTransactionException("Could not join JDBC group commit transaction", ex);
+		}
+	}
+
+	@Override
+	protected void doCommit(DefaultTransactionStatus status) {
+		GroupMemberConnectionHolder conHolder = getGroupMember(status.getTransaction());
+		if (conHolder == null) {
+			super.doCommit(status);
+			return;
+		}
+
+		CommitGroup group = conHolder.group;
+		try {
+			try {
+				group.connection.releaseSavepoint(conHolder.savepoint);
+			}
+			catch (Throwable ex) {
+				logger.debug("Could not explicitly release JDBC savepoint", ex);
+			}
+			group.memberCount++;
+			if (group.memberCount >= this.maxGroupSize || !this.groupLock.hasQueuedThreads()) {
+				completeGroup(group);
+			}
+			else if (status.isDebug()) {
+				logger.debug("Leaving group commit on JDBC Connection [" + group.connection +
+						"] open for further transactions");
+			}
+		}
+		finally {
+			leaveGroup(conHolder);
+		}
+		awaitGroupCompletion(group);
+	}
+
+	@Override
+	protected void doRollback(DefaultTransactionStatus status) {
+		GroupMemberConnectionHolder conHolder = getGroupMember(status.getTransaction());
+		if (conHolder == null) {
+			super.doRollback(status);
+			return;
+		}
+		if (conHolder.detached) {
+			// Rollback after a failed group commit: nothing left to roll back for this transaction.
+			return;
+		}
+
+		CommitGroup group = conHolder.group;
+		if (status.isDebug()) {
+			logger.debug("Rolling back to savepoint on JDBC Connection [" + group.connection + "]");
+		}
+		try {
+			group.connection.rollback(conHolder.savepoint);
+			try {
+				group.connection.releaseSavepoint(conHolder.savepoint);
+			}
+			catch (Throwable ex) {
+				logger.debug("Could not explicitly release JDBC savepoint", ex);
+			}
+		}
+		catch (SQLException ex) {
+			// Work of this transaction may remain in the group: roll back the entire group.
+			group.rollbackOnly = true;
+			throw translateException("JDBC rollback to savepoint", ex);
+		}
+		finally {
+			if (!this.groupLock.hasQueuedThreads()) {
+				completeGroup(group);
+			}
+			leaveGroup(conHolder);
+		}
+	}
+
+	@Override
+	protected void doCleanupAfterCompletion(Object transaction) {
+		GroupMemberConnectionHolder conHolder = getGroupMember(transaction);
+		if (conHolder == null) {
+			super.doCleanupAfterCompletion(transaction);
+			return;
+		}
+
+		TransactionSynchronizationManager.unbindResource(obtainDataSource());
+		if (!conHolder.detached) {
+			// Neither committed nor rolled back: do not let its work be committed.
+			conHolder.group.rollbackOnly = true;
+			leaveGroup(conHolder);
+		}
+		conHolder.clear();
+	}
+
+
+	/**
+	 * Determine whether the given transaction definition is eligible for
+	 * group commit.
+	 * <p>The default implementation checks for a {@link TransactionAttribute}
+	 * with the {@link #setGroupCommitLabel group commit label}, as well as for
+	 * {@code PROPAGATION_REQUIRED}, default isolation, default timeout and
+	 * no read-only flag.
+	 * @param definition the transaction definition for a new transaction
+	 * @return {@code true} if the transaction may join a group commit,
+	 * {@code false} for a regular transaction
+	 */
+	protected boolean isGroupCommitCandidate(TransactionDefinition definition) {
+		return (definition instanceof TransactionAttribute txAttr &&
+				txAttr.getLabels().contains(this.groupCommitLabel) &&
+				definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRED &&
+				definition.getIsolationLevel() == TransactionDefinition.ISOLATION_DEFAULT &&
+				definition.getTimeout() == TransactionDefinition.TIMEOUT_DEFAULT &&
+				!definition.isReadOnly());
+	}
+
+	/**
+	 * Acquire the group lock within the maximum wait time.
+	 */
+	private boolean tryJoinGroup() {
+		try {
+			return this.groupLock.tryLock(this.maxWaitTime.toNanos(), TimeUnit.NANOSECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * Release the group lock held by the given group member.
+	 */
+	private void leaveGroup(GroupMemberConnectionHolder conHolder) {
+		conHolder.detached = true;
+		this.groupLock.unlock();
+	}
+
+	/**
+	 * Return whether any transactions are currently waiting to join a group,
+	 * or waiting to commit their group after the maximum wait time.
+	 * <p>Exposed for testing purposes.
+	 */
+	boolean hasQueuedTransactions() {
+		return this.groupLock.hasQueuedThreads();
+	}
+
+	/**
+	 * Open a new group with a fresh Connection in manual commit mode.
+	 * To be called with the group lock held.
+	 */
+	private CommitGroup openGroup() throws SQLException {
+		Connection con = obtainDataSource().getConnection();
+		boolean mustRestoreAutoCommit = false;
+		try {
+			if (con.getAutoCommit()) {
+				mustRestoreAutoCommit = true;
+				con.setAutoCommit(false);
+			}
+		}
+		catch (SQLException ex) {
+			DataSourceUtils.releaseConnection(con, obtainDataSource());
+			throw ex;
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Acquired Connection [" + con + "] for JDBC group commit");
+		}
+		return new CommitGroup(con, mustRestoreAutoCommit, System.nanoTime() + this.maxWaitTime.toNanos());
+	}
+
+	/**
+	 * Commit the given group (or roll it back if marked as rollback-only),
+	 * release its Connection and notify its waiting members.
+	 * To be called with the group lock held.
+	 */
+	private void completeGroup(CommitGroup group) {
+		if (this.currentGroup == group) {
+			this.currentGroup = null;
+		}
+		Connection con = group.connection;
+		try {
+			if (group.rollbackOnly) {
+				con.rollback();
+				group.outcome.completeExceptionally(new TransactionSystemException(
+						"JDBC group commit rolled back since a member transaction could not be rolled back"));
+			}
+			else {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Committing " + group.memberCount + " transactions on JDBC Connection [" + con + "]");
+				}
+				con.commit();
+				group.outcome.complete(null);
+			}
+		}
+		catch (SQLException ex) {
+			rollbackAfterFailedCompletion(con);
+			group.outcome.completeExceptionally(translateException("JDBC group commit", ex));
+		}
+		catch (Throwable ex) {
+			rollbackAfterFailedCompletion(con);
+			group.outcome.completeExceptionally(ex);
+		}
+		finally {
+			try {
+				if (group.mustRestoreAutoCommit) {
+					con.setAutoCommit(true);
+				}
+			}
+			catch (Throwable ex) {
+				logger.debug("Could not reset JDBC Connection after group commit", ex);
+			}
+			DataSourceUtils.releaseConnection(con, obtainDataSource());
+		}
+	}
+
+	/**
+	 * Roll back the given Connection after a failed group completion,
+	 * making sure that restoring auto-commit mode does not commit the work.
+	 */
+	private void rollbackAfterFailedCompletion(Connection con) {
+		try {
+			con.rollback();
+		}
+		catch (Throwable ex) {
+			logger.debug("Could not roll back JDBC Connection after failed group commit", ex);
+		}
+	}
+
+	/**
+	 * Wait for the completion of the given group, committing it ourselves
+	 * once it has not been completed within the maximum wait time.
+	 * To be called without the group lock held.
+	 */
+	private void awaitGroupCompletion(CommitGroup group) {
+		try {
+			try {
+				group.outcome.get(Math.max(group.deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+			}
+			catch (TimeoutException ex) {
+				this.groupLock.lock();
+				try {
+					if (this.currentGroup == group) {
+						completeGroup(group);
+					}
+				}
+				finally {
+					this.groupLock.unlock();
+				}
+				group.outcome.get();
+			}
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (cause instanceof Error error) {
+				throw error;
+			}
+			throw new TransactionSystemException("JDBC group commit failed", cause);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new TransactionSystemException("Interrupted while waiting for JDBC group commit", ex);
+		}
+	}
+
+	@Nullable
+	private static GroupMemberConnectionHolder getGroupMember(Object transaction) {
+		JdbcTransactionObjectSupport txObject = (JdbcTransactionObjectSupport) transaction;
+		return (txObject.hasConnectionHolder() &&
+				txObject.getConnectionHolder() instanceof GroupMemberConnectionHolder conHolder ? conHolder : null);
+	}
+
+
+	/**
+	 * A physical transaction shared by a group of transactions.
+	 * Mutable state guarded by the group lock.
+	 */
+	private static final class CommitGroup {
+
+		final Connection connection;
+
+		final boolean mustRestoreAutoCommit;
+
+		final long deadline;
+
+		final CompletableFuture<Void> outcome = new CompletableFuture<>();
+
+		int memberCount;
+
+		boolean rollbackOnly;
+
+		CommitGroup(Connection connection, boolean mustRestoreAutoCommit, long deadline) {
+			this.connection = connection;
+			this.mustRestoreAutoCommit = mustRestoreAutoCommit;
+			this.deadline = deadline;
+		}
+
+		boolean isExpired() {
+			return (System.nanoTime() - this.deadline >= 0);
+		}
+	}
+
+
+	/**
+	 * ConnectionHolder for a transaction taking part in a group,
+	 * exposing the group's Connection.
+	 */
+	private static final class GroupMemberConnectionHolder extends ConnectionHolder {
+
+		final CommitGroup group;
+
+		final Savepoint savepoint;
+
+		boolean detached;
+
+		GroupMemberConnectionHolder(CommitGroup group, Savepoint savepoint) {
+			super(group.connection);
+			this.group = group;
+			this.savepoint = savepoint;
+		}
+	}
+
+}
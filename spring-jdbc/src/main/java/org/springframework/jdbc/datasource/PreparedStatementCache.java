@@ -0,0 +1,405 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Bounded cache of {@link PreparedStatement PreparedStatements} for a single
+ * JDBC Connection, typically attached to a transactional {@link ConnectionHolder}
+ * for the lifetime of a transaction.
+ *
+ * <p>Exposes a {@link #getConnection Connection proxy} which returns a cached
+ * statement for {@code prepareStatement} calls with the same SQL and statement
+ * options, reusing the statement across {@code JdbcTemplate} and
+ * {@code JdbcClient} calls within the transaction. Closing such a statement
+ * returns it to the cache, clearing its parameters and restoring any statement
+ * settings (fetch size, max rows, query timeout) that have been changed.
+ * A statement in use is not available to other callers in the meantime,
+ * so nested usage of the same SQL statement leads to separate statements.
+ *
+ * <p>The cache keeps up to the specified number of idle statements, closing
+ * the least recently used statement when the limit is exceeded. All idle
+ * statements are closed on {@link #close()}, before the Connection is released.
+ *
+ * @author agent
+ * @since 6.1
+ * @see DataSourceTransactionManager#setStatementCacheSize
+ * @see ConnectionHolder#setStatementCache
+ */
+public class PreparedStatementCache {
+
+	private static final Log logger = LogFactory.getLog(PreparedStatementCache.class);
+
+	/** Getters for statement settings, keyed by the name of the corresponding setter. */
+	private static final Map<String, Method> settingGetters = new HashMap<>(8);
+
+	static {
+		try {
+			settingGetters.put("setFetchSize", Statement.class.getMethod("getFetchSize"));
+			settingGetters.put("setFetchDirection", Statement.class.getMethod("getFetchDirection"));
+			settingGetters.put("setMaxRows", Statement.class.getMethod("getMaxRows"));
+			settingGetters.put("setLargeMaxRows", Statement.class.getMethod("getLargeMaxRows"));
+			settingGetters.put("setMaxFieldSize", Statement.class.getMethod("getMaxFieldSize"));
+			settingGetters.put("setQueryTimeout", Statement.class.getMethod("getQueryTimeout"));
+		}
+		catch (NoSuchMethodException ex) {
+			throw new IllegalStateException("Incompatible JDBC API: " + ex);
+		}
+	}
+
+
+	private final int maxSize;
+
+	private final Map<StatementKey, PreparedStatement> idleStatements;
+
+	@Nullable
+	private Connection targetConnection;
+
+	@Nullable
+	private Connection connectionProxy;
+
+	private long hitCount;
+
+	private long missCount;
+
+	private boolean closed;
+
+
+	/**
+	 * Create a new PreparedStatementCache.
+	 * @param maxSize the maximum number of idle statements to keep
+	 */
+	public PreparedStatementCache(int maxSize) {
+		Assert.isTrue(maxSize > 0, "Cache size must be greater than 0");
+		this.maxSize = maxSize;
+		this.idleStatements = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<StatementKey, PreparedStatement> eldest) {
+				if (size() > PreparedStatementCache.this.maxSize) {
+					JdbcUtils.closeStatement(eldest.getValue());
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+
+	/**
+	 * Return the maximum number of idle statements to keep.
+	 */
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+
+	/**
+	 * Return the current number of idle statements in the cache.
+	 */
+	public synchronized int size() {
+		return this.idleStatements.size();
+	}
+
+	/**
+	 * Return the number of {@code prepareStatement} calls
+	 * that have been served from the cache.
+	 */
+	public synchronized long getHitCount() {
+		return this.hitCount;
+	}
+
+	/**
+	 * Return the number of {@code prepareStatement} calls
+	 * that have led to a new statement.
+	 */
+	public synchronized long getMissCount() {
+		return this.missCount;
+	}
+
+	/**
+	 * Return a Connection proxy for the given target Connection, serving
+	 * {@code prepareStatement} calls from this cache.
+	 * <p>Returns the same proxy for the same target Connection. A different
+	 * target Connection closes all idle statements for the previous one.
+	 * @param targetConnection the target Connection to prepare statements on
+	 */
+	public synchronized Connection getConnection(Connection targetConnection) {
+		if (this.connectionProxy == null || this.targetConnection != targetConnection) {
+			closeIdleStatements();
+			this.targetConnection = targetConnection;
+			this.connectionProxy = (Connection) Proxy.newProxyInstance(
+					ConnectionProxy.class.getClassLoader(),
+					new Class<?>[] {ConnectionProxy.class},
+					new CachingConnectionInvocationHandler(targetConnection));
+		}
+		return this.connectionProxy;
+	}
+
+	/**
+	 * Close all idle statements in this cache. Statements currently in use
+	 * will be closed once their callers close them.
+	 */
+	public synchronized void close() {
+		this.closed = true;
+		closeIdleStatements();
+		this.targetConnection = null;
+		this.connectionProxy = null;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "PreparedStatementCache: " + this.idleStatements.size() + " idle statements (max " +
+				this.maxSize + "), " + this.hitCount + " hits, " + this.missCount + " misses";
+	}
+
+
+	@Nullable
+	private synchronized PreparedStatement obtainIdleStatement(StatementKey key) {
+		PreparedStatement ps = this.idleStatements.remove(key);
+		if (ps != null) {
+			this.hitCount++;
+		}
+		else {
+			this.missCount++;
+		}
+		return ps;
+	}
+
+	private synchronized boolean returnIdleStatement(StatementKey key, Connection targetConnection, PreparedStatement ps) {
+		if (this.closed || this.targetConnection != targetConnection || this.idleStatements.containsKey(key)) {
+			return false;
+		}
+		this.idleStatements.put(key, ps);
+		return true;
+	}
+
+	private void closeIdleStatements() {
+		for (PreparedStatement ps : this.idleStatements.values()) {
+			JdbcUtils.closeStatement(ps);
+		}
+		this.idleStatements.clear();
+	}
+
+
+	/**
+	 * Key for a cached statement: the {@code prepareStatement} method
+	 * along with its arguments (SQL statement and statement options).
+	 */
+	private record StatementKey(Method method, List<Object> args) {
+
+		static StatementKey of(Method method, Object[] args) {
+			List<Object> argList = new ArrayList<>(args.length);
+			for (Object arg : args) {
+				if (arg instanceof int[] intArray) {
+					argList.add(Arrays.stream(intArray).boxed().toList());
+				}
+				else if (arg instanceof Object[] objectArray) {
+					argList.add(Arrays.asList(objectArray));
+				}
+				else {
+					argList.add(arg);
+				}
+			}
+			return new StatementKey(method, argList);
+		}
+	}
+
+
+	/**
+	 * Invocation handler that serves {@code prepareStatement} calls from the cache.
+	 */
+	private class CachingConnectionInvocationHandler implements InvocationHandler {
+
+		private final Connection target;
+
+		public CachingConnectionInvocationHandler(Connection target) {
+			this.target = target;
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+				case "equals":
+					// Only consider equal when proxies are identical.
+					return (proxy == args[0]);
+				case "hashCode":
+					// Use hashCode of Connection proxy.
+					return System.identityHashCode(proxy);
+				case "getTargetConnection":
+					// Handle getTargetConnection method: return underlying Connection.
+					return this.target;
+				case "unwrap":
+					return (((Class<?>) args[0]).isInstance(proxy) ? proxy : this.target.unwrap((Class<?>) args[0]));
+				case "isWrapperFor":
+					return (((Class<?>) args[0]).isInstance(proxy) || this.target.isWrapperFor((Class<?>) args[0]));
+				case "prepareStatement":
+					StatementKey key = StatementKey.of(method, args);
+					PreparedStatement ps = obtainIdleStatement(key);
+					if (ps == null) {
+						ps = (PreparedStatement) invokeOnTarget(method, args);
+					}
+					return Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+							new Class<?>[] {PreparedStatement.class},
+							new CachedStatementInvocationHandler(key, this.target, ps));
+				case "close":
+					close();
+					break;
+			}
+			return invokeOnTarget(method, args);
+		}
+
+		@Nullable
+		private Object invokeOnTarget(Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke(this.target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+	}
+
+
+	/**
+	 * Invocation handler for a statement obtained from the cache,
+	 * returning the statement to the cache on close.
+	 */
+	private class CachedStatementInvocationHandler implements InvocationHandler {
+
+		private final StatementKey key;
+
+		private final Connection targetConnection;
+
+		private final PreparedStatement target;
+
+		@Nullable
+		private Map<Method, Object> originalSettings;
+
+		private boolean batchPending;
+
+		private boolean closed;
+
+		public CachedStatementInvocationHandler(StatementKey key, Connection targetConnection, PreparedStatement target) {
+			this.key = key;
+			this.targetConnection = targetConnection;
+			this.target = target;
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String methodName = method.getName();
+			switch (methodName) {
+				case "equals":
+					return (proxy == args[0]);
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "isClosed":
+					return this.closed;
+				case "close":
+					if (!this.closed) {
+						this.closed = true;
+						release();
+					}
+					return null;
+				case "unwrap":
+					return (((Class<?>) args[0]).isInstance(proxy) ? proxy : this.target.unwrap((Class<?>) args[0]));
+				case "isWrapperFor":
+					return (((Class<?>) args[0]).isInstance(proxy) || this.target.isWrapperFor((Class<?>) args[0]));
+			}
+
+			if (this.closed) {
+				throw new SQLException("Statement has been closed");
+			}
+			Method getter = settingGetters.get(methodName);
+			if (getter != null) {
+				if (this.originalSettings == null) {
+					this.originalSettings = new LinkedHashMap<>(4);
+				}
+				if (!this.originalSettings.containsKey(method)) {
+					this.originalSettings.put(method, invokeOnTarget(getter, null));
+				}
+			}
+			else if (methodName.equals("addBatch")) {
+				this.batchPending = true;
+			}
+			else if (methodName.equals("executeBatch") || methodName.equals("executeLargeBatch") ||
+					methodName.equals("clearBatch")) {
+				this.batchPending = false;
+			}
+			return invokeOnTarget(method, args);
+		}
+
+		/**
+		 * Reset the statement and return it to the cache,
+		 * or close it if it cannot be returned.
+		 */
+		private void release() {
+			try {
+				this.target.clearParameters();
+				if (this.batchPending) {
+					this.target.clearBatch();
+				}
+				if (this.originalSettings != null) {
+					for (Map.Entry<Method, Object> entry : this.originalSettings.entrySet()) {
+						invokeOnTarget(entry.getKey(), new Object[] {entry.getValue()});
+					}
+				}
+				this.target.clearWarnings();
+				if (returnIdleStatement(this.key, this.targetConnection, this.target)) {
+					return;
+				}
+			}
+			catch (Throwable ex) {
+				logger.debug("Could not reset JDBC Statement for reuse", ex);
+			}
+			JdbcUtils.closeStatement(this.target);
+		}
+
+		@Nullable
+		private Object invokeOnTarget(Method method, @Nullable Object[] args) throws Throwable {
+			try {
+				return method.invoke(this.target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,411 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource.lookup;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * DataSource that routes read-only transactions to one of several read replicas,
+ * balancing the load across them, and all other work to a primary DataSource.
+ *
+ * <p>Read-only transactions are detected through
+ * {@link TransactionSynchronizationManager#isCurrentTransactionReadOnly()},
+ * as exposed for {@code @Transactional(readOnly = true)} and similar transaction
+ * definitions. Connections requested outside of a read-only transaction, including
+ * connections requested without any transaction, are obtained from the primary.
+ *
+ * <p>Among the available replicas, a connection is obtained from the replica with
+ * the lowest load according to the {@link LoadBalancingStrategy}: either the lowest
+ * number of outstanding connections, or the lowest exponentially weighted moving
+ * average of connection acquisition latency, weighted by outstanding connections.
+ * A replica that fails to provide a connection is ejected for a configurable
+ * period, with the connection obtained from the next available replica or from
+ * the primary if no replica is available.
+ *
+ * <p><b>NOTE:</b> Transaction managers such as
+ * {@link org.springframework.jdbc.datasource.DataSourceTransactionManager} obtain
+ * the transactional connection before the transaction's read-only flag is exposed.
+ * This router therefore needs to be wrapped with a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * deferring the actual connection fetch to the first statement within the
+ * transaction, at which point the read-only flag is available.
+ *
+ * @author agent
+ * @since 6.1
+ * @see #setPrimaryDataSource
+ * @see #setReplicaDataSources
+ * @see org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy
+ * @see org.springframework.transaction.annotation.Transactional#readOnly()
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements InitializingBean {
+
+	/**
+	 * Strategy for balancing the load across the available replicas.
+	 */
+	public enum LoadBalancingStrategy {
+
+		/**
+		 * Choose the replica with the least outstanding connections
+		 * obtained through this router.
+		 */
+		LEAST_OUTSTANDING,
+
+		/**
+		 * Choose the replica with the lowest exponentially weighted moving
+		 * average (EWMA) of connection acquisition latency, multiplied by
+		 * the number of outstanding connections plus one.
+		 */
+		LATENCY_EWMA
+	}
+
+
+	@Nullable
+	private DataSource primaryDataSource;
+
+	private List<DataSource> replicaDataSources = new ArrayList<>();
+
+	private LoadBalancingStrategy loadBalancingStrategy = LoadBalancingStrategy.LEAST_OUTSTANDING;
+
+	private Duration ejectionDuration = Duration.ofSeconds(30);
+
+	private double latencyDecay = 0.2;
+
+	private Replica[] replicas = new Replica[0];
+
+	private final AtomicInteger roundRobin = new AtomicInteger();
+
+
+	/**
+	 * Specify the primary DataSource, used for all work outside of
+	 * read-only transactions and as a fallback for read-only transactions.
+	 */
+	public void setPrimaryDataSource(DataSource primaryDataSource) {
+		this.primaryDataSource = primaryDataSource;
+	}
+
+	/**
+	 * Return the primary DataSource.
+	 */
+	@Nullable
+	public DataSource getPrimaryDataSource() {
+		return this.primaryDataSource;
+	}
+
+	/**
+	 * Specify the read replica DataSources to balance read-only transactions across.
+	 */
+	public void setReplicaDataSources(List<DataSource> replicaDataSources) {
+		Assert.notNull(replicaDataSources, "Replica DataSources must not be null");
+		this.replicaDataSources = replicaDataSources;
+	}
+
+	/**
+	 * Return the read replica DataSources.
+	 */
+	public List<DataSource> getReplicaDataSources() {
+		return this.replicaDataSources;
+	}
+
+	/**
+	 * Specify the strategy for balancing the load across the available replicas.
+	 * <p>Default is {@link LoadBalancingStrategy#LEAST_OUTSTANDING}.
+	 */
+	public void setLoadBalancingStrategy(LoadBalancingStrategy loadBalancingStrategy) {
+		Assert.notNull(loadBalancingStrategy, "LoadBalancingStrategy must not be null");
+		this.loadBalancingStrategy = loadBalancingStrategy;
+	}
+
+	/**
+	 * Return the strategy for balancing the load across the available replicas.
+	 */
+	public LoadBalancingStrategy getLoadBalancingStrategy() {
+		return this.loadBalancingStrategy;
+	}
+
+	/**
+	 * Specify the period for which a replica is ejected from load balancing
+	 * after it failed to provide a connection. Default is 30 seconds.
+	 */
+	public void setEjectionDuration(Duration ejectionDuration) {
+		Assert.notNull(ejectionDuration, "Ejection duration must not be null");
+		Assert.isTrue(ejectionDuration.compareTo(Duration.ZERO) > 0, "Ejection duration must be positive");
+		this.ejectionDuration = ejectionDuration;
+	}
+
+	/**
+	 * Return the period for which a replica is ejected from load balancing.
+	 */
+	public Duration getEjectionDuration() {
+		return this.ejectionDuration;
+	}
+
+	/**
+	 * Specify the weight of the latest latency sample for the moving average
+	 * of connection acquisition latency, between 0 (exclusive) and 1 (inclusive).
+	 * Default is 0.2.
+	 * @see LoadBalancingStrategy#LATENCY_EWMA
+	 */
+	public void setLatencyDecay(double latencyDecay) {
+		Assert.isTrue(latencyDecay > 0 && latencyDecay <= 1, "Latency decay must be between 0 and 1");
+		this.latencyDecay = latencyDecay;
+	}
+
+	/**
+	 * Return the weight of the latest latency sample for the moving average.
+	 */
+	public double getLatencyDecay() {
+		return this.latencyDecay;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		Assert.notNull(this.primaryDataSource, "Property 'primaryDataSource' is required");
+		Replica[] replicas = new Replica[this.replicaDataSources.size()];
+		for (int i = 0; i < replicas.length; i++) {
+			replicas[i] = new Replica(this.replicaDataSources.get(i));
+		}
+		this.replicas = replicas;
+	}
+
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return doGetConnection(null, null);
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return doGetConnection(username, password);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(this)) {
+			return (T) this;
+		}
+		return obtainPrimaryDataSource().unwrap(iface);
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return (iface.isInstance(this) || obtainPrimaryDataSource().isWrapperFor(iface));
+	}
+
+	/**
+	 * Obtain a connection from a replica in case of a read-only transaction,
+	 * or from the primary otherwise.
+	 * <p>Each replica is tried at most once per connection request, so that
+	 * replicas which fail again right after their ejection expired cannot
+	 * keep the request from falling back to the primary.
+	 */
+	private Connection doGetConnection(@Nullable String username, @Nullable String password) throws SQLException {
+		Replica[] replicas = this.replicas;
+		if (replicas.length > 0 && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			boolean[] tried = new boolean[replicas.length];
+			for (int attempt = 0; attempt < replicas.length; attempt++) {
+				int index = selectReplica(replicas, tried);
+				if (index == -1) {
+					break;
+				}
+				tried[index] = true;
+				Connection con = replicas[index].getConnection(username, password);
+				if (con != null) {
+					return con;
+				}
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("No read replica available - obtaining connection from primary DataSource");
+			}
+		}
+		DataSource primary = obtainPrimaryDataSource();
+		return (username != null ? primary.getConnection(username, password) : primary.getConnection());
+	}
+
+	/**
+	 * Select the available replica with the lowest load, starting the scan
+	 * at a rotating index in order to distribute ties evenly.
+	 * @param replicas the replicas to choose from
+	 * @param tried the replicas already tried for the current request
+	 * @return the index of the selected replica, or -1 if none is available
+	 */
+	private int selectReplica(Replica[] replicas, boolean[] tried) {
+		int offset = Math.floorMod(this.roundRobin.getAndIncrement(), replicas.length);
+		long now = System.nanoTime();
+		int selected = -1;
+		double lowestLoad = Double.MAX_VALUE;
+		for (int i = 0; i < replicas.length; i++) {
+			int index = (offset + i) % replicas.length;
+			Replica replica = replicas[index];
+			if (!tried[index] && replica.isAvailable(now)) {
+				double load = replica.getLoad(this.loadBalancingStrategy);
+				if (load < lowestLoad) {
+					selected = index;
+					lowestLoad = load;
+				}
+			}
+		}
+		return selected;
+	}
+
+	private DataSource obtainPrimaryDataSource() {
+		DataSource primary = this.primaryDataSource;
+		Assert.state(primary != null, "No primary DataSource set");
+		return primary;
+	}
+
+
+	/**
+	 * Load balancing state for a read replica.
+	 */
+	private class Replica {
+
+		private final DataSource dataSource;
+
+		private final AtomicInteger outstanding = new AtomicInteger();
+
+		private volatile double latencyEwma;
+
+		private volatile long ejectedUntil;
+
+		private volatile boolean ejected;
+
+		public Replica(DataSource dataSource) {
+			this.dataSource = dataSource;
+		}
+
+		public boolean isAvailable(long now) {
+			return (!this.ejected || now - this.ejectedUntil >= 0);
+		}
+
+		public double getLoad(LoadBalancingStrategy strategy) {
+			int outstanding = this.outstanding.get();
+			return (strategy == LoadBalancingStrategy.LATENCY_EWMA ?
+					this.latencyEwma * (outstanding + 1) : outstanding);
+		}
+
+		/**
+		 * Obtain a connection from this replica, ejecting it on failure.
+		 * @return the connection, or {@code null} if the replica failed
+		 */
+		@Nullable
+		public Connection getConnection(@Nullable String username, @Nullable String password) {
+			this.outstanding.incrementAndGet();
+			long start = System.nanoTime();
+			Connection con;
+			try {
+				con = (username != null ? this.dataSource.getConnection(username, password) :
+						this.dataSource.getConnection());
+			}
+			catch (SQLException | RuntimeException ex) {
+				this.outstanding.decrementAndGet();
+				eject(ex);
+				return null;
+			}
+			long latency = System.nanoTime() - start;
+			double previous = this.latencyEwma;
+			this.latencyEwma = (previous == 0 ? latency : previous + latencyDecay * (latency - previous));
+			this.ejected = false;
+			return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+					new Class<?>[] {ConnectionProxy.class}, new ReplicaConnectionInvocationHandler(con, this));
+		}
+
+		private void eject(Exception ex) {
+			this.ejectedUntil = System.nanoTime() + ejectionDuration.toNanos();
+			this.ejected = true;
+			if (logger.isWarnEnabled()) {
+				logger.warn("Ejecting read replica [" + this.dataSource + "] for " + ejectionDuration +
+						" after failure to obtain connection: " + ex);
+			}
+		}
+
+		public void released() {
+			this.outstanding.decrementAndGet();
+		}
+	}
+
+
+	/**
+	 * Invocation handler that tracks outstanding connections for a replica.
+	 */
+	private static class ReplicaConnectionInvocationHandler implements InvocationHandler {
+
+		private final Connection target;
+
+		private final Replica replica;
+
+		private boolean closed;
+
+		public ReplicaConnectionInvocationHandler(Connection target, Replica replica) {
+			this.target = target;
+			this.replica = replica;
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+				case "equals":
+					// Only consider equal when proxies are identical.
+					return (proxy == args[0]);
+				case "hashCode":
+					// Use hashCode of Connection proxy.
+					return System.identityHashCode(proxy);
+				case "getTargetConnection":
+					// Handle getTargetConnection method: return underlying Connection.
+					return this.target;
+				case "unwrap":
+					return (((Class<?>) args[0]).isInstance(proxy) ? proxy : this.target.unwrap((Class<?>) args[0]));
+				case "isWrapperFor":
+					return (((Class<?>) args[0]).isInstance(proxy) || this.target.isWrapperFor((Class<?>) args[0]));
+				case "close":
+					// Only release once, even for repeated close calls.
+					if (!this.closed) {
+						this.closed = true;
+						this.replica.released();
+					}
+					break;
+			}
+
+			try {
+				return method.invoke(this.target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.ColumnarResultSetExtractor.ColumnType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link ColumnarResultSetExtractor}.
+ *
+ * @author agent
+ * @since 6.1
+ */
+class ColumnarResultSetExtractorTests {
+
+	private final ResultSet resultSet = mock();
+
+	private final ResultSetMetaData metaData = mock();
+
+
+	@BeforeEach
+	void setup() throws SQLException {
+		given(this.resultSet.getMetaData()).willReturn(this.metaData);
+		given(this.metaData.getColumnCount()).willReturn(4);
+		given(this.metaData.getColumnLabel(1)).willReturn("id");
+		given(this.metaData.getColumnLabel(2)).willReturn("price");
+		given(this.metaData.getColumnLabel(3)).willReturn("symbol");
+		given(this.metaData.getColumnLabel(4)).willReturn("amount");
+		given(this.metaData.getColumnType(1)).willReturn(Types.BIGINT);
+		given(this.metaData.getColumnType(2)).willReturn(Types.DOUBLE);
+		given(this.metaData.getColumnType(3)).willReturn(Types.VARCHAR);
+		given(this.metaData.getColumnType(4)).willReturn(Types.DECIMAL);
+		given(this.metaData.getPrecision(4)).willReturn(10);
+		given(this.metaData.getScale(4)).willReturn(2);
+		given(this.resultSet.findColumn("id")).willReturn(1);
+		given(this.resultSet.findColumn("price")).willReturn(2);
+		given(this.resultSet.findColumn("symbol")).willReturn(3);
+
+		given(this.resultSet.next()).willReturn(true, true, true, false);
+		given(this.resultSet.getLong(1)).willReturn(1L, 2L, 3L);
+		given(this.resultSet.getDouble(2)).willReturn(1.5, 0.0, 3.5);
+		given(this.resultSet.wasNull()).willReturn(true);
+		given(this.resultSet.getString(3)).willReturn("A", null, "C");
+		given(this.resultSet.getObject(4)).willReturn(BigDecimal.ONE, BigDecimal.TEN, BigDecimal.ZERO);
+	}
+
+
+	@Test
+	void allColumnsWithInferredTypes() throws SQLException {
+		ColumnarResultSetExtractor extractor = new ColumnarResultSetExtractor();
+		extractor.setChunkSize(2);
+		ColumnarResult result = extractor.extractData(this.resultSet);
+
+		assertThat(result.getRowCount()).isEqualTo(3);
+		assertThat(result.getColumnNames()).containsExactly("id", "price", "symbol", "amount");
+		assertThat(result.getLongs("id")).containsExactly(1L, 2L, 3L);
+		assertThat(result.getDoubles("price")).containsExactly(1.5, 0.0, 3.5);
+		assertThat(result.getStrings("symbol")).containsExactly("A", null, "C");
+		assertThat(result.getColumnType("amount")).isEqualTo(ColumnType.OBJECT);
+		assertThat(result.getObjects("amount")).containsExactly(BigDecimal.ONE, BigDecimal.TEN, BigDecimal.ZERO);
+	}
+
+	@Test
+	void nullValues() throws SQLException {
+		ColumnarResult result = new ColumnarResultSetExtractor().extractData(this.resultSet);
+
+		assertThat(result.isNull("price", 0)).isFalse();
+		assertThat(result.isNull("price", 1)).isTrue();
+		assertThat(result.isNull("PRICE", 2)).isFalse();
+		assertThat(result.isNull("symbol", 1)).isTrue();
+		assertThat(result.isNull("id", 1)).isFalse();
+	}
+
+	@Test
+	void projectionWithColumnTypes() throws SQLException {
+		ColumnarResult result = new ColumnarResultSetExtractor()
+				.column("symbol").longColumn("id").doubleColumn("price")
+				.extractData(this.resultSet);
+
+		assertThat(result.getColumnNames()).containsExactly("symbol", "id", "price");
+		assertThat(result.getStrings("symbol")).containsExactly("A", null, "C");
+		assertThat(result.getLongs("id")).containsExactly(1L, 2L, 3L);
+		assertThatIllegalArgumentException().isThrownBy(() -> result.getObjects("amount"));
+		assertThatIllegalStateException().isThrownBy(() -> result.getInts("id"));
+	}
+
+	@Test
+	void emptyResult() throws SQLException {
+		given(this.resultSet.next()).willReturn(false);
+		ColumnarResult result = new ColumnarResultSetExtractor("id", "symbol").extractData(this.resultSet);
+
+		assertThat(result.getRowCount()).isZero();
+		assertThat(result.getLongs("id")).isEmpty();
+		assertThat(result.getStrings("symbol")).isEmpty();
+	}
+
+}
@@ -119,6 +119,72 @@ class SimplePropertyRowMapperTests extends AbstractRowMapperTests {
 		mock.verifyClosed();
 	}
 
+	@Test
+	void staticQueryWithDataClassAndGeneratedRowMapper() throws Exception {
+		Mock mock = new Mock();
+		SimplePropertyRowMapper<ConstructorPerson> rowMapper = new SimplePropertyRowMapper<>(ConstructorPerson.class);
+		rowMapper.setGenerationThreshold(0);
+		ConstructorPerson person = mock.getJdbcTemplate().queryForObject(
+				"select name, age, birth_date, balance from people", rowMapper);
+		verifyPerson(person);
+
+		mock.verifyClosed();
+	}
+
+	@Test
+	void staticQueryWithDataClassAndSettersAndGeneratedRowMapper() throws Exception {
+		Mock mock = new Mock(MockType.FOUR);
+		SimplePropertyRowMapper<ConstructorPersonWithSetters> rowMapper =
+				new SimplePropertyRowMapper<>(ConstructorPersonWithSetters.class);
+		rowMapper.setGenerationThreshold(0);
+		ConstructorPersonWithSetters person = mock.getJdbcTemplate().queryForObject(
+				"select name, age, birthdate, balance from people", rowMapper);
+		assertThat(person.name()).isEqualTo("BUBBA");
+		assertThat(person.age()).isEqualTo(22L);
+		assertThat(person.birthDate()).usingComparator(Date::compareTo).isEqualTo(new Date(1221222L));
+		assertThat(person.balance()).isEqualTo(new BigDecimal("1234.56"));
+
+		mock.verifyClosed();
+	}
+
+	@Test
+	void staticQueryWithPlainSettersAndGeneratedRowMapper() throws Exception {
+		Mock mock = new Mock();
+		SimplePropertyRowMapper<ConcretePerson> rowMapper = new SimplePropertyRowMapper<>(ConcretePerson.class);
+		rowMapper.setGenerationThreshold(0);
+		ConcretePerson person = mock.getJdbcTemplate().queryForObject(
+				"select name, age, birth_date, balance from people", rowMapper);
+		verifyPerson(person);
+
+		mock.verifyClosed();
+	}
+
+	@Test
+	void staticQueryWithDataFieldsAndGeneratedRowMapper() throws Exception {
+		Mock mock = new Mock();
+		SimplePropertyRowMapper<FieldPerson> rowMapper = new SimplePropertyRowMapper<>(FieldPerson.class);
+		rowMapper.setGenerationThreshold(0);
+		FieldPerson person = mock.getJdbcTemplate().queryForObject(
+				"select name, age, birth_date, balance from people", rowMapper);
+		verifyPerson(person);
+
+		mock.verifyClosed();
+	}
+
+	@Test
+	void staticQueryWithDataFieldsAndGeneratedRowMapperAfterThreshold() throws Exception {
+		SimplePropertyRowMapper<FieldPerson> rowMapper = new SimplePropertyRowMapper<>(FieldPerson.class);
+		rowMapper.setGenerationThreshold(1);
+		for (int i = 0; i < 3; i++) {
+			Mock mock = new Mock();
+			FieldPerson person = mock.getJdbcTemplate().queryForObject(
+					"select name, age, birth_date, balance from people", rowMapper);
+			verifyPerson(person);
+
+			mock.verifyClosed();
+		}
+	}
+
 
 	protected void verifyPerson(RecordPerson person) {
 		assertThat(person.name()).isEqualTo("Bubba");
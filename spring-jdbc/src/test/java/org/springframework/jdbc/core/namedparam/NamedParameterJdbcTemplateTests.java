@@ -21,6 +21,7 @@ import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -43,6 +44,9 @@ import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.PreparedStatementCallback;
 import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
@@ -51,6 +55,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -513,6 +518,119 @@ public class NamedParameterJdbcTemplateTests {
 		verify(connection, atLeastOnce()).close();
 	}
 
+	@Test
+	public void testBatchUpdateWithMultiRowInserts() throws Exception {
+		SqlParameterSource[] batchArgs = new SqlParameterSource[5];
+		for (int i = 0; i < batchArgs.length; i++) {
+			batchArgs[i] = new MapSqlParameterSource("id", i).addValue("name", "name" + i);
+		}
+		given(preparedStatement.executeBatch()).willReturn(new int[] {2, 2});
+		given(preparedStatement.executeUpdate()).willReturn(1);
+		given(connection.getMetaData()).willReturn(databaseMetaData);
+		namedParameterTemplate = new NamedParameterJdbcTemplate(new JdbcTemplate(dataSource, false));
+		namedParameterTemplate.setInsertRowsPerStatement(2);
+
+		int[] actualRowsAffected = namedParameterTemplate.batchUpdate(
+				"INSERT INTO customer (id, name) VALUES (:id, :name)", batchArgs);
+		assertThat(actualRowsAffected).containsExactly(1, 1, 1, 1, 1);
+		verify(connection).prepareStatement("INSERT INTO customer (id, name) VALUES (?, ?), (?, ?)");
+		verify(connection).prepareStatement("INSERT INTO customer (id, name) VALUES (?, ?)");
+		verify(preparedStatement, times(2)).addBatch();
+		verify(preparedStatement).setObject(3, 1);
+		verify(preparedStatement).setString(4, "name1");
+		verify(preparedStatement).setObject(3, 3);
+		verify(preparedStatement).setObject(1, 4);
+		verify(preparedStatement).setString(2, "name4");
+		verify(preparedStatement, atLeastOnce()).close();
+		verify(connection, atLeastOnce()).close();
+	}
+
+	@Test
+	public void testBatchUpdateWithMultiRowInsertsAndIncompatibleStatement() throws Exception {
+		SqlParameterSource[] batchArgs = new SqlParameterSource[] {
+				new MapSqlParameterSource("id", 100), new MapSqlParameterSource("id", 200)};
+		given(preparedStatement.executeBatch()).willReturn(new int[] {1, 1});
+		given(connection.getMetaData()).willReturn(databaseMetaData);
+		namedParameterTemplate = new NamedParameterJdbcTemplate(new JdbcTemplate(dataSource, false));
+		namedParameterTemplate.setInsertRowsPerStatement(2);
+
+		int[] actualRowsAffected = namedParameterTemplate.batchUpdate(
+				"INSERT INTO customer (id) VALUES (:id) ON CONFLICT DO NOTHING", batchArgs);
+		assertThat(actualRowsAffected).containsExactly(1, 1);
+		verify(connection).prepareStatement("INSERT INTO customer (id) VALUES (?) ON CONFLICT DO NOTHING");
+		verify(preparedStatement).setObject(1, 100);
+		verify(preparedStatement).setObject(1, 200);
+		verify(preparedStatement, times(2)).addBatch();
+	}
+
+	@Test
+	public void testDeferredUpdatesWithinTransaction() throws Exception {
+		given(preparedStatement.executeBatch()).willReturn(new int[] {1, 1});
+		given(connection.getMetaData()).willReturn(databaseMetaData);
+		namedParameterTemplate = new NamedParameterJdbcTemplate(new JdbcTemplate(dataSource, false));
+		namedParameterTemplate.setDeferredUpdateBatchSize(10);
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		transactionTemplate.executeWithoutResult(status -> {
+			params.put("perfId", 1);
+			params.put("priceId", 1);
+			assertThat(namedParameterTemplate.update(UPDATE_NAMED_PARAMETERS, params)).isEqualTo(Statement.SUCCESS_NO_INFO);
+			params.put("perfId", 2);
+			assertThat(namedParameterTemplate.update(UPDATE_NAMED_PARAMETERS, params)).isEqualTo(Statement.SUCCESS_NO_INFO);
+			assertThat(TransactionSynchronizationManager.hasResource(namedParameterTemplate)).isTrue();
+		});
+
+		InOrder inOrder = inOrder(connection, preparedStatement);
+		inOrder.verify(connection).prepareStatement(UPDATE_NAMED_PARAMETERS_PARSED);
+		inOrder.verify(preparedStatement).executeBatch();
+		inOrder.verify(connection).commit();
+		verify(preparedStatement).setObject(1, 1);
+		verify(preparedStatement).setObject(1, 2);
+		verify(preparedStatement, times(2)).setObject(2, 1);
+		verify(preparedStatement, times(2)).addBatch();
+		assertThat(TransactionSynchronizationManager.hasResource(namedParameterTemplate)).isFalse();
+	}
+
+	@Test
+	public void testDeferredUpdatesFlushedBeforeQuery() throws Exception {
+		given(preparedStatement.executeBatch()).willReturn(new int[] {1});
+		given(connection.getMetaData()).willReturn(databaseMetaData);
+		namedParameterTemplate = new NamedParameterJdbcTemplate(new JdbcTemplate(dataSource, false));
+		namedParameterTemplate.setDeferredUpdateBatchSize(10);
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		transactionTemplate.executeWithoutResult(status -> {
+			params.put("perfId", 1);
+			params.put("priceId", 1);
+			namedParameterTemplate.update(UPDATE_NAMED_PARAMETERS, params);
+			namedParameterTemplate.query(SELECT_NO_PARAMETERS, rs -> null);
+		});
+
+		InOrder inOrder = inOrder(connection, preparedStatement);
+		inOrder.verify(connection).prepareStatement(UPDATE_NAMED_PARAMETERS_PARSED);
+		inOrder.verify(preparedStatement).executeBatch();
+		inOrder.verify(connection).prepareStatement(SELECT_NO_PARAMETERS);
+		inOrder.verify(connection).commit();
+		verify(preparedStatement).addBatch();
+	}
+
+	@Test
+	public void testDeferredUpdatesDiscardedOnRollback() throws Exception {
+		namedParameterTemplate.setDeferredUpdateBatchSize(10);
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		transactionTemplate.executeWithoutResult(status -> {
+			params.put("perfId", 1);
+			params.put("priceId", 1);
+			namedParameterTemplate.update(UPDATE_NAMED_PARAMETERS, params);
+			status.setRollbackOnly();
+		});
+
+		verify(connection).rollback();
+		verify(connection, never()).prepareStatement(anyString());
+		assertThat(TransactionSynchronizationManager.hasResource(namedParameterTemplate)).isFalse();
+	}
+
 	@Test
 	public void testBatchUpdateWithInClause() throws Exception {
 		@SuppressWarnings("unchecked")
@@ -16,11 +16,19 @@
 
 package org.springframework.jdbc.core.simple;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.core.io.ClassRelativeResourceLoader;
+import org.springframework.jdbc.core.ColumnarResult;
+import org.springframework.jdbc.core.ColumnarResultSetExtractor;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
 import org.springframework.jdbc.datasource.init.DatabasePopulator;
@@ -103,6 +111,129 @@ class JdbcClientIntegrationTests {
 		assertUser(expectedId, firstName, lastName);
 	}
 
+	@Test
+	void chunkedStreamWithFetchSizeAndPositionalParameters() {
+		insertUsers("Jane", "John", "Jack");
+
+		try (Stream<List<String>> chunks = this.jdbcClient.sql("select first_name from users where id > ? order by id")
+				.param(0)
+				.fetchSize(2)
+				.query(String.class)
+				.chunkedStream(2)) {
+			assertThat(chunks).containsExactly(List.of("Sam", "Jane"), List.of("John", "Jack"));
+		}
+	}
+
+	@Test
+	void chunkedStreamWithFetchSizeAndNamedParameters() {
+		insertUsers("Jane", "John");
+
+		try (Stream<List<String>> chunks = this.jdbcClient.sql("select first_name from users where id > :id order by id")
+				.param("id", 0)
+				.fetchSize(2)
+				.query(String.class)
+				.chunkedStream(2)) {
+			assertThat(chunks).containsExactly(List.of("Sam", "Jane"), List.of("John"));
+		}
+	}
+
+	@Test
+	void listWithFetchSize() {
+		insertUsers("Jane");
+
+		List<String> names = this.jdbcClient.sql("select first_name from users where last_name = :lastName order by id")
+				.param("lastName", "Smith")
+				.fetchSize(1)
+				.query(String.class)
+				.list();
+		assertThat(names).containsExactly("Jane");
+	}
+
+	@Test
+	void publisherEmitsChunksOnDemand() {
+		insertUsers("Jane", "John", "Jack");
+
+		Flow.Publisher<List<String>> publisher = this.jdbcClient.sql("select first_name from users order by id")
+				.fetchSize(2)
+				.query(String.class)
+				.publisher(2, Runnable::run);
+		CollectingSubscriber<String> subscriber = new CollectingSubscriber<>(Long.MAX_VALUE);
+		publisher.subscribe(subscriber);
+
+		assertThat(subscriber.chunks).containsExactly(List.of("Sam", "Jane"), List.of("John", "Jack"));
+		assertThat(subscriber.completed).isTrue();
+		assertThat(subscriber.error).isNull();
+	}
+
+	@Test
+	void publisherStopsOnCancellation() {
+		insertUsers("Jane", "John", "Jack");
+
+		Flow.Publisher<List<String>> publisher = this.jdbcClient.sql("select first_name from users order by id")
+				.query(String.class)
+				.publisher(2, Runnable::run);
+		CollectingSubscriber<String> subscriber = new CollectingSubscriber<>(1);
+		publisher.subscribe(subscriber);
+
+		assertThat(subscriber.chunks).containsExactly(List.of("Sam", "Jane"));
+		subscriber.subscription.cancel();
+		subscriber.subscription.request(1);
+		assertThat(subscriber.chunks).hasSize(1);
+		assertThat(subscriber.completed).isFalse();
+		assertThat(subscriber.error).isNull();
+	}
+
+	@Test
+	void publisherSignalsErrorOnRejectedExecution() {
+		Flow.Publisher<List<String>> publisher = this.jdbcClient.sql("select first_name from users order by id")
+				.query(String.class)
+				.publisher(2, task -> {
+					throw new RejectedExecutionException("Executor shut down");
+				});
+		CollectingSubscriber<String> subscriber = new CollectingSubscriber<>(1);
+		publisher.subscribe(subscriber);
+
+		assertThat(subscriber.chunks).isEmpty();
+		assertThat(subscriber.completed).isFalse();
+		assertThat(subscriber.error).isInstanceOf(RejectedExecutionException.class);
+		subscriber.error = null;
+		subscriber.subscription.request(1);
+		assertThat(subscriber.error).isNull();
+	}
+
+	@Test
+	void columnsWithProjection() {
+		insertUsers("Jane", "John");
+
+		ColumnarResult result = this.jdbcClient.sql("select * from users where id > ? order by id")
+				.param(1)
+				.query()
+				.columns("id", "first_name");
+		assertThat(result.getRowCount()).isEqualTo(2);
+		assertThat(result.getColumnNames()).containsExactly("id", "first_name");
+		assertThat(result.getInts("id")).containsExactly(2, 3);
+		assertThat(result.getStrings("FIRST_NAME")).containsExactly("Jane", "John");
+	}
+
+	@Test
+	void columnsWithExtractorAndFetchSize() {
+		insertUsers("Jane", "John");
+
+		ColumnarResult result = this.jdbcClient.sql("select id, first_name from users where last_name = :lastName")
+				.param("lastName", "Smith")
+				.fetchSize(1)
+				.query()
+				.columns(new ColumnarResultSetExtractor().longColumn("id").column("first_name"));
+		assertThat(result.getLongs("id")).containsExactly(2L, 3L);
+		assertThat(result.getColumnType("first_name")).isEqualTo(ColumnarResultSetExtractor.ColumnType.STRING);
+	}
+
+	private void insertUsers(String... firstNames) {
+		for (String firstName : firstNames) {
+			this.jdbcClient.sql(INSERT_WITH_POSITIONAL_PARAMS).params(firstName, "Smith").update();
+		}
+	}
+
 	private void assertNumUsers(long count) {
 		long numUsers = this.jdbcClient.sql("select count(id) from users").query(Long.class).single();
 		assertThat(numUsers).isEqualTo(count);
@@ -115,4 +246,43 @@ class JdbcClientIntegrationTests {
 
 	record User(long id, String firstName, String lastName) {};
 
+
+	private static class CollectingSubscriber<T> implements Flow.Subscriber<List<T>> {
+
+		private final long initialRequest;
+
+		final List<List<T>> chunks = new ArrayList<>();
+
+		Flow.Subscription subscription;
+
+		boolean completed;
+
+		Throwable error;
+
+		CollectingSubscriber(long initialRequest) {
+			this.initialRequest = initialRequest;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			subscription.request(this.initialRequest);
+		}
+
+		@Override
+		public void onNext(List<T> chunk) {
+			this.chunks.add(chunk);
+		}
+
+		@Override
+		public void onError(Throwable error) {
+			this.error = error;
+		}
+
+		@Override
+		public void onComplete() {
+			this.completed = true;
+		}
+	}
+
 }
@@ -24,6 +24,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.core.io.ClassRelativeResourceLoader;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
@@ -95,6 +96,22 @@ class SimpleJdbcInsertIntegrationTests {
 			insertJaneSmith(insert);
 		}
 
+		@Test
+		void executeBatchUsingMultiRowInserts() {
+			SimpleJdbcInsert insert = new SimpleJdbcInsert(embeddedDatabase)
+					.withTableName("users")
+					.usingColumns("first_name", "last_name")
+					.usingMultiRowInserts(2);
+
+			int[] rowsAffected = insert.executeBatch(
+					new MapSqlParameterSource("first_name", "Jane").addValue("last_name", "Smith"),
+					new MapSqlParameterSource("first_name", "John").addValue("last_name", "Smith"),
+					new MapSqlParameterSource("first_name", "Jack").addValue("last_name", "Smith"));
+
+			assertThat(rowsAffected).containsExactly(1, 1, 1);
+			assertNumUsers(4);
+		}
+
 		@Override
 		protected String getSchemaScript() {
 			return "users-schema.sql";
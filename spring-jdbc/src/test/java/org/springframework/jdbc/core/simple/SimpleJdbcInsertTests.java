@@ -78,7 +78,8 @@ class SimpleJdbcInsertTests {
 				.usingGeneratedKeyColumns("id")
 				.usingQuotedIdentifiers()
 				.withoutTableColumnMetaDataAccess()
-				.includeSynonymsForTableColumnMetaData();
+				.includeSynonymsForTableColumnMetaData()
+				.usingMultiRowInserts(100);
 
 		assertThat(insert).isNotNull();
 
@@ -988,6 +988,81 @@ public class DataSourceTransactionManagerTests {
 		verify(con).close();
 	}
 
+	@Test
+	public void testTransactionWithStatementCache() throws Exception {
+		PreparedStatement ps = mock();
+		given(con.getAutoCommit()).willReturn(true);
+		given(con.prepareStatement("some SQL statement")).willReturn(ps);
+		tm.setStatementCacheSize(10);
+
+		TransactionTemplate tt = new TransactionTemplate(tm);
+		tt.executeWithoutResult(status -> {
+			try {
+				for (int i = 0; i < 3; i++) {
+					Connection con = DataSourceUtils.getConnection(ds);
+					PreparedStatement psToUse = con.prepareStatement("some SQL statement");
+					psToUse.setFetchSize(10);
+					psToUse.setInt(1, i);
+					psToUse.executeUpdate();
+					psToUse.close();
+					assertThat(psToUse.isClosed()).isTrue();
+					DataSourceUtils.releaseConnection(con, ds);
+				}
+			}
+			catch (SQLException ex) {
+				throw new DataAccessResourceFailureException("", ex);
+			}
+			ConnectionHolder conHolder = (ConnectionHolder) TransactionSynchronizationManager.getResource(ds);
+			PreparedStatementCache statementCache = conHolder.getStatementCache();
+			assertThat(statementCache.getHitCount()).isEqualTo(2);
+			assertThat(statementCache.getMissCount()).isEqualTo(1);
+			assertThat(statementCache.size()).isEqualTo(1);
+		});
+
+		verify(con).prepareStatement("some SQL statement");
+		verify(ps, times(3)).executeUpdate();
+		verify(ps, times(3)).setFetchSize(10);
+		verify(ps, times(3)).setFetchSize(0);
+		verify(ps, times(3)).clearParameters();
+		InOrder ordered = inOrder(con, ps);
+		ordered.verify(con).commit();
+		ordered.verify(ps).close();
+		ordered.verify(con).setAutoCommit(true);
+		ordered.verify(con).close();
+	}
+
+	@Test
+	public void testTransactionWithStatementCacheAndNestedStatements() throws Exception {
+		PreparedStatement ps1 = mock();
+		PreparedStatement ps2 = mock();
+		given(con.getAutoCommit()).willReturn(true);
+		given(con.prepareStatement("some SQL statement")).willReturn(ps1, ps2);
+		tm.setStatementCacheSize(10);
+
+		TransactionTemplate tt = new TransactionTemplate(tm);
+		tt.executeWithoutResult(status -> {
+			try {
+				Connection con = DataSourceUtils.getConnection(ds);
+				PreparedStatement outer = con.prepareStatement("some SQL statement");
+				PreparedStatement inner = con.prepareStatement("some SQL statement");
+				inner.close();
+				outer.close();
+				DataSourceUtils.releaseConnection(con, ds);
+			}
+			catch (SQLException ex) {
+				throw new DataAccessResourceFailureException("", ex);
+			}
+		});
+
+		verify(con, times(2)).prepareStatement("some SQL statement");
+		InOrder ordered = inOrder(ps1, con, ps2);
+		ordered.verify(ps1).close();
+		ordered.verify(con).commit();
+		ordered.verify(ps2).close();
+		verify(con).commit();
+		verify(con).close();
+	}
+
 	@Test
 	public void testTransactionAwareDataSourceProxy() throws Exception {
 		given(con.getAutoCommit()).willReturn(true);
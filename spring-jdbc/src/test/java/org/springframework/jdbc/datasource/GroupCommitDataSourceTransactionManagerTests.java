@@ -0,0 +1,333 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.interceptor.DefaultTransactionAttribute;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Integration tests for {@link GroupCommitDataSourceTransactionManager}
+ * against an embedded H2 database.
+ *
+ * @author agent
+ * @since 6.1
+ */
+class GroupCommitDataSourceTransactionManagerTests {
+
+	private EmbeddedDatabase database;
+
+	private final AtomicInteger connectionCount = new AtomicInteger();
+
+	@Nullable
+	private volatile Method failingMethod;
+
+	private GroupCommitDataSourceTransactionManager tm;
+
+	private JdbcTemplate jdbcTemplate;
+
+
+	@BeforeEach
+	void setup() {
+		this.database = new EmbeddedDatabaseBuilder().generateUniqueName(true)
+				.setType(EmbeddedDatabaseType.H2).build();
+		new JdbcTemplate(this.database).execute("CREATE TABLE item (name VARCHAR(20))");
+		DelegatingDataSource dataSource = new DelegatingDataSource(this.database) {
+			@Override
+			public Connection getConnection() throws SQLException {
+				connectionCount.incrementAndGet();
+				return createFailingConnectionProxy(super.getConnection());
+			}
+		};
+		this.tm = new GroupCommitDataSourceTransactionManager(dataSource);
+		this.tm.setMaxWaitTime(Duration.ofSeconds(10));
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	@AfterEach
+	void shutdown() {
+		assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+		this.database.shutdown();
+	}
+
+
+	@Test
+	void sequentialTransactionsCommitIndividually() {
+		TransactionStatus status = this.tm.getTransaction(groupCommitDefinition());
+		insert("a");
+		this.tm.commit(status);
+		assertThat(names()).containsExactly("a");
+
+		status = this.tm.getTransaction(groupCommitDefinition());
+		insert("b");
+		this.tm.commit(status);
+		assertThat(names()).containsExactly("a", "b");
+	}
+
+	@Test
+	void concurrentTransactionsShareGroupCommit() throws Exception {
+		TransactionStatus status = this.tm.getTransaction(groupCommitDefinition());
+		insert("a");
+		CompletableFuture<Void> other = runConcurrently(() -> {
+			TransactionStatus otherStatus = this.tm.getTransaction(groupCommitDefinition());
+			insert("b");
+			this.tm.commit(otherStatus);
+		});
+		this.tm.commit(status);
+		other.get(10, TimeUnit.SECONDS);
+
+		assertThat(names()).containsExactly("a", "b");
+		// One Connection for the group, one for the verification query
+		assertThat(this.connectionCount.get()).isEqualTo(2);
+	}
+
+	@Test
+	void rollbackIsIsolatedBySavepoint() throws Exception {
+		TransactionStatus status = this.tm.getTransaction(groupCommitDefinition());
+		insert("a");
+		CompletableFuture<Void> other = runConcurrently(() -> {
+			TransactionStatus otherStatus = this.tm.getTransaction(groupCommitDefinition());
+			insert("b");
+			this.tm.rollback(otherStatus);
+		});
+		this.tm.commit(status);
+		other.get(10, TimeUnit.SECONDS);
+
+		assertThat(names()).containsExactly("a");
+	}
+
+	@Test
+	void fallbackToRegularTransactionAfterMaxWaitTime() throws Exception {
+		this.tm.setMaxWaitTime(Duration.ofMillis(50));
+		TransactionStatus status = this.tm.getTransaction(groupCommitDefinition());
+		insert("a");
+		CompletableFuture.runAsync(() -> {
+			TransactionStatus otherStatus = this.tm.getTransaction(groupCommitDefinition());
+			insert("b");
+			this.tm.commit(otherStatus);
+		}).get(10, TimeUnit.SECONDS);
+		this.tm.commit(status);
+
+		assertThat(names()).containsExactlyInAnyOrder("a", "b");
+		assertThat(this.connectionCount.get()).isEqualTo(3);
+	}
+
+	@Test
+	void regularTransactionWithoutLabel() {
+		TransactionStatus status = this.tm.getTransaction(new DefaultTransactionAttribute());
+		insert("a");
+		CompletableFuture.runAsync(() -> {
+			TransactionStatus otherStatus = this.tm.getTransaction(groupCommitDefinition());
+			insert("b");
+			this.tm.commit(otherStatus);
+		}).join();
+		this.tm.commit(status);
+
+		assertThat(names()).containsExactlyInAnyOrder("a", "b");
+		assertThat(this.connectionCount.get()).isEqualTo(3);
+	}
+
+	@Test
+	void maxGroupSizeCompletesGroup() throws Exception {
+		this.tm.setMaxGroupSize(1);
+		TransactionStatus status = this.tm.getTransaction(groupCommitDefinition());
+		insert("a");
+		CompletableFuture<Void> other = runConcurrently(() -> {
+			TransactionStatus otherStatus = this.tm.getTransaction(groupCommitDefinition());
+			insert("b");
+			this.tm.commit(otherStatus);
+		});
+		this.tm.commit(status);
+		assertThat(committedNames()).contains("a");
+		other.get(10, TimeUnit.SECONDS);
+
+		assertThat(names()).containsExactly("a", "b");
+		// One Connection per group, one for the verification query
+		assertThat(this.connectionCount.get()).isEqualTo(3);
+	}
+
+	@Test
+	void failedGroupCommitAffectsAllMembers() throws Exception {
+		this.failingMethod = Connection.class.getMethod("commit");
+		TransactionStatus status = this.tm.getTransaction(groupCommitDefinition());
+		insert("a");
+		CompletableFuture<Void> other = runConcurrently(() -> {
+			TransactionStatus otherStatus = this.tm.getTransaction(groupCommitDefinition());
+			insert("b");
+			this.tm.commit(otherStatus);
+		});
+		assertThatExceptionOfType(TransactionSystemException.class).isThrownBy(() -> this.tm.commit(status));
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> other.get(10, TimeUnit.SECONDS))
+				.withCauseInstanceOf(TransactionSystemException.class);
+
+		assertThat(committedNames()).isEmpty();
+	}
+
+	@Test
+	void rollbackOnlyGroupIsNotJoined() throws Exception {
+		this.failingMethod = Connection.class.getMethod("rollback", Savepoint.class);
+		TransactionStatus status = this.tm.getTransaction(groupCommitDefinition());
+		insert("a");
+		CompletableFuture<Void> other = runConcurrently(() -> {
+			TransactionStatus otherStatus = this.tm.getTransaction(groupCommitDefinition());
+			insert("b");
+			this.tm.commit(otherStatus);
+		});
+		assertThatExceptionOfType(TransactionSystemException.class).isThrownBy(() -> this.tm.rollback(status));
+		other.get(10, TimeUnit.SECONDS);
+
+		assertThat(names()).containsExactly("b");
+		// One Connection per group, one for the verification query
+		assertThat(this.connectionCount.get()).isEqualTo(3);
+	}
+
+	@Test
+	void waitingMemberCommitsGroupAfterMaxWaitTime() throws Exception {
+		this.tm.setMaxWaitTime(Duration.ofMillis(200));
+		TransactionStatus status = this.tm.getTransaction(groupCommitDefinition());
+		insert("a");
+		CompletableFuture<Void> other = runConcurrently(() -> {
+			TransactionStatus otherStatus = this.tm.getTransaction(groupCommitDefinition());
+			insert("b");
+			// Keep the group open until the first member gives up waiting for it
+			awaitQueuedTransaction();
+			this.tm.commit(otherStatus);
+		});
+		this.tm.commit(status);
+		assertThat(committedNames()).containsExactly("a", "b");
+		other.get(10, TimeUnit.SECONDS);
+
+		// One Connection for the group, one for the verification query
+		assertThat(names()).containsExactly("a", "b");
+		assertThat(this.connectionCount.get()).isEqualTo(2);
+	}
+
+	@Test
+	void afterCommitCallbackRunsAfterGroupCommit() throws Exception {
+		AtomicReference<List<String>> namesAfterCommit = new AtomicReference<>();
+		TransactionStatus status = this.tm.getTransaction(groupCommitDefinition());
+		insert("a");
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				namesAfterCommit.set(committedNames());
+			}
+		});
+		CompletableFuture<Void> other = runConcurrently(() -> {
+			TransactionStatus otherStatus = this.tm.getTransaction(groupCommitDefinition());
+			insert("b");
+			this.tm.commit(otherStatus);
+		});
+		this.tm.commit(status);
+		other.get(10, TimeUnit.SECONDS);
+
+		assertThat(namesAfterCommit.get()).containsExactly("a", "b");
+	}
+
+
+	private static DefaultTransactionAttribute groupCommitDefinition() {
+		DefaultTransactionAttribute definition = new DefaultTransactionAttribute();
+		definition.setLabels(List.of(GroupCommitDataSourceTransactionManager.GROUP_COMMIT_LABEL));
+		return definition;
+	}
+
+	private void insert(String name) {
+		this.jdbcTemplate.update("INSERT INTO item VALUES (?)", name);
+	}
+
+	private List<String> names() {
+		return this.jdbcTemplate.queryForList("SELECT name FROM item ORDER BY name", String.class);
+	}
+
+	/**
+	 * Query the committed names through a separate Connection,
+	 * bypassing the transaction manager.
+	 */
+	private List<String> committedNames() {
+		return new JdbcTemplate(this.database).queryForList("SELECT name FROM item ORDER BY name", String.class);
+	}
+
+	private Connection createFailingConnectionProxy(Connection target) {
+		return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+				(proxy, method, args) -> {
+					if (method.equals(this.failingMethod)) {
+						throw new SQLException("Simulated failure of " + method.getName());
+					}
+					try {
+						return method.invoke(target, args);
+					}
+					catch (InvocationTargetException ex) {
+						throw ex.getTargetException();
+					}
+				});
+	}
+
+	/**
+	 * Run the given transactional task in a separate thread, returning
+	 * once that thread is waiting to join the current group.
+	 */
+	private CompletableFuture<Void> runConcurrently(Runnable task) {
+		CompletableFuture<Void> result = new CompletableFuture<>();
+		new Thread(() -> {
+			try {
+				task.run();
+				result.complete(null);
+			}
+			catch (Throwable ex) {
+				result.completeExceptionally(ex);
+			}
+		}).start();
+		awaitQueuedTransaction();
+		return result;
+	}
+
+	private void awaitQueuedTransaction() {
+		while (!this.tm.hasQueuedTransactions()) {
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+		}
+	}
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource.lookup;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Integration tests for {@link ReadReplicaRoutingDataSource}.
+ *
+ * @author agent
+ * @since 6.1
+ */
+class ReadReplicaRoutingDataSourceTests {
+
+	private EmbeddedDatabase primary;
+
+	private EmbeddedDatabase replica1;
+
+	private EmbeddedDatabase replica2;
+
+	private final ReadReplicaRoutingDataSource router = new ReadReplicaRoutingDataSource();
+
+
+	@BeforeEach
+	void setup() {
+		this.primary = createDatabase("primary");
+		this.replica1 = createDatabase("replica1");
+		this.replica2 = createDatabase("replica2");
+		this.router.setPrimaryDataSource(this.primary);
+	}
+
+	@AfterEach
+	void shutdown() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		this.primary.shutdown();
+		this.replica1.shutdown();
+		this.replica2.shutdown();
+	}
+
+	private static EmbeddedDatabase createDatabase(String name) {
+		EmbeddedDatabase database = new EmbeddedDatabaseBuilder().generateUniqueName(true).build();
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+		jdbcTemplate.execute("CREATE TABLE origin (name VARCHAR(20))");
+		jdbcTemplate.update("INSERT INTO origin VALUES (?)", name);
+		return database;
+	}
+
+
+	@Test
+	void readOnlyTransactionsRouteToReplicas() {
+		this.router.setReplicaDataSources(List.of(this.replica1, this.replica2));
+		this.router.afterPropertiesSet();
+
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(this.router);
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		TransactionTemplate tt = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+		assertThat(queryOrigin(jdbcTemplate)).isEqualTo("primary");
+		assertThat(tt.execute(status -> queryOrigin(jdbcTemplate))).isEqualTo("primary");
+
+		tt.setReadOnly(true);
+		String first = tt.execute(status -> queryOrigin(jdbcTemplate));
+		String second = tt.execute(status -> queryOrigin(jdbcTemplate));
+		assertThat(List.of(first, second)).containsExactlyInAnyOrder("replica1", "replica2");
+	}
+
+	@Test
+	void leastOutstandingConnections() throws SQLException {
+		this.router.setReplicaDataSources(List.of(this.replica1, this.replica2));
+		this.router.afterPropertiesSet();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		try (Connection con1 = this.router.getConnection()) {
+			String origin1 = queryOrigin(con1);
+			for (int i = 0; i < 3; i++) {
+				try (Connection con2 = this.router.getConnection()) {
+					assertThat(queryOrigin(con2)).isNotEqualTo(origin1);
+				}
+			}
+		}
+	}
+
+	@Test
+	void latencyEwma() throws SQLException {
+		this.router.setReplicaDataSources(List.of(this.replica1, this.replica2));
+		this.router.setLoadBalancingStrategy(ReadReplicaRoutingDataSource.LoadBalancingStrategy.LATENCY_EWMA);
+		this.router.afterPropertiesSet();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		for (int i = 0; i < 4; i++) {
+			try (Connection con = this.router.getConnection()) {
+				assertThat(queryOrigin(con)).startsWith("replica");
+			}
+		}
+	}
+
+	@Test
+	void failingReplicaGetsEjected() throws SQLException {
+		DataSource failingReplica = mock();
+		given(failingReplica.getConnection()).willThrow(new SQLException("unavailable"));
+		this.router.setReplicaDataSources(List.of(failingReplica, this.replica2));
+		this.router.afterPropertiesSet();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		for (int i = 0; i < 4; i++) {
+			try (Connection con = this.router.getConnection()) {
+				assertThat(queryOrigin(con)).isEqualTo("replica2");
+			}
+		}
+		verify(failingReplica, times(1)).getConnection();
+	}
+
+	@Test
+	void fallbackToPrimaryWithoutAvailableReplica() throws SQLException {
+		DataSource failingReplica = mock();
+		given(failingReplica.getConnection()).willThrow(new SQLException("unavailable"));
+		this.router.setReplicaDataSources(List.of(failingReplica));
+		this.router.afterPropertiesSet();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		for (int i = 0; i < 2; i++) {
+			try (Connection con = this.router.getConnection()) {
+				assertThat(queryOrigin(con)).isEqualTo("primary");
+			}
+		}
+		verify(failingReplica, times(1)).getConnection();
+	}
+
+	@Test
+	void fallbackToPrimaryWhenAllReplicasFailWithMinimalEjection() throws SQLException {
+		DataSource failingReplica1 = mock();
+		given(failingReplica1.getConnection()).willThrow(new SQLException("unavailable"));
+		DataSource failingReplica2 = mock();
+		given(failingReplica2.getConnection()).willThrow(new SQLException("unavailable"));
+		this.router.setReplicaDataSources(List.of(failingReplica1, failingReplica2));
+		this.router.setEjectionDuration(Duration.ofNanos(1));
+		this.router.afterPropertiesSet();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		for (int i = 0; i < 2; i++) {
+			try (Connection con = this.router.getConnection()) {
+				assertThat(queryOrigin(con)).isEqualTo("primary");
+			}
+		}
+		verify(failingReplica1, times(2)).getConnection();
+		verify(failingReplica2, times(2)).getConnection();
+	}
+
+	@Test
+	void zeroEjectionDurationIsRejected() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.router.setEjectionDuration(Duration.ZERO));
+	}
+
+
+	private static String queryOrigin(JdbcTemplate jdbcTemplate) {
+		return jdbcTemplate.queryForObject("SELECT name FROM origin", String.class);
+	}
+
+	private static String queryOrigin(Connection con) throws SQLException {
+		try (Statement stmt = con.createStatement(); ResultSet rs = stmt.executeQuery("SELECT name FROM origin")) {
+			rs.next();
+			return rs.getString(1);
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,8 @@ import java.util.stream.IntStream;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.Param;
@@ -52,6 +54,9 @@ public class DefaultSubscriptionRegistryBenchmark {
 		@Param({"none", "patternSubscriptions", "selectorHeaders"})
 		String specialization;
 
+		@Param({"default", "sharded"})
+		String registryType;
+
 		public DefaultSubscriptionRegistry registry;
 
 		public String[] destinationIds;
@@ -67,7 +72,8 @@ public class DefaultSubscriptionRegistryBenchmark {
 			this.findMessage = MessageBuilder.createMessage("",  SimpMessageHeaderAccessor.create().getMessageHeaders());
 			this.uniqueIdGenerator = new AtomicInteger();
 
-			this.registry = new DefaultSubscriptionRegistry();
+			this.registry = ("sharded".equals(this.registryType) ?
+					new ShardedSubscriptionRegistry() : new DefaultSubscriptionRegistry());
 			this.registry.setCacheLimit(this.cacheSizeLimit);
 			this.registry.setSelectorHeaderName("selectorHeaders".equals(this.specialization) ? "someSelector" : null);
 
@@ -108,9 +114,12 @@ public class DefaultSubscriptionRegistryBenchmark {
 
 		public Message<?> unsubscribe;
 
+		public String churnSession;
+
 		@Setup(Level.Trial)
 		public void doSetup(ServerState serverState) {
 			int uniqueNumber = serverState.uniqueIdGenerator.incrementAndGet();
+			this.churnSession = "churnSessionId_" + uniqueNumber;
 
 			if ("sameDestination".equals(this.contention)) {
 				this.findDestination = serverState.destinationIds[0];
@@ -170,6 +179,38 @@ public class DefaultSubscriptionRegistryBenchmark {
 		return serverState.registry.findSubscriptionsInternal(request.destination, serverState.findMessage);
 	}
 
+	@Benchmark
+	@Group("churn")
+	@GroupThreads(1)
+	public void churnSubscribe(ServerState serverState, Requests request) {
+		serverState.registry.registerSubscription(request.subscribe);
+		serverState.registry.unregisterSubscription(request.unsubscribe);
+	}
+
+	@Benchmark
+	@Group("churn")
+	@GroupThreads(3)
+	public MultiValueMap<String, String> churnFind(ServerState serverState, FindRequest request) {
+		return serverState.registry.findSubscriptionsInternal(request.destination, serverState.findMessage);
+	}
+
+	@Benchmark
+	@Group("sessionChurn")
+	@GroupThreads(1)
+	public void sessionChurnConnect(ServerState serverState, Requests request) {
+		for (String destination : serverState.destinationIds) {
+			serverState.registerSubscriptions(request.churnSession, destination);
+		}
+		serverState.registry.unregisterAllSubscriptions(request.churnSession);
+	}
+
+	@Benchmark
+	@Group("sessionChurn")
+	@GroupThreads(3)
+	public MultiValueMap<String, String> sessionChurnFind(ServerState serverState, FindRequest request) {
+		return serverState.registry.findSubscriptionsInternal(request.destination, serverState.findMessage);
+	}
+
 	public static Message<?> subscribeMessage(String sessionId, String subscriptionId, String dest) {
 		SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
 		accessor.setSessionId(sessionId);
@@ -166,7 +166,7 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 	}
 
 	@Nullable
-	private Expression getSelectorExpression(MessageHeaders headers) {
+	Expression getSelectorExpression(MessageHeaders headers) {
 		if (getSelectorHeaderName() == null) {
 			return null;
 		}
@@ -230,7 +230,14 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 		return result;
 	}
 
-	private boolean evaluateExpression(@Nullable Expression expression, Message<?> message) {
+	/**
+	 * Whether any subscription has been registered with a selector expression.
+	 */
+	boolean isSelectorHeaderInUse() {
+		return this.selectorHeaderInUse;
+	}
+
+	boolean evaluateExpression(@Nullable Expression expression, Message<?> message) {
 		if (expression == null) {
 			return true;
 		}
@@ -443,7 +450,7 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 	/**
 	 * Represents a subscription.
 	 */
-	private static final class Subscription {
+	static final class Subscription {
 
 		private final String id;
 
@@ -0,0 +1,537 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.messaging.simp.broker;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.expression.Expression;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.Assert;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
+
+/**
+ * Variant of {@link DefaultSubscriptionRegistry} for brokers with a large number
+ * of subscriptions and frequent subscribe and unsubscribe calls.
+ *
+ * <p>Subscriptions to plain destinations are indexed by destination, spread
+ * across a number of shards that each hold their own cache of resolved
+ * destinations. Pattern subscriptions are indexed in a trie by the literal
+ * path segments that precede their first wildcard, so that resolving a
+ * destination only matches the patterns along its own path rather than all
+ * registered subscriptions. Subscribing and unsubscribing invalidate the
+ * affected cache entries only, within a single shard for plain destinations.
+ *
+ * <p>The configuration options of {@code DefaultSubscriptionRegistry} apply,
+ * with the {@linkplain #setCacheLimit cache limit} spread evenly across shards.
+ * The pattern index is used with a case-sensitive {@link AntPathMatcher} as
+ * by default, falling back to matching every pattern subscription against
+ * uncached destinations otherwise. The path matcher is expected to be set
+ * before any subscriptions are registered.
+ *
+ * @author agent
+ * @since 6.1
+ * @see SimpleBrokerMessageHandler#setSubscriptionRegistry
+ */
+public class ShardedSubscriptionRegistry extends DefaultSubscriptionRegistry {
+
+	/** Default number of shards: 16. */
+	public static final int DEFAULT_SHARD_COUNT = 16;
+
+
+	private final Shard[] shards;
+
+	private final PatternIndex patternIndex = new PatternIndex();
+
+	// sessionId -> subscriptionId -> Subscription, with changes to a session guarded by its map
+	private final ConcurrentMap<String, Map<String, Subscription>> sessions = new ConcurrentHashMap<>();
+
+	private volatile boolean patternIndexEnabled = isIndexable(getPathMatcher());
+
+
+	/**
+	 * Create a new {@code ShardedSubscriptionRegistry} with
+	 * {@value #DEFAULT_SHARD_COUNT} shards.
+	 */
+	public ShardedSubscriptionRegistry() {
+		this(DEFAULT_SHARD_COUNT);
+	}
+
+	/**
+	 * Create a new {@code ShardedSubscriptionRegistry} with the given number
+	 * of shards, rounded up to the next power of two.
+	 * @param shardCount the number of shards
+	 */
+	public ShardedSubscriptionRegistry(int shardCount) {
+		Assert.isTrue(shardCount > 0, "Shard count must be greater than 0");
+		int size = Integer.highestOneBit(shardCount);
+		if (size < shardCount) {
+			size <<= 1;
+		}
+		this.shards = new Shard[size];
+		for (int i = 0; i < size; i++) {
+			this.shards[i] = new Shard();
+		}
+	}
+
+
+	@Override
+	public void setPathMatcher(PathMatcher pathMatcher) {
+		super.setPathMatcher(pathMatcher);
+		this.patternIndexEnabled = isIndexable(pathMatcher);
+	}
+
+	@Override
+	public void setCacheLimit(int cacheLimit) {
+		super.setCacheLimit(cacheLimit);
+		for (Shard shard : this.shards) {
+			shard.ensureCacheLimit();
+		}
+	}
+
+	/**
+	 * Return the number of shards.
+	 */
+	public int getShardCount() {
+		return this.shards.length;
+	}
+
+	private int getShardCacheLimit() {
+		int cacheLimit = getCacheLimit();
+		return (cacheLimit > 0 ? Math.max(1, (cacheLimit + this.shards.length - 1) / this.shards.length) : 0);
+	}
+
+	private Shard getShard(String destination) {
+		int hash = destination.hashCode();
+		return this.shards[(hash ^ (hash >>> 16)) & (this.shards.length - 1)];
+	}
+
+
+	@Override
+	protected void addSubscriptionInternal(
+			String sessionId, String subscriptionId, String destination, Message<?> message) {
+
+		boolean isPattern = getPathMatcher().isPattern(destination);
+		Expression expression = getSelectorExpression(message.getHeaders());
+		Subscription subscription = new Subscription(subscriptionId, destination, isPattern, expression);
+
+		for (;;) {
+			Map<String, Subscription> subscriptions =
+					this.sessions.computeIfAbsent(sessionId, _sessionId -> new ConcurrentHashMap<>());
+			synchronized (subscriptions) {
+				if (this.sessions.get(sessionId) != subscriptions) {
+					// Session unregistered concurrently: retry against its current state
+					continue;
+				}
+				if (subscriptions.putIfAbsent(subscriptionId, subscription) != null) {
+					return;
+				}
+				if (isPattern) {
+					this.patternIndex.addSubscription(sessionId, subscription);
+				}
+				else {
+					getShard(destination).addSubscription(sessionId, subscription);
+				}
+				return;
+			}
+		}
+	}
+
+	@Override
+	protected void removeSubscriptionInternal(String sessionId, String subscriptionId, Message<?> message) {
+		Map<String, Subscription> subscriptions = this.sessions.get(sessionId);
+		if (subscriptions != null) {
+			synchronized (subscriptions) {
+				Subscription subscription = subscriptions.remove(subscriptionId);
+				if (subscription != null) {
+					removeSubscription(sessionId, subscription);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void unregisterAllSubscriptions(String sessionId) {
+		Map<String, Subscription> subscriptions = this.sessions.remove(sessionId);
+		if (subscriptions != null) {
+			synchronized (subscriptions) {
+				for (Subscription subscription : subscriptions.values()) {
+					removeSubscription(sessionId, subscription);
+				}
+			}
+		}
+	}
+
+	private void removeSubscription(String sessionId, Subscription subscription) {
+		if (subscription.isPattern()) {
+			this.patternIndex.removeSubscription(sessionId, subscription);
+		}
+		else {
+			getShard(subscription.getDestination()).removeSubscription(sessionId, subscription);
+		}
+	}
+
+	@Override
+	protected MultiValueMap<String, String> findSubscriptionsInternal(String destination, Message<?> message) {
+		MultiValueMap<String, String> allMatches = getShard(destination).getSubscriptions(destination);
+		if (!isSelectorHeaderInUse()) {
+			return allMatches;
+		}
+		MultiValueMap<String, String> result = new LinkedMultiValueMap<>(allMatches.size());
+		allMatches.forEach((sessionId, subscriptionIds) -> {
+			Map<String, Subscription> subscriptions = this.sessions.get(sessionId);
+			if (subscriptions != null) {
+				for (String subscriptionId : subscriptionIds) {
+					Subscription subscription = subscriptions.get(subscriptionId);
+					if (subscription != null && evaluateExpression(subscription.getSelector(), message)) {
+						result.add(sessionId, subscription.getId());
+					}
+				}
+			}
+		});
+		return result;
+	}
+
+
+	/**
+	 * Whether the literal prefix of a pattern, up to its first wildcard, is a
+	 * reliable prefix of all destinations that the given matcher matches.
+	 */
+	private static boolean isIndexable(PathMatcher pathMatcher) {
+		return (pathMatcher.getClass() == AntPathMatcher.class &&
+				!pathMatcher.match("a", "A") && !pathMatcher.match("a", " a"));
+	}
+
+	/**
+	 * Return the index of the end of the next segment of the given path,
+	 * including a trailing '/' or '.' separator.
+	 */
+	private static int nextSegmentEnd(String path, int start) {
+		for (int i = start; i < path.length(); i++) {
+			char c = path.charAt(i);
+			if (c == '/' || c == '.') {
+				return i + 1;
+			}
+		}
+		return path.length();
+	}
+
+
+	private static void addSubscriptionIds(
+			LinkedMultiValueMap<String, String> sessionIdToSubscriptionIds, Map<String, Set<String>> subscriptions) {
+
+		subscriptions.forEach((sessionId, subscriptionIds) -> {
+			for (String subscriptionId : subscriptionIds) {
+				sessionIdToSubscriptionIds.add(sessionId, subscriptionId);
+			}
+		});
+	}
+
+
+	/**
+	 * A partition of the plain destinations, along with its cache of resolved
+	 * destinations (with matching pattern subscriptions included).
+	 */
+	private final class Shard {
+
+		// destination -> sessionId -> subscriptionIds, guarded by this
+		private final Map<String, Map<String, Set<String>>> subscriptions = new HashMap<>();
+
+		// destination -> [sessionId -> subscriptionIds]
+		private final Map<String, LinkedMultiValueMap<String, String>> destinationCache = new ConcurrentHashMap<>();
+
+		// cached destinations in insertion order, guarded by this
+		private final Set<String> cacheEvictionPolicy = new LinkedHashSet<>();
+
+		// incremented on every change affecting resolved destinations, guarded by this
+		private volatile long version;
+
+		public LinkedMultiValueMap<String, String> getSubscriptions(String destination) {
+			LinkedMultiValueMap<String, String> sessionIdToSubscriptionIds = this.destinationCache.get(destination);
+			if (sessionIdToSubscriptionIds == null) {
+				long version = this.version;
+				sessionIdToSubscriptionIds = new LinkedMultiValueMap<>();
+				synchronized (this) {
+					Map<String, Set<String>> destinationSubscriptions = this.subscriptions.get(destination);
+					if (destinationSubscriptions != null) {
+						addSubscriptionIds(sessionIdToSubscriptionIds, destinationSubscriptions);
+					}
+				}
+				patternIndex.addMatchingSubscriptions(destination, sessionIdToSubscriptionIds);
+				cache(destination, sessionIdToSubscriptionIds, version);
+			}
+			return sessionIdToSubscriptionIds;
+		}
+
+		private synchronized void cache(
+				String destination, LinkedMultiValueMap<String, String> sessionIdToSubscriptionIds, long version) {
+
+			// Skip if subscriptions changed while resolving the destination
+			if (this.version == version && getShardCacheLimit() > 0 &&
+					this.destinationCache.putIfAbsent(destination, sessionIdToSubscriptionIds) == null) {
+				this.cacheEvictionPolicy.add(destination);
+				ensureCacheLimit();
+			}
+		}
+
+		public synchronized void ensureCacheLimit() {
+			int cacheLimit = getShardCacheLimit();
+			Iterator<String> iterator = this.cacheEvictionPolicy.iterator();
+			while (this.cacheEvictionPolicy.size() > cacheLimit && iterator.hasNext()) {
+				this.destinationCache.remove(iterator.next());
+				iterator.remove();
+			}
+		}
+
+		public synchronized void addSubscription(String sessionId, Subscription subscription) {
+			String destination = subscription.getDestination();
+			this.subscriptions.computeIfAbsent(destination, _destination -> new LinkedHashMap<>())
+					.computeIfAbsent(sessionId, _sessionId -> new LinkedHashSet<>())
+					.add(subscription.getId());
+			invalidate(destination);
+		}
+
+		public synchronized void removeSubscription(String sessionId, Subscription subscription) {
+			String destination = subscription.getDestination();
+			Map<String, Set<String>> destinationSubscriptions = this.subscriptions.get(destination);
+			if (destinationSubscriptions != null) {
+				Set<String> subscriptionIds = destinationSubscriptions.get(sessionId);
+				if (subscriptionIds != null && subscriptionIds.remove(subscription.getId())) {
+					if (subscriptionIds.isEmpty()) {
+						destinationSubscriptions.remove(sessionId);
+						if (destinationSubscriptions.isEmpty()) {
+							this.subscriptions.remove(destination);
+						}
+					}
+					invalidate(destination);
+				}
+			}
+		}
+
+		private void invalidate(String destination) {
+			this.version++;
+			if (this.cacheEvictionPolicy.remove(destination)) {
+				this.destinationCache.remove(destination);
+			}
+		}
+
+		public synchronized void invalidateMatching(String pattern) {
+			this.version++;
+			Iterator<String> iterator = this.cacheEvictionPolicy.iterator();
+			while (iterator.hasNext()) {
+				String destination = iterator.next();
+				if (getPathMatcher().match(pattern, destination)) {
+					this.destinationCache.remove(destination);
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Trie of pattern subscriptions, keyed by the literal segments of their
+	 * patterns up to the first wildcard.
+	 */
+	private final class PatternIndex {
+
+		private final PatternNode root = new PatternNode(null, "");
+
+		private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+		public void addSubscription(String sessionId, Subscription subscription) {
+			String pattern = subscription.getDestination();
+			this.lock.writeLock().lock();
+			try {
+				PatternNode node = this.root;
+				if (patternIndexEnabled) {
+					int literalEnd = getLiteralPrefixEnd(pattern);
+					int start = 0;
+					int end = nextSegmentEnd(pattern, start);
+					while (end < literalEnd) {
+						node = node.getOrCreateChild(pattern.substring(start, end));
+						start = end;
+						end = nextSegmentEnd(pattern, start);
+					}
+				}
+				node.patterns.computeIfAbsent(pattern, _pattern -> new LinkedHashMap<>())
+						.computeIfAbsent(sessionId, _sessionId -> new LinkedHashSet<>())
+						.add(subscription.getId());
+			}
+			finally {
+				this.lock.writeLock().unlock();
+			}
+			invalidateMatching(pattern);
+		}
+
+		public void removeSubscription(String sessionId, Subscription subscription) {
+			String pattern = subscription.getDestination();
+			boolean removed = false;
+			this.lock.writeLock().lock();
+			try {
+				PatternNode node = findNode(pattern);
+				Map<String, Set<String>> patternSubscriptions = (node != null ? node.patterns.get(pattern) : null);
+				if (patternSubscriptions != null) {
+					Set<String> subscriptionIds = patternSubscriptions.get(sessionId);
+					if (subscriptionIds != null && subscriptionIds.remove(subscription.getId())) {
+						removed = true;
+						if (subscriptionIds.isEmpty()) {
+							patternSubscriptions.remove(sessionId);
+							if (patternSubscriptions.isEmpty()) {
+								node.patterns.remove(pattern);
+								node.pruneIfEmpty();
+							}
+						}
+					}
+				}
+			}
+			finally {
+				this.lock.writeLock().unlock();
+			}
+			if (removed) {
+				invalidateMatching(pattern);
+			}
+		}
+
+		/**
+		 * Find the node of a pattern registered before, probing the root as well
+		 * in case the pattern index was not enabled at registration time.
+		 */
+		@Nullable
+		private PatternNode findNode(String pattern) {
+			int literalEnd = getLiteralPrefixEnd(pattern);
+			PatternNode node = this.root;
+			int start = 0;
+			int end = nextSegmentEnd(pattern, start);
+			while (end < literalEnd && !node.patterns.containsKey(pattern)) {
+				node = node.children.get(pattern.substring(start, end));
+				if (node == null) {
+					return null;
+				}
+				start = end;
+				end = nextSegmentEnd(pattern, start);
+			}
+			return node;
+		}
+
+		/**
+		 * Return the end of the segments of the given pattern that can be used
+		 * as index keys: all segments before the one with the first wildcard,
+		 * except for the last one which a {@code "/**"} suffix makes optional.
+		 */
+		private int getLiteralPrefixEnd(String pattern) {
+			int wildcard = 0;
+			while (wildcard < pattern.length()) {
+				char c = pattern.charAt(wildcard);
+				if (c == '*' || c == '?' || c == '{') {
+					break;
+				}
+				wildcard++;
+			}
+			int literalEnd = 0;
+			int end = nextSegmentEnd(pattern, 0);
+			while (end <= wildcard && end < pattern.length()) {
+				// Empty segments are ignored by AntPathMatcher: no literal keys beyond
+				if (end - literalEnd == 1 && literalEnd > 0) {
+					break;
+				}
+				literalEnd = end;
+				end = nextSegmentEnd(pattern, end);
+			}
+			return literalEnd;
+		}
+
+		public void addMatchingSubscriptions(
+				String destination, LinkedMultiValueMap<String, String> sessionIdToSubscriptionIds) {
+
+			this.lock.readLock().lock();
+			try {
+				PatternNode node = this.root;
+				int start = 0;
+				while (node != null) {
+					node.patterns.forEach((pattern, patternSubscriptions) -> {
+						if (getPathMatcher().match(pattern, destination)) {
+							addSubscriptionIds(sessionIdToSubscriptionIds, patternSubscriptions);
+						}
+					});
+					if (start >= destination.length() || node.children.isEmpty()) {
+						break;
+					}
+					int end = nextSegmentEnd(destination, start);
+					node = node.children.get(destination.substring(start, end));
+					start = end;
+				}
+			}
+			finally {
+				this.lock.readLock().unlock();
+			}
+		}
+
+		private void invalidateMatching(String pattern) {
+			for (Shard shard : shards) {
+				shard.invalidateMatching(pattern);
+			}
+		}
+	}
+
+
+	/**
+	 * A node in the trie of pattern subscriptions.
+	 */
+	private static final class PatternNode {
+
+		@Nullable
+		private final PatternNode parent;
+
+		private final String segment;
+
+		private final Map<String, PatternNode> children = new HashMap<>(4);
+
+		// pattern -> sessionId -> subscriptionIds
+		private final Map<String, Map<String, Set<String>>> patterns = new HashMap<>(4);
+
+		PatternNode(@Nullable PatternNode parent, String segment) {
+			this.parent = parent;
+			this.segment = segment;
+		}
+
+		PatternNode getOrCreateChild(String segment) {
+			return this.children.computeIfAbsent(segment, _segment -> new PatternNode(this, segment));
+		}
+
+		void pruneIfEmpty() {
+			PatternNode node = this;
+			while (node.parent != null && node.patterns.isEmpty() && node.children.isEmpty()) {
+				node.parent.children.remove(node.segment);
+				node = node.parent;
+			}
+		}
+	}
+
+}
@@ -18,11 +18,19 @@ package org.springframework.messaging.simp.broker;
 
 import java.security.Principal;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
@@ -72,9 +80,19 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 	@Nullable
 	private MessageHeaderInitializer headerInitializer;
 
+	@Nullable
+	private Executor broadcastExecutor;
+
+	private int broadcastParallelism = Runtime.getRuntime().availableProcessors();
+
+	private int broadcastBacklogLimit = -1;
+
 
 	private SubscriptionRegistry subscriptionRegistry;
 
+	@Nullable
+	private BroadcastLane[] broadcastLanes;
+
 	private final Map<String, SessionInfo> sessions = new ConcurrentHashMap<>();
 
 	@Nullable
@@ -261,6 +279,90 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 		return this.headerInitializer;
 	}
 
+	/**
+	 * Configure an {@link Executor} to fan out messages to subscribers with.
+	 * <p>By default this is not set, and messages are sent to all subscribers
+	 * in the thread that handles the published message. When set, subscribed
+	 * sessions are partitioned into {@linkplain #setBroadcastParallelism lanes},
+	 * and each published message is delivered as one batch per lane, with the
+	 * batches of a lane executed one at a time. Messages to any given session
+	 * are therefore still sent in the order of publication.
+	 * <p>This is typically the executor of the client outbound channel, or a
+	 * separate executor of comparable size.
+	 * @since 6.1
+	 * @see #setBroadcastParallelism
+	 * @see #setBroadcastBacklogLimit
+	 */
+	public void setBroadcastExecutor(@Nullable Executor broadcastExecutor) {
+		this.broadcastExecutor = broadcastExecutor;
+		initBroadcastLanes();
+	}
+
+	/**
+	 * Return the configured broadcast executor.
+	 * @since 6.1
+	 */
+	@Nullable
+	public Executor getBroadcastExecutor() {
+		return this.broadcastExecutor;
+	}
+
+	/**
+	 * Configure the number of lanes to partition subscribed sessions into
+	 * when a {@link #setBroadcastExecutor broadcastExecutor} is set, i.e.
+	 * the maximum number of batches of a published message delivered in parallel.
+	 * <p>By default this is set to the number of available processors.
+	 * @since 6.1
+	 */
+	public void setBroadcastParallelism(int broadcastParallelism) {
+		Assert.isTrue(broadcastParallelism > 0, "Broadcast parallelism must be greater than 0");
+		this.broadcastParallelism = broadcastParallelism;
+		initBroadcastLanes();
+	}
+
+	/**
+	 * Return the configured broadcast parallelism.
+	 * @since 6.1
+	 */
+	public int getBroadcastParallelism() {
+		return this.broadcastParallelism;
+	}
+
+	/**
+	 * Configure the maximum number of published messages that may be pending
+	 * delivery to a session when a {@link #setBroadcastExecutor broadcastExecutor}
+	 * is set. Further messages to a session that has reached the limit are
+	 * dropped until it has caught up, which keeps slow clients from building up
+	 * an unbounded backlog without holding up delivery to other sessions.
+	 * <p>By default this is set to -1 which means no limit.
+	 * @since 6.1
+	 */
+	public void setBroadcastBacklogLimit(int broadcastBacklogLimit) {
+		this.broadcastBacklogLimit = broadcastBacklogLimit;
+	}
+
+	/**
+	 * Return the configured broadcast backlog limit.
+	 * @since 6.1
+	 */
+	public int getBroadcastBacklogLimit() {
+		return this.broadcastBacklogLimit;
+	}
+
+	private void initBroadcastLanes() {
+		Executor executor = this.broadcastExecutor;
+		if (executor != null) {
+			BroadcastLane[] lanes = new BroadcastLane[this.broadcastParallelism];
+			for (int i = 0; i < lanes.length; i++) {
+				lanes[i] = new BroadcastLane(executor);
+			}
+			this.broadcastLanes = lanes;
+		}
+		else {
+			this.broadcastLanes = null;
+		}
+	}
+
 
 	@Override
 	public void startInternal() {
@@ -402,33 +504,81 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 		if (!subscriptions.isEmpty() && logger.isDebugEnabled()) {
 			logger.debug("Broadcasting to " + subscriptions.size() + " sessions.");
 		}
+		BroadcastLane[] lanes = this.broadcastLanes;
+		if (lanes != null) {
+			sendMessageToSubscribers(subscriptions, message, lanes);
+			return;
+		}
 		long now = System.currentTimeMillis();
 		subscriptions.forEach((sessionId, subscriptionIds) -> {
-			for (String subscriptionId : subscriptionIds) {
-				SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
-				initHeaders(headerAccessor);
-				headerAccessor.setSessionId(sessionId);
-				headerAccessor.setSubscriptionId(subscriptionId);
-				headerAccessor.copyHeadersIfAbsent(message.getHeaders());
-				headerAccessor.setLeaveMutable(true);
-				Object payload = message.getPayload();
-				Message<?> reply = MessageBuilder.createMessage(payload, headerAccessor.getMessageHeaders());
-				SessionInfo info = this.sessions.get(sessionId);
-				if (info != null) {
-					try {
-						info.getClientOutboundChannel().send(reply);
-					}
-					catch (Throwable ex) {
-						if (logger.isErrorEnabled()) {
-							logger.error("Failed to send " + message, ex);
+			SessionInfo info = this.sessions.get(sessionId);
+			if (info != null) {
+				sendMessageToSession(info, subscriptionIds, message, now);
+			}
+		});
+	}
+
+	private void sendMessageToSubscribers(
+			MultiValueMap<String, String> subscriptions, Message<?> message, BroadcastLane[] lanes) {
+
+		List<List<Delivery>> batches = new ArrayList<>(lanes.length);
+		for (int i = 0; i < lanes.length; i++) {
+			batches.add(new ArrayList<>());
+		}
+		subscriptions.forEach((sessionId, subscriptionIds) -> {
+			SessionInfo info = this.sessions.get(sessionId);
+			if (info == null) {
+				return;
+			}
+			if (!info.tryAddPendingBroadcast(this.broadcastBacklogLimit)) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Dropping message for session " + sessionId + ": " +
+							"broadcast backlog limit of " + this.broadcastBacklogLimit + " reached");
+				}
+				return;
+			}
+			batches.get(Math.floorMod(sessionId.hashCode(), lanes.length)).add(new Delivery(info, subscriptionIds));
+		});
+		for (int i = 0; i < lanes.length; i++) {
+			List<Delivery> batch = batches.get(i);
+			if (!batch.isEmpty()) {
+				lanes[i].submit(() -> {
+					long now = System.currentTimeMillis();
+					for (Delivery delivery : batch) {
+						try {
+							sendMessageToSession(delivery.info(), delivery.subscriptionIds(), message, now);
+						}
+						finally {
+							delivery.info().removePendingBroadcast();
 						}
 					}
-					finally {
-						info.setLastWriteTime(now);
-					}
+				});
+			}
+		}
+	}
+
+	private void sendMessageToSession(SessionInfo info, List<String> subscriptionIds, Message<?> message, long now) {
+		for (String subscriptionId : subscriptionIds) {
+			SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+			initHeaders(headerAccessor);
+			headerAccessor.setSessionId(info.getSessionId());
+			headerAccessor.setSubscriptionId(subscriptionId);
+			headerAccessor.copyHeadersIfAbsent(message.getHeaders());
+			headerAccessor.setLeaveMutable(true);
+			Object payload = message.getPayload();
+			Message<?> reply = MessageBuilder.createMessage(payload, headerAccessor.getMessageHeaders());
+			try {
+				info.getClientOutboundChannel().send(reply);
+			}
+			catch (Throwable ex) {
+				if (logger.isErrorEnabled()) {
+					logger.error("Failed to send " + message, ex);
 				}
 			}
-		});
+			finally {
+				info.setLastWriteTime(now);
+			}
+		}
 	}
 
 	@Override
@@ -457,6 +607,8 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 
 		private volatile long lastWriteTime;
 
+		private final AtomicInteger pendingBroadcasts = new AtomicInteger();
+
 
 		public SessionInfo(String sessionId, @Nullable Principal user, MessageChannel outboundChannel,
 				@Nullable long[] clientHeartbeat, @Nullable long[] serverHeartbeat) {
@@ -513,6 +665,83 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 		public void setLastWriteTime(long lastWriteTime) {
 			this.lastWriteTime = lastWriteTime;
 		}
+
+		public boolean tryAddPendingBroadcast(int limit) {
+			if (limit < 0) {
+				this.pendingBroadcasts.incrementAndGet();
+				return true;
+			}
+			for (;;) {
+				int pending = this.pendingBroadcasts.get();
+				if (pending >= limit) {
+					return false;
+				}
+				if (this.pendingBroadcasts.compareAndSet(pending, pending + 1)) {
+					return true;
+				}
+			}
+		}
+
+		public void removePendingBroadcast() {
+			this.pendingBroadcasts.decrementAndGet();
+		}
+	}
+
+
+	/**
+	 * The subscriptions of a session to deliver a published message to.
+	 */
+	private record Delivery(SessionInfo info, List<String> subscriptionIds) {
+	}
+
+
+	/**
+	 * Runs submitted batches on an {@link Executor} one at a time,
+	 * in the order of submission.
+	 */
+	private static class BroadcastLane implements Runnable {
+
+		private final Executor executor;
+
+		private final Queue<Runnable> batches = new ConcurrentLinkedQueue<>();
+
+		private final AtomicBoolean running = new AtomicBoolean();
+
+		BroadcastLane(Executor executor) {
+			this.executor = executor;
+		}
+
+		public void submit(Runnable batch) {
+			this.batches.add(batch);
+			trySchedule();
+		}
+
+		private void trySchedule() {
+			// Take the running flag only if the queue is not empty
+			if (!this.batches.isEmpty() && this.running.compareAndSet(false, true)) {
+				try {
+					this.executor.execute(this);
+				}
+				catch (RejectedExecutionException ex) {
+					// Executor saturated or shut down: deliver in the calling thread.
+					run();
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				Runnable batch;
+				while ((batch = this.batches.poll()) != null) {
+					batch.run();
+				}
+			}
+			finally {
+				this.running.set(false);
+			}
+			trySchedule();
+		}
 	}
 
 
@@ -40,9 +40,13 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 class DefaultSubscriptionRegistryTests {
 
-	private final DefaultSubscriptionRegistry registry = new DefaultSubscriptionRegistry();
+	final DefaultSubscriptionRegistry registry = createRegistry();
 
 
+	DefaultSubscriptionRegistry createRegistry() {
+		return new DefaultSubscriptionRegistry();
+	}
+
 	@Test
 	void registerSubscriptionInvalidInput() {
 		String sessId = "sess01";
@@ -469,13 +473,13 @@ class DefaultSubscriptionRegistryTests {
 		assertThat(this.registry.findSubscriptions(createMessage("/bar"))).hasSize(2);
 	}
 
-	private Message<?> createMessage(String destination) {
+	Message<?> createMessage(String destination) {
 		SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
 		accessor.setDestination(destination);
 		return MessageBuilder.createMessage("", accessor.getMessageHeaders());
 	}
 
-	private Message<?> subscribeMessage(String sessionId, String subscriptionId, String destination) {
+	Message<?> subscribeMessage(String sessionId, String subscriptionId, String destination) {
 		return subscribeMessage(sessionId, subscriptionId, destination, null);
 	}
 
@@ -492,7 +496,7 @@ class DefaultSubscriptionRegistryTests {
 		return MessageBuilder.createMessage("", accessor.getMessageHeaders());
 	}
 
-	private Message<?> unsubscribeMessage(String sessionId, String subscriptionId) {
+	Message<?> unsubscribeMessage(String sessionId, String subscriptionId) {
 		SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.UNSUBSCRIBE);
 		accessor.setSessionId(sessionId);
 		accessor.setSubscriptionId(subscriptionId);
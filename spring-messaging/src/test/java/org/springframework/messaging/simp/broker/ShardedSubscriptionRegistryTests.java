@@ -0,0 +1,165 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.messaging.simp.broker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.MultiValueMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ShardedSubscriptionRegistry}, in addition to the
+ * {@link DefaultSubscriptionRegistry} tests that it is expected to pass.
+ *
+ * @author agent
+ */
+class ShardedSubscriptionRegistryTests extends DefaultSubscriptionRegistryTests {
+
+	@Override
+	ShardedSubscriptionRegistry createRegistry() {
+		return new ShardedSubscriptionRegistry(4);
+	}
+
+	@Test
+	void shardCountIsRoundedUpToPowerOfTwo() {
+		assertThat(new ShardedSubscriptionRegistry(3).getShardCount()).isEqualTo(4);
+		assertThat(new ShardedSubscriptionRegistry().getShardCount())
+				.isEqualTo(ShardedSubscriptionRegistry.DEFAULT_SHARD_COUNT);
+	}
+
+	@Test
+	void patternSubscriptionsAlongDestinationPath() {
+		this.registry.registerSubscription(subscribeMessage("sess01", "subs01", "/**"));
+		this.registry.registerSubscription(subscribeMessage("sess01", "subs02", "/topic/**"));
+		this.registry.registerSubscription(subscribeMessage("sess01", "subs03", "/topic/a/*"));
+		this.registry.registerSubscription(subscribeMessage("sess01", "subs04", "/topic/b/*"));
+		this.registry.registerSubscription(subscribeMessage("sess02", "subs01", "/topic/a/{id}"));
+
+		MultiValueMap<String, String> actual = this.registry.findSubscriptions(createMessage("/topic/a/1"));
+		assertThat(actual).hasSize(2);
+		assertThat(actual.get("sess01")).containsExactlyInAnyOrder("subs01", "subs02", "subs03");
+		assertThat(actual.get("sess02")).containsExactly("subs01");
+
+		actual = this.registry.findSubscriptions(createMessage("/queue/a/1"));
+		assertThat(actual).hasSize(1);
+		assertThat(actual.get("sess01")).containsExactly("subs01");
+	}
+
+	@Test
+	void patternSubscriptionWithOptionalTrailingSegment() {
+		this.registry.registerSubscription(subscribeMessage("sess01", "subs01", "/topic/a/**"));
+
+		MultiValueMap<String, String> actual = this.registry.findSubscriptions(createMessage("/topic/a"));
+		assertThat(actual).hasSize(1);
+		assertThat(actual.get("sess01")).containsExactly("subs01");
+	}
+
+	@Test
+	void patternSubscriptionWithDotSeparator() {
+		this.registry.setPathMatcher(new AntPathMatcher("."));
+		this.registry.registerSubscription(subscribeMessage("sess01", "subs01", "price.stock.*"));
+		this.registry.registerSubscription(subscribeMessage("sess01", "subs02", "price.**"));
+
+		MultiValueMap<String, String> actual = this.registry.findSubscriptions(createMessage("price.stock.IBM"));
+		assertThat(actual).hasSize(1);
+		assertThat(actual.get("sess01")).containsExactlyInAnyOrder("subs01", "subs02");
+
+		actual = this.registry.findSubscriptions(createMessage("price.bond.X"));
+		assertThat(actual.get("sess01")).containsExactly("subs02");
+	}
+
+	@Test
+	void patternSubscriptionWithCaseInsensitivePathMatcher() {
+		AntPathMatcher pathMatcher = new AntPathMatcher();
+		pathMatcher.setCaseSensitive(false);
+		this.registry.setPathMatcher(pathMatcher);
+		this.registry.registerSubscription(subscribeMessage("sess01", "subs01", "/Topic/*"));
+
+		MultiValueMap<String, String> actual = this.registry.findSubscriptions(createMessage("/topic/a"));
+		assertThat(actual).hasSize(1);
+		assertThat(actual.get("sess01")).containsExactly("subs01");
+	}
+
+	@Test
+	void cachedDestinationsAreInvalidatedOnChange() {
+		this.registry.registerSubscription(subscribeMessage("sess01", "subs01", "/foo"));
+		this.registry.registerSubscription(subscribeMessage("sess01", "subs02", "/bar"));
+		assertThat(this.registry.findSubscriptions(createMessage("/foo")).get("sess01")).containsExactly("subs01");
+		assertThat(this.registry.findSubscriptions(createMessage("/bar")).get("sess01")).containsExactly("subs02");
+
+		this.registry.registerSubscription(subscribeMessage("sess02", "subs01", "/f*"));
+		assertThat(this.registry.findSubscriptions(createMessage("/foo"))).hasSize(2);
+		assertThat(this.registry.findSubscriptions(createMessage("/bar"))).hasSize(1);
+
+		this.registry.registerSubscription(subscribeMessage("sess02", "subs02", "/bar"));
+		assertThat(this.registry.findSubscriptions(createMessage("/bar"))).hasSize(2);
+
+		this.registry.unregisterAllSubscriptions("sess02");
+		assertThat(this.registry.findSubscriptions(createMessage("/foo"))).hasSize(1);
+		assertThat(this.registry.findSubscriptions(createMessage("/bar"))).hasSize(1);
+	}
+
+	@Test
+	void concurrentSubscriptionChanges() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				String sessionId = "sess" + i;
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < 1000; j++) {
+						String destination = (j % 3 == 0 ? "/topic/**" : "/topic/" + (j % 5));
+						this.registry.registerSubscription(subscribeMessage(sessionId, "subs" + j, destination));
+						this.registry.findSubscriptions(createMessage("/topic/" + (j % 5)));
+						if (j % 2 == 0) {
+							this.registry.unregisterSubscription(unsubscribeMessage(sessionId, "subs" + j));
+						}
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		DefaultSubscriptionRegistry expected = new DefaultSubscriptionRegistry();
+		for (int i = 0; i < 4; i++) {
+			for (int j = 1; j < 1000; j += 2) {
+				String destination = (j % 3 == 0 ? "/topic/**" : "/topic/" + (j % 5));
+				expected.registerSubscription(subscribeMessage("sess" + i, "subs" + j, destination));
+			}
+		}
+		for (int k = 0; k < 5; k++) {
+			MultiValueMap<String, String> actual = this.registry.findSubscriptions(createMessage("/topic/" + k));
+			expected.findSubscriptions(createMessage("/topic/" + k)).forEach((sessionId, subscriptionIds) ->
+					assertThat(actual.get(sessionId)).containsExactlyInAnyOrderElementsOf(subscriptionIds));
+			assertThat(actual).hasSameSizeAs(expected.findSubscriptions(createMessage("/topic/" + k)));
+		}
+	}
+
+}
@@ -18,6 +18,7 @@ package org.springframework.messaging.simp.broker;
 
 import java.security.Principal;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ScheduledFuture;
@@ -47,6 +48,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -151,6 +153,58 @@ public class SimpleBrokerMessageHandlerTests {
 		assertThat(messageCaptured(sess2, "sub3", "/bar")).isTrue();
 	}
 
+	@Test
+	public void subscribePublishWithBroadcastExecutor() {
+		List<Runnable> tasks = new ArrayList<>();
+		this.messageHandler.setBroadcastExecutor(tasks::add);
+		this.messageHandler.setBroadcastParallelism(2);
+
+		startSession("sess1");
+		startSession("sess2");
+
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess1", "sub1", "/foo"));
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess1", "sub2", "/foo"));
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess2", "sub1", "/foo"));
+
+		this.messageHandler.handleMessage(createMessage("/foo", "message1"));
+		this.messageHandler.handleMessage(createMessage("/foo", "message2"));
+
+		verify(this.clientOutChannel, never()).send(any());
+		assertThat(tasks).isNotEmpty().hasSizeLessThanOrEqualTo(2);
+		tasks.forEach(Runnable::run);
+
+		verify(this.clientOutChannel, times(6)).send(this.messageCaptor.capture());
+		assertThat(messageCaptured("sess1", "sub1", "/foo")).isTrue();
+		assertThat(messageCaptured("sess1", "sub2", "/foo")).isTrue();
+		assertThat(messageCaptured("sess2", "sub1", "/foo")).isTrue();
+		assertThat(this.messageCaptor.getAllValues().stream()
+				.filter(message -> "sess1".equals(SimpMessageHeaderAccessor.getSessionId(message.getHeaders())))
+				.map(Message::getPayload))
+				.containsExactly("message1", "message1", "message2", "message2");
+	}
+
+	@Test
+	public void broadcastBacklogLimit() {
+		List<Runnable> tasks = new ArrayList<>();
+		this.messageHandler.setBroadcastExecutor(tasks::add);
+		this.messageHandler.setBroadcastBacklogLimit(1);
+
+		startSession("sess1");
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess1", "sub1", "/foo"));
+
+		this.messageHandler.handleMessage(createMessage("/foo", "message1"));
+		this.messageHandler.handleMessage(createMessage("/foo", "message2"));
+		tasks.forEach(Runnable::run);
+		tasks.clear();
+
+		this.messageHandler.handleMessage(createMessage("/foo", "message3"));
+		tasks.forEach(Runnable::run);
+
+		verify(this.clientOutChannel, times(2)).send(this.messageCaptor.capture());
+		assertThat(this.messageCaptor.getAllValues()).map(Message::getPayload)
+				.containsExactly("message1", "message3");
+	}
+
 	@Test
 	public void connect() {
 		String id = "sess1";
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.r2dbc.core;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * A {@link ConnectionFunction} that executes a statement for each of a stream of
+ * parameter sets, grouping the parameter sets into driver batches and summing up
+ * the number of updated rows. Like {@link ResultFunction}, it defers generation
+ * of the SQL until the function has been applied and memoizes it afterwards.
+ *
+ * @author agent
+ * @since 6.1
+ * @see DatabaseClient.GenericExecuteSpec#batch(Publisher, int, int)
+ */
+final class BatchFunction implements ConnectionFunction<Mono<Long>> {
+
+	final Supplier<String> sqlSupplier;
+	final Publisher<? extends Map<String, ?>> parameterSets;
+	final int batchSize;
+	final int concurrency;
+	final BatchStatementFunction statementFunction;
+	final StatementFilterFunction filterFunction;
+	final ExecuteFunction executeFunction;
+
+	@Nullable
+	String resolvedSql = null;
+
+	BatchFunction(Supplier<String> sqlSupplier, Publisher<? extends Map<String, ?>> parameterSets,
+			int batchSize, int concurrency, BatchStatementFunction statementFunction,
+			StatementFilterFunction filterFunction, ExecuteFunction executeFunction) {
+
+		this.sqlSupplier = sqlSupplier;
+		this.parameterSets = parameterSets;
+		this.batchSize = batchSize;
+		this.concurrency = concurrency;
+		this.statementFunction = statementFunction;
+		this.filterFunction = filterFunction;
+		this.executeFunction = executeFunction;
+	}
+
+	@Override
+	public Mono<Long> apply(Connection connection) {
+		String sql = this.sqlSupplier.get();
+		Assert.state(StringUtils.hasText(sql), "SQL returned by supplier must not be empty");
+		this.resolvedSql = sql;
+		return Flux.from(this.parameterSets)
+				.buffer(this.batchSize)
+				.flatMap(batch -> executeBatch(connection, sql, batch), this.concurrency)
+				.collect(Collectors.summingLong(Long::longValue))
+				.checkpoint("SQL \"" + sql + "\" [DatabaseClient]");
+	}
+
+	private Mono<Long> executeBatch(Connection connection, String sql, List<? extends Map<String, ?>> batch) {
+		List<Statement> statements = this.statementFunction.createStatements(connection, sql, batch);
+		return Flux.fromIterable(statements)
+				.concatMap(statement -> this.filterFunction.filter(statement, this.executeFunction))
+				.flatMap(Result::getRowsUpdated)
+				.cast(Number.class)
+				.collect(Collectors.summingLong(Number::longValue));
+	}
+
+	@Nullable
+	@Override
+	public String getSql() {
+		return this.resolvedSql;
+	}
+
+
+	/**
+	 * Strategy for creating the statements for one batch of parameter sets.
+	 */
+	@FunctionalInterface
+	interface BatchStatementFunction {
+
+		/**
+		 * Create and bind the statements for the given parameter sets, typically
+		 * a single statement with one binding per parameter set.
+		 * @param connection the connection to create the statements on
+		 * @param sql the SQL statement as provided by the user
+		 * @param batch the parameter sets of the current batch
+		 * @return the statements to execute in order
+		 */
+		List<Statement> createStatements(Connection connection, String sql, List<? extends Map<String, ?>> batch);
+	}
+
+}
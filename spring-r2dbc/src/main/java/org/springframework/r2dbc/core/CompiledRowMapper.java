@@ -0,0 +1,335 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.r2dbc.core;
+
+import java.beans.PropertyDescriptor;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import io.r2dbc.spi.OutParameters;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.ReadableMetadata;
+import io.r2dbc.spi.Row;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.KotlinDetector;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * Mapping {@code Function} for {@link DatabaseClient.GenericExecuteSpec#mapProperties},
+ * with the same mapping rules as {@link DataClassRowMapper} and the shared
+ * {@link DefaultConversionService}.
+ *
+ * <p>The mapping of items to constructor arguments and setter methods is resolved
+ * once per item layout of the {@link Readable}. Once an item layout has been mapped
+ * for a threshold number of rows, a mapping function specific to that layout is
+ * generated: it reads each item by index with its target type and invokes the
+ * constructor and setter methods of the mapped class directly, without a
+ * {@code BeanWrapper}. Values with generic target types are still converted
+ * through the {@code ConversionService}. If a value cannot be read with its
+ * target type, or if a {@code null} value cannot be passed on directly, the
+ * {@code Readable} is mapped by a regular {@code DataClassRowMapper} instead.
+ * This includes {@code null} values for constructor parameters of Kotlin
+ * classes, so that parameter defaults and nullability are applied as usual.
+ *
+ * @author agent
+ * @since 6.1
+ * @param <T> the result type
+ * @see ReadableMapperGenerator
+ */
+final class CompiledRowMapper<T> implements Function<Readable, T> {
+
+	/**
+	 * The default number of rows of a given item layout to map reflectively
+	 * before generating a mapping function for it.
+	 */
+	static final int DEFAULT_GENERATION_THRESHOLD = 100;
+
+	private static final Log logger = LogFactory.getLog(CompiledRowMapper.class);
+
+
+	private final Class<T> mappedClass;
+
+	private final DataClassRowMapper<T> delegate;
+
+	private final Constructor<T> mappedConstructor;
+
+	private final String[] constructorParameterNames;
+
+	private final TypeDescriptor[] constructorParameterTypes;
+
+	private final Map<String, PropertyDescriptor> mappedProperties = new HashMap<>();
+
+	private final boolean nullableArguments;
+
+	private final int generationThreshold;
+
+	private final Map<List<String>, ItemMapping> itemMappings = new ConcurrentHashMap<>();
+
+	@Nullable
+	private volatile MetadataMapping lastMetadataMapping;
+
+
+	/**
+	 * Create a new {@code CompiledRowMapper}.
+	 * @param mappedClass the class that each row should be mapped to
+	 */
+	CompiledRowMapper(Class<T> mappedClass) {
+		this(mappedClass, DEFAULT_GENERATION_THRESHOLD);
+	}
+
+	/**
+	 * Create a new {@code CompiledRowMapper}.
+	 * @param mappedClass the class that each row should be mapped to
+	 * @param generationThreshold the number of rows of a given item layout to
+	 * map reflectively before generating a mapping function for it, or -1 for
+	 * always mapping rows reflectively
+	 */
+	CompiledRowMapper(Class<T> mappedClass, int generationThreshold) {
+		this.mappedClass = mappedClass;
+		this.delegate = new DataClassRowMapper<>(mappedClass);
+		this.mappedConstructor = BeanUtils.getResolvableConstructor(mappedClass);
+		int paramCount = this.mappedConstructor.getParameterCount();
+		this.constructorParameterNames = (paramCount > 0 ?
+				BeanUtils.getParameterNames(this.mappedConstructor) : new String[0]);
+		this.constructorParameterTypes = new TypeDescriptor[paramCount];
+		for (int i = 0; i < paramCount; i++) {
+			this.constructorParameterTypes[i] = new TypeDescriptor(new MethodParameter(this.mappedConstructor, i));
+		}
+		for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(mappedClass)) {
+			if (pd.getWriteMethod() != null) {
+				String lowerCaseName = this.delegate.lowerCaseName(pd.getName());
+				this.mappedProperties.put(lowerCaseName, pd);
+				String underscoreName = this.delegate.underscoreName(pd.getName());
+				if (!lowerCaseName.equals(underscoreName)) {
+					this.mappedProperties.put(underscoreName, pd);
+				}
+			}
+		}
+		for (String name : this.constructorParameterNames) {
+			this.mappedProperties.remove(this.delegate.lowerCaseName(name));
+			this.mappedProperties.remove(this.delegate.underscoreName(name));
+		}
+		this.nullableArguments = !(KotlinDetector.isKotlinReflectPresent() && KotlinDetector.isKotlinType(mappedClass));
+		this.generationThreshold = generationThreshold;
+	}
+
+
+	@Override
+	public T apply(Readable readable) {
+		if (readable instanceof Row row) {
+			return getItemMapping(row.getMetadata(), row.getMetadata().getColumnMetadatas()).apply(row);
+		}
+		if (readable instanceof OutParameters out) {
+			return getItemMapping(out.getMetadata(), out.getMetadata().getParameterMetadatas()).apply(out);
+		}
+		return this.delegate.apply(readable);
+	}
+
+	/**
+	 * Obtain the item mapping for the given item layout, reusing the mapping
+	 * of the previous {@code Readable} for the same metadata instance.
+	 */
+	private ItemMapping getItemMapping(Object metadata, List<? extends ReadableMetadata> itemMetadatas) {
+		MetadataMapping last = this.lastMetadataMapping;
+		if (last != null && last.metadata.get() == metadata) {
+			return last.itemMapping;
+		}
+		List<String> itemNames = new ArrayList<>(itemMetadatas.size());
+		for (ReadableMetadata itemMetadata : itemMetadatas) {
+			itemNames.add(itemMetadata.getName());
+		}
+		ItemMapping itemMapping = this.itemMappings.get(itemNames);
+		if (itemMapping == null) {
+			itemMapping = new ItemMapping(itemNames);
+			ItemMapping existing = this.itemMappings.putIfAbsent(itemNames, itemMapping);
+			if (existing != null) {
+				itemMapping = existing;
+			}
+		}
+		this.lastMetadataMapping = new MetadataMapping(metadata, itemMapping);
+		return itemMapping;
+	}
+
+	private static int findIndex(List<String> itemNames, String name) {
+		for (int index = 0; index < itemNames.size(); index++) {
+			// we use equalsIgnoreCase, similar to RowMetadata#contains(String)
+			if (itemNames.get(index).equalsIgnoreCase(name)) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+
+	/**
+	 * The item mapping last used, for the metadata instance that it was used for.
+	 */
+	private class MetadataMapping {
+
+		private final WeakReference<Object> metadata;
+
+		private final ItemMapping itemMapping;
+
+		MetadataMapping(Object metadata, ItemMapping itemMapping) {
+			this.metadata = new WeakReference<>(metadata);
+			this.itemMapping = itemMapping;
+		}
+	}
+
+
+	/**
+	 * Reads the value of an item and converts it to the target type.
+	 */
+	private class ItemReader implements Function<Readable, Object> {
+
+		private final int index;
+
+		private final TypeDescriptor targetType;
+
+		ItemReader(int index, TypeDescriptor targetType) {
+			this.index = index;
+			this.targetType = targetType;
+		}
+
+		@Override
+		@Nullable
+		public Object apply(Readable readable) {
+			Object value = delegate.getItemValue(readable, this.index, this.targetType.getType());
+			ConversionService conversionService = DefaultConversionService.getSharedInstance();
+			return conversionService.convert(value, TypeDescriptor.forObject(value), this.targetType);
+		}
+	}
+
+
+	/**
+	 * The mapping of the items of a specific item layout to constructor
+	 * arguments and setter methods, with a generated mapping function once
+	 * the generation threshold has been reached.
+	 */
+	private class ItemMapping {
+
+		private final int[] constructorIndexes;
+
+		private final Method[] setters;
+
+		private final int[] setterIndexes;
+
+		private final Function<?, ?>[] readers;
+
+		private final AtomicInteger rowCount = new AtomicInteger();
+
+		private volatile boolean eligible;
+
+		@Nullable
+		private volatile Function<Readable, T> generated;
+
+		ItemMapping(List<String> itemNames) {
+			int paramCount = constructorParameterNames.length;
+			this.constructorIndexes = new int[paramCount];
+			List<Function<?, ?>> readers = new ArrayList<>();
+			boolean complete = true;
+			for (int i = 0; i < paramCount; i++) {
+				String name = constructorParameterNames[i];
+				int index = findIndex(itemNames, delegate.lowerCaseName(name));
+				if (index == -1) {
+					index = findIndex(itemNames, delegate.underscoreName(name));
+				}
+				if (index == -1) {
+					// Leave it to the DataClassRowMapper to report the unmapped parameter
+					complete = false;
+				}
+				this.constructorIndexes[i] = index;
+				readers.add(getReader(index, constructorParameterTypes[i]));
+			}
+
+			List<Method> setters = new ArrayList<>();
+			List<Integer> setterIndexes = new ArrayList<>();
+			for (int index = 0; index < itemNames.size(); index++) {
+				String property = delegate.lowerCaseName(StringUtils.delete(itemNames.get(index), " "));
+				PropertyDescriptor pd = mappedProperties.get(property);
+				if (pd != null) {
+					Method setter = pd.getWriteMethod();
+					setters.add(setter);
+					setterIndexes.add(index);
+					readers.add(getReader(index, new TypeDescriptor(new MethodParameter(setter, 0))));
+				}
+			}
+			this.setters = setters.toArray(new Method[0]);
+			this.setterIndexes = setterIndexes.stream().mapToInt(Integer::intValue).toArray();
+			this.readers = readers.toArray(new Function<?, ?>[0]);
+			this.eligible = (complete && generationThreshold >= 0 &&
+					ReadableMapperGenerator.isEligible(mappedConstructor, this.setters));
+		}
+
+		/**
+		 * Return a converting reader for values of generic target types,
+		 * or {@code null} for reading the value with its target type.
+		 */
+		@Nullable
+		private Function<?, ?> getReader(int index, TypeDescriptor targetType) {
+			return (targetType.getResolvableType().hasGenerics() ? new ItemReader(index, targetType) : null);
+		}
+
+		T apply(Readable readable) {
+			Function<Readable, T> generated = this.generated;
+			if (generated == null && this.eligible && this.rowCount.getAndIncrement() == generationThreshold) {
+				generated = generate();
+			}
+			if (generated != null) {
+				return generated.apply(readable);
+			}
+			return delegate.apply(readable);
+		}
+
+		@Nullable
+		private Function<Readable, T> generate() {
+			try {
+				Function<Readable, T> generated = ReadableMapperGenerator.generate(mappedConstructor,
+						this.constructorIndexes, this.setters, this.setterIndexes, this.readers,
+						nullableArguments, delegate,
+						ex -> new BeanInstantiationException(mappedConstructor, "Constructor threw exception", ex));
+				this.generated = generated;
+				return generated;
+			}
+			catch (Throwable ex) {
+				this.eligible = false;
+				if (logger.isDebugEnabled()) {
+					logger.debug("Cannot generate mapping function for " + mappedClass.getName() + ": " + ex);
+				}
+				return null;
+			}
+		}
+	}
+
+}
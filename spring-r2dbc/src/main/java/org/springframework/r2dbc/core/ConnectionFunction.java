@@ -33,5 +33,5 @@ import io.r2dbc.spi.Connection;
  */
 @SuppressWarnings("rawtypes")
 sealed interface ConnectionFunction<R> extends Function<Connection, R>, SqlProvider
-		permits DelegateConnectionFunction, ResultFunction {
+		permits BatchFunction, DelegateConnectionFunction, ResultFunction {
 }
@@ -163,6 +163,13 @@ public interface DatabaseClient extends ConnectionAccessor {
 	 */
 	interface GenericExecuteSpec {
 
+		/**
+		 * The default number of parameter sets per driver batch: {@value}.
+		 * @since 6.1
+		 * @see #batch(Publisher)
+		 */
+		int DEFAULT_BATCH_SIZE = 100;
+
 		/**
 		 * Bind a non-{@code null} value to a parameter identified by its {@code index}.
 		 * @param index zero based index to bind the parameter to
@@ -267,6 +274,10 @@ public interface DatabaseClient extends ConnectionAccessor {
 
 		/**
 		 * Configure a row mapper for the given mapped class and enter the execution stage.
+		 * <p>The row mapper for a given class is shared across statements of this
+		 * client, so that the mapping to the class gets backed by a generated
+		 * mapping function per column layout once that layout has been mapped
+		 * for a number of rows.
 		 * @param mappedClass the target class (a JavaBean or record) with properties to
 		 * map to (bean properties or record components)
 		 * @param <R> the result type
@@ -287,6 +298,48 @@ public interface DatabaseClient extends ConnectionAccessor {
 		 */
 		<R> Flux<R> flatMap(Function<Result, Publisher<R>> mappingFunction);
 
+		/**
+		 * Perform the SQL call once for each parameter set emitted by the given
+		 * publisher, using {@linkplain #DEFAULT_BATCH_SIZE default batches} that are
+		 * executed one after the other.
+		 * @param parameterSets the parameter sets, each a map with parameter names
+		 * as keys and either a scalar value or a {@link io.r2dbc.spi.Parameter} as value
+		 * @return a {@link UpdatedRowsFetchSpec} for retrieving the total number of
+		 * updated rows
+		 * @since 6.1
+		 * @see #batch(Publisher, int, int)
+		 */
+		default UpdatedRowsFetchSpec batch(Publisher<? extends Map<String, ?>> parameterSets) {
+			return batch(parameterSets, DEFAULT_BATCH_SIZE, 1);
+		}
+
+		/**
+		 * Perform the SQL call once for each parameter set emitted by the given
+		 * publisher, grouping parameter sets into driver batches.
+		 * <p>Each parameter set is bound as named parameters, in addition to the
+		 * parameters bound to this spec. Up to {@code batchSize} consecutive parameter
+		 * sets are bound to a single {@link Statement}, separated through
+		 * {@link Statement#add()}, so that the driver can send them in one round trip.
+		 * Parameter sets that expand to a different SQL string (e.g. through
+		 * collection arguments) start a new statement.
+		 * <p>All batches are executed on the same connection, participating in the
+		 * current transaction if any (e.g. from {@code R2dbcTransactionManager}).
+		 * With a {@code concurrency} greater than 1, several batches are in flight
+		 * at the same time, relying on the driver to pipeline the statements on
+		 * the connection.
+		 * <p>Filters registered through {@link #filter(StatementFilterFunction)}
+		 * are applied to each batch statement.
+		 * @param parameterSets the parameter sets, each a map with parameter names
+		 * as keys and either a scalar value or a {@link io.r2dbc.spi.Parameter} as value
+		 * @param batchSize the maximum number of parameter sets per driver batch
+		 * @param concurrency the maximum number of batches in flight on the connection
+		 * @return a {@link UpdatedRowsFetchSpec} for retrieving the total number of
+		 * updated rows
+		 * @since 6.1
+		 * @see Statement#add()
+		 */
+		UpdatedRowsFetchSpec batch(Publisher<? extends Map<String, ?>> parameterSets, int batchSize, int concurrency);
+
 		/**
 		 * Perform the SQL call and retrieve the result by entering the execution stage.
 		 */
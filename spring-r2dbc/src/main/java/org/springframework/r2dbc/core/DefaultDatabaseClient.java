@@ -21,12 +21,14 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -56,6 +58,7 @@ import org.springframework.r2dbc.core.binding.BindMarkersFactory;
 import org.springframework.r2dbc.core.binding.BindTarget;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
@@ -84,6 +87,8 @@ final class DefaultDatabaseClient implements DatabaseClient {
 	@Nullable
 	private final NamedParameterExpander namedParameterExpander;
 
+	private final Map<Class<?>, CompiledRowMapper<?>> rowMapperCache = new ConcurrentReferenceHashMap<>();
+
 
 	DefaultDatabaseClient(BindMarkersFactory bindMarkersFactory, ConnectionFactory connectionFactory,
 			ExecuteFunction executeFunction, boolean namedParameters) {
@@ -202,6 +207,17 @@ final class DefaultDatabaseClient implements DatabaseClient {
 				.collect(Collectors.summingLong(Number::longValue));
 	}
 
+	/**
+	 * Obtain the shared row mapper for the given mapped class.
+	 * @param mappedClass the target class (a JavaBean or record)
+	 * @return the corresponding row mapper
+	 * @see CompiledRowMapper
+	 */
+	@SuppressWarnings("unchecked")
+	private <R> CompiledRowMapper<R> getRowMapper(Class<R> mappedClass) {
+		return (CompiledRowMapper<R>) this.rowMapperCache.computeIfAbsent(mappedClass, CompiledRowMapper::new);
+	}
+
 	/**
 	 * Get SQL from a potential provider object.
 	 * @param object an object that is potentially an SqlProvider
@@ -310,7 +326,7 @@ final class DefaultDatabaseClient implements DatabaseClient {
 		}
 
 		@Override
-		public GenericExecuteSpec bindValues(Map<String, ?> source) {
+		public DefaultGenericExecuteSpec bindValues(Map<String, ?> source) {
 			assertNotPreparedOperation();
 			Assert.notNull(source, "Parameter source must not be null");
 
@@ -365,7 +381,7 @@ final class DefaultDatabaseClient implements DatabaseClient {
 		@Override
 		public <R> FetchSpec<R> mapProperties(Class<R> mappedClass) {
 			Assert.notNull(mappedClass, "Mapped class must not be null");
-			return execute(this.sqlSupplier, result -> result.map(new DataClassRowMapper<R>(mappedClass)));
+			return execute(this.sqlSupplier, result -> result.map(getRowMapper(mappedClass)));
 		}
 
 		@Override
@@ -374,6 +390,18 @@ final class DefaultDatabaseClient implements DatabaseClient {
 			return flatMap(this.sqlSupplier, mappingFunction);
 		}
 
+		@Override
+		public UpdatedRowsFetchSpec batch(
+				Publisher<? extends Map<String, ?>> parameterSets, int batchSize, int concurrency) {
+
+			assertNotPreparedOperation();
+			Assert.notNull(parameterSets, "Parameter sets must not be null");
+			Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+			Assert.isTrue(concurrency > 0, "Concurrency must be greater than 0");
+			return () -> inConnection(new BatchFunction(this.sqlSupplier, parameterSets, batchSize, concurrency,
+					this::createBatchStatements, this.filterFunction, DefaultDatabaseClient.this.executeFunction));
+		}
+
 		@Override
 		public FetchSpec<Map<String, Object>> fetch() {
 			return execute(this.sqlSupplier, result -> result.map(ColumnMapRowMapper.INSTANCE));
@@ -396,43 +424,79 @@ final class DefaultDatabaseClient implements DatabaseClient {
 					return statement;
 				}
 
-				if (DefaultDatabaseClient.this.namedParameterExpander != null) {
-					Map<String, Parameter> remainderByName = new LinkedHashMap<>(this.byName);
-					Map<Integer, Parameter> remainderByIndex = new LinkedHashMap<>(this.byIndex);
+				BoundStatement boundStatement = bindStatement(sql);
+				Statement statement = connection.createStatement(boundStatement.sql());
+				boundStatement.binder().accept(statement);
+				return statement;
+			};
 
-					List<String> parameterNames = DefaultDatabaseClient.this.namedParameterExpander.getParameterNames(sql);
-					MapBindParameterSource namedBindings = retrieveParameters(
-							sql, parameterNames, remainderByName, remainderByIndex);
+			return new ResultFunction(sqlSupplier, statementFunction, this.filterFunction,
+					DefaultDatabaseClient.this.executeFunction);
+		}
 
-					PreparedOperation<String> operation = DefaultDatabaseClient.this.namedParameterExpander.expand(
-							sql, DefaultDatabaseClient.this.bindMarkersFactory, namedBindings);
+		/**
+		 * Determine the SQL to execute for the given SQL string, expanding named
+		 * parameters if enabled, along with a binder for the parameters of this spec.
+		 * @param sql the SQL statement as provided by the user
+		 * @return the SQL to execute and the corresponding binder
+		 */
+		private BoundStatement bindStatement(String sql) {
+			if (DefaultDatabaseClient.this.namedParameterExpander != null) {
+				Map<String, Parameter> remainderByName = new LinkedHashMap<>(this.byName);
+				Map<Integer, Parameter> remainderByIndex = new LinkedHashMap<>(this.byIndex);
 
-					String expanded = getRequiredSql(operation);
-					if (logger.isTraceEnabled()) {
-						logger.trace("Expanded SQL [" + expanded + "]");
-					}
+				List<String> parameterNames = DefaultDatabaseClient.this.namedParameterExpander.getParameterNames(sql);
+				MapBindParameterSource namedBindings = retrieveParameters(
+						sql, parameterNames, remainderByName, remainderByIndex);
 
-					Statement statement = connection.createStatement(expanded);
-					BindTarget bindTarget = new StatementWrapper(statement);
+				PreparedOperation<String> operation = DefaultDatabaseClient.this.namedParameterExpander.expand(
+						sql, DefaultDatabaseClient.this.bindMarkersFactory, namedBindings);
 
-					operation.bindTo(bindTarget);
+				String expanded = getRequiredSql(operation);
+				if (logger.isTraceEnabled()) {
+					logger.trace("Expanded SQL [" + expanded + "]");
+				}
 
+				return new BoundStatement(expanded, statement -> {
+					operation.bindTo(new StatementWrapper(statement));
 					bindByName(statement, remainderByName);
 					bindByIndex(statement, remainderByIndex);
+				});
+			}
 
-					return statement;
-				}
-
-				Statement statement = connection.createStatement(sql);
-
+			return new BoundStatement(sql, statement -> {
 				bindByIndex(statement, this.byIndex);
 				bindByName(statement, this.byName);
+			});
+		}
 
-				return statement;
-			};
+		/**
+		 * Create the statements for one batch of parameter sets, binding consecutive
+		 * parameter sets with the same expanded SQL to a single statement.
+		 * @see Statement#add()
+		 */
+		private List<Statement> createBatchStatements(
+				Connection connection, String sql, List<? extends Map<String, ?>> batch) {
 
-			return new ResultFunction(sqlSupplier, statementFunction, this.filterFunction,
-					DefaultDatabaseClient.this.executeFunction);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Executing SQL statement [" + sql + "] for batch of " + batch.size() + " parameter sets");
+			}
+			List<Statement> statements = new ArrayList<>(1);
+			Statement statement = null;
+			String statementSql = null;
+			for (Map<String, ?> parameterSet : batch) {
+				BoundStatement boundStatement = bindValues(parameterSet).bindStatement(sql);
+				if (statement != null && boundStatement.sql().equals(statementSql)) {
+					statement.add();
+				}
+				else {
+					statement = connection.createStatement(boundStatement.sql());
+					statementSql = boundStatement.sql();
+					statements.add(statement);
+				}
+				boundStatement.binder().accept(statement);
+			}
+			return statements;
 		}
 
 		private <T> FetchSpec<T> execute(Supplier<String> sqlSupplier, Function<Result, Publisher<T>> resultAdapter) {
@@ -601,4 +665,11 @@ final class DefaultDatabaseClient implements DatabaseClient {
 		}
 	}
 
+
+	/**
+	 * The SQL to execute for a statement, along with a binder for its parameters.
+	 */
+	private record BoundStatement(String sql, Consumer<Statement> binder) {
+	}
+
 }
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.r2dbc.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+
+import io.r2dbc.spi.Readable;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.HiddenClassUtils;
+
+/**
+ * Generates mapping functions for a specific target class and column layout,
+ * reading items of a {@link Readable} by index and invoking the constructor and
+ * setter methods of the target class directly. Used by {@link CompiledRowMapper}.
+ *
+ * <p>Each generated class is defined as a hidden nestmate class of the target
+ * class, so private constructors and methods of the target class itself are
+ * accessible to it.
+ *
+ * @author agent
+ * @since 6.1
+ */
+final class ReadableMapperGenerator {
+
+	private static final String MAPPER_CLASS_SUFFIX = "$$SpringReadableMapper";
+
+	private static final String READABLE_NAME = Type.getInternalName(Readable.class);
+
+	private static final String FUNCTION_NAME = Type.getInternalName(Function.class);
+
+	private static final String FUNCTION_DESCRIPTOR = Type.getDescriptor(Function.class);
+
+	private static final String READERS_DESCRIPTOR = "[" + FUNCTION_DESCRIPTOR;
+
+	private static final String APPLY_DESCRIPTOR = "(Ljava/lang/Object;)Ljava/lang/Object;";
+
+	private static final String GET_DESCRIPTOR = "(ILjava/lang/Class;)Ljava/lang/Object;";
+
+
+	private ReadableMapperGenerator() {
+	}
+
+
+	/**
+	 * Return whether a mapping function can be generated for the given
+	 * constructor and setter methods, i.e. whether they are accessible from
+	 * a nestmate class of the target class.
+	 * @param ctor the constructor to invoke
+	 * @param setters the setter methods to invoke after instantiation
+	 */
+	static boolean isEligible(Constructor<?> ctor, Method[] setters) {
+		Class<?> clazz = ctor.getDeclaringClass();
+		if (Modifier.isAbstract(clazz.getModifiers()) || clazz.isHidden()) {
+			return false;
+		}
+		for (Class<?> parameterType : ctor.getParameterTypes()) {
+			if (!HiddenClassUtils.isAccessibleFrom(parameterType, clazz)) {
+				return false;
+			}
+		}
+		for (Method setter : setters) {
+			if (Modifier.isStatic(setter.getModifiers()) || !HiddenClassUtils.isAccessibleFrom(setter, clazz) ||
+					!HiddenClassUtils.isAccessibleFrom(setter.getParameterTypes()[0], clazz)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Generate and instantiate a mapping function for the given target class members.
+	 * <p>Each value is read through {@link Readable#get(int, Class)} with the
+	 * target type if there is no reader at the corresponding position in
+	 * {@code readers}: first one position per constructor parameter, then one
+	 * per setter method. Values with a reader are obtained from that reader.
+	 * <p>The {@code fallback} function maps the entire {@code Readable} instead
+	 * if reading any value fails, if a {@code null} value is read for a primitive
+	 * target or, with {@code nullableArguments} not set, if a {@code null} value
+	 * is read for any constructor argument.
+	 * @param ctor the constructor to invoke
+	 * @param constructorIndexes the item index per constructor parameter
+	 * @param setters the setter methods to invoke
+	 * @param setterIndexes the item index per setter method
+	 * @param readers the readers for converted values, or {@code null} entries
+	 * for values to be read with their target type
+	 * @param nullableArguments whether {@code null} may be passed as a
+	 * constructor argument of a non-primitive type
+	 * @param fallback the function to map the entire {@code Readable} with
+	 * @param exceptionTranslator translates exceptions thrown by the constructor
+	 * @throws Throwable if the mapper class cannot be defined
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> Function<Readable, T> generate(Constructor<T> ctor, int[] constructorIndexes,
+			Method[] setters, int[] setterIndexes, Function<?, ?>[] readers, boolean nullableArguments,
+			Function<Readable, T> fallback, Function<Throwable, RuntimeException> exceptionTranslator)
+			throws Throwable {
+
+		MethodHandles.Lookup mapperLookup = HiddenClassUtils.defineNestmateClass(ctor.getDeclaringClass(),
+				generateMapper(ctor, constructorIndexes, setters, setterIndexes, readers, nullableArguments));
+		Class<?> mapperClass = mapperLookup.lookupClass();
+		return (Function<Readable, T>) mapperLookup.findConstructor(mapperClass,
+				MethodType.methodType(void.class, Function[].class, Function.class, Function.class))
+				.invoke(readers, fallback, exceptionTranslator);
+	}
+
+	private static byte[] generateMapper(Constructor<?> ctor, int[] constructorIndexes,
+			Method[] setters, int[] setterIndexes, Function<?, ?>[] readers, boolean nullableArguments) {
+
+		String ownerName = Type.getInternalName(ctor.getDeclaringClass());
+		String className = ownerName + MAPPER_CLASS_SUFFIX;
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+		cw.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+				className, null, "java/lang/Object", new String[] {FUNCTION_NAME});
+		cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "readers", READERS_DESCRIPTOR, null, null).visitEnd();
+		cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "fallback", FUNCTION_DESCRIPTOR, null, null).visitEnd();
+		cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "exceptionTranslator",
+				FUNCTION_DESCRIPTOR, null, null).visitEnd();
+
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>",
+				"(" + READERS_DESCRIPTOR + FUNCTION_DESCRIPTOR + FUNCTION_DESCRIPTOR + ")V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitVarInsn(Opcodes.ALOAD, 1);
+		mv.visitFieldInsn(Opcodes.PUTFIELD, className, "readers", READERS_DESCRIPTOR);
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitVarInsn(Opcodes.ALOAD, 2);
+		mv.visitFieldInsn(Opcodes.PUTFIELD, className, "fallback", FUNCTION_DESCRIPTOR);
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitVarInsn(Opcodes.ALOAD, 3);
+		mv.visitFieldInsn(Opcodes.PUTFIELD, className, "exceptionTranslator", FUNCTION_DESCRIPTOR);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "apply", APPLY_DESCRIPTOR, null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 1);
+		mv.visitTypeInsn(Opcodes.CHECKCAST, READABLE_NAME);
+		mv.visitVarInsn(Opcodes.ASTORE, 2);
+
+		// Read all values into local variables 3 and following, as references
+		Class<?>[] parameterTypes = ctor.getParameterTypes();
+		int valueCount = parameterTypes.length + setters.length;
+		Class<?>[] valueTypes = new Class<?>[valueCount];
+		int[] valueIndexes = new int[valueCount];
+		for (int i = 0; i < parameterTypes.length; i++) {
+			valueTypes[i] = parameterTypes[i];
+			valueIndexes[i] = constructorIndexes[i];
+		}
+		for (int i = 0; i < setters.length; i++) {
+			valueTypes[parameterTypes.length + i] = setters[i].getParameterTypes()[0];
+			valueIndexes[parameterTypes.length + i] = setterIndexes[i];
+		}
+
+		Label readStart = new Label();
+		Label readEnd = new Label();
+		Label readHandler = new Label();
+		Label readDone = new Label();
+		mv.visitTryCatchBlock(readStart, readEnd, readHandler, "java/lang/RuntimeException");
+		mv.visitLabel(readStart);
+		for (int i = 0; i < valueCount; i++) {
+			if (readers[i] != null) {
+				mv.visitVarInsn(Opcodes.ALOAD, 0);
+				mv.visitFieldInsn(Opcodes.GETFIELD, className, "readers", READERS_DESCRIPTOR);
+				mv.visitLdcInsn(i);
+				mv.visitInsn(Opcodes.AALOAD);
+				mv.visitVarInsn(Opcodes.ALOAD, 2);
+				mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, FUNCTION_NAME, "apply", APPLY_DESCRIPTOR, true);
+			}
+			else {
+				mv.visitVarInsn(Opcodes.ALOAD, 2);
+				mv.visitLdcInsn(valueIndexes[i]);
+				generateClassConstant(mv, valueTypes[i]);
+				mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, READABLE_NAME, "get", GET_DESCRIPTOR, true);
+			}
+			mv.visitTypeInsn(Opcodes.CHECKCAST,
+					Type.getInternalName(ClassUtils.resolvePrimitiveIfNecessary(valueTypes[i])));
+			mv.visitVarInsn(Opcodes.ASTORE, 3 + i);
+		}
+		mv.visitLabel(readEnd);
+		mv.visitJumpInsn(Opcodes.GOTO, readDone);
+		mv.visitLabel(readHandler);
+		mv.visitInsn(Opcodes.POP);
+		generateFallback(mv, className);
+		mv.visitLabel(readDone);
+
+		// Map the entire Readable reflectively for null values that cannot be passed on
+		for (int i = 0; i < valueCount; i++) {
+			if (valueTypes[i].isPrimitive() || (i < parameterTypes.length && !nullableArguments)) {
+				Label notNull = new Label();
+				mv.visitVarInsn(Opcodes.ALOAD, 3 + i);
+				mv.visitJumpInsn(Opcodes.IFNONNULL, notNull);
+				generateFallback(mv, className);
+				mv.visitLabel(notNull);
+			}
+		}
+
+		// Invoke constructor, translating any exception that it throws
+		Label tryStart = new Label();
+		Label tryEnd = new Label();
+		Label handler = new Label();
+		mv.visitTryCatchBlock(tryStart, tryEnd, handler, "java/lang/Throwable");
+		mv.visitTypeInsn(Opcodes.NEW, ownerName);
+		mv.visitInsn(Opcodes.DUP);
+		for (int i = 0; i < parameterTypes.length; i++) {
+			generateLoadValue(mv, valueTypes[i], 3 + i);
+		}
+		mv.visitLabel(tryStart);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, ownerName, "<init>", Type.getConstructorDescriptor(ctor), false);
+		mv.visitLabel(tryEnd);
+		int instanceSlot = 3 + valueCount;
+		mv.visitVarInsn(Opcodes.ASTORE, instanceSlot);
+
+		// Invoke setter methods
+		for (int i = 0; i < setters.length; i++) {
+			Method setter = setters[i];
+			int valueIndex = parameterTypes.length + i;
+			mv.visitVarInsn(Opcodes.ALOAD, instanceSlot);
+			generateLoadValue(mv, valueTypes[valueIndex], 3 + valueIndex);
+			mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, ownerName, setter.getName(),
+					Type.getMethodDescriptor(setter), false);
+			Class<?> returnType = setter.getReturnType();
+			if (returnType != void.class) {
+				mv.visitInsn(returnType == long.class || returnType == double.class ? Opcodes.POP2 : Opcodes.POP);
+			}
+		}
+		mv.visitVarInsn(Opcodes.ALOAD, instanceSlot);
+		mv.visitInsn(Opcodes.ARETURN);
+
+		mv.visitLabel(handler);
+		mv.visitVarInsn(Opcodes.ASTORE, instanceSlot);
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitFieldInsn(Opcodes.GETFIELD, className, "exceptionTranslator", FUNCTION_DESCRIPTOR);
+		mv.visitVarInsn(Opcodes.ALOAD, instanceSlot);
+		mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, FUNCTION_NAME, "apply", APPLY_DESCRIPTOR, true);
+		mv.visitTypeInsn(Opcodes.CHECKCAST, "java/lang/Throwable");
+		mv.visitInsn(Opcodes.ATHROW);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	/**
+	 * Generate code that pushes the given class onto the stack, using the
+	 * {@code TYPE} constant of the corresponding wrapper class for primitives.
+	 */
+	private static void generateClassConstant(MethodVisitor mv, Class<?> type) {
+		if (type.isPrimitive()) {
+			mv.visitFieldInsn(Opcodes.GETSTATIC, Type.getInternalName(ClassUtils.resolvePrimitiveIfNecessary(type)),
+					"TYPE", "Ljava/lang/Class;");
+		}
+		else {
+			mv.visitLdcInsn(Type.getType(type));
+		}
+	}
+
+	/**
+	 * Generate code that pushes the value in the given local variable onto
+	 * the stack, unboxing it for a primitive type.
+	 */
+	private static void generateLoadValue(MethodVisitor mv, Class<?> type, int slot) {
+		mv.visitVarInsn(Opcodes.ALOAD, slot);
+		if (type.isPrimitive()) {
+			String wrapperName = Type.getInternalName(ClassUtils.resolvePrimitiveIfNecessary(type));
+			mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapperName, type.getName() + "Value",
+					"()" + Type.getDescriptor(type), false);
+		}
+	}
+
+	/**
+	 * Generate code that returns the result of the fallback function
+	 * for the {@code Readable} in local variable 2.
+	 */
+	private static void generateFallback(MethodVisitor mv, String className) {
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitFieldInsn(Opcodes.GETFIELD, className, "fallback", FUNCTION_DESCRIPTOR);
+		mv.visitVarInsn(Opcodes.ALOAD, 2);
+		mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, FUNCTION_NAME, "apply", APPLY_DESCRIPTOR, true);
+		mv.visitInsn(Opcodes.ARETURN);
+	}
+
+}
@@ -136,6 +136,50 @@ abstract class AbstractDatabaseClientIntegrationTests {
 				.verifyComplete();
 	}
 
+	@Test
+	public void executeBatchInsert() {
+		DatabaseClient databaseClient = DatabaseClient.create(connectionFactory);
+
+		Flux<Map<String, Object>> parameterSets = Flux.range(1, 25).map(id -> Map.of(
+				"id", id, "name", "SET " + id, "manual", Parameters.in(Integer.class)));
+
+		databaseClient.sql("INSERT INTO legoset (id, name, manual) VALUES(:id, :name, :manual)")
+				.batch(parameterSets, 10, 2)
+				.rowsUpdated()
+				.as(StepVerifier::create)
+				.expectNext(25L)
+				.verifyComplete();
+
+		databaseClient.sql("SELECT COUNT(*) FROM legoset")
+				.mapValue(Long.class)
+				.first()
+				.as(StepVerifier::create)
+				.expectNext(25L)
+				.verifyComplete();
+	}
+
+	@Test
+	public void executeBatchInsertWithSharedParameter() {
+		DatabaseClient databaseClient = DatabaseClient.create(connectionFactory);
+
+		databaseClient.sql("INSERT INTO legoset (id, name, manual) VALUES(:id, :name, :manual)")
+				.bind("name", "SCHAUFELRADBAGGER")
+				.bindNull("manual", Integer.class)
+				.batch(Flux.just(Map.of("id", 42055), Map.of("id", 42056), Map.of("id", 42057)))
+				.rowsUpdated()
+				.as(StepVerifier::create)
+				.expectNext(3L)
+				.verifyComplete();
+
+		databaseClient.sql("SELECT id FROM legoset WHERE name = :name ORDER BY id")
+				.bind("name", "SCHAUFELRADBAGGER")
+				.mapValue(Integer.class)
+				.all()
+				.as(StepVerifier::create)
+				.expectNext(42055, 42056, 42057)
+				.verifyComplete();
+	}
+
 	@Test
 	public void shouldTranslateDuplicateKeyException() {
 		DatabaseClient databaseClient = DatabaseClient.create(connectionFactory);
@@ -16,7 +16,10 @@
 
 package org.springframework.r2dbc.core;
 
+import java.util.Map;
+
 import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Parameters;
 import io.r2dbc.spi.Result;
 import org.assertj.core.api.Condition;
 import org.junit.jupiter.api.AfterEach;
@@ -183,6 +186,30 @@ abstract class AbstractTransactionalDatabaseClientIntegrationTests  {
 				.verifyComplete();
 	}
 
+	@Test
+	public void shouldRollbackBatchInTransaction() {
+		Flux<Map<String, Object>> parameterSets = Flux.range(1, 10).map(id -> Map.of(
+				"id", id, "name", "SET " + id, "manual", Parameters.in(Integer.class)));
+
+		Mono<Object> batch = databaseClient.sql(getInsertIntoLegosetStatement())
+				.batch(parameterSets, 3, 2)
+				.rowsUpdated()
+				.doOnNext(count -> assertThat(count).isEqualTo(10L))
+				.then(Mono.error(new IllegalStateException("failed")))
+				.as(rxtx::transactional);
+
+		batch.as(StepVerifier::create)
+				.expectError(IllegalStateException.class)
+				.verify();
+
+		databaseClient
+				.sql("SELECT id FROM legoset")
+				.fetch()
+				.first()
+				.as(StepVerifier::create)
+				.verifyComplete();
+	}
+
 	private Condition<? super Object> numberOf(int expected) {
 		return new Condition<>(object -> object instanceof Number num &&
 				num.intValue() == expected, "Number %d", expected);
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.r2dbc.core;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import io.r2dbc.spi.test.MockColumnMetadata;
+import io.r2dbc.spi.test.MockRow;
+import io.r2dbc.spi.test.MockRowMetadata;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.r2dbc.core.R2dbcDataClassRowMapperTests.ConstructorPersonWithGenerics;
+import org.springframework.r2dbc.core.R2dbcDataClassRowMapperTests.ConstructorPersonWithSetters;
+import org.springframework.r2dbc.core.R2dbcDataClassRowMapperTests.RecordPerson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.springframework.r2dbc.core.R2dbcDataClassRowMapperTests.MOCK_ROW;
+
+/**
+ * Tests for {@link CompiledRowMapper}, on the reflective path as well as
+ * through generated mapping functions.
+ *
+ * @author agent
+ * @since 6.1
+ */
+class CompiledRowMapperTests {
+
+	@ParameterizedTest
+	@ValueSource(ints = {-1, 0, 1})
+	void mapRecord(int generationThreshold) {
+		CompiledRowMapper<RecordPerson> mapper = new CompiledRowMapper<>(RecordPerson.class, generationThreshold);
+
+		for (int i = 0; i < 3; i++) {
+			RecordPerson person = mapper.apply(MOCK_ROW);
+			assertThat(person.name()).isEqualTo("Bubba");
+			assertThat(person.age()).isEqualTo(22L);
+			assertThat(person.birth_date()).usingComparator(Date::compareTo).isEqualTo(new Date(1221222L));
+			assertThat(person.balance()).isEqualTo(new BigDecimal("1234.56"));
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {-1, 0, 1})
+	void mapDataClassWithGenerics(int generationThreshold) {
+		MockRow mockRow = R2dbcDataClassRowMapperTests.buildMockRow("birth_date", true);
+		CompiledRowMapper<ConstructorPersonWithGenerics> mapper =
+				new CompiledRowMapper<>(ConstructorPersonWithGenerics.class, generationThreshold);
+
+		for (int i = 0; i < 3; i++) {
+			ConstructorPersonWithGenerics person = mapper.apply(mockRow);
+			assertThat(person.name()).isEqualTo("Bubba");
+			assertThat(person.age()).isEqualTo(22L);
+			assertThat(person.birth_date()).usingComparator(Date::compareTo).isEqualTo(new Date(1221222L));
+			assertThat(person.balance()).containsExactly(new BigDecimal("1234.56"));
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {-1, 0, 1})
+	void mapDataClassWithSetters(int generationThreshold) {
+		MockRow mockRow = R2dbcDataClassRowMapperTests.buildMockRow("birthdate", false);
+		CompiledRowMapper<ConstructorPersonWithSetters> mapper =
+				new CompiledRowMapper<>(ConstructorPersonWithSetters.class, generationThreshold);
+
+		for (int i = 0; i < 3; i++) {
+			ConstructorPersonWithSetters person = mapper.apply(mockRow);
+			assertThat(person.name()).isEqualTo("BUBBA");
+			assertThat(person.age()).isEqualTo(22L);
+			assertThat(person.birthDate()).usingComparator(Date::compareTo).isEqualTo(new Date(1221222L));
+			assertThat(person.balance()).isEqualTo(new BigDecimal("1234.56"));
+		}
+	}
+
+	@Test
+	void mapBeanWithSettersOnly() {
+		MockRow mockRow = MockRow.builder()
+				.metadata(MockRowMetadata.builder()
+						.columnMetadata(MockColumnMetadata.builder().name("name").javaType(String.class).build())
+						.columnMetadata(MockColumnMetadata.builder().name("AGE").javaType(int.class).build())
+						.build())
+				.identified(0, String.class, "Bubba")
+				.identified(1, int.class, 22)
+				.build();
+		CompiledRowMapper<Bean> mapper = new CompiledRowMapper<>(Bean.class, 0);
+
+		for (int i = 0; i < 3; i++) {
+			Bean bean = mapper.apply(mockRow);
+			assertThat(bean.getName()).isEqualTo("Bubba");
+			assertThat(bean.getAge()).isEqualTo(22);
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {-1, 0})
+	void constructorExceptionIsTranslated(int generationThreshold) {
+		CompiledRowMapper<FailingPerson> mapper = new CompiledRowMapper<>(FailingPerson.class, generationThreshold);
+
+		assertThatExceptionOfType(BeanInstantiationException.class)
+				.isThrownBy(() -> mapper.apply(MOCK_ROW))
+				.withCauseInstanceOf(IllegalStateException.class);
+	}
+
+
+	public static class Bean {
+
+		private String name;
+
+		private int age;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+	}
+
+
+	record FailingPerson(String name, long age) {
+
+		FailingPerson {
+			if (name != null) {
+				throw new IllegalStateException(name);
+			}
+		}
+	}
+
+}
@@ -18,6 +18,7 @@ package org.springframework.r2dbc.core;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import io.r2dbc.spi.Connection;
@@ -43,11 +44,13 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.lang.Nullable;
 import org.springframework.r2dbc.core.binding.BindMarkersFactory;
 import org.springframework.r2dbc.core.binding.BindTarget;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.doReturn;
@@ -417,6 +420,41 @@ class DefaultDatabaseClientUnitTests {
 		inOrder.verifyNoMoreInteractions();
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void batchShouldBindParameterSetsInDriverBatches() {
+		Result result = mock();
+		when(result.getRowsUpdated()).thenReturn(Mono.just(2L), Mono.just(1L));
+		Statement statement = mockStatementFor("INSERT INTO person (name) VALUES ($1)", result);
+
+		DatabaseClient databaseClient = databaseClientBuilder.build();
+
+		databaseClient.sql("INSERT INTO person (name) VALUES (:name)")
+				.batch(Flux.just(Map.of("name", "Walter"), Map.of("name", "Jesse"), Map.of("name", "Skyler")), 2, 1)
+				.rowsUpdated()
+				.as(StepVerifier::create)
+				.expectNext(3L)
+				.verifyComplete();
+
+		InOrder inOrder = inOrder(statement);
+		inOrder.verify(statement).bind(0, Parameters.in("Walter"));
+		inOrder.verify(statement).add();
+		inOrder.verify(statement).bind(0, Parameters.in("Jesse"));
+		inOrder.verify(statement).execute();
+		inOrder.verify(statement).bind(0, Parameters.in("Skyler"));
+		inOrder.verify(statement).execute();
+		inOrder.verifyNoMoreInteractions();
+	}
+
+	@Test
+	void batchShouldRejectPreparedOperation() {
+		DatabaseClient databaseClient = databaseClientBuilder.build();
+		PreparedOperation<Object> operation = mock();
+
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class).isThrownBy(() ->
+				databaseClient.sql(operation).batch(Flux.empty()));
+	}
+
 	@Test
 	void sqlSupplierInvocationIsDeferredUntilSubscription() {
 		// We'll have either 2 or 3 rows, depending on the subscription and the generated SQL
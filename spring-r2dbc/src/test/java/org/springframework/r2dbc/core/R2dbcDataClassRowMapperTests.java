@@ -186,7 +186,7 @@ class R2dbcDataClassRowMapperTests {
 
 	static final MockRow MOCK_ROW = buildMockRow("birth_date", false);
 
-	private static MockRow buildMockRow(String birthDateColumnName, boolean balanceObjectIdentifier) {
+	static MockRow buildMockRow(String birthDateColumnName, boolean balanceObjectIdentifier) {
 		MockRow.Builder builder = MockRow.builder();
 		builder.metadata(MockRowMetadata.builder()
 						.columnMetadata(MockColumnMetadata.builder().name("name").javaType(String.class).build())
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.interceptor;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link TransactionAttributeSource} decorator holding an immutable table of
+ * transaction attributes which have been resolved upfront through the target
+ * source, for a given set of methods per target class.
+ *
+ * <p>The table is an open-addressing array structure keyed by target class
+ * identity and by method, with an identity check on the method before falling
+ * back to {@link Method#equals}. Lookups neither allocate a key object nor go
+ * through a concurrent map; methods that are not part of the table are
+ * delegated to the target source as usual.
+ *
+ * @author agent
+ * @since 6.1
+ * @see TransactionInterceptor#setEagerAttributeResolution
+ */
+final class FrozenTransactionAttributeSource implements TransactionAttributeSource {
+
+	private final TransactionAttributeSource targetSource;
+
+	private final Method[] methods;
+
+	private final Class<?>[] targetClasses;
+
+	private final TransactionAttribute[] attributes;
+
+	private final int mask;
+
+	private final int size;
+
+
+	/**
+	 * Create a new FrozenTransactionAttributeSource, resolving the transaction
+	 * attributes for the given methods through the given target source.
+	 * @param targetSource the TransactionAttributeSource to resolve against and
+	 * to delegate to for any method that is not part of the table
+	 * @param methodsByTargetClass the methods to resolve, per target class
+	 */
+	FrozenTransactionAttributeSource(TransactionAttributeSource targetSource,
+			Map<Class<?>, ? extends Collection<Method>> methodsByTargetClass) {
+
+		this.targetSource = targetSource;
+		int count = 0;
+		for (Collection<Method> methods : methodsByTargetClass.values()) {
+			count += methods.size();
+		}
+		int capacity = 16;
+		while (capacity < count * 2) {
+			capacity <<= 1;
+		}
+		this.methods = new Method[capacity];
+		this.targetClasses = new Class<?>[capacity];
+		this.attributes = new TransactionAttribute[capacity];
+		this.mask = capacity - 1;
+
+		int size = 0;
+		for (Map.Entry<Class<?>, ? extends Collection<Method>> entry : methodsByTargetClass.entrySet()) {
+			Class<?> targetClass = entry.getKey();
+			for (Method method : entry.getValue()) {
+				int index = indexOf(method, targetClass);
+				if (this.methods[index] == null) {
+					this.methods[index] = method;
+					this.targetClasses[index] = targetClass;
+					this.attributes[index] = targetSource.getTransactionAttribute(method, targetClass);
+					size++;
+				}
+			}
+		}
+		this.size = size;
+	}
+
+
+	@Override
+	public boolean isCandidateClass(Class<?> targetClass) {
+		return this.targetSource.isCandidateClass(targetClass);
+	}
+
+	@Override
+	@Nullable
+	public TransactionAttribute getTransactionAttribute(Method method, @Nullable Class<?> targetClass) {
+		int index = indexOf(method, targetClass);
+		if (this.methods[index] != null) {
+			return this.attributes[index];
+		}
+		return this.targetSource.getTransactionAttribute(method, targetClass);
+	}
+
+	/**
+	 * Return the number of methods held in the table.
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Return the slot that holds the given method and target class,
+	 * or the empty slot that it would be inserted into.
+	 */
+	private int indexOf(Method method, @Nullable Class<?> targetClass) {
+		int hash = method.hashCode() * 31 + System.identityHashCode(targetClass);
+		int index = (hash ^ (hash >>> 16)) & this.mask;
+		Method candidate;
+		while ((candidate = this.methods[index]) != null) {
+			if (this.targetClasses[index] == targetClass && (candidate == method || candidate.equals(method))) {
+				break;
+			}
+			index = (index + 1) & this.mask;
+		}
+		return index;
+	}
+
+}
@@ -182,6 +182,9 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	@Nullable
 	private BeanFactory beanFactory;
 
+	@Nullable
+	private FrozenTransactionAttributeSource frozenTransactionAttributeSource;
+
 	private final ConcurrentMap<Object, TransactionManager> transactionManagerCache =
 			new ConcurrentReferenceHashMap<>(4);
 
@@ -255,6 +258,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		NameMatchTransactionAttributeSource tas = new NameMatchTransactionAttributeSource();
 		tas.setProperties(transactionAttributes);
 		this.transactionAttributeSource = tas;
+		this.frozenTransactionAttributeSource = null;
 	}
 
 	/**
@@ -267,6 +271,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionAttributeSources(TransactionAttributeSource... transactionAttributeSources) {
 		this.transactionAttributeSource = new CompositeTransactionAttributeSource(transactionAttributeSources);
+		this.frozenTransactionAttributeSource = null;
 	}
 
 	/**
@@ -280,6 +285,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionAttributeSource(@Nullable TransactionAttributeSource transactionAttributeSource) {
 		this.transactionAttributeSource = transactionAttributeSource;
+		this.frozenTransactionAttributeSource = null;
 	}
 
 	/**
@@ -290,6 +296,17 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		return this.transactionAttributeSource;
 	}
 
+	/**
+	 * Set an immutable table of precomputed transaction attributes to consult
+	 * on invocation, decorating the regular {@link #getTransactionAttributeSource()
+	 * transaction attribute source}.
+	 * @since 6.1
+	 * @see TransactionInterceptor#setEagerAttributeResolution
+	 */
+	void setFrozenTransactionAttributeSource(@Nullable FrozenTransactionAttributeSource frozenTransactionAttributeSource) {
+		this.frozenTransactionAttributeSource = frozenTransactionAttributeSource;
+	}
+
 	/**
 	 * Set the BeanFactory to use for retrieving {@code TransactionManager} beans.
 	 */
@@ -340,7 +357,10 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 			final InvocationCallback invocation) throws Throwable {
 
 		// If the transaction attribute is null, the method is non-transactional.
-		TransactionAttributeSource tas = getTransactionAttributeSource();
+		TransactionAttributeSource tas = this.frozenTransactionAttributeSource;
+		if (tas == null) {
+			tas = getTransactionAttributeSource();
+		}
 		final TransactionAttribute txAttr = (tas != null ? tas.getTransactionAttribute(method, targetClass) : null);
 		final TransactionManager tm = determineTransactionManager(txAttr);
 
@@ -20,16 +20,27 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 
+import org.springframework.aop.framework.Advised;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.lang.Nullable;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionManager;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * AOP Alliance MethodInterceptor for declarative transaction
@@ -44,6 +55,10 @@ import org.springframework.transaction.TransactionManager;
  *
  * <p>TransactionInterceptors are thread-safe.
  *
+ * <p>As of 6.1, the transaction attributes for all methods of the proxies that
+ * this interceptor applies to can be resolved upfront at the end of the
+ * singleton pre-instantiation phase: see {@link #setEagerAttributeResolution}.
+ *
  * @author Rod Johnson
  * @author Juergen Hoeller
  * @author Sebastien Deleuze
@@ -52,7 +67,11 @@ import org.springframework.transaction.TransactionManager;
  * @see org.springframework.aop.framework.ProxyFactory
  */
 @SuppressWarnings("serial")
-public class TransactionInterceptor extends TransactionAspectSupport implements MethodInterceptor, Serializable {
+public class TransactionInterceptor extends TransactionAspectSupport
+		implements MethodInterceptor, SmartInitializingSingleton, Serializable {
+
+	private boolean eagerAttributeResolution = false;
+
 
 	/**
 	 * Create a new TransactionInterceptor.
@@ -107,6 +126,75 @@ public class TransactionInterceptor extends TransactionAspectSupport implements
 	}
 
 
+	/**
+	 * Set whether to resolve the transaction attributes for all methods of the
+	 * singleton proxies that this interceptor applies to at the end of the
+	 * singleton pre-instantiation phase, keeping them in an immutable table
+	 * which is consulted on invocation before the regular
+	 * {@link #setTransactionAttributeSource transaction attribute source}.
+	 * <p>The default is "false", resolving transaction attributes on the first
+	 * invocation of each method. Switch this to "true" in order to avoid the
+	 * attribute introspection cost on first invocation after startup, as well
+	 * as the cache lookup on every invocation. Methods that are not covered by
+	 * the table, e.g. on lazily created or prototype beans, fall back to the
+	 * regular transaction attribute source.
+	 * <p>Note that this requires the proxies to be {@link Advised} and to have
+	 * a static target source, and the containing BeanFactory to be a
+	 * {@link ConfigurableListableBeanFactory}.
+	 * @since 6.1
+	 * @see #afterSingletonsInstantiated()
+	 */
+	public void setEagerAttributeResolution(boolean eagerAttributeResolution) {
+		this.eagerAttributeResolution = eagerAttributeResolution;
+	}
+
+	/**
+	 * Return whether to resolve transaction attributes upfront.
+	 * @since 6.1
+	 */
+	public boolean isEagerAttributeResolution() {
+		return this.eagerAttributeResolution;
+	}
+
+
+	/**
+	 * Resolve the transaction attributes for all methods of the singleton
+	 * proxies that this interceptor applies to, if demanded.
+	 * @see #setEagerAttributeResolution
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		TransactionAttributeSource tas = getTransactionAttributeSource();
+		if (!this.eagerAttributeResolution || tas == null ||
+				!(getBeanFactory() instanceof ConfigurableListableBeanFactory beanFactory)) {
+			return;
+		}
+		Map<Class<?>, List<Method>> methodsByTargetClass = new IdentityHashMap<>();
+		for (String beanName : beanFactory.getSingletonNames()) {
+			if (beanFactory.getSingleton(beanName) instanceof Advised advised &&
+					advised.getTargetSource().isStatic() && advised.indexOf(this) >= 0) {
+				Class<?> targetClass = advised.getTargetClass();
+				if (targetClass != null && !methodsByTargetClass.containsKey(targetClass)) {
+					List<Method> methods = new ArrayList<>();
+					// Methods as exposed by a CGLIB proxy...
+					Collections.addAll(methods, ReflectionUtils.getUniqueDeclaredMethods(
+							targetClass, ReflectionUtils.USER_DECLARED_METHODS));
+					// Methods as exposed by a JDK dynamic proxy...
+					for (Class<?> ifc : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+						Collections.addAll(methods, ifc.getMethods());
+					}
+					methodsByTargetClass.put(targetClass, methods);
+				}
+			}
+		}
+		FrozenTransactionAttributeSource frozenTas = new FrozenTransactionAttributeSource(tas, methodsByTargetClass);
+		if (logger.isDebugEnabled()) {
+			logger.debug("Resolved transaction attributes for " + frozenTas.size() + " methods on " +
+					methodsByTargetClass.size() + " target classes");
+		}
+		setFrozenTransactionAttributeSource(frozenTas);
+	}
+
 	@Override
 	@Nullable
 	public Object invoke(MethodInvocation invocation) throws Throwable {
@@ -139,7 +227,7 @@ public class TransactionInterceptor extends TransactionAspectSupport implements
 	//---------------------------------------------------------------------
 
 	private void writeObject(ObjectOutputStream oos) throws IOException {
-		// Rely on default serialization, although this class itself doesn't carry state anyway...
+		// Rely on default serialization for this class's own state...
 		oos.defaultWriteObject();
 
 		// Deserialize superclass fields.
@@ -150,7 +238,7 @@ public class TransactionInterceptor extends TransactionAspectSupport implements
 	}
 
 	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
-		// Rely on default serialization, although this class itself doesn't carry state anyway...
+		// Rely on default serialization for this class's own state...
 		ois.defaultReadObject();
 
 		// Serialize all relevant superclass fields.
@@ -61,6 +61,10 @@ import org.springframework.util.Assert;
  * within a JTA transaction, e.g. a JDBC Connection or a Hibernate Session for
  * any given DataSource or SessionFactory, respectively.
  *
+ * <p>As of 6.1, all of the above state is kept in a single holder object per
+ * thread, allocated on first use and released as soon as the thread does not
+ * carry any transactional state anymore.
+ *
  * @author Juergen Hoeller
  * @since 02.06.2003
  * @see #isSynchronizationActive
@@ -73,23 +77,8 @@ import org.springframework.util.Assert;
  */
 public abstract class TransactionSynchronizationManager {
 
-	private static final ThreadLocal<Map<Object, Object>> resources =
-			new NamedThreadLocal<>("Transactional resources");
-
-	private static final ThreadLocal<Set<TransactionSynchronization>> synchronizations =
-			new NamedThreadLocal<>("Transaction synchronizations");
-
-	private static final ThreadLocal<String> currentTransactionName =
-			new NamedThreadLocal<>("Current transaction name");
-
-	private static final ThreadLocal<Boolean> currentTransactionReadOnly =
-			new NamedThreadLocal<>("Current transaction read-only status");
-
-	private static final ThreadLocal<Integer> currentTransactionIsolationLevel =
-			new NamedThreadLocal<>("Current transaction isolation level");
-
-	private static final ThreadLocal<Boolean> actualTransactionActive =
-			new NamedThreadLocal<>("Actual transaction active");
+	private static final ThreadLocal<SynchronizationState> synchronizationState =
+			new NamedThreadLocal<>("Transaction synchronization state");
 
 
 	//-------------------------------------------------------------------------
@@ -106,7 +95,8 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #hasResource
 	 */
 	public static Map<Object, Object> getResourceMap() {
-		Map<Object, Object> map = resources.get();
+		SynchronizationState state = synchronizationState.get();
+		Map<Object, Object> map = (state != null ? state.resources : null);
 		return (map != null ? Collections.unmodifiableMap(map) : Collections.emptyMap());
 	}
 
@@ -140,7 +130,8 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	private static Object doGetResource(Object actualKey) {
-		Map<Object, Object> map = resources.get();
+		SynchronizationState state = synchronizationState.get();
+		Map<Object, Object> map = (state != null ? state.resources : null);
 		if (map == null) {
 			return null;
 		}
@@ -148,9 +139,10 @@ public abstract class TransactionSynchronizationManager {
 		// Transparently remove ResourceHolder that was marked as void...
 		if (value instanceof ResourceHolder resourceHolder && resourceHolder.isVoid()) {
 			map.remove(actualKey);
-			// Remove entire ThreadLocal if empty...
+			// Remove entire Map if empty...
 			if (map.isEmpty()) {
-				resources.remove();
+				state.resources = null;
+				releaseIfEmpty(state);
 			}
 			value = null;
 		}
@@ -167,11 +159,12 @@ public abstract class TransactionSynchronizationManager {
 	public static void bindResource(Object key, Object value) throws IllegalStateException {
 		Object actualKey = TransactionSynchronizationUtils.unwrapResourceIfNecessary(key);
 		Assert.notNull(value, "Value must not be null");
-		Map<Object, Object> map = resources.get();
-		// set ThreadLocal Map if none found
+		SynchronizationState state = obtainState();
+		Map<Object, Object> map = state.resources;
+		// set Map if none found
 		if (map == null) {
 			map = new HashMap<>();
-			resources.set(map);
+			state.resources = map;
 		}
 		Object oldValue = map.put(actualKey, value);
 		// Transparently suppress a ResourceHolder that was marked as void...
@@ -216,14 +209,16 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	private static Object doUnbindResource(Object actualKey) {
-		Map<Object, Object> map = resources.get();
+		SynchronizationState state = synchronizationState.get();
+		Map<Object, Object> map = (state != null ? state.resources : null);
 		if (map == null) {
 			return null;
 		}
 		Object value = map.remove(actualKey);
-		// Remove entire ThreadLocal if empty...
+		// Remove entire Map if empty...
 		if (map.isEmpty()) {
-			resources.remove();
+			state.resources = null;
+			releaseIfEmpty(state);
 		}
 		// Transparently suppress a ResourceHolder that was marked as void...
 		if (value instanceof ResourceHolder resourceHolder && resourceHolder.isVoid()) {
@@ -243,7 +238,8 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #registerSynchronization
 	 */
 	public static boolean isSynchronizationActive() {
-		return (synchronizations.get() != null);
+		SynchronizationState state = synchronizationState.get();
+		return (state != null && state.synchronizations != null);
 	}
 
 	/**
@@ -252,10 +248,37 @@ public abstract class TransactionSynchronizationManager {
 	 * @throws IllegalStateException if synchronization is already active
 	 */
 	public static void initSynchronization() throws IllegalStateException {
-		if (isSynchronizationActive()) {
+		SynchronizationState state = obtainState();
+		if (state.synchronizations != null) {
 			throw new IllegalStateException("Cannot activate transaction synchronization - already active");
 		}
-		synchronizations.set(new LinkedHashSet<>());
+		state.synchronizations = new LinkedHashSet<>();
+	}
+
+	/**
+	 * Expose the given transaction characteristics and activate transaction
+	 * synchronization for the current thread, in a single step.
+	 * Called by {@link AbstractPlatformTransactionManager} on transaction begin.
+	 * @throws IllegalStateException if synchronization is already active
+	 * @since 6.1
+	 * @see #setCurrentTransactionName
+	 * @see #setCurrentTransactionReadOnly
+	 * @see #setCurrentTransactionIsolationLevel
+	 * @see #setActualTransactionActive
+	 * @see #initSynchronization()
+	 */
+	static void initSynchronization(@Nullable String name, boolean readOnly,
+			@Nullable Integer isolationLevel, boolean actualTransactionActive) throws IllegalStateException {
+
+		SynchronizationState state = obtainState();
+		state.actualTransactionActive = actualTransactionActive;
+		state.currentTransactionIsolationLevel = isolationLevel;
+		state.currentTransactionReadOnly = readOnly;
+		state.currentTransactionName = name;
+		if (state.synchronizations != null) {
+			throw new IllegalStateException("Cannot activate transaction synchronization - already active");
+		}
+		state.synchronizations = new LinkedHashSet<>();
 	}
 
 	/**
@@ -272,7 +295,7 @@ public abstract class TransactionSynchronizationManager {
 			throws IllegalStateException {
 
 		Assert.notNull(synchronization, "TransactionSynchronization must not be null");
-		Set<TransactionSynchronization> synchs = synchronizations.get();
+		Set<TransactionSynchronization> synchs = currentSynchronizations();
 		if (synchs == null) {
 			throw new IllegalStateException("Transaction synchronization is not active");
 		}
@@ -287,7 +310,7 @@ public abstract class TransactionSynchronizationManager {
 	 * @see TransactionSynchronization
 	 */
 	public static List<TransactionSynchronization> getSynchronizations() throws IllegalStateException {
-		Set<TransactionSynchronization> synchs = synchronizations.get();
+		Set<TransactionSynchronization> synchs = currentSynchronizations();
 		if (synchs == null) {
 			throw new IllegalStateException("Transaction synchronization is not active");
 		}
@@ -314,10 +337,18 @@ public abstract class TransactionSynchronizationManager {
 	 * @throws IllegalStateException if synchronization is not active
 	 */
 	public static void clearSynchronization() throws IllegalStateException {
-		if (!isSynchronizationActive()) {
+		SynchronizationState state = synchronizationState.get();
+		if (state == null || state.synchronizations == null) {
 			throw new IllegalStateException("Cannot deactivate transaction synchronization - not active");
 		}
-		synchronizations.remove();
+		state.synchronizations = null;
+		releaseIfEmpty(state);
+	}
+
+	@Nullable
+	private static Set<TransactionSynchronization> currentSynchronizations() {
+		SynchronizationState state = synchronizationState.get();
+		return (state != null ? state.synchronizations : null);
 	}
 
 
@@ -332,7 +363,16 @@ public abstract class TransactionSynchronizationManager {
 	 * @see org.springframework.transaction.TransactionDefinition#getName()
 	 */
 	public static void setCurrentTransactionName(@Nullable String name) {
-		currentTransactionName.set(name);
+		if (name != null) {
+			obtainState().currentTransactionName = name;
+		}
+		else {
+			SynchronizationState state = synchronizationState.get();
+			if (state != null) {
+				state.currentTransactionName = null;
+				releaseIfEmpty(state);
+			}
+		}
 	}
 
 	/**
@@ -343,7 +383,8 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	public static String getCurrentTransactionName() {
-		return currentTransactionName.get();
+		SynchronizationState state = synchronizationState.get();
+		return (state != null ? state.currentTransactionName : null);
 	}
 
 	/**
@@ -354,7 +395,16 @@ public abstract class TransactionSynchronizationManager {
 	 * @see org.springframework.transaction.TransactionDefinition#isReadOnly()
 	 */
 	public static void setCurrentTransactionReadOnly(boolean readOnly) {
-		currentTransactionReadOnly.set(readOnly ? Boolean.TRUE : null);
+		if (readOnly) {
+			obtainState().currentTransactionReadOnly = true;
+		}
+		else {
+			SynchronizationState state = synchronizationState.get();
+			if (state != null) {
+				state.currentTransactionReadOnly = false;
+				releaseIfEmpty(state);
+			}
+		}
 	}
 
 	/**
@@ -370,7 +420,8 @@ public abstract class TransactionSynchronizationManager {
 	 * @see TransactionSynchronization#beforeCommit(boolean)
 	 */
 	public static boolean isCurrentTransactionReadOnly() {
-		return (currentTransactionReadOnly.get() != null);
+		SynchronizationState state = synchronizationState.get();
+		return (state != null && state.currentTransactionReadOnly);
 	}
 
 	/**
@@ -390,7 +441,16 @@ public abstract class TransactionSynchronizationManager {
 	 * @see org.springframework.transaction.TransactionDefinition#getIsolationLevel()
 	 */
 	public static void setCurrentTransactionIsolationLevel(@Nullable Integer isolationLevel) {
-		currentTransactionIsolationLevel.set(isolationLevel);
+		if (isolationLevel != null) {
+			obtainState().currentTransactionIsolationLevel = isolationLevel;
+		}
+		else {
+			SynchronizationState state = synchronizationState.get();
+			if (state != null) {
+				state.currentTransactionIsolationLevel = null;
+				releaseIfEmpty(state);
+			}
+		}
 	}
 
 	/**
@@ -412,7 +472,8 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	public static Integer getCurrentTransactionIsolationLevel() {
-		return currentTransactionIsolationLevel.get();
+		SynchronizationState state = synchronizationState.get();
+		return (state != null ? state.currentTransactionIsolationLevel : null);
 	}
 
 	/**
@@ -422,7 +483,16 @@ public abstract class TransactionSynchronizationManager {
 	 * with an actual transaction; {@code false} to reset that marker
 	 */
 	public static void setActualTransactionActive(boolean active) {
-		actualTransactionActive.set(active ? Boolean.TRUE : null);
+		if (active) {
+			obtainState().actualTransactionActive = true;
+		}
+		else {
+			SynchronizationState state = synchronizationState.get();
+			if (state != null) {
+				state.actualTransactionActive = false;
+				releaseIfEmpty(state);
+			}
+		}
 	}
 
 	/**
@@ -437,7 +507,8 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #isSynchronizationActive()
 	 */
 	public static boolean isActualTransactionActive() {
-		return (actualTransactionActive.get() != null);
+		SynchronizationState state = synchronizationState.get();
+		return (state != null && state.actualTransactionActive);
 	}
 
 
@@ -451,11 +522,69 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #setActualTransactionActive
 	 */
 	public static void clear() {
-		synchronizations.remove();
-		currentTransactionName.remove();
-		currentTransactionReadOnly.remove();
-		currentTransactionIsolationLevel.remove();
-		actualTransactionActive.remove();
+		SynchronizationState state = synchronizationState.get();
+		if (state != null) {
+			state.synchronizations = null;
+			state.currentTransactionName = null;
+			state.currentTransactionReadOnly = false;
+			state.currentTransactionIsolationLevel = null;
+			state.actualTransactionActive = false;
+			releaseIfEmpty(state);
+		}
+	}
+
+
+	/**
+	 * Obtain the synchronization state for the current thread,
+	 * creating and binding it if necessary.
+	 */
+	private static SynchronizationState obtainState() {
+		SynchronizationState state = synchronizationState.get();
+		if (state == null) {
+			state = new SynchronizationState();
+			synchronizationState.set(state);
+		}
+		return state;
+	}
+
+	/**
+	 * Remove the given synchronization state from the current thread
+	 * if it does not hold any resources or characteristics anymore.
+	 */
+	private static void releaseIfEmpty(SynchronizationState state) {
+		if (state.isEmpty()) {
+			synchronizationState.remove();
+		}
+	}
+
+
+	/**
+	 * Holder for the entire transaction synchronization state of a thread,
+	 * replacing a separate ThreadLocal per resource map and characteristic.
+	 */
+	private static final class SynchronizationState {
+
+		@Nullable
+		Map<Object, Object> resources;
+
+		@Nullable
+		Set<TransactionSynchronization> synchronizations;
+
+		@Nullable
+		String currentTransactionName;
+
+		boolean currentTransactionReadOnly;
+
+		@Nullable
+		Integer currentTransactionIsolationLevel;
+
+		boolean actualTransactionActive;
+
+		boolean isEmpty() {
+			return (this.resources == null && this.synchronizations == null &&
+					this.currentTransactionName == null && !this.currentTransactionReadOnly &&
+					this.currentTransactionIsolationLevel == null && !this.actualTransactionActive);
+		}
 	}
 
 }
@@ -18,12 +18,17 @@ package org.springframework.transaction.interceptor;
 
 import java.io.Serializable;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.testfixture.beans.DerivedTestBean;
+import org.springframework.beans.testfixture.beans.ITestBean;
+import org.springframework.beans.testfixture.beans.TestBean;
 import org.springframework.core.testfixture.io.SerializationTestUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -261,6 +266,64 @@ public class TransactionInterceptorTests extends AbstractTransactionAspectTests
 		verify(beanFactory, times(1)).getBean(TransactionManager.class);
 	}
 
+	@Test
+	public void eagerAttributeResolution() {
+		TransactionAttribute txatt = new DefaultTransactionAttribute();
+		MapTransactionAttributeSource mtas = new MapTransactionAttributeSource();
+		mtas.register(getNameMethod, txatt);
+		AtomicInteger resolutionCount = new AtomicInteger();
+		TransactionAttributeSource tas = (method, targetClass) -> {
+			resolutionCount.incrementAndGet();
+			return mtas.getTransactionAttribute(method, targetClass);
+		};
+
+		TransactionStatus status = mock();
+		PlatformTransactionManager ptm = mock();
+		given(ptm.getTransaction(txatt)).willReturn(status);
+
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		TransactionInterceptor ti = new TransactionInterceptor(ptm, tas);
+		ti.setBeanFactory(beanFactory);
+		ti.setEagerAttributeResolution(true);
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvice(ti);
+		ITestBean itb = (ITestBean) pf.getProxy();
+		beanFactory.registerSingleton("testBean", itb);
+		ti.afterSingletonsInstantiated();
+		int resolved = resolutionCount.get();
+		assertThat(resolved).isGreaterThan(0);
+
+		itb.getName();
+		itb.setName("name");
+		itb.getName();
+		assertThat(resolutionCount.get()).isEqualTo(resolved);
+		verify(ptm, times(2)).commit(status);
+
+		// Not covered by the table: resolved through the regular source
+		ProxyFactory pf2 = new ProxyFactory(new DerivedTestBean());
+		pf2.addAdvice(ti);
+		((ITestBean) pf2.getProxy()).getName();
+		assertThat(resolutionCount.get()).isGreaterThan(resolved);
+		verify(ptm, times(3)).commit(status);
+	}
+
+	@Test
+	public void noEagerAttributeResolutionByDefault() {
+		AtomicInteger resolutionCount = new AtomicInteger();
+		TransactionAttributeSource tas = (method, targetClass) -> {
+			resolutionCount.incrementAndGet();
+			return null;
+		};
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		TransactionInterceptor ti = new TransactionInterceptor(mock(PlatformTransactionManager.class), tas);
+		ti.setBeanFactory(beanFactory);
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvice(ti);
+		beanFactory.registerSingleton("testBean", pf.getProxy());
+		ti.afterSingletonsInstantiated();
+		assertThat(resolutionCount.get()).isZero();
+	}
+
 
 	private TransactionInterceptor createTransactionInterceptor(BeanFactory beanFactory,
 			String transactionManagerName, PlatformTransactionManager transactionManager) {
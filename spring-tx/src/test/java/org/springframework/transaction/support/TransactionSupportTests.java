@@ -328,6 +328,41 @@ class TransactionSupportTests {
 		assertThat(template3).isEqualTo(template2);
 	}
 
+	@Test
+	void transactionCharacteristicsExposedAndReset() {
+		TransactionTemplate template = new TransactionTemplate(new TestTransactionManager(false, true));
+		template.setName("tx");
+		template.setReadOnly(true);
+		template.setIsolationLevel(ISOLATION_SERIALIZABLE);
+		template.executeWithoutResult(status -> {
+			assertThat(TransactionSynchronizationManager.getCurrentTransactionName()).isEqualTo("tx");
+			assertThat(TransactionSynchronizationManager.isCurrentTransactionReadOnly()).isTrue();
+			assertThat(TransactionSynchronizationManager.getCurrentTransactionIsolationLevel())
+					.isEqualTo(ISOLATION_SERIALIZABLE);
+			assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isTrue();
+			assertThat(TransactionSynchronizationManager.isSynchronizationActive()).isTrue();
+		});
+		assertThat(TransactionSynchronizationManager.getCurrentTransactionName()).isNull();
+		assertThat(TransactionSynchronizationManager.isCurrentTransactionReadOnly()).isFalse();
+		assertThat(TransactionSynchronizationManager.getCurrentTransactionIsolationLevel()).isNull();
+		assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+	}
+
+	@Test
+	void resourcesKeptAcrossClear() {
+		Object key = new Object();
+		ResourceHolderSupport holder = new ResourceHolderSupport() {};
+		TransactionSynchronizationManager.bindResource(key, holder);
+		TransactionSynchronizationManager.setCurrentTransactionName("tx");
+		TransactionSynchronizationManager.clear();
+		assertThat(TransactionSynchronizationManager.getCurrentTransactionName()).isNull();
+		assertThat(TransactionSynchronizationManager.getResource(key)).isSameAs(holder);
+
+		holder.unbound();
+		assertThat(TransactionSynchronizationManager.hasResource(key)).isFalse();
+		assertThat(TransactionSynchronizationManager.unbindResourceIfPossible(key)).isNull();
+	}
+
 
 	@Nested
 	class AbstractPlatformTransactionManagerConfigurationTests {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,6 +37,10 @@ import org.springframework.util.AntPathMatcher;
  * Benchmarks for matching requests paths against path patterns in a web context.
  * We're considering here the {@link org.springframework.util.AntPathMatcher} and
  * {@link PathPatternParser} implementations with typical sets of patterns.
+ * <p>Run with the JMH GC profiler ({@code -prof gc}) to compare allocation rates,
+ * e.g. with and without {@link PathPatternParser#setReuseMatchingState reused
+ * matching state} or {@link PathPattern#extractMatchInfoLazily lazy extraction}
+ * of URI variables.
  * @author Brian Clozel
  */
 @BenchmarkMode(Mode.Throughput)
@@ -74,6 +78,45 @@ public class PathMatchingBenchmark {
 		}
 	}
 
+	@State(Scope.Benchmark)
+	public static class AllRoutesReusingPatternParser extends PatternParserData {
+
+		@Setup(Level.Trial)
+		public void registerPatterns() {
+			this.parser.setReuseMatchingState(true);
+			parseRoutes(RouteGenerator.allRoutes());
+		}
+	}
+
+	@Benchmark
+	public void matchAllRoutesWithReusingPathPatternParser(AllRoutesReusingPatternParser data, Blackhole bh) {
+		for (PathContainer path : data.requestPaths) {
+			for (PathPattern pattern : data.patterns) {
+				bh.consume(pattern.matches(path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void matchAndExtractAllRoutesWithPathPatternParser(AllRoutesPatternParser data, Blackhole bh) {
+		for (PathContainer path : data.requestPaths) {
+			for (PathPattern pattern : data.patterns) {
+				bh.consume(pattern.matchAndExtract(path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void matchAndExtractLazilyAllRoutesWithPathPatternParser(AllRoutesPatternParser data, Blackhole bh) {
+		for (PathContainer path : data.requestPaths) {
+			for (PathPattern pattern : data.patterns) {
+				if (pattern.matches(path)) {
+					bh.consume(pattern.extractMatchInfoLazily(path));
+				}
+			}
+		}
+	}
+
 	@State(Scope.Benchmark)
 	public static class StaticRoutesPatternParser extends PatternParserData {
 
@@ -145,14 +188,15 @@ public class PathMatchingBenchmark {
 
 	static class PatternParserData {
 
+		PathPatternParser parser = new PathPatternParser();
+
 		List<PathPattern> patterns = new ArrayList<>();
 
 		List<PathContainer> requestPaths = new ArrayList<>();
 
 		void parseRoutes(List<Route> routes) {
-			PathPatternParser parser = new PathPatternParser();
 			routes.forEach(route -> {
-				this.patterns.add(parser.parse(route.pattern));
+				this.patterns.add(this.parser.parse(route.pattern));
 				route.matchingPaths.forEach(path -> this.requestPaths.add(PathContainer.parsePath(path)));
 			});
 		}
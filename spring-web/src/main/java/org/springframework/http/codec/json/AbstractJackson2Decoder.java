@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
@@ -62,6 +63,21 @@ import org.springframework.util.MimeType;
  */
 public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport implements HttpMessageDecoder<Object> {
 
+	/**
+	 * The key for the hint to specify the location of an array within the
+	 * top-level JSON value, as a {@link JsonPointer} or a JSON Pointer
+	 * expression {@code String} such as {@code "/data/items"}, for
+	 * {@link #decode(Publisher, ResolvableType, MimeType, Map) decoding} to a
+	 * {@code Flux} of its elements.
+	 * <p>Each element is emitted as soon as it has been received, while any
+	 * content outside the array is skipped without being buffered. This allows
+	 * streaming a large array property of an enclosing object with memory use
+	 * bounded by the {@link #setMaxInMemorySize maximum size} of one element.
+	 * @since 6.1
+	 */
+	public static final String ARRAY_POINTER_HINT = AbstractJackson2Decoder.class.getName() + ".arrayPointer";
+
+
 	private int maxInMemorySize = 256 * 1024;
 
 
@@ -75,9 +91,10 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 
 	/**
 	 * Set the max number of bytes that can be buffered by this decoder. This
-	 * is either the size of the entire input when decoding as a whole, or the
-	 * size of one top-level JSON object within a JSON stream. When the limit
-	 * is exceeded, {@link DataBufferLimitException} is raised.
+	 * is either the size of the entire input when decoding as a whole, the
+	 * size of one top-level JSON object within a JSON stream, or the size of
+	 * one element when decoding with an {@link #ARRAY_POINTER_HINT}. When the
+	 * limit is exceeded, {@link DataBufferLimitException} is raised.
 	 * <p>By default this is set to 256K.
 	 * @param byteCount the max number of bytes to buffer, or -1 for unlimited
 	 * @since 5.1.11
@@ -135,9 +152,10 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 			forceUseOfBigDecimal = true;
 		}
 
+		JsonPointer arrayPointer = getArrayPointer(hints);
 		Flux<DataBuffer> processed = processInput(input, elementType, mimeType, hints);
 		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(processed, mapper.getFactory(), mapper,
-				true, forceUseOfBigDecimal, getMaxInMemorySize());
+				true, arrayPointer, forceUseOfBigDecimal, getMaxInMemorySize());
 
 		return Flux.deferContextual(contextView -> {
 
@@ -161,6 +179,16 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 		});
 	}
 
+	@Nullable
+	private static JsonPointer getArrayPointer(@Nullable Map<String, Object> hints) {
+		Object pointer = (hints != null ? hints.get(ARRAY_POINTER_HINT) : null);
+		if (pointer == null || pointer instanceof JsonPointer) {
+			return (JsonPointer) pointer;
+		}
+		Assert.isInstanceOf(String.class, pointer, "Invalid ARRAY_POINTER_HINT value: ");
+		return JsonPointer.compile((String) pointer);
+	}
+
 	/**
 	 * Process the input publisher into a flux. Default implementation returns
 	 * {@link Flux#from(Publisher)}, but subclasses can choose to customize
@@ -23,7 +23,9 @@ import java.util.function.Function;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.async.ByteArrayFeeder;
 import com.fasterxml.jackson.core.async.ByteBufferFeeder;
@@ -40,6 +42,7 @@ import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.lang.Nullable;
 
 /**
  * {@link Function} to transform a JSON stream of arbitrary size, byte array
@@ -61,6 +64,9 @@ final class Jackson2Tokenizer {
 
 	private final boolean tokenizeArrayElements;
 
+	@Nullable
+	private final JsonPointer arrayPointer;
+
 	private final boolean forceUseOfBigDecimal;
 
 	private final int maxInMemorySize;
@@ -73,14 +79,22 @@ final class Jackson2Tokenizer {
 
 	private TokenBuffer tokenBuffer;
 
+	// Only used with an arrayPointer: whether the tokens of the matching
+	// array are being processed, and the nesting depth within its element
+	private boolean inPointedArray;
+
+	private int elementDepth;
+
 
 	private Jackson2Tokenizer(JsonParser parser, DeserializationContext deserializationContext,
-			boolean tokenizeArrayElements, boolean forceUseOfBigDecimal, int maxInMemorySize) {
+			boolean tokenizeArrayElements, @Nullable JsonPointer arrayPointer, boolean forceUseOfBigDecimal,
+			int maxInMemorySize) {
 
 		this.parser = parser;
 		this.deserializationContext = deserializationContext;
 		this.inputFeeder = this.parser.getNonBlockingInputFeeder();
 		this.tokenizeArrayElements = tokenizeArrayElements;
+		this.arrayPointer = arrayPointer;
 		this.forceUseOfBigDecimal = forceUseOfBigDecimal;
 		this.maxInMemorySize = maxInMemorySize;
 		this.tokenBuffer = createToken();
@@ -152,7 +166,10 @@ final class Jackson2Tokenizer {
 				previousNull = false;
 			}
 			updateDepth(token);
-			if (!this.tokenizeArrayElements) {
+			if (this.arrayPointer != null) {
+				processTokenPointedArray(token, result);
+			}
+			else if (!this.tokenizeArrayElements) {
 				processTokenNormal(token, result);
 			}
 			else {
@@ -192,6 +209,40 @@ final class Jackson2Tokenizer {
 		}
 	}
 
+	private void processTokenPointedArray(JsonToken token, List<TokenBuffer> result) throws IOException {
+		if (!this.inPointedArray) {
+			// Tokens outside the pointed array are skipped, not buffered
+			if (token == JsonToken.START_ARRAY && isPointedArray()) {
+				this.inPointedArray = true;
+				this.elementDepth = 0;
+			}
+			return;
+		}
+
+		if (this.elementDepth == 0 && token == JsonToken.END_ARRAY) {
+			this.inPointedArray = false;
+			return;
+		}
+
+		this.tokenBuffer.copyCurrentEvent(this.parser);
+		if (token.isStructStart()) {
+			this.elementDepth++;
+		}
+		else if (token.isStructEnd()) {
+			this.elementDepth--;
+		}
+
+		if (this.elementDepth == 0 && (token.isStructEnd() || token.isScalarValue())) {
+			result.add(this.tokenBuffer);
+			this.tokenBuffer = createToken();
+		}
+	}
+
+	private boolean isPointedArray() {
+		JsonStreamContext parent = this.parser.getParsingContext().getParent();
+		return (parent != null && parent.pathAsPointer().equals(this.arrayPointer));
+	}
+
 	private TokenBuffer createToken() {
 		TokenBuffer tokenBuffer = new TokenBuffer(this.parser, this.deserializationContext);
 		tokenBuffer.forceUseOfBigDecimal(this.forceUseOfBigDecimal);
@@ -205,7 +256,7 @@ final class Jackson2Tokenizer {
 
 	private void assertInMemorySize(int currentBufferSize, List<TokenBuffer> result) {
 		if (this.maxInMemorySize >= 0) {
-			if (!result.isEmpty()) {
+			if (!result.isEmpty() || isSkippingInput()) {
 				this.byteCount = 0;
 			}
 			else if (currentBufferSize > Integer.MAX_VALUE - this.byteCount) {
@@ -220,6 +271,14 @@ final class Jackson2Tokenizer {
 		}
 	}
 
+	/**
+	 * Whether input is currently skipped rather than buffered, i.e. outside
+	 * of the pointed array or in between its elements.
+	 */
+	private boolean isSkippingInput() {
+		return (this.arrayPointer != null && (!this.inPointedArray || this.elementDepth == 0));
+	}
+
 	private void raiseLimitException() {
 		throw new DataBufferLimitException(
 				"Exceeded limit on max bytes per JSON object: " + this.maxInMemorySize);
@@ -241,6 +300,31 @@ final class Jackson2Tokenizer {
 	public static Flux<TokenBuffer> tokenize(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
 			ObjectMapper objectMapper, boolean tokenizeArrays, boolean forceUseOfBigDecimal, int maxInMemorySize) {
 
+		return tokenize(dataBuffers, jsonFactory, objectMapper, tokenizeArrays, null,
+				forceUseOfBigDecimal, maxInMemorySize);
+	}
+
+	/**
+	 * Tokenize the given {@code Flux<DataBuffer>} into {@code Flux<TokenBuffer>}.
+	 * @param dataBuffers the source data buffers
+	 * @param jsonFactory the factory to use
+	 * @param objectMapper the current mapper instance
+	 * @param tokenizeArrays if {@code true} and the "top level" JSON object is
+	 * an array, each element is returned individually immediately after it is received
+	 * @param arrayPointer if not {@code null}, each element of the array at
+	 * this location within a top-level JSON value is returned individually
+	 * immediately after it is received, while all other content is skipped
+	 * without being buffered; takes precedence over {@code tokenizeArrays}
+	 * @param forceUseOfBigDecimal if {@code true}, any floating point values encountered
+	 * in source will use {@link java.math.BigDecimal}
+	 * @param maxInMemorySize maximum memory size
+	 * @return the resulting token buffers
+	 * @since 6.1
+	 */
+	public static Flux<TokenBuffer> tokenize(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
+			ObjectMapper objectMapper, boolean tokenizeArrays, @Nullable JsonPointer arrayPointer,
+			boolean forceUseOfBigDecimal, int maxInMemorySize) {
+
 		try {
 			JsonParser parser;
 			if (jsonFactory.getFormatName().equals(SmileFactory.FORMAT_NAME_SMILE)) {
@@ -255,8 +339,8 @@ final class Jackson2Tokenizer {
 				context = ddc.createInstance(objectMapper.getDeserializationConfig(),
 						parser, objectMapper.getInjectableValues());
 			}
-			Jackson2Tokenizer tokenizer =
-					new Jackson2Tokenizer(parser, context, tokenizeArrays, forceUseOfBigDecimal, maxInMemorySize);
+			Jackson2Tokenizer tokenizer = new Jackson2Tokenizer(
+					parser, context, tokenizeArrays, arrayPointer, forceUseOfBigDecimal, maxInMemorySize);
 			return dataBuffers.concatMapIterable(tokenizer::tokenize).concatWith(tokenizer.endOfInput());
 		}
 		catch (IOException ex) {
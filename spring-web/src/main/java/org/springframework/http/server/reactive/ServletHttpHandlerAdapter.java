@@ -107,6 +107,14 @@ public class ServletHttpHandlerAdapter implements Servlet {
 		return this.servletPath;
 	}
 
+	/**
+	 * Set the factory to use for request body buffers, also exposed to codecs
+	 * via {@link ServerHttpResponse#bufferFactory()} for response bodies.
+	 * <p>By default this is {@link DefaultDataBufferFactory#sharedInstance}.
+	 * Consider a {@link org.springframework.core.io.buffer.PooledDataBufferFactory}
+	 * to recycle buffers once they are released.
+	 * @param dataBufferFactory the factory to use
+	 */
 	public void setDataBufferFactory(DataBufferFactory dataBufferFactory) {
 		Assert.notNull(dataBufferFactory, "DataBufferFactory must not be null");
 		this.dataBufferFactory = dataBufferFactory;
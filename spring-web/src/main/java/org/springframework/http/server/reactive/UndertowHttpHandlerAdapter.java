@@ -54,6 +54,14 @@ public class UndertowHttpHandlerAdapter implements io.undertow.server.HttpHandle
 	}
 
 
+	/**
+	 * Set the factory to use for request body buffers, also exposed to codecs
+	 * via {@link ServerHttpResponse#bufferFactory()} for response bodies.
+	 * <p>By default this is {@link DefaultDataBufferFactory#sharedInstance}.
+	 * Consider a {@link org.springframework.core.io.buffer.PooledDataBufferFactory}
+	 * to recycle buffers once they are released.
+	 * @param bufferFactory the factory to use
+	 */
 	public void setDataBufferFactory(DataBufferFactory bufferFactory) {
 		Assert.notNull(bufferFactory, "DataBufferFactory must not be null");
 		this.bufferFactory = bufferFactory;
@@ -16,18 +16,23 @@
 
 package org.springframework.web.util.pattern;
 
+import java.util.AbstractMap;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringJoiner;
+import java.util.function.Supplier;
 
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.http.server.PathContainer;
 import org.springframework.http.server.PathContainer.Element;
 import org.springframework.http.server.PathContainer.PathSegment;
 import org.springframework.http.server.PathContainer.Separator;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
@@ -82,6 +87,9 @@ public class PathPattern implements Comparable<PathPattern> {
 
 	private static final PathContainer EMPTY_PATH = PathContainer.parsePath("");
 
+	private static final ThreadLocal<MatchingContext> reusableMatchingContext =
+			NamedThreadLocal.withInitial("PathPattern MatchingContext", MatchingContext::new);
+
 	/**
 	 * Comparator that sorts patterns by specificity as follows:
 	 * <ol>
@@ -117,6 +125,9 @@ public class PathPattern implements Comparable<PathPattern> {
 	/** Will this match candidates in a case-sensitive way? (case sensitivity  at parse time). */
 	private final boolean caseSensitive;
 
+	/** Whether {@link #matches} reuses a per-thread {@link MatchingContext}. */
+	private final boolean reuseMatchingState;
+
 	/** First path element in the parsed chain of path elements for this pattern. */
 	@Nullable
 	private final PathElement head;
@@ -158,6 +169,7 @@ public class PathPattern implements Comparable<PathPattern> {
 		this.pathOptions = parser.getPathOptions();
 		this.matchOptionalTrailingSeparator = parser.isMatchOptionalTrailingSeparator();
 		this.caseSensitive = parser.isCaseSensitive();
+		this.reuseMatchingState = parser.isReuseMatchingState();
 		this.head = head;
 
 		// Compute fields for fast comparison
@@ -212,8 +224,29 @@ public class PathPattern implements Comparable<PathPattern> {
 				return false;
 			}
 		}
-		MatchingContext matchingContext = new MatchingContext(pathContainer, false);
-		return this.head.matches(0, matchingContext);
+		MatchingContext matchingContext = obtainMatchingContext(pathContainer);
+		try {
+			return this.head.matches(0, matchingContext);
+		}
+		finally {
+			if (this.reuseMatchingState) {
+				matchingContext.clear();
+			}
+		}
+	}
+
+	/**
+	 * Obtain a {@link MatchingContext} for a plain match against the given path:
+	 * the per-thread context if this pattern reuses matching state, or a new
+	 * context otherwise.
+	 */
+	MatchingContext obtainMatchingContext(PathContainer pathContainer) {
+		if (this.reuseMatchingState) {
+			MatchingContext matchingContext = reusableMatchingContext.get();
+			matchingContext.reset(pathContainer, false, this.matchOptionalTrailingSeparator);
+			return matchingContext;
+		}
+		return new MatchingContext(pathContainer, false, this.matchOptionalTrailingSeparator);
 	}
 
 	/**
@@ -237,10 +270,30 @@ public class PathPattern implements Comparable<PathPattern> {
 				return null;
 			}
 		}
-		MatchingContext matchingContext = new MatchingContext(pathContainer, true);
+		MatchingContext matchingContext =
+				new MatchingContext(pathContainer, true, this.matchOptionalTrailingSeparator);
 		return this.head.matches(0, matchingContext) ? matchingContext.getPathMatchResult() : null;
 	}
 
+	/**
+	 * Return a {@link PathMatchInfo} for the given path that defers the
+	 * extraction of URI variables and path parameters (matrix variables)
+	 * until they are first accessed, e.g. by a handler that declares them
+	 * as method arguments. Until then, the returned maps are only views.
+	 * <p><b>Note:</b> Assumes that {@link #matches} returns {@code true} for
+	 * the same path but does <strong>not</strong> enforce this upfront. If the
+	 * path does not match, an {@link IllegalStateException} is raised when
+	 * variables are first accessed.
+	 * @param pathContainer a path that matches this pattern
+	 * @return info object that extracts variables on demand
+	 * @since 6.1
+	 * @see #matchAndExtract(PathContainer)
+	 */
+	public PathMatchInfo extractMatchInfoLazily(PathContainer pathContainer) {
+		return (this.capturedVariableCount == 0 ? PathMatchInfo.EMPTY :
+				new LazyPathMatchInfo(this, pathContainer));
+	}
+
 	/**
 	 * Match the beginning of the given path and return the remaining portion
 	 * not covered by this pattern. This is useful for matching nested routes
@@ -257,7 +310,8 @@ public class PathPattern implements Comparable<PathPattern> {
 			return null;
 		}
 
-		MatchingContext matchingContext = new MatchingContext(pathContainer, true);
+		MatchingContext matchingContext =
+				new MatchingContext(pathContainer, true, this.matchOptionalTrailingSeparator);
 		matchingContext.setMatchAllowExtraPath();
 		boolean matches = this.head.matches(0, matchingContext);
 		if (!matches) {
@@ -586,6 +640,95 @@ public class PathPattern implements Comparable<PathPattern> {
 	}
 
 
+	/**
+	 * {@link PathMatchInfo} that matches and extracts variables on first access.
+	 * @see #extractMatchInfoLazily(PathContainer)
+	 */
+	private static class LazyPathMatchInfo extends PathMatchInfo {
+
+		private final PathPattern pattern;
+
+		private final PathContainer pathContainer;
+
+		private final Map<String, String> uriVariables;
+
+		private final Map<String, MultiValueMap<String, String>> matrixVariables;
+
+		@Nullable
+		private volatile PathMatchInfo resolved;
+
+		LazyPathMatchInfo(PathPattern pattern, PathContainer pathContainer) {
+			super(Collections.emptyMap(), null);
+			this.pattern = pattern;
+			this.pathContainer = pathContainer;
+			this.uriVariables = new LazyMap<>(() -> resolve().getUriVariables());
+			this.matrixVariables = new LazyMap<>(() -> resolve().getMatrixVariables());
+		}
+
+		private PathMatchInfo resolve() {
+			PathMatchInfo info = this.resolved;
+			if (info == null) {
+				info = this.pattern.matchAndExtract(this.pathContainer);
+				Assert.state(info != null, () ->
+						"Expected pattern: " + this.pattern + " to match path " + this.pathContainer);
+				this.resolved = info;
+			}
+			return info;
+		}
+
+		@Override
+		public Map<String, String> getUriVariables() {
+			return this.uriVariables;
+		}
+
+		@Override
+		public Map<String, MultiValueMap<String, String>> getMatrixVariables() {
+			return this.matrixVariables;
+		}
+
+		@Override
+		public String toString() {
+			PathMatchInfo info = this.resolved;
+			return (info != null ? info.toString() :
+					"PathMatchInfo[pattern=" + this.pattern + ", path=" + this.pathContainer.value() + " (unresolved)]");
+		}
+	}
+
+
+	/**
+	 * Read-only map view that obtains its target on first access.
+	 */
+	private static class LazyMap<K, V> extends AbstractMap<K, V> {
+
+		private final Supplier<Map<K, V>> targetSupplier;
+
+		LazyMap(Supplier<Map<K, V>> targetSupplier) {
+			this.targetSupplier = targetSupplier;
+		}
+
+		@Override
+		public Set<Entry<K, V>> entrySet() {
+			return this.targetSupplier.get().entrySet();
+		}
+
+		@Override
+		public int size() {
+			return this.targetSupplier.get().size();
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return this.targetSupplier.get().containsKey(key);
+		}
+
+		@Override
+		@Nullable
+		public V get(Object key) {
+			return this.targetSupplier.get().get(key);
+		}
+	}
+
+
 	/**
 	 * Holder for the result of a match on the start of a pattern.
 	 * Provides access to the remaining path not matched to the pattern as well
@@ -645,14 +788,19 @@ public class PathPattern implements Comparable<PathPattern> {
 	 * Encapsulates context when attempting a match. Includes some fixed state like the
 	 * candidate currently being considered for a match but also some accumulators for
 	 * extracted variables.
+	 * <p>Not bound to a specific pattern so that an instance can be
+	 * {@link #reset reset} and reused for subsequent matches on the same thread.
 	 */
-	class MatchingContext {
+	static class MatchingContext {
+
+		@Nullable
+		PathContainer candidate;
 
-		final PathContainer candidate;
+		List<Element> pathElements = Collections.emptyList();
 
-		final List<Element> pathElements;
+		int pathLength;
 
-		final int pathLength;
+		private boolean matchOptionalTrailingSeparator;
 
 		@Nullable
 		private Map<String, String> extractedUriVariables;
@@ -669,11 +817,40 @@ public class PathPattern implements Comparable<PathPattern> {
 		// points to the remaining path that wasn't consumed
 		int remainingPathIndex;
 
-		public MatchingContext(PathContainer pathContainer, boolean extractVariables) {
+		MatchingContext() {
+		}
+
+		public MatchingContext(PathContainer pathContainer, boolean extractVariables,
+				boolean matchOptionalTrailingSeparator) {
+
+			reset(pathContainer, extractVariables, matchOptionalTrailingSeparator);
+		}
+
+		/**
+		 * Prepare this context for matching against the given path,
+		 * discarding any state from a previous match.
+		 */
+		void reset(PathContainer pathContainer, boolean extractVariables, boolean matchOptionalTrailingSeparator) {
 			this.candidate = pathContainer;
 			this.pathElements = pathContainer.elements();
 			this.pathLength = this.pathElements.size();
+			this.matchOptionalTrailingSeparator = matchOptionalTrailingSeparator;
+			this.extractedUriVariables = null;
+			this.extractedMatrixVariables = null;
 			this.extractingVariables = extractVariables;
+			this.determineRemainingPath = false;
+			this.remainingPathIndex = 0;
+		}
+
+		/**
+		 * Release references to the last matched path.
+		 */
+		void clear() {
+			this.candidate = null;
+			this.pathElements = Collections.emptyList();
+			this.pathLength = 0;
+			this.extractedUriVariables = null;
+			this.extractedMatrixVariables = null;
 		}
 
 		public void setMatchAllowExtraPath() {
@@ -681,7 +858,7 @@ public class PathPattern implements Comparable<PathPattern> {
 		}
 
 		public boolean isMatchOptionalTrailingSeparator() {
-			return matchOptionalTrailingSeparator;
+			return this.matchOptionalTrailingSeparator;
 		}
 
 		public void set(String key, String value, MultiValueMap<String,String> parameters) {
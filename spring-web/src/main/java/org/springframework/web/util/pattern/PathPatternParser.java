@@ -41,6 +41,8 @@ public class PathPatternParser {
 
 	private PathContainer.Options pathOptions = PathContainer.Options.HTTP_PATH;
 
+	private boolean reuseMatchingState = false;
+
 
 	/**
 	 * Configure whether a {@link PathPattern} produced by this parser should
@@ -103,6 +105,30 @@ public class PathPatternParser {
 		return this.pathOptions;
 	}
 
+	/**
+	 * Configure whether a {@link PathPattern} produced by this parser should
+	 * reuse per-thread matching state for {@link PathPattern#matches}, instead
+	 * of allocating it for every match. This reduces garbage when a request
+	 * path is checked against many patterns, e.g. in handler mappings.
+	 * <p>The state holds no reference to the matched path between matches,
+	 * but it is bound to a {@link ThreadLocal} for the lifetime of each thread
+	 * that performs matching, which may be undesirable with container-managed
+	 * thread pools that outlive the application.
+	 * <p>The default is {@code false}.
+	 * @since 6.1
+	 */
+	public void setReuseMatchingState(boolean reuseMatchingState) {
+		this.reuseMatchingState = reuseMatchingState;
+	}
+
+	/**
+	 * Whether per-thread matching state is reused.
+	 * @since 6.1
+	 */
+	public boolean isReuseMatchingState() {
+		return this.reuseMatchingState;
+	}
+
 
 	/**
 	 * Prepare the given pattern for use in matching to full URL paths.
@@ -137,6 +163,7 @@ public class PathPatternParser {
 	 * <li>{@code matchOptionalTrailingSeparator = false}
 	 * <li>{@code caseSensitive = true}
 	 * <li>{@code pathOptions = PathContainer.Options.HTTP_PATH}
+	 * <li>{@code reuseMatchingState = false}
 	 * </ul>
 	 */
 	public final static PathPatternParser defaultInstance = new PathPatternParser() {
@@ -157,6 +184,11 @@ public class PathPatternParser {
 			raiseError();
 		}
 
+		@Override
+		public void setReuseMatchingState(boolean reuseMatchingState) {
+			raiseError();
+		}
+
 		private void raiseError() {
 			throw new UnsupportedOperationException(
 					"This is a read-only, shared instance that cannot be modified");
@@ -180,6 +180,20 @@ public class Jackson2JsonDecoderTests extends AbstractDecoderTests<Jackson2JsonD
 		testDecode(input, Pojo.class, StepVerifier.LastStep::verifyComplete);
 	}
 
+	@Test
+	public void decodeArrayWithPointerHint() {
+		Flux<DataBuffer> input = Flux.concat(
+				stringBuffer("{\"count\":2,\"data\":{\"items\":[{\"bar\":\"b1\",\"foo\":\"f1\"},"),
+				stringBuffer("{\"bar\":\"b2\",\"foo\":\"f2\"}]},\"next\":\"/page/2\"}"));
+
+		Map<String, Object> hints = Collections.singletonMap(AbstractJackson2Decoder.ARRAY_POINTER_HINT, "/data/items");
+
+		testDecode(input, ResolvableType.forClass(Pojo.class), step -> step
+				.expectNext(pojo1)
+				.expectNext(pojo2)
+				.verifyComplete(), null, hints);
+	}
+
 	@Test
 	public void fieldLevelJsonView() {
 		Flux<DataBuffer> input = Flux.from(stringBuffer(
@@ -23,6 +23,7 @@ import java.util.List;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -38,6 +39,7 @@ import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.testfixture.io.buffer.AbstractLeakCheckingTests;
+import org.springframework.lang.Nullable;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
@@ -292,6 +294,55 @@ public class Jackson2TokenizerTests extends AbstractLeakCheckingTests {
 				.verifyError(DataBufferLimitException.class);
 	}
 
+	@Test
+	public void tokenizeArrayWithPointer() {
+		List<String> source = asList(
+				"{\"total\":3,\"meta\":{\"items\":[\"x\"]},",
+				"\"items\":[{\"id\":1,\"tags\":[\"a\"]},{\"id\":",
+				"2},3,\"four\"],\"next\":null}");
+
+		StepVerifier.create(decode(source, JsonPointer.compile("/items"), -1))
+				.expectNext("{\"id\":1,\"tags\":[\"a\"]}")
+				.expectNext("{\"id\":2}")
+				.expectNext("3")
+				.expectNext("\"four\"")
+				.verifyComplete();
+
+		StepVerifier.create(decode(source, JsonPointer.compile("/meta/items"), -1))
+				.expectNext("\"x\"")
+				.verifyComplete();
+
+		StepVerifier.create(decode(source, JsonPointer.compile("/other"), -1))
+				.verifyComplete();
+
+		StepVerifier.create(decode(singletonList("[1,[2,3]]"), JsonPointer.compile(""), -1))
+				.expectNext("1")
+				.expectNext("[2,3]")
+				.verifyComplete();
+	}
+
+	@Test
+	public void testLimitWithPointer() {
+		String skipped = "\"" + "a".repeat(100) + "\"";
+		List<String> source = asList(
+				"{\"skipped\":", skipped, ",\"items\":[",
+				"{\"id\":1,\"name\":\"Dan\"},",
+				"{", "\"id\":2, \"name\":\"Bartholomew\"", "}",
+				"]}");
+
+		String expected = "{\"id\":2,\"name\":\"Bartholomew\"}";
+		int maxInMemorySize = expected.length();
+
+		StepVerifier.create(decode(source, JsonPointer.compile("/items"), maxInMemorySize))
+				.expectNext("{\"id\":1,\"name\":\"Dan\"}")
+				.expectNext(expected)
+				.verifyComplete();
+
+		StepVerifier.create(decode(source, JsonPointer.compile("/items"), maxInMemorySize - 1))
+				.expectNext("{\"id\":1,\"name\":\"Dan\"}")
+				.verifyError(DataBufferLimitException.class);
+	}
+
 	@Test
 	public void errorInStream() {
 		DataBuffer buffer = stringBuffer("{\"id\":1,\"name\":");
@@ -338,10 +389,19 @@ public class Jackson2TokenizerTests extends AbstractLeakCheckingTests {
 	}
 
 	private Flux<String> decode(List<String> source, boolean tokenize, int maxInMemorySize) {
+		return decode(source, tokenize, null, maxInMemorySize);
+	}
+
+	private Flux<String> decode(List<String> source, JsonPointer arrayPointer, int maxInMemorySize) {
+		return decode(source, false, arrayPointer, maxInMemorySize);
+	}
+
+	private Flux<String> decode(List<String> source, boolean tokenize,
+			@Nullable JsonPointer arrayPointer, int maxInMemorySize) {
 
 		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(
 				Flux.fromIterable(source).map(this::stringBuffer),
-				this.jsonFactory, this.objectMapper, tokenize, false, maxInMemorySize);
+				this.jsonFactory, this.objectMapper, tokenize, arrayPointer, false, maxInMemorySize);
 
 		return tokens
 				.map(tokenBuffer -> {
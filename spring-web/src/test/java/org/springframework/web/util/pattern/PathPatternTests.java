@@ -32,6 +32,7 @@ import org.springframework.web.util.pattern.PathPattern.PathRemainingMatchInfo;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
 /**
  * Exercise matching of {@link PathPattern} objects.
@@ -624,6 +625,46 @@ public class PathPatternTests {
 		assertThat(pri.getUriVariables()).containsEntry("foo", "def");
 	}
 
+	@Test
+	public void reuseMatchingState() {
+		PathPatternParser pp = new PathPatternParser();
+		pp.setReuseMatchingState(true);
+		PathPattern p1 = pp.parse("/abc/{var}");
+		PathPattern p2 = pp.parse("/abc/**");
+		PathPattern p3 = pp.parse("/def");
+		assertMatches(p1, "/abc/def");
+		assertNoMatch(p1, "/abc/def/ghi");
+		assertMatches(p2, "/abc/def/ghi");
+		assertNoMatch(p3, "/abc/def");
+		assertMatches(p3, "/def");
+		assertThat(p1.matchAndExtract(toPathContainer("/abc/def")).getUriVariables()).containsEntry("var", "def");
+
+		PathContainer path = toPathContainer("/abc/def");
+		PathPattern.MatchingContext context = p1.obtainMatchingContext(path);
+		assertThat(p2.obtainMatchingContext(path)).isSameAs(context);
+		assertThat(p1.obtainMatchingContext(path)).isSameAs(context);
+
+		PathPattern p4 = new PathPatternParser().parse("/abc/{var}");
+		assertThat(p4.obtainMatchingContext(path)).isNotSameAs(p4.obtainMatchingContext(path));
+	}
+
+	@Test
+	public void extractMatchInfoLazily() {
+		PathPattern p = new PathPatternParser().parse("/abc/{var}/{rest}");
+		PathPattern.PathMatchInfo info = p.extractMatchInfoLazily(toPathContainer("/abc/d;a=b/e"));
+		assertThat(info.getUriVariables()).hasSize(2).containsEntry("var", "d").containsEntry("rest", "e");
+		assertThat(info.getMatrixVariables().get("var").getFirst("a")).isEqualTo("b");
+		assertThat(info.getMatrixVariables()).doesNotContainKey("rest");
+
+		info = new PathPatternParser().parse("/abc").extractMatchInfoLazily(toPathContainer("/abc"));
+		assertThat(info.getUriVariables()).isEmpty();
+
+		PathPattern.PathMatchInfo noMatch = p.extractMatchInfoLazily(toPathContainer("/def"));
+		assertThat(noMatch.toString()).contains("/abc/{var}/{rest}", "/def");
+		assertThatIllegalStateException().isThrownBy(() -> noMatch.getUriVariables().get("var"));
+		assertThat(noMatch.toString()).contains("/abc/{var}/{rest}", "/def");
+	}
+
 	@Test
 	public void caseSensitivity() {
 		PathPatternParser pp = new PathPatternParser();
@@ -36,7 +36,6 @@ import org.springframework.http.MediaType;
 import org.springframework.http.server.PathContainer;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.observation.ServerRequestObservationContext;
-import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -133,9 +132,8 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 		}
 		else {
 			bestPattern = patterns.iterator().next();
-			PathPattern.PathMatchInfo result = bestPattern.matchAndExtract(lookupPath);
-			Assert.notNull(result, () ->
-					"Expected bestPattern: " + bestPattern + " to match lookupPath " + lookupPath);
+			// Pattern matched already: defer variable extraction until accessed
+			PathPattern.PathMatchInfo result = bestPattern.extractMatchInfoLazily(lookupPath);
 			uriVariables = result.getUriVariables();
 			matrixVariables = result.getMatrixVariables();
 		}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.mvc.method;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+
+/**
+ * Benchmarks for looking up handler methods in a {@link RequestMappingHandlerMapping}
+ * with a large number of pattern-based mappings, with and without the
+ * {@link RequestMappingInfoHandlerMapping#setUseMappingIndex(boolean) mapping index}.
+ * See {@code org.springframework.web.util.pattern.PathMatchingBenchmark} in
+ * spring-web for the underlying cost of matching individual patterns.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class RequestMappingInfoHandlerMappingBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		@Param({"300", "3000"})
+		public int mappingCount;
+
+		@Param({"false", "true"})
+		public boolean useMappingIndex;
+
+		public RequestMappingHandlerMapping handlerMapping;
+
+		public List<String[]> requests;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.handlerMapping = new RequestMappingHandlerMapping();
+			this.handlerMapping.setUseMappingIndex(this.useMappingIndex);
+			this.handlerMapping.setApplicationContext(new StaticWebApplicationContext());
+			this.handlerMapping.afterPropertiesSet();
+
+			RequestMappingInfo.BuilderConfiguration config = this.handlerMapping.getBuilderConfiguration();
+			TestController controller = new TestController();
+			Method method = ClassUtils.getMethod(TestController.class, "handle");
+			this.requests = new ArrayList<>();
+
+			for (int i = 0; i < this.mappingCount / 3; i++) {
+				String resource = "/api/resource" + i;
+				register(RequestMappingInfo.paths(resource + "/{id}").methods(RequestMethod.GET), config, controller, method);
+				register(RequestMappingInfo.paths(resource + "/{id}").methods(RequestMethod.PUT), config, controller, method);
+				register(RequestMappingInfo.paths(resource + "/{id}/items/{itemId}").methods(RequestMethod.GET), config, controller, method);
+				if (i % 10 == 0) {
+					this.requests.add(new String[] {"GET", resource + "/42"});
+					this.requests.add(new String[] {"PUT", resource + "/42"});
+					this.requests.add(new String[] {"GET", resource + "/42/items/7"});
+				}
+			}
+		}
+
+		private void register(RequestMappingInfo.Builder builder, RequestMappingInfo.BuilderConfiguration config,
+				Object controller, Method method) {
+
+			this.handlerMapping.registerMapping(builder.options(config).build(), controller, method);
+		}
+	}
+
+	@Benchmark
+	public void lookupHandlerMethods(BenchmarkData data, Blackhole bh) throws Exception {
+		for (String[] request : data.requests) {
+			bh.consume(data.handlerMapping.getHandler(new MockHttpServletRequest(request[0], request[1])));
+		}
+	}
+
+
+	static class TestController {
+
+		public void handle() {
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -404,7 +404,9 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 		if (matches.isEmpty()) {
-			addMatchingMappings(this.mappingRegistry.getRegistrations().keySet(), matches, request);
+			Collection<T> candidates = getCandidateMappings(lookupPath, request);
+			addMatchingMappings(candidates != null ? candidates :
+					this.mappingRegistry.getRegistrations().keySet(), matches, request);
 		}
 		if (!matches.isEmpty()) {
 			Match bestMatch = matches.get(0);
@@ -451,6 +453,25 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		}
 	}
 
+	/**
+	 * Return the registered mappings that could possibly match the given
+	 * request, to be checked in place of all registered mappings when there
+	 * is no match by direct path.
+	 * <p>Invoked while holding the read lock of the mapping registry. The
+	 * default implementation returns {@code null}, in which case all
+	 * registered mappings are checked.
+	 * @param lookupPath mapping lookup path within the current servlet mapping
+	 * @param request the current request
+	 * @return the candidate mappings, or {@code null} to check all mappings
+	 * @since 6.1
+	 * @see #mappingRegistered(Object)
+	 * @see #mappingUnregistered(Object)
+	 */
+	@Nullable
+	protected Collection<T> getCandidateMappings(String lookupPath, HttpServletRequest request) {
+		return null;
+	}
+
 	/**
 	 * Invoked when a matching mapping is found.
 	 * @param mapping the matching mapping
@@ -561,6 +582,29 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	 */
 	protected abstract Comparator<T> getMappingComparator(HttpServletRequest request);
 
+	/**
+	 * Invoked after a mapping has been added to the registry, while holding
+	 * the write lock of the mapping registry.
+	 * <p>The default implementation is empty. Subclasses that narrow down
+	 * {@link #getCandidateMappings candidate mappings} may use this to keep
+	 * their lookup structures in sync with the registry.
+	 * @param mapping the registered mapping
+	 * @since 6.1
+	 */
+	protected void mappingRegistered(T mapping) {
+	}
+
+	/**
+	 * Invoked after a mapping has been removed from the registry, while
+	 * holding the write lock of the mapping registry.
+	 * <p>The default implementation is empty.
+	 * @param mapping the unregistered mapping
+	 * @since 6.1
+	 * @see #mappingRegistered(Object)
+	 */
+	protected void mappingUnregistered(T mapping) {
+	}
+
 
 	/**
 	 * A registry that maintains all mappings to handler methods, exposing methods
@@ -649,8 +693,11 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.corsLookup.put(handlerMethod, corsConfig);
 				}
 
-				this.registry.put(mapping,
+				MappingRegistration<T> existing = this.registry.put(mapping,
 						new MappingRegistration<>(mapping, handlerMethod, directPaths, name, corsConfig != null));
+				if (existing == null) {
+					mappingRegistered(mapping);
+				}
 			}
 			finally {
 				this.readWriteLock.writeLock().unlock();
@@ -707,6 +754,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				removeMappingName(registration);
 
 				this.corsLookup.remove(registration.getHandlerMethod());
+
+				mappingUnregistered(registration.getMapping());
 			}
 			finally {
 				this.readWriteLock.writeLock().unlock();
@@ -18,6 +18,7 @@ package org.springframework.web.servlet.mvc.method;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
@@ -56,6 +57,7 @@ import org.springframework.web.servlet.mvc.condition.RequestCondition;
 import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.WebUtils;
 import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Abstract base class for classes for which {@link RequestMappingInfo} defines
@@ -80,11 +82,44 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 	}
 
 
+	private boolean useMappingIndex = false;
+
+	@Nullable
+	private RequestMappingInfoIndex mappingIndex;
+
+
 	protected RequestMappingInfoHandlerMapping() {
 		setHandlerMethodMappingNamingStrategy(new RequestMappingInfoHandlerMethodMappingNamingStrategy());
 	}
 
 
+	/**
+	 * Whether to index registered mappings by the literal leading segments of
+	 * their parsed {@link PathPattern PathPatterns} and by HTTP method, in
+	 * order to narrow down the mappings to check for a request that does not
+	 * match any direct (non-pattern) path. Without the index, all registered
+	 * mappings are checked in such a case.
+	 * <p>The index applies only when {@link #usesPathPatterns() parsed patterns}
+	 * are in use with a case-sensitive {@link PathPatternParser}, and assumes
+	 * that mappings are created with the configured parser.
+	 * <p>By default this is set to "false".
+	 * @since 6.1
+	 */
+	public void setUseMappingIndex(boolean useMappingIndex) {
+		Assert.state(getHandlerMethods().isEmpty(),
+				"The mapping index must be configured before the registration of request mappings");
+		this.useMappingIndex = useMappingIndex;
+	}
+
+	/**
+	 * Whether an index is used to narrow down candidate mappings.
+	 * @since 6.1
+	 */
+	public boolean useMappingIndex() {
+		return this.useMappingIndex;
+	}
+
+
 	/**
 	 * Get the URL path patterns associated with the supplied {@link RequestMappingInfo}.
 	 */
@@ -110,6 +145,37 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 		return info.getMatchingCondition(request);
 	}
 
+	@Override
+	@Nullable
+	protected Collection<RequestMappingInfo> getCandidateMappings(String lookupPath, HttpServletRequest request) {
+		if (this.mappingIndex == null || !ServletRequestPathUtils.hasParsedRequestPath(request)) {
+			return null;
+		}
+		PathContainer path = ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication();
+		return this.mappingIndex.getCandidates(path, request);
+	}
+
+	@Override
+	protected void mappingRegistered(RequestMappingInfo info) {
+		if (this.useMappingIndex) {
+			if (this.mappingIndex == null) {
+				PathPatternParser parser = getPatternParser();
+				if (parser == null || !parser.isCaseSensitive()) {
+					return;
+				}
+				this.mappingIndex = new RequestMappingInfoIndex(parser.getPathOptions().separator());
+			}
+			this.mappingIndex.add(info);
+		}
+	}
+
+	@Override
+	protected void mappingUnregistered(RequestMappingInfo info) {
+		if (this.mappingIndex != null) {
+			this.mappingIndex.remove(info);
+		}
+	}
+
 	/**
 	 * Provide a Comparator to sort RequestMappingInfos matched to a request.
 	 */
@@ -169,9 +235,8 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 		else {
 			PathContainer path = ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication();
 			bestPattern = condition.getFirstPattern();
-			PathPattern.PathMatchInfo result = bestPattern.matchAndExtract(path);
-			Assert.notNull(result, () ->
-					"Expected bestPattern: " + bestPattern + " to match lookupPath " + path);
+			// Pattern matched already: defer variable extraction until accessed
+			PathPattern.PathMatchInfo result = bestPattern.extractMatchInfoLazily(path);
 			uriVariables = result.getUriVariables();
 			request.setAttribute(MATRIX_VARIABLES_ATTRIBUTE, result.getMatrixVariables());
 		}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.mvc.method;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.mvc.condition.PathPatternsRequestCondition;
+import org.springframework.web.util.pattern.PathPattern;
+
+/**
+ * Index of {@link RequestMappingInfo} instances by the leading literal path
+ * segments of their {@link PathPattern PathPatterns}, organized as a segment
+ * trie, with a further narrowing by HTTP method.
+ *
+ * <p>A mapping is stored under the node for the longest literal prefix shared
+ * by a pattern, e.g. "/api/orders/{id}" under "api" &rarr; "orders". A lookup
+ * walks the trie along the request path and collects the mappings of every
+ * visited node. The result is a superset of the mappings that can match and
+ * must still be checked through
+ * {@link RequestMappingInfo#getMatchingCondition(HttpServletRequest)}.
+ *
+ * <p>Mappings that cannot be indexed, e.g. without parsed patterns, are kept
+ * at the root and are therefore always candidates.
+ *
+ * <p>Not thread-safe: reads and modifications are expected to be guarded by
+ * the read-write lock of the mapping registry.
+ *
+ * @author agent
+ * @since 6.1
+ * @see RequestMappingInfoHandlerMapping#setUseMappingIndex(boolean)
+ */
+final class RequestMappingInfoIndex {
+
+	private final char separator;
+
+	private final Node root = new Node();
+
+	private final Map<RequestMappingInfo, List<Node>> nodesByMapping = new HashMap<>();
+
+
+	RequestMappingInfoIndex(char separator) {
+		this.separator = separator;
+	}
+
+
+	/**
+	 * Add the given mapping to the index.
+	 */
+	public void add(RequestMappingInfo info) {
+		List<Node> nodes = new ArrayList<>(1);
+		PathPatternsRequestCondition condition = info.getPathPatternsCondition();
+		if (condition == null) {
+			nodes.add(this.root);
+		}
+		else {
+			for (PathPattern pattern : condition.getPatterns()) {
+				Node node = this.root;
+				for (String segment : getLiteralPrefix(pattern)) {
+					node = node.children.computeIfAbsent(segment, key -> new Node());
+				}
+				if (!nodes.contains(node)) {
+					nodes.add(node);
+				}
+			}
+		}
+		Entry entry = new Entry(info, nodes.size() > 1);
+		for (Node node : nodes) {
+			node.entries.add(entry);
+		}
+		this.nodesByMapping.put(info, nodes);
+	}
+
+	/**
+	 * Remove the given mapping from the index.
+	 */
+	public void remove(RequestMappingInfo info) {
+		List<Node> nodes = this.nodesByMapping.remove(info);
+		if (nodes != null) {
+			for (Node node : nodes) {
+				node.entries.removeIf(entry -> entry.info.equals(info));
+			}
+		}
+	}
+
+	/**
+	 * Return the mappings that may match the given path and request method.
+	 * @param path the parsed path within the application
+	 * @param request the current request
+	 */
+	public List<RequestMappingInfo> getCandidates(PathContainer path, HttpServletRequest request) {
+		// Pre-flight requests are matched by Access-Control-Request-Method
+		boolean anyMethod = CorsUtils.isPreFlightRequest(request);
+		RequestMethod method = (anyMethod ? null : RequestMethod.resolve(request.getMethod()));
+
+		List<RequestMappingInfo> result = new ArrayList<>();
+		Set<RequestMappingInfo> shared = null;
+		Node node = this.root;
+		List<PathContainer.Element> elements = path.elements();
+		int index = 0;
+		while (node != null) {
+			for (Entry entry : node.entries) {
+				if (anyMethod || entry.matchesMethod(method)) {
+					if (entry.shared) {
+						shared = (shared != null ? shared : new HashSet<>());
+						if (!shared.add(entry.info)) {
+							continue;
+						}
+					}
+					result.add(entry.info);
+				}
+			}
+			if (node.children.isEmpty()) {
+				break;
+			}
+			while (index < elements.size() && elements.get(index) instanceof PathContainer.Separator) {
+				index++;
+			}
+			if (index == elements.size()) {
+				break;
+			}
+			PathContainer.PathSegment segment = (PathContainer.PathSegment) elements.get(index++);
+			node = node.children.get(segment.valueToMatch());
+		}
+		return result;
+	}
+
+	/**
+	 * Return the leading literal segments of the given pattern, stopping at
+	 * the first segment that contains pattern syntax or any characters that
+	 * may match differently against a decoded path segment.
+	 */
+	private List<String> getLiteralPrefix(PathPattern pattern) {
+		String patternString = pattern.getPatternString();
+		if (patternString.isEmpty() || patternString.charAt(0) != this.separator) {
+			return Collections.emptyList();
+		}
+		List<String> segments = new ArrayList<>();
+		int start = 1;
+		while (start < patternString.length()) {
+			int end = patternString.indexOf(this.separator, start);
+			if (end == -1) {
+				end = patternString.length();
+			}
+			String segment = patternString.substring(start, end);
+			if (!isLiteral(segment)) {
+				break;
+			}
+			segments.add(segment);
+			start = end + 1;
+		}
+		return segments;
+	}
+
+	private static boolean isLiteral(String segment) {
+		if (segment.isEmpty()) {
+			return false;
+		}
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			if (c == '{' || c == '}' || c == '*' || c == '?' || c == '%' || c == ';') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	private static final class Node {
+
+		private final Map<String, Node> children = new HashMap<>();
+
+		private final List<Entry> entries = new ArrayList<>(1);
+	}
+
+
+	private static final class Entry {
+
+		private final RequestMappingInfo info;
+
+		private final Set<RequestMethod> methods;
+
+		/** Whether the mapping is held by more than one node. */
+		private final boolean shared;
+
+		Entry(RequestMappingInfo info, boolean shared) {
+			this.info = info;
+			this.methods = info.getMethodsCondition().getMethods();
+			this.shared = shared;
+		}
+
+		/**
+		 * Mirror the checks in RequestMethodsRequestCondition: a mapping with
+		 * no declared methods matches any request method, and HEAD matches GET.
+		 */
+		boolean matchesMethod(@Nullable RequestMethod method) {
+			if (this.methods.isEmpty()) {
+				return true;
+			}
+			if (method == null) {
+				return false;
+			}
+			return (this.methods.contains(method) ||
+					(method == RequestMethod.HEAD && this.methods.contains(RequestMethod.GET)));
+		}
+	}
+
+}
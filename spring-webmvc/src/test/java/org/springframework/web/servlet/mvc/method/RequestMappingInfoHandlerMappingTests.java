@@ -85,7 +85,10 @@ class RequestMappingInfoHandlerMappingTests {
 		TestRequestMappingInfoHandlerMapping mapping2 = new TestRequestMappingInfoHandlerMapping();
 		mapping2.setUrlPathHelper(pathHelper);
 
-		return Stream.of(mapping1, mapping2).peek(mapping -> {
+		TestRequestMappingInfoHandlerMapping mapping3 = new TestRequestMappingInfoHandlerMapping();
+		mapping3.setUseMappingIndex(true);
+
+		return Stream.of(mapping1, mapping2, mapping3).peek(mapping -> {
 			mapping.setApplicationContext(new StaticWebApplicationContext());
 			mapping.registerHandler(controller);
 			mapping.afterPropertiesSet();
@@ -407,6 +410,38 @@ class RequestMappingInfoHandlerMappingTests {
 		assertThat(uriVariables.get("cars")).isEqualTo("cars");
 	}
 
+	@Test
+	void getHandlerWithMappingIndex() throws Exception {
+		TestRequestMappingInfoHandlerMapping mapping = new TestRequestMappingInfoHandlerMapping();
+		mapping.setUseMappingIndex(true);
+		mapping.setApplicationContext(new StaticWebApplicationContext());
+		mapping.registerHandler(new OrderController());
+		mapping.afterPropertiesSet();
+
+		Method getOrder = OrderController.class.getMethod("getOrder");
+		Method getItems = OrderController.class.getMethod("getItems");
+		Method getBook = OrderController.class.getMethod("getBook");
+
+		assertThat(getHandler(mapping, new MockHttpServletRequest("GET", "/orders/1")).getMethod()).isEqualTo(getOrder);
+		assertThat(getHandler(mapping, new MockHttpServletRequest("HEAD", "/orders/1")).getMethod()).isEqualTo(getOrder);
+		assertThat(getHandler(mapping, new MockHttpServletRequest("GET", "/orders/1/items/a/b")).getMethod()).isEqualTo(getItems);
+		assertThat(getHandler(mapping, new MockHttpServletRequest("GET", "/books/1")).getMethod()).isEqualTo(getBook);
+		assertThat(getHandler(mapping, new MockHttpServletRequest("GET", "/books/fiction/1")).getMethod()).isEqualTo(getBook);
+		assertThat(mapping.getHandler(new MockHttpServletRequest("GET", "/other/1"))).isNull();
+
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders/1");
+		assertThatExceptionOfType(HttpRequestMethodNotSupportedException.class)
+				.isThrownBy(() -> mapping.getHandler(request))
+				.satisfies(ex -> assertThat(ex.getSupportedMethods()).containsExactly("GET", "HEAD"));
+
+		mapping.getHandlerMethods().forEach((info, handlerMethod) -> {
+			if (handlerMethod.getMethod().equals(getOrder)) {
+				mapping.unregisterMapping(info);
+			}
+		});
+		assertThat(mapping.getHandler(new MockHttpServletRequest("GET", "/orders/1"))).isNull();
+	}
+
 	@PathPatternsParameterizedTest // gh-29611
 	void handleNoMatchWithoutPartialMatches(TestRequestMappingInfoHandlerMapping mapping) throws ServletException {
 		String path = "/non-existent";
@@ -570,6 +605,24 @@ class RequestMappingInfoHandlerMappingTests {
 	}
 
 
+	@SuppressWarnings("unused")
+	@Controller
+	private static class OrderController {
+
+		@RequestMapping(value = "/orders/{id}", method = RequestMethod.GET)
+		public void getOrder() {
+		}
+
+		@RequestMapping(value = "/orders/{id}/items/**", method = RequestMethod.GET)
+		public void getItems() {
+		}
+
+		@RequestMapping(value = {"/books/{id}", "/books/fiction/{id}"}, method = RequestMethod.GET)
+		public void getBook() {
+		}
+	}
+
+
 	private static class TestRequestMappingInfoHandlerMapping extends RequestMappingInfoHandlerMapping {
 
 